@@ -0,0 +1,27 @@
+package com.llat.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of benchmarks.jar. This is JMH's own main, except that the GC
+ * profiler (-prof gc) is on unless other profilers are asked for, so every run
+ * reports the allocation rate next to the time.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] _args) throws Exception {
+        if (Arrays.asList(_args).contains("-prof")) {
+            Main.main(_args);
+            return;
+        }
+        String[] args = Arrays.copyOf(_args, _args.length + 2);
+        args[_args.length] = "-prof";
+        args[_args.length + 1] = "gc";
+        Main.main(args);
+    }
+}
@@ -0,0 +1,115 @@
+package com.llat.benchmarks;
+
+import com.llat.tools.Event;
+import com.llat.tools.EventBus;
+import com.llat.tools.Listener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to throw an event as more listeners are added to the EventBus. Without
+ * routing, no listener declares its types, so every listener is sent every event
+ * and filters it with instanceof (the way the interpreters used to); with it, each
+ * listener declares the one type it handles, so the routing table only returns the
+ * listeners that want the event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBusBenchmark {
+
+    private static class Event0 implements Event {
+    }
+
+    private static class Event1 implements Event {
+    }
+
+    private static class Event2 implements Event {
+    }
+
+    private static class Event3 implements Event {
+    }
+
+    private static class Event4 implements Event {
+    }
+
+    private static class Event5 implements Event {
+    }
+
+    private static class Event6 implements Event {
+    }
+
+    private static class Event7 implements Event {
+    }
+
+    /**
+     * Event types that the listeners are spread across.
+     */
+    private static final List<Class<? extends Event>> TYPES = List.of(Event0.class, Event1.class, Event2.class,
+            Event3.class, Event4.class, Event5.class, Event6.class, Event7.class);
+
+    @Param({"1", "16", "64", "256"})
+    public int listeners;
+
+    /**
+     * Whether each listener declares its event type.
+     */
+    @Param({"false", "true"})
+    public boolean routed;
+
+    /**
+     * One instance of every event type.
+     */
+    private final Event[] events = {new Event0(), new Event1(), new Event2(), new Event3(),
+            new Event4(), new Event5(), new Event6(), new Event7()};
+
+    private List<Listener> registered;
+
+    /**
+     * Event thrown next.
+     */
+    private int next = 0;
+
+    /**
+     * Number of events the listeners handled, so the JIT cannot remove them.
+     */
+    private long handled = 0;
+
+    @Setup
+    public void setup() {
+        EventBus.resetListeners();
+        this.registered = new ArrayList<>();
+        for (int i = 0; i < this.listeners; i++) {
+            Class<? extends Event> type = TYPES.get(i % TYPES.size());
+            Listener listener = (_event) -> {
+                if (type.isInstance(_event)) {
+                    this.handled++;
+                }
+            };
+            this.registered.add(listener);
+            if (this.routed) {
+                EventBus.addListener(listener, EventBus.CALLER_EXECUTOR, type);
+            } else {
+                EventBus.addListener(listener, EventBus.CALLER_EXECUTOR);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.registered.forEach(EventBus::removeListener);
+    }
+
+    @Benchmark
+    public long throwEvent() {
+        EventBus.throwEvent(this.events[this.next]);
+        this.next = (this.next + 1) % this.events.length;
+        return this.handled;
+    }
+}
@@ -0,0 +1,174 @@
+package com.llat.benchmarks;
+
+import com.llat.algorithms.workload.SeededFormulaGenerator;
+import com.llat.input.LLATErrorListener;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.WffTree;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Inputs for the benchmarks. These are either the fixtures of the llat-core tests
+ * (packaged under fixtures/ in the benchmarks jar) or formulas made up by the
+ * SeededFormulaGenerator, joined together to reach a given size. The generated
+ * formulas only depend on the size, so every run gets the same ones.
+ */
+final class Fixtures {
+
+    /**
+     * Number of random inputs that each benchmark runs on per operation. Taking
+     * a few dozen evens out how hard any one random formula happens to be.
+     */
+    static final int RANDOM_INPUTS = 32;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Reads the formulas of the test fixtures in a directory of llat-core/tests.
+     *
+     * @param _directory - name of the directory, e.g., "propositionaltree".
+     * @return the formula of every testNNN.in file, in order.
+     */
+    static List<String> read(String _directory) {
+        List<String> formulas = new ArrayList<>();
+        for (int i = 1; ; i++) {
+            String input = Fixtures.readResource(String.format("fixtures/%s/test%03d.in", _directory, i));
+            if (input == null) {
+                return formulas;
+            }
+            formulas.add(Fixtures.getFormula(input));
+        }
+    }
+
+    /**
+     * Reads the arguments of the argument validator fixtures that are valid, i.e.,
+     * those that natural deduction has a proof for.
+     *
+     * @return the valid arguments, in order.
+     */
+    static List<String> readValidArguments() {
+        List<String> arguments = new ArrayList<>();
+        for (int i = 1; ; i++) {
+            String name = String.format("fixtures/argumenttruthtreevalidator/test%03d", i);
+            String input = Fixtures.readResource(name + ".in");
+            if (input == null) {
+                return arguments;
+            }
+            String output = Fixtures.readResource(name + ".out");
+            if (output != null && output.trim().equals("true")) {
+                arguments.add(Fixtures.getFormula(input));
+            }
+        }
+    }
+
+    /**
+     * Parses a formula, failing instead of returning a partial tree.
+     *
+     * @param _formula - formula (or argument) to parse.
+     * @return list of syntax trees.
+     */
+    static LinkedList<WffTree> parse(String _formula) {
+        LinkedList<WffTree> trees = LLATParserAdapter.getAbstractSyntaxTree(_formula, false);
+        if (LLATErrorListener.sawError() || trees == null || trees.isEmpty()) {
+            throw new IllegalArgumentException("Benchmark input does not parse: " + _formula);
+        }
+        return trees;
+    }
+
+    /**
+     * Parses every formula in a list. Each must parse to a single syntax tree.
+     *
+     * @param _formulas - formulas to parse.
+     * @return one syntax tree per formula.
+     */
+    static List<WffTree> parseAll(List<String> _formulas) {
+        List<WffTree> trees = new ArrayList<>();
+        for (String formula : _formulas) {
+            trees.add(Fixtures.parse(formula).getFirst());
+        }
+        return trees;
+    }
+
+    /**
+     * Makes up RANDOM_INPUTS propositional formulas, each the conjunction of
+     * _size formulas of four atoms and depth three.
+     *
+     * @param _size - number of generated formulas in each input.
+     * @return list of formulas.
+     */
+    static List<String> randomPropositional(int _size) {
+        SeededFormulaGenerator generator = new SeededFormulaGenerator(_size);
+        return Fixtures.random(_size, () -> generator.genPropositionalFormula(4, 3));
+    }
+
+    /**
+     * Makes up RANDOM_INPUTS predicate formulas, each the conjunction of _size
+     * formulas of three predicates, depth two and one quantifier.
+     *
+     * @param _size - number of generated formulas in each input.
+     * @return list of formulas.
+     */
+    static List<String> randomPredicate(int _size) {
+        SeededFormulaGenerator generator = new SeededFormulaGenerator(_size);
+        return Fixtures.random(_size, () -> generator.genPredicateFormula(3, 2, 1));
+    }
+
+    /**
+     * Makes up a propositional formula with exactly _atoms atoms, so its truth table
+     * has 2^_atoms rows.
+     *
+     * @param _atoms - number of atoms, at most 26.
+     * @param _seed  - seed of the generator.
+     * @return formula.
+     */
+    static String atoms(int _atoms, long _seed) {
+        return new SeededFormulaGenerator(_seed).genPropositionalFormula(_atoms, 33 - Integer.numberOfLeadingZeros(_atoms - 1));
+    }
+
+    /**
+     * Joins formulas from a generator into RANDOM_INPUTS conjunctions of _size
+     * formulas each.
+     */
+    private static List<String> random(int _size, Supplier<String> _generator) {
+        List<String> formulas = new ArrayList<>();
+        while (formulas.size() < RANDOM_INPUTS) {
+            StringBuilder formula = new StringBuilder(_generator.get());
+            for (int i = 1; i < _size; i++) {
+                formula.insert(0, "(").append(" & ").append(_generator.get()).append(")");
+            }
+            formulas.add(formula.toString());
+        }
+        return formulas;
+    }
+
+    /**
+     * @return the first line of a fixture that is not blank or a comment.
+     */
+    private static String getFormula(String _input) {
+        for (String line : _input.split("\\R")) {
+            if (!line.isBlank() && !line.trim().startsWith("//")) {
+                return line.trim();
+            }
+        }
+        throw new IllegalArgumentException("Fixture has no formula: " + _input);
+    }
+
+    /**
+     * @return the contents of a resource, or null if there is none.
+     */
+    private static String readResource(String _name) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(_name)) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.llat.benchmarks;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.algorithms.workload.HardFormulaFamily;
+import com.llat.models.treenode.WffTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build the truth tree of the formulas of a HardFormulaFamily as they get
+ * bigger, for plotting how the generator scales. Sizes past what the generator
+ * can finish run into its iteration limit, which shows as the curve flattening.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HardFamilyBenchmark {
+
+    @Param({"pigeonhole", "parity", "biconditional"})
+    public String family;
+
+    @Param({"2", "3", "4"})
+    public int size;
+
+    private WffTree tree;
+
+    @Setup
+    public void setup() {
+        this.tree = Fixtures.parse(HardFormulaFamily.fromName(this.family).generate(this.size)).getFirst();
+    }
+
+    @Benchmark
+    public Object propositionalTruthTreeGenerator() {
+        Object truthTree = new PropositionalTruthTreeGenerator(this.tree).getTruthTree();
+        AlgorithmProgress.current().drainErrors();
+        return truthTree;
+    }
+}
@@ -0,0 +1,124 @@
+package com.llat.benchmarks;
+
+import com.llat.database.LocalDatabase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time for a LocalDatabase to store and read history: writing one user's entries
+ * a batch at a time (a batch of 1 is the way the history view used to write),
+ * reading each user's history, and reading them all with GetHistories(...).
+ * Nothing goes over the network, so this measures the storage itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalDatabaseBenchmark {
+
+    private static final int USERS = 200;
+
+    private static final int ENTRIES_PER_USER = 100;
+
+    private Path directory;
+
+    private LocalDatabase db;
+
+    private List<Integer> users;
+
+    /**
+     * User whose history is written or read next.
+     */
+    private int user = 0;
+
+    /**
+     * Number of entries written per call, for write() only.
+     */
+    @State(Scope.Benchmark)
+    public static class Batch {
+
+        @Param({"1", "10", "100"})
+        public int batchSize;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("llat-benchmark");
+        // The database keeps ENTRIES_PER_USER entries per user, so writing more does not grow it.
+        this.db = new LocalDatabase(this.directory.resolve("llat"), ENTRIES_PER_USER);
+        this.users = new ArrayList<>();
+        for (int user = 1; user <= USERS; user++) {
+            this.users.add(user);
+            List<String> entries = new ArrayList<>();
+            for (int i = 0; i < ENTRIES_PER_USER; i++) {
+                entries.add(LocalDatabaseBenchmark.formula(user, i));
+            }
+            this.db.InsertQueries(user, entries);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.db.close();
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Writes ENTRIES_PER_USER entries for the next user.
+     */
+    @Benchmark
+    public void write(Batch _batch) {
+        int user = this.nextUser();
+        List<String> batch = new ArrayList<>();
+        for (int i = 0; i < ENTRIES_PER_USER; i++) {
+            batch.add(LocalDatabaseBenchmark.formula(user, i));
+            if (batch.size() == _batch.batchSize) {
+                this.db.InsertQueries(user, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            this.db.InsertQueries(user, batch);
+        }
+    }
+
+    /**
+     * Reads the history of the next user.
+     */
+    @Benchmark
+    public void read(Blackhole _blackhole) {
+        _blackhole.consume(this.db.UpdateHistory(this.nextUser()));
+    }
+
+    /**
+     * Reads the history of every user at once.
+     */
+    @Benchmark
+    public void readBulk(Blackhole _blackhole) {
+        _blackhole.consume(this.db.GetHistories(this.users));
+    }
+
+    private int nextUser() {
+        this.user = this.user % USERS + 1;
+        return this.user;
+    }
+
+    private static String formula(int _user, int _i) {
+        return "((P" + _i + " \u2192 Q) & ~R" + _user + ")";
+    }
+}
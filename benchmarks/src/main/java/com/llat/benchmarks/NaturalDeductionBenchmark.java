@@ -0,0 +1,103 @@
+package com.llat.benchmarks;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.ArgumentNaturalDeductionValidator;
+import com.llat.models.treenode.WffTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Time to find natural deduction proofs for the valid arguments of the
+ * argumenttruthtreevalidator test fixtures.
+ * <p>
+ * An argument whose search runs for minutes would make the benchmark useless,
+ * so the arguments that do not finish within SEARCH_BUDGET_MILLIS are left out
+ * and logged when the benchmark starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NaturalDeductionBenchmark {
+
+    /**
+     * Time a proof search gets in setup() before its argument is left out.
+     */
+    private static final long SEARCH_BUDGET_MILLIS = 2000;
+
+    private List<LinkedList<WffTree>> arguments;
+
+    /**
+     * Copies of the arguments for the next call, so that one proof search cannot
+     * change the input of the next.
+     */
+    private List<LinkedList<WffTree>> copies;
+
+    @Setup
+    public void setup() {
+        this.arguments = new ArrayList<>();
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            for (String argument : Fixtures.readValidArguments()) {
+                if (NaturalDeductionBenchmark.finishes(argument, timer)) {
+                    this.arguments.add(Fixtures.parse(argument));
+                } else {
+                    Logger.getLogger(NaturalDeductionBenchmark.class.getName())
+                            .info("Left out, runs past " + SEARCH_BUDGET_MILLIS + "ms: " + argument);
+                }
+            }
+        } finally {
+            timer.shutdownNow();
+            AlgorithmProgress.clear();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void copyArguments() {
+        this.copies = new ArrayList<>();
+        for (LinkedList<WffTree> argument : this.arguments) {
+            LinkedList<WffTree> copy = new LinkedList<>();
+            for (WffTree tree : argument) {
+                copy.add(tree.copy());
+            }
+            this.copies.add(copy);
+        }
+    }
+
+    /**
+     * @return true if the proof search for an argument finishes within the budget.
+     */
+    private static boolean finishes(String _argument, ScheduledExecutorService _timer) {
+        AlgorithmProgress progress = new AlgorithmProgress();
+        AlgorithmProgress.install(progress);
+        ScheduledFuture<?> cancel = _timer.schedule(progress::cancel, SEARCH_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+        try {
+            new ArgumentNaturalDeductionValidator(Fixtures.parse(_argument)).getNaturalDeductionProof();
+            return true;
+        } catch (CancellationException e) {
+            return false;
+        } finally {
+            cancel.cancel(false);
+        }
+    }
+
+    @Benchmark
+    public void argumentNaturalDeductionValidator(Blackhole _blackhole) {
+        for (LinkedList<WffTree> argument : this.copies) {
+            _blackhole.consume(new ArgumentNaturalDeductionValidator(argument).getNaturalDeductionProof());
+        }
+        AlgorithmProgress.current().drainErrors();
+    }
+}
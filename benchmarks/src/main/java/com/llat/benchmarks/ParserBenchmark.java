@@ -0,0 +1,48 @@
+package com.llat.benchmarks;
+
+import com.llat.input.LLATParserAdapter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build the syntax trees of a set of formulas with
+ * LLATParserAdapter.getAbstractSyntaxTree.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * Either "fixtures" (the formulas of the ast and predicatetree test fixtures)
+     * or the number of random propositional formulas conjoined in each input.
+     */
+    @Param({"fixtures", "1", "4", "16"})
+    public String input;
+
+    private List<String> formulas;
+
+    @Setup
+    public void setup() {
+        if (this.input.equals("fixtures")) {
+            this.formulas = new ArrayList<>(Fixtures.read("ast"));
+            this.formulas.addAll(Fixtures.read("predicatetree"));
+        } else {
+            this.formulas = Fixtures.randomPropositional(Integer.parseInt(this.input));
+        }
+    }
+
+    @Benchmark
+    public void getAbstractSyntaxTree(Blackhole _blackhole) {
+        for (String formula : this.formulas) {
+            _blackhole.consume(LLATParserAdapter.getAbstractSyntaxTree(formula, false));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.llat.benchmarks;
+
+import com.llat.models.treenode.WffTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to compare pairs of formulas with WffTree.stringEquals. The natural
+ * deduction validator does this for every candidate step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringEqualsBenchmark {
+
+    /**
+     * Number of random propositional formulas conjoined in each input.
+     */
+    @Param({"1", "4", "16"})
+    public int size;
+
+    private List<WffTree> trees;
+
+    /**
+     * Copy of each tree, which is equal to it.
+     */
+    private List<WffTree> copies;
+
+    /**
+     * (g & f) for each (f & g), which is equal once the operands are swapped.
+     */
+    private List<WffTree[]> commuted;
+
+    @Setup
+    public void setup() {
+        List<String> formulas = Fixtures.randomPropositional(this.size);
+        this.trees = Fixtures.parseAll(formulas);
+        this.copies = new ArrayList<>();
+        this.commuted = new ArrayList<>();
+        for (int i = 0; i < formulas.size(); i++) {
+            this.copies.add(this.trees.get(i).copy());
+            String f = formulas.get(i);
+            String g = formulas.get((i + 1) % formulas.size());
+            this.commuted.add(new WffTree[]{Fixtures.parse("(" + f + " & " + g + ")").getFirst().getChild(0),
+                    Fixtures.parse("(" + g + " & " + f + ")").getFirst().getChild(0)});
+        }
+    }
+
+    @Benchmark
+    public void equal(Blackhole _blackhole) {
+        for (int i = 0; i < this.trees.size(); i++) {
+            _blackhole.consume(this.trees.get(i).stringEquals(this.copies.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void commuted(Blackhole _blackhole) {
+        for (WffTree[] pair : this.commuted) {
+            _blackhole.consume(pair[0].stringEquals(pair[1]));
+        }
+    }
+
+    @Benchmark
+    public void different(Blackhole _blackhole) {
+        for (int i = 0; i < this.trees.size(); i++) {
+            _blackhole.consume(this.trees.get(i).stringEquals(this.trees.get((i + 1) % this.trees.size())));
+        }
+    }
+}
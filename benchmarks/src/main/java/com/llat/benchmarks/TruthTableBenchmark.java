@@ -0,0 +1,40 @@
+package com.llat.benchmarks;
+
+import com.llat.algorithms.propositional.TruthTableGenerator;
+import com.llat.models.treenode.WffTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build the truth table of a formula with 8 to 14 atoms (the most the
+ * TruthTableGenerator allows).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TruthTableBenchmark {
+
+    @Param({"8", "10", "12", "14"})
+    public int atoms;
+
+    private WffTree tree;
+
+    @Setup
+    public void setup() {
+        this.tree = Fixtures.parse(Fixtures.atoms(this.atoms, 0x11a7)).getFirst();
+    }
+
+    /**
+     * The generator clears the truth values of the tree when it is made, so each
+     * call builds the whole table again.
+     */
+    @Benchmark
+    public WffTree truthTableGenerator() {
+        new TruthTableGenerator(this.tree).getTruthTable();
+        return this.tree;
+    }
+}
@@ -0,0 +1,64 @@
+package com.llat.benchmarks;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.predicate.PredicateTruthTreeGenerator;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.models.treenode.WffTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to build the truth trees of a set of propositional formulas and of a set
+ * of predicate formulas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TruthTreeBenchmark {
+
+    /**
+     * Either "fixtures" (the propositionaltree and predicatetree test fixtures) or
+     * the number of random formulas conjoined in each input.
+     */
+    @Param({"fixtures", "1", "2", "4"})
+    public String input;
+
+    private List<WffTree> propositionalTrees;
+
+    private List<WffTree> predicateTrees;
+
+    @Setup
+    public void setup() {
+        if (this.input.equals("fixtures")) {
+            this.propositionalTrees = Fixtures.parseAll(Fixtures.read("propositionaltree"));
+            this.predicateTrees = Fixtures.parseAll(Fixtures.read("predicatetree"));
+        } else {
+            int size = Integer.parseInt(this.input);
+            this.propositionalTrees = Fixtures.parseAll(Fixtures.randomPropositional(size));
+            this.predicateTrees = Fixtures.parseAll(Fixtures.randomPredicate(size));
+        }
+    }
+
+    @Benchmark
+    public void propositionalTruthTreeGenerator(Blackhole _blackhole) {
+        for (WffTree tree : this.propositionalTrees) {
+            _blackhole.consume(new PropositionalTruthTreeGenerator(tree).getTruthTree());
+        }
+        // Trees that hit the iteration limit report an error; do not let them pile up.
+        AlgorithmProgress.current().drainErrors();
+    }
+
+    @Benchmark
+    public void predicateTruthTreeGenerator(Blackhole _blackhole) {
+        for (WffTree tree : this.predicateTrees) {
+            _blackhole.consume(new PredicateTruthTreeGenerator(tree).getTruthTree());
+        }
+        AlgorithmProgress.current().drainErrors();
+    }
+}
@@ -0,0 +1,447 @@
+package com.llat.batch;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.TexParseTreePrinter;
+import com.llat.algorithms.TexPrinter;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.pdf.PDFDocument;
+import com.llat.algorithms.pdf.PDFPage;
+import com.llat.algorithms.pdf.PDFRenderer;
+import com.llat.algorithms.propositional.TexTablePrinter;
+import com.llat.algorithms.propositional.TruthTableGenerator;
+import com.llat.input.LLATErrorListener;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.LogicSetup;
+import com.llat.models.treenode.WffTree;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exports a file of formulas as one document, e.g. to print a worksheet of solved
+ * truth trees, without the GUI.
+ * <p>
+ * The input has the same format as that of BatchRunner: each non-blank line that
+ * does not start with // holds a formula. Each formula is exported as a parse
+ * tree, truth tree or truth table, into one of:
+ * <ul>
+ *     <li>a PDF (output.pdf), with a page for each formula (more for long truth tables);</li>
+ *     <li>a TeX file (output.tex), with a page for each formula once compiled;</li>
+ *     <li>a zip (output.zip) of PDFs, one for each formula, named after its line.</li>
+ * </ul>
+ * The formulas are solved and drawn in parallel, and written in the order of the
+ * input as they finish, so only a few of them are in memory at a time. Formulas
+ * that cannot be exported (they do not parse, a truth tree was cut off, or a truth
+ * table has too many atoms) are reported and left out.
+ */
+public final class BatchExporter {
+
+    /**
+     *
+     */
+    public enum Kind {
+        PARSE_TREE("tex_parse_tree_template.tex"),
+        TRUTH_TREE("tex_truth_tree_template.tex"),
+        TRUTH_TABLE("tex_truth_table_template.tex");
+
+        /**
+         * Template that the TeX output starts with.
+         */
+        private final String template;
+
+        Kind(String _template) {
+            this.template = _template;
+        }
+    }
+
+    private static final String USAGE = "Usage: BatchExporter <input> <output.pdf|output.tex|output.zip>"
+            + " [--kind=TRUTH_TREE|PARSE_TREE|TRUTH_TABLE] [--threads=N]";
+
+    /**
+     *
+     */
+    private final Path input;
+
+    /**
+     *
+     */
+    private final Path output;
+
+    /**
+     *
+     */
+    private final Kind kind;
+
+    /**
+     *
+     */
+    private final int threads;
+
+    /**
+     * Extension of the output, which says what to write: pdf, tex or zip.
+     */
+    private final String format;
+
+    /**
+     * Shared by all of the lines, so duplicate formulas are only solved once.
+     */
+    private final LogicSetup logicSetup = new LogicSetup(false);
+
+    /**
+     * Document that the pages are drawn into, when exporting to one PDF.
+     */
+    private PDFDocument document;
+
+    public BatchExporter(Path _input, Path _output, Kind _kind, int _threads) {
+        this.input = _input;
+        this.output = _output;
+        this.kind = _kind;
+        this.threads = _threads;
+        String name = _output.getFileName().toString();
+        this.format = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    public static void main(String[] _args) throws IOException {
+        List<String> paths = new ArrayList<>();
+        Kind kind = Kind.TRUTH_TREE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (String arg : _args) {
+                if (arg.startsWith("--kind=")) {
+                    kind = Kind.valueOf(arg.substring("--kind=".length()).toUpperCase(Locale.ROOT));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(arg.substring("--threads=".length()));
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option " + arg + ".");
+                } else {
+                    paths.add(arg);
+                }
+            }
+            if (paths.size() != 2 || threads < 1) {
+                throw new IllegalArgumentException("Expected an input and an output file.");
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(BatchExporter.USAGE);
+            return;
+        }
+
+        int exported = new BatchExporter(Paths.get(paths.get(0)), Paths.get(paths.get(1)), kind, threads).run();
+        System.out.println(exported + " formulas exported to " + paths.get(1));
+    }
+
+    /**
+     * Exports the formulas of the input.
+     *
+     * @return number of formulas that were exported.
+     * @throws IOException if the input cannot be read or the output cannot be written.
+     * @throws IllegalArgumentException if the output is not a .pdf, .tex or .zip file.
+     */
+    public int run() throws IOException {
+        if (!this.format.equals("pdf") && !this.format.equals("tex") && !this.format.equals("zip")) {
+            throw new IllegalArgumentException("Cannot export to " + this.output + "; expected a .pdf, .tex or .zip file.");
+        }
+
+        int exported = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads, BatchExporter.daemonThreads());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(this.output));
+             BufferedReader reader = Files.newBufferedReader(this.input, StandardCharsets.UTF_8)) {
+            Sink sink = this.format.equals("pdf") ? new PDFSink(out) : this.format.equals("tex") ? new TexSink(out) : new ZipSink(out);
+
+            // Formulas that are not written yet; only a few are kept in flight.
+            Deque<Future<Export>> pending = new ArrayDeque<>();
+            int window = this.threads * 4;
+            int lineNumber = 0;
+            for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+                lineNumber++;
+                String formula = text.strip();
+                if (formula.isEmpty() || formula.startsWith("//")) {
+                    continue;
+                }
+                pending.add(this.submit(lineNumber, formula, pool));
+                while (pending.size() > window) {
+                    exported += BatchExporter.write(pending.poll(), sink);
+                }
+            }
+            while (!pending.isEmpty()) {
+                exported += BatchExporter.write(pending.poll(), sink);
+            }
+            sink.finish();
+        } finally {
+            pool.shutdownNow();
+            this.document = null;
+        }
+        return exported;
+    }
+
+    /**
+     * Parses a line and starts exporting it.
+     */
+    private Future<Export> submit(int _lineNumber, String _formula, ExecutorService _pool) {
+        // LLATErrorListener keeps its errors in static state, so the lines are
+        // parsed one at a time on this thread.
+        LinkedList<WffTree> wffTrees = LLATParserAdapter.getAbstractSyntaxTree(_formula, false);
+        if (wffTrees == null || wffTrees.isEmpty() || LLATErrorListener.sawError()) {
+            StringJoiner message = new StringJoiner("; ");
+            LLATErrorListener.getErrorIterator().forEachRemaining((_error) -> message.add(_error.toString()));
+            return CompletableFuture.completedFuture(new Export(_lineNumber, "Syntax error: " + message));
+        } else if (wffTrees.size() > 1) {
+            return CompletableFuture.completedFuture(new Export(_lineNumber, "Only single formulas can be exported."));
+        }
+        return _pool.submit(() -> this.export(_lineNumber, wffTrees.getFirst()));
+    }
+
+    /**
+     * Solves and draws one formula, on a thread of the pool.
+     */
+    private Export export(int _lineNumber, WffTree _wffTree) {
+        AlgorithmProgress.install(new AlgorithmProgress());
+        try {
+            Export export = new Export(_lineNumber, null);
+            switch (this.kind) {
+                case PARSE_TREE:
+                    if (this.format.equals("pdf")) {
+                        export.pages = Collections.singletonList(PDFRenderer.drawParseTree(this.document, _wffTree));
+                    } else if (this.format.equals("zip")) {
+                        export.pdf = BatchExporter.render((_out) -> PDFRenderer.renderParseTree(_wffTree, _out));
+                    } else {
+                        export.tex = "\\begin{forest}\nsmullyan tableaux\n" + TexParseTreePrinter.getTexParseTree(_wffTree) + "\n\\end{forest}\n";
+                    }
+                    break;
+                case TRUTH_TREE:
+                    TruthTree truthTree = this.logicSetup.getTruthTree(_wffTree);
+                    List<String> errors = AlgorithmProgress.current().drainErrors();
+                    if (!errors.isEmpty()) {
+                        // A tree that was cut off is not a solution, like BatchRunner's INCOMPLETE.
+                        return new Export(_lineNumber, "Incomplete: " + String.join("; ", errors));
+                    }
+                    if (this.format.equals("pdf")) {
+                        export.pages = Collections.singletonList(PDFRenderer.drawTruthTree(this.document, truthTree));
+                    } else if (this.format.equals("zip")) {
+                        export.pdf = BatchExporter.render((_out) -> PDFRenderer.renderTruthTree(truthTree, _out));
+                    } else {
+                        export.tex = "\\begin{forest}\nsmullyan tableaux\n" + truthTree.getTexTree() + "\n\\end{forest}\n";
+                    }
+                    break;
+                case TRUTH_TABLE:
+                    TruthTableGenerator ttg = new TruthTableGenerator(_wffTree);
+                    if (_wffTree.isPredicateWff() || !ttg.getTruthTable()) {
+                        return new Export(_lineNumber, "Could not create truth table.");
+                    }
+                    if (this.format.equals("pdf")) {
+                        export.pages = PDFRenderer.drawTruthTable(this.document, ttg.postorder());
+                    } else if (this.format.equals("zip")) {
+                        export.pdf = BatchExporter.render((_out) -> PDFRenderer.renderTruthTable(ttg.postorder(), _out));
+                    } else {
+                        export.tex = TexTablePrinter.getTexTable(ttg.postorder()) + "\n\\end{tabular}\n";
+                    }
+                    break;
+            }
+            return export;
+        } catch (IOException | RuntimeException | StackOverflowError ex) {
+            return new Export(_lineNumber, ex.toString());
+        } finally {
+            AlgorithmProgress.clear();
+        }
+    }
+
+    /**
+     * Renders a formula to its own PDF, when exporting to a zip.
+     */
+    private static byte[] render(Renderer _renderer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        _renderer.render(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Waits for a formula and writes it.
+     *
+     * @return 1 if the formula was exported, and 0 if it was left out.
+     */
+    private static int write(Future<Export> _future, Sink _sink) throws IOException {
+        Export export;
+        try {
+            export = _future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the export.");
+        } catch (ExecutionException ex) {
+            // export(...) catches what the algorithms throw, so this is an Error.
+            throw new IllegalStateException(ex.getCause());
+        }
+        if (export.error != null) {
+            System.err.println("Line " + export.line + ": " + export.error);
+            return 0;
+        }
+        _sink.write(export);
+        return 1;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return (_runnable) -> {
+            Thread thread = new Thread(_runnable, "llat-export-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     *
+     */
+    private interface Renderer {
+
+        void render(OutputStream _out) throws IOException;
+    }
+
+    /**
+     * Where the exported formulas go, in the order of the input.
+     */
+    private interface Sink {
+
+        void write(Export _export) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Adds the pages of each formula to one PDF. The pages are drawn by the pool,
+     * and written here so that they are in the order of the input.
+     */
+    private final class PDFSink implements Sink {
+
+        PDFSink(OutputStream _out) throws IOException {
+            BatchExporter.this.document = new PDFDocument(_out);
+        }
+
+        @Override
+        public void write(Export _export) throws IOException {
+            for (PDFPage page : _export.pages) {
+                page.end();
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            BatchExporter.this.document.finish();
+        }
+    }
+
+    /**
+     * Writes one TeX document, with the template's preamble once and then the body
+     * of each formula.
+     */
+    private final class TexSink implements Sink {
+
+        private final Writer writer;
+
+        TexSink(OutputStream _out) throws IOException {
+            this.writer = new OutputStreamWriter(_out, StandardCharsets.UTF_8);
+            String template = TexPrinter.getTemplate(BatchExporter.this.kind.template);
+            String preamble = template.substring(0, template.indexOf("\\begin{document}"));
+            if (BatchExporter.this.kind == Kind.TRUTH_TABLE) {
+                // The standalone class puts each tree on its own page, but not each table.
+                preamble = preamble.replaceFirst("\\]\\{standalone}", ",multi=tabular]{standalone}");
+            }
+            this.writer.write(preamble);
+            this.writer.write("\\begin{document}\n");
+        }
+
+        @Override
+        public void write(Export _export) throws IOException {
+            this.writer.write("\n% Line " + _export.line + "\n");
+            this.writer.write(_export.tex);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            this.writer.write("\n\\end{document}\n");
+            this.writer.flush();
+        }
+    }
+
+    /**
+     * Writes a zip with a PDF for each formula.
+     */
+    private static final class ZipSink implements Sink {
+
+        private final ZipOutputStream zip;
+
+        ZipSink(OutputStream _out) {
+            this.zip = new ZipOutputStream(_out);
+        }
+
+        @Override
+        public void write(Export _export) throws IOException {
+            this.zip.putNextEntry(new ZipEntry(String.format("line%06d.pdf", _export.line)));
+            this.zip.write(_export.pdf);
+            this.zip.closeEntry();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            this.zip.finish();
+        }
+    }
+
+    /**
+     * A formula, drawn in whichever form the output needs.
+     */
+    private static final class Export {
+
+        private final int line;
+
+        /**
+         * Why the formula could not be exported, or null.
+         */
+        private final String error;
+
+        /**
+         * Pages drawn into the document, which are not ended yet.
+         */
+        private List<PDFPage> pages;
+
+        /**
+         * Body of the formula in the TeX document.
+         */
+        private String tex;
+
+        /**
+         * PDF of the formula on its own.
+         */
+        private byte[] pdf;
+
+        Export(int _line, String _error) {
+            this.line = _line;
+            this.error = _error;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.llat.batch;
+
+import com.google.gson.JsonObject;
+import com.llat.models.AlgorithmType;
+
+/**
+ * Result of running one algorithm on one line of the input of a BatchRunner.
+ */
+public final class BatchResult {
+
+    /**
+     * Header of the CSV output; the columns match toCsvLine().
+     */
+    public static final String CSV_HEADER = "line,formula,algorithm,status,value,millis,nodes,message";
+
+    /**
+     * Line of the input file that the formula is on (1-based).
+     */
+    private final int line;
+
+    /**
+     *
+     */
+    private final String formula;
+
+    /**
+     * Algorithm that was run, or null if the formula did not parse.
+     */
+    private final AlgorithmType algorithm;
+
+    /**
+     *
+     */
+    private final Status status;
+
+    /**
+     * Truth value of the result (e.g., whether the argument is valid), or null if
+     * the algorithm does not produce one.
+     */
+    private final Boolean value;
+
+    /**
+     *
+     */
+    private final long millis;
+
+    /**
+     * Number of nodes the algorithm expanded before it finished or gave up.
+     */
+    private final int nodes;
+
+    /**
+     * Why the algorithm did not finish, or null.
+     */
+    private final String message;
+
+    /**
+     * Full result of the algorithm, only kept if asked for.
+     */
+    private final JsonObject result;
+
+    public BatchResult(int _line, String _formula, AlgorithmType _algorithm, Status _status, Boolean _value,
+                       long _millis, int _nodes, String _message, JsonObject _result) {
+        this.line = _line;
+        this.formula = _formula;
+        this.algorithm = _algorithm;
+        this.status = _status;
+        this.value = _value;
+        this.millis = _millis;
+        this.nodes = _nodes;
+        this.message = _message;
+        this.result = _result;
+    }
+
+    /**
+     * @return this result as one line of JSON, without the line break.
+     */
+    public String toJsonLine() {
+        JsonObject json = new JsonObject();
+        json.addProperty("line", this.line);
+        json.addProperty("formula", this.formula);
+        json.addProperty("algorithm", this.algorithm == null ? null : this.algorithm.name());
+        json.addProperty("status", this.status.toString());
+        json.addProperty("value", this.value);
+        json.addProperty("millis", this.millis);
+        json.addProperty("nodes", this.nodes);
+        if (this.message != null) {
+            json.addProperty("message", this.message);
+        }
+        if (this.result != null) {
+            json.add("result", this.result);
+        }
+        return json.toString();
+    }
+
+    /**
+     * @return this result as one row of CSV, without the line break.
+     */
+    public String toCsvLine() {
+        return this.line + "," + BatchResult.escapeCsv(this.formula) + ","
+                + (this.algorithm == null ? "" : this.algorithm.name()) + "," + this.status + ","
+                + (this.value == null ? "" : this.value) + "," + this.millis + "," + this.nodes + ","
+                + BatchResult.escapeCsv(this.message);
+    }
+
+    /**
+     * Quotes a CSV field if it has to be.
+     *
+     * @param _field - field to write; may be null.
+     * @return the field as it goes in the CSV row.
+     */
+    private static String escapeCsv(String _field) {
+        if (_field == null) {
+            return "";
+        }
+        if (_field.indexOf(',') == -1 && _field.indexOf('"') == -1 && _field.indexOf('\n') == -1 && _field.indexOf('\r') == -1) {
+            return _field;
+        }
+        return "\"" + _field.replace("\"", "\"\"") + "\"";
+    }
+
+    public int getLine() {
+        return this.line;
+    }
+
+    public String getFormula() {
+        return this.formula;
+    }
+
+    public AlgorithmType getAlgorithm() {
+        return this.algorithm;
+    }
+
+    public Status getStatus() {
+        return this.status;
+    }
+
+    public Boolean getValue() {
+        return this.value;
+    }
+
+    public long getMillis() {
+        return this.millis;
+    }
+
+    public int getNodes() {
+        return this.nodes;
+    }
+
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     *
+     */
+    public enum Status {
+        /**
+         * The algorithm finished.
+         */
+        OK("ok"),
+        /**
+         * The algorithm finished, but it reported an error (e.g., a truth tree
+         * generator hit its iteration limit), so the result may be incomplete.
+         */
+        INCOMPLETE("incomplete"),
+        /**
+         * The algorithm ran past its time limit and was cancelled.
+         */
+        TIMEOUT("timeout"),
+        /**
+         * The algorithm does not apply to the formulas on this line.
+         */
+        SKIPPED("skipped"),
+        /**
+         * The line did not parse.
+         */
+        SYNTAX_ERROR("syntax_error"),
+        /**
+         * The algorithm threw an exception.
+         */
+        ERROR("error");
+
+        /**
+         * String representation of this enum.
+         */
+        private final String string;
+
+        Status(String _string) {
+            this.string = _string;
+        }
+
+        @Override
+        public String toString() {
+            return this.string;
+        }
+    }
+}
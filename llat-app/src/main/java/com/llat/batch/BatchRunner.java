@@ -0,0 +1,545 @@
+package com.llat.batch;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.trace.TruthTreeTrace;
+import com.llat.input.LLATErrorListener;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.AlgorithmType;
+import com.llat.models.LogicSetup;
+import com.llat.models.treenode.WffTree;
+import com.llat.server.ResultSerializer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs algorithms over a file of formulas without the GUI, e.g. to grade a
+ * semester's worth of submissions overnight.
+ * <p>
+ * Each non-blank line of the input that does not start with // holds a formula or
+ * an argument, in the same syntax as the input field of the app. Every algorithm
+ * that applies to it is run in parallel, and each gets its own time limit. The
+ * results are written one per line, as JSON (JSONL) or, if the output file ends
+ * in .csv, as CSV. They are written in the order of the input, whatever order
+ * they finish in.
+ * <p>
+ * Every so often, the runner writes a checkpoint file next to the output. It records
+ * the last input line whose results are all written, and how long the output was
+ * at that point. Running again with --resume truncates the output back to the
+ * checkpoint and carries on from the next line.
+ * <p>
+ * With --trace=DIR, every truth tree that the algorithms build is traced, and the
+ * trace of each line and algorithm is written to DIR for TraceTool to read.
+ */
+public final class BatchRunner {
+
+    public static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+
+    private static final String USAGE = "Usage: BatchRunner <input> <output.jsonl|output.csv>"
+            + " [--algorithms=ALL|NAME,...] [--threads=N] [--timeout=MILLIS] [--resume] [--full] [--trace=DIR]";
+
+    /**
+     * A checkpoint is written after this many lines...
+     */
+    private static final int CHECKPOINT_LINES = 100;
+
+    /**
+     * ...or after this long, whichever comes first.
+     */
+    private static final long CHECKPOINT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Cancels the algorithms that run past their time limit.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor((_runnable) -> {
+        Thread thread = new Thread(_runnable, "llat-batch-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     *
+     */
+    private final Path input;
+
+    /**
+     *
+     */
+    private final Path output;
+
+    /**
+     *
+     */
+    private final Path checkpoint;
+
+    /**
+     * Algorithms to run on every line they apply to.
+     */
+    private final List<AlgorithmType> algorithms;
+
+    /**
+     *
+     */
+    private final int threads;
+
+    /**
+     * Time limit of each algorithm on each line, from when it starts running.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * True if the full results are written along with the summary (JSONL only).
+     */
+    private final boolean full;
+
+    /**
+     *
+     */
+    private final boolean csv;
+
+    /**
+     * Shared by all of the lines, so duplicate submissions are only solved once.
+     */
+    private final LogicSetup logicSetup = new LogicSetup(false);
+
+    /**
+     * Directory that the truth tree traces are written to, or null to not trace.
+     */
+    private Path traceDirectory;
+
+    public BatchRunner(Path _input, Path _output, List<AlgorithmType> _algorithms, int _threads, long _timeoutMillis, boolean _full) {
+        this.input = _input;
+        this.output = _output;
+        this.checkpoint = _output.resolveSibling(_output.getFileName() + ".checkpoint");
+        this.algorithms = List.copyOf(_algorithms);
+        this.threads = _threads;
+        this.timeoutMillis = _timeoutMillis;
+        this.full = _full;
+        this.csv = _output.getFileName().toString().toLowerCase().endsWith(".csv");
+    }
+
+    public static void main(String[] _args) throws IOException {
+        List<String> paths = new ArrayList<>();
+        List<AlgorithmType> algorithms = BatchRunner.getAllAlgorithms();
+        int threads = Runtime.getRuntime().availableProcessors();
+        long timeoutMillis = BatchRunner.DEFAULT_TIMEOUT_MILLIS;
+        boolean resume = false;
+        boolean full = false;
+        Path traceDirectory = null;
+        try {
+            for (String arg : _args) {
+                if (arg.startsWith("--algorithms=")) {
+                    algorithms = BatchRunner.parseAlgorithms(arg.substring("--algorithms=".length()));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(arg.substring("--threads=".length()));
+                } else if (arg.startsWith("--timeout=")) {
+                    timeoutMillis = Long.parseLong(arg.substring("--timeout=".length()));
+                } else if (arg.equals("--resume")) {
+                    resume = true;
+                } else if (arg.equals("--full")) {
+                    full = true;
+                } else if (arg.startsWith("--trace=")) {
+                    traceDirectory = Paths.get(arg.substring("--trace=".length()));
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option " + arg + ".");
+                } else {
+                    paths.add(arg);
+                }
+            }
+            if (paths.size() != 2 || threads < 1 || timeoutMillis < 1) {
+                throw new IllegalArgumentException("Expected an input and an output file.");
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(BatchRunner.USAGE);
+            return;
+        }
+
+        BatchRunner batchRunner = new BatchRunner(Paths.get(paths.get(0)), Paths.get(paths.get(1)), algorithms, threads, timeoutMillis, full);
+        if (traceDirectory != null) {
+            Files.createDirectories(traceDirectory);
+            batchRunner.setTraceDirectory(traceDirectory);
+        }
+        System.out.println(batchRunner.run(resume));
+    }
+
+    /**
+     * Runs the algorithms over the input.
+     *
+     * @param _resume - true to carry on from the checkpoint, if there is one.
+     * @return counts of the results written by this run.
+     * @throws IOException if the input cannot be read or the output cannot be written.
+     */
+    public Summary run(boolean _resume) throws IOException {
+        Properties start = _resume ? this.readCheckpoint() : null;
+        int startLine = start == null ? 0 : Integer.parseInt(start.getProperty("line"));
+        Summary summary = new Summary();
+        ExecutorService pool = Executors.newFixedThreadPool(this.threads, BatchRunner.daemonThreads());
+        try (FileChannel channel = FileChannel.open(this.output, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+             BufferedReader reader = Files.newBufferedReader(this.input, StandardCharsets.UTF_8)) {
+            // Anything past the checkpoint may be half written, so it goes.
+            long startBytes = start == null ? 0 : Long.parseLong(start.getProperty("bytes"));
+            channel.truncate(startBytes);
+            channel.position(startBytes);
+            if (start == null && this.csv) {
+                writer.write(BatchResult.CSV_HEADER);
+                writer.write('\n');
+            }
+
+            // Lines whose results are not all written yet. Only a few of them are
+            // kept in flight, so a huge input does not sit in memory.
+            Deque<Line> pending = new ArrayDeque<>();
+            int window = this.threads * 4;
+            int lastWritten = startLine;
+            int sinceCheckpoint = 0;
+            long lastCheckpoint = System.nanoTime();
+            int lineNumber = 0;
+            for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+                lineNumber++;
+                String formula = text.strip();
+                if (lineNumber <= startLine || formula.isEmpty() || formula.startsWith("//")) {
+                    continue;
+                }
+                pending.add(this.submit(lineNumber, formula, pool));
+                while (pending.size() > window) {
+                    lastWritten = this.write(pending.poll(), writer, summary);
+                    sinceCheckpoint++;
+                }
+                if (sinceCheckpoint >= BatchRunner.CHECKPOINT_LINES
+                        || (sinceCheckpoint > 0 && System.nanoTime() - lastCheckpoint > BatchRunner.CHECKPOINT_NANOS)) {
+                    this.writeCheckpoint(writer, channel, lastWritten);
+                    sinceCheckpoint = 0;
+                    lastCheckpoint = System.nanoTime();
+                }
+            }
+            while (!pending.isEmpty()) {
+                lastWritten = this.write(pending.poll(), writer, summary);
+            }
+            // Every line is done now, including the blank ones at the end.
+            this.writeCheckpoint(writer, channel, Math.max(lastWritten, lineNumber));
+        } finally {
+            pool.shutdownNow();
+        }
+        return summary.finish();
+    }
+
+    /**
+     * Parses a line and starts every algorithm that applies to it.
+     */
+    private Line submit(int _lineNumber, String _formula, ExecutorService _pool) {
+        List<Future<BatchResult>> results = new ArrayList<>();
+        // LLATErrorListener keeps its errors in static state, so the lines are
+        // parsed one at a time on this thread.
+        LinkedList<WffTree> wffTrees = LLATParserAdapter.getAbstractSyntaxTree(_formula, false);
+        if (wffTrees == null || wffTrees.isEmpty() || LLATErrorListener.sawError()) {
+            StringJoiner message = new StringJoiner("; ");
+            LLATErrorListener.getErrorIterator().forEachRemaining((_error) -> message.add(_error.toString()));
+            results.add(CompletableFuture.completedFuture(new BatchResult(_lineNumber, _formula, null,
+                    BatchResult.Status.SYNTAX_ERROR, null, 0, 0, message.toString(), null)));
+            return new Line(_lineNumber, results);
+        }
+
+        for (AlgorithmType algorithm : this.algorithms) {
+            if (this.logicSetup.isAvailable(algorithm, wffTrees)) {
+                results.add(_pool.submit(() -> this.solve(_lineNumber, _formula, algorithm, wffTrees)));
+            } else {
+                results.add(CompletableFuture.completedFuture(new BatchResult(_lineNumber, _formula, algorithm,
+                        BatchResult.Status.SKIPPED, null, 0, 0, null, null)));
+            }
+        }
+        return new Line(_lineNumber, results);
+    }
+
+    /**
+     * Runs one algorithm on one line, on a thread of the pool. The formulas are
+     * shared between the algorithms of a line, but LogicSetup only ever runs an
+     * algorithm on copies of them.
+     */
+    private BatchResult solve(int _lineNumber, String _formula, AlgorithmType _algorithm, LinkedList<WffTree> _wffTrees) {
+        AlgorithmProgress progress = new AlgorithmProgress();
+        TruthTreeTrace trace = this.traceDirectory != null ? new TruthTreeTrace() : null;
+        progress.setTrace(trace);
+        AlgorithmProgress.install(progress);
+        ScheduledFuture<?> timer = BatchRunner.TIMER.schedule(progress::cancel, this.timeoutMillis, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        try {
+            LogicSetup.LogicReturn logicReturn = this.logicSetup.detectAlgorithm(_algorithm, _wffTrees);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            List<String> errors = progress.drainErrors();
+            return new BatchResult(_lineNumber, _formula, _algorithm,
+                    errors.isEmpty() ? BatchResult.Status.OK : BatchResult.Status.INCOMPLETE,
+                    BatchRunner.getValue(logicReturn), millis, progress.getNodesExpanded(),
+                    errors.isEmpty() ? null : String.join("; ", errors),
+                    this.full ? ResultSerializer.serialize(logicReturn) : null);
+        } catch (CancellationException ex) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new BatchResult(_lineNumber, _formula, _algorithm, BatchResult.Status.TIMEOUT, null, millis,
+                    progress.getNodesExpanded(), "Cancelled after " + this.timeoutMillis + " ms.", null);
+        } catch (RuntimeException | StackOverflowError ex) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new BatchResult(_lineNumber, _formula, _algorithm, BatchResult.Status.ERROR, null, millis,
+                    progress.getNodesExpanded(), ex.toString(), null);
+        } finally {
+            timer.cancel(false);
+            AlgorithmProgress.clear();
+            if (trace != null && trace.getRecordedCount() > 0) {
+                this.writeTrace(trace, _lineNumber, _algorithm);
+            }
+        }
+    }
+
+    /**
+     * Writes the trace of one algorithm on one line. A trace that cannot be written
+     * is only reported, since the result of the algorithm does not depend on it.
+     */
+    private void writeTrace(TruthTreeTrace _trace, int _lineNumber, AlgorithmType _algorithm) {
+        Path path = this.traceDirectory.resolve(String.format("line%06d-%s.trace", _lineNumber, _algorithm.name()));
+        try {
+            _trace.write(path);
+        } catch (IOException ex) {
+            System.err.println("Could not write the trace " + path + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * @param _traceDirectory - directory to write the truth tree traces to, or null to not trace.
+     */
+    public void setTraceDirectory(Path _traceDirectory) {
+        this.traceDirectory = _traceDirectory;
+    }
+
+    /**
+     * Waits for the results of a line and writes them.
+     *
+     * @return number of the line that was written.
+     */
+    private int write(Line _line, Writer _writer, Summary _summary) throws IOException {
+        for (Future<BatchResult> future : _line.results) {
+            BatchResult result;
+            try {
+                result = future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for line " + _line.number + ".");
+            } catch (ExecutionException ex) {
+                // solve(...) catches what the algorithms throw, so this is an Error.
+                throw new IllegalStateException(ex.getCause());
+            }
+            _writer.write(this.csv ? result.toCsvLine() : result.toJsonLine());
+            _writer.write('\n');
+            _summary.add(result);
+        }
+        return _line.number;
+    }
+
+    /**
+     * Flushes the output to disk, then records how far it got. The checkpoint is
+     * replaced in one move, so a crash leaves either the old one or the new one.
+     */
+    private void writeCheckpoint(Writer _writer, FileChannel _channel, int _line) throws IOException {
+        _writer.flush();
+        _channel.force(false);
+        Properties properties = new Properties();
+        properties.setProperty("line", Integer.toString(_line));
+        properties.setProperty("bytes", Long.toString(_channel.position()));
+        properties.setProperty("algorithms", this.getAlgorithmNames());
+        Path temp = this.checkpoint.resolveSibling(this.checkpoint.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "LLAT batch checkpoint for " + this.input.toAbsolutePath());
+        }
+        Files.move(temp, this.checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the checkpoint, or null if there is none.
+     * @throws IllegalStateException if the checkpoint is for other algorithms.
+     */
+    private Properties readCheckpoint() throws IOException {
+        if (!Files.exists(this.checkpoint)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(this.checkpoint, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (!this.getAlgorithmNames().equals(properties.getProperty("algorithms"))) {
+            throw new IllegalStateException("The checkpoint " + this.checkpoint + " was written for other algorithms ("
+                    + properties.getProperty("algorithms") + ").");
+        }
+        return properties;
+    }
+
+    private String getAlgorithmNames() {
+        StringJoiner names = new StringJoiner(",");
+        for (AlgorithmType algorithm : this.algorithms) {
+            names.add(algorithm.name());
+        }
+        return names.toString();
+    }
+
+    /**
+     * @return the truth value of a result, or null if it has none.
+     */
+    private static Boolean getValue(LogicSetup.LogicReturn _logicReturn) {
+        if (_logicReturn instanceof LogicSetup.LogicTruthParseAndTruthTree) {
+            return ((LogicSetup.LogicTruthParseAndTruthTree) _logicReturn).getTruthValue();
+        } else if (_logicReturn instanceof LogicSetup.LogicTruthAndParseTree) {
+            return ((LogicSetup.LogicTruthAndParseTree) _logicReturn).getTruthValue();
+        } else if (_logicReturn instanceof LogicSetup.LogicTruth) {
+            return ((LogicSetup.LogicTruth) _logicReturn).getTruthValue();
+        } else if (_logicReturn instanceof LogicSetup.LogicNaturalDeduction) {
+            return ((LogicSetup.LogicNaturalDeduction) _logicReturn).getProof() != null;
+        }
+        return null;
+    }
+
+    /**
+     * @return every algorithm that works on input formulas.
+     */
+    public static List<AlgorithmType> getAllAlgorithms() {
+        List<AlgorithmType> algorithms = new ArrayList<>();
+        for (AlgorithmType algorithm : AlgorithmType.values()) {
+            switch (algorithm) {
+                case GENERAL:
+                case PROPOSITIONAL:
+                case PREDICATE:
+                case RANDOM_PROPOSITIONAL_FORMULA:
+                case RANDOM_PREDICATE_FORMULA:
+                case NULL:
+                    break;
+                default:
+                    algorithms.add(algorithm);
+            }
+        }
+        return algorithms;
+    }
+
+    /**
+     * @param _names - "ALL", or algorithms separated by commas, either by their enum
+     *               names or by their names in the app.
+     * @return the algorithms.
+     */
+    public static List<AlgorithmType> parseAlgorithms(String _names) {
+        if (_names.equalsIgnoreCase("ALL")) {
+            return BatchRunner.getAllAlgorithms();
+        }
+        List<AlgorithmType> all = BatchRunner.getAllAlgorithms();
+        List<AlgorithmType> algorithms = new ArrayList<>();
+        for (String name : _names.split(",")) {
+            AlgorithmType found = null;
+            for (AlgorithmType algorithm : all) {
+                if (algorithm.name().equalsIgnoreCase(name.strip()) || algorithm.toString().equalsIgnoreCase(name.strip())) {
+                    found = algorithm;
+                }
+            }
+            if (found == null) {
+                throw new IllegalArgumentException("Unknown algorithm " + name + ".");
+            }
+            algorithms.add(found);
+        }
+        return algorithms;
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return (_runnable) -> {
+            Thread thread = new Thread(_runnable, "llat-batch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A line of the input and the results of its algorithms, in order.
+     */
+    private static final class Line {
+
+        private final int number;
+
+        private final List<Future<BatchResult>> results;
+
+        Line(int _number, List<Future<BatchResult>> _results) {
+            this.number = _number;
+            this.results = _results;
+        }
+    }
+
+    /**
+     * Number of results of each status written by one run.
+     */
+    public static final class Summary {
+
+        private final Map<BatchResult.Status, Integer> counts = new EnumMap<>(BatchResult.Status.class);
+
+        private final long start = System.nanoTime();
+
+        private long millis;
+
+        private void add(BatchResult _result) {
+            this.counts.merge(_result.getStatus(), 1, Integer::sum);
+        }
+
+        private Summary finish() {
+            this.millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.start);
+            return this;
+        }
+
+        public int getCount(BatchResult.Status _status) {
+            return this.counts.getOrDefault(_status, 0);
+        }
+
+        public int getTotal() {
+            int total = 0;
+            for (int count : this.counts.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        public long getMillis() {
+            return this.millis;
+        }
+
+        @Override
+        public String toString() {
+            StringJoiner counts = new StringJoiner(", ", this.getTotal() + " results in " + this.millis + " ms (", ")");
+            for (Map.Entry<BatchResult.Status, Integer> entry : this.counts.entrySet()) {
+                counts.add(entry.getKey() + ": " + entry.getValue());
+            }
+            return counts.toString();
+        }
+    }
+}
@@ -56,10 +56,13 @@ public class Controller implements Initializable {
     private final boolean hasNetworkConnection;
     private SettingsAdaptor settingsAdaptor = new SettingsAdaptor();
     private SettingsObject settingsObject;
+    private boolean databaseClosed = false;
 
     public Controller(Stage _stage) {
         this.stage = _stage;
         this.stage.getScene().getStylesheets().add(ViewManager.getDefaultStyle());
+        // Hiding the stage includes restarting the application, which makes a new Controller.
+        this.stage.setOnHidden((event) -> this.closeDatabaseInBackground());
         this.uiObject = (UIObject) this.uiObjectAdaptor.getData();
         this.hasNetworkConnection = LLATUtils.connectedToNet();
         this.LocalUser();
@@ -205,13 +208,18 @@ public class Controller implements Initializable {
 
     public void loginOnAction(Button _button, TextField _userName, PasswordField _password) {
         _button.setOnAction((event) -> {
-            this.user = this.databaseAdapter.Login(_userName.getText(), _password.getText());
-            if (this.user != null) {
-                EventBus.throwEvent(new LoginSuccessEvent());
-                this.restartApplication();
-            } else {
-                EventBus.throwEvent(new LoginFailEvent());
-            }
+            // Logging in goes over the network, so the button is disabled until it answers.
+            _button.setDisable(true);
+            this.databaseAdapter.loginAsync(_userName.getText(), _password.getText()).whenCompleteAsync((_user, _ex) -> {
+                _button.setDisable(false);
+                this.user = _user;
+                if (this.user != null) {
+                    EventBus.throwEvent(new LoginSuccessEvent());
+                    this.restartApplication();
+                } else {
+                    EventBus.throwEvent(new LoginFailEvent());
+                }
+            }, EventBus.FX_EXECUTOR);
         });
     }
 
@@ -220,22 +228,63 @@ public class Controller implements Initializable {
         new Window(new Stage());
     }
 
-    public void LocalUser() {
-        this.user = this.databaseAdapter.Login();
-        if (this.user != null) {
-            EventBus.throwEvent(new LoginSuccessEvent());
-        } else {
-            EventBus.throwEvent(new LoginFailEvent());
+    /**
+     * Writes the history that is still queued and closes the database. This waits
+     * for the history to be written, so it is only for when the application exits
+     * right after.
+     */
+    public void closeDatabase() {
+        if (this.stopRecordingHistory()) {
+            this.databaseAdapter.close();
+        }
+    }
+
+    /**
+     * Writes the history that is still queued and closes the database without
+     * holding up the JavaFX application thread, e.g. when the application restarts.
+     * The thread is not a daemon, so the JVM still waits for the history to be
+     * written if this was the last window.
+     */
+    private void closeDatabaseInBackground() {
+        if (this.stopRecordingHistory()) {
+            new Thread(this.databaseAdapter::close, "llat-database-close").start();
         }
     }
 
+    /**
+     * @return false if the database was closed already.
+     */
+    private boolean stopRecordingHistory() {
+        if (this.databaseClosed) {
+            return false;
+        }
+        this.databaseClosed = true;
+        this.di.close();
+        return true;
+    }
+
+    public void LocalUser() {
+        this.databaseAdapter.loginAsync().whenCompleteAsync((_user, _ex) -> {
+            this.user = _user;
+            if (this.user != null) {
+                EventBus.throwEvent(new LoginSuccessEvent());
+            } else {
+                EventBus.throwEvent(new LoginFailEvent());
+            }
+        }, EventBus.FX_EXECUTOR);
+    }
+
     public void registerAction(Button _button, TextField _userName, TextField _firstname, TextField _lastname, PasswordField _password) {
         _button.setOnAction((event) -> {
-            int user = this.databaseAdapter.Register(_userName.getText(), _password.getText(), _firstname.getText(), _lastname.getText());
-            EventBus.throwEvent(new RegistrationStatusEvent(user));
-            if(user == 0){
-                this.changeViewTo(ViewManager.LOGIN);
-            }
+            _button.setDisable(true);
+            this.databaseAdapter.registerAsync(_userName.getText(), _password.getText(), _firstname.getText(), _lastname.getText()).whenCompleteAsync((_status, _ex) -> {
+                _button.setDisable(false);
+                int user = _status != null ? _status : DatabaseAdapter.DATABASE_ERROR;
+                EventBus.throwEvent(new RegistrationStatusEvent(user));
+                if(user == 0){
+                    this.changeViewTo(ViewManager.LOGIN);
+                }
+            }, EventBus.FX_EXECUTOR);
         });
     }
 
@@ -244,8 +293,8 @@ public class Controller implements Initializable {
     }
     public void updateDatabase () {
         if (this.user != null) {
-            this.databaseAdapter.UpdateTheme(this.user.getUserId(), this.settingsObject.getTheme().getApplied().getCode());
-            this.databaseAdapter.UpdateLanguage(this.user.getUserId(), this.settingsObject.getLanguage().getApplied().getCode());
+            this.databaseAdapter.updateSettingsAsync(this.user.getUserId(), this.settingsObject.getTheme().getApplied().getCode(),
+                    this.settingsObject.getLanguage().getApplied().getCode());
         }
     }
 
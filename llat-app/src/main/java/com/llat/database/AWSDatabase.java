@@ -0,0 +1,57 @@
+package com.llat.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * The database on the MySQL server that every installation shares.
+ */
+public class AWSDatabase extends SQLDatabase {
+
+    /**
+     *
+     */
+    public static final String CREDENTIALS_STRING = "jdbc:mysql://freedb.cux0wahd0k8a.us-east-2.rds.amazonaws.com:3306/llat?useUnicode=true&characterEncoding=UTF-8";
+
+    /**
+     * Most connections open to the server at once.
+     */
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * Number of prepared statements each connection keeps; more than SQLDatabase uses.
+     */
+    private static final int STATEMENT_CACHE_SIZE = 16;
+
+    /**
+     * These should absolutely be removed!
+     */
+    private static final String DBUser = "admin";
+
+    /**
+     *
+     */
+    private static final String DBPass = "SeniorCapstone490";
+
+    public AWSDatabase() {
+        this(new ConnectionPool(AWSDatabase::openConnection, AWSDatabase.POOL_SIZE, AWSDatabase.STATEMENT_CACHE_SIZE));
+    }
+
+    /**
+     * @param _pool - pool of connections to a database with the same tables, e.g. a
+     *              local one for testing.
+     */
+    public AWSDatabase(ConnectionPool _pool) {
+        super(_pool, SQLDatabase.HISTORY_SIZE);
+    }
+
+    private static Connection openConnection() throws SQLException {
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException ex) {
+            throw new SQLException("The MySQL driver is missing.", ex);
+        }
+        return DriverManager.getConnection(CREDENTIALS_STRING, AWSDatabase.DBUser, AWSDatabase.DBPass);
+    }
+}
@@ -0,0 +1,17 @@
+package com.llat.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Opens new connections to a database for a ConnectionPool.
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+
+    /**
+     * @return a new connection, in auto-commit mode.
+     * @throws SQLException if the database cannot be reached.
+     */
+    Connection open() throws SQLException;
+}
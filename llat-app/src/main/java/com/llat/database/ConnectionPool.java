@@ -0,0 +1,327 @@
+package com.llat.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of connections to a database. Opening a connection to a remote database costs
+ * a handshake and a login, so connections are kept open and lent out with borrow()
+ * instead of being opened for every call. Each connection keeps the statements it
+ * has prepared, so a query run again is not sent to the server to be parsed again.
+ * <p>
+ * A connection that has been idle for a while is checked before it is lent out,
+ * since servers drop connections that are idle for too long, and one that turns out
+ * to be closed is replaced. At most maxSize connections are open at once; borrow()
+ * waits for one to be returned if they are all lent out.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    /**
+     * How long borrow() waits for a connection before giving up.
+     */
+    private static final long BORROW_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Connections idle for longer than this are checked before they are lent out.
+     */
+    private static final long VALIDATE_AFTER_MILLIS = 30_000;
+
+    /**
+     *
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     *
+     */
+    private final ConnectionFactory factory;
+
+    /**
+     * Number of prepared statements each connection keeps.
+     */
+    private final int statementCacheSize;
+
+    /**
+     * One permit per connection that may still be lent out.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Connections that are open and not lent out, most recently returned first, so
+     * the ones in use stay warm and the others go idle.
+     */
+    private final BlockingDeque<PooledConnection> idle;
+
+    /**
+     *
+     */
+    private final AtomicInteger openCount;
+
+    /**
+     * Number of statements ever prepared, i.e., statements that missed the caches.
+     */
+    private final AtomicLong preparedCount;
+
+    /**
+     *
+     */
+    private volatile boolean closed;
+
+    /**
+     * @param _factory            - opens the connections.
+     * @param _maxSize            - most connections open at once.
+     * @param _statementCacheSize - number of prepared statements each connection keeps;
+     *                            at least one, since the statements it prepares are
+     *                            only closed when they leave its cache.
+     */
+    public ConnectionPool(ConnectionFactory _factory, int _maxSize, int _statementCacheSize) {
+        if (_maxSize < 1) {
+            throw new IllegalArgumentException("A connection pool needs at least one connection.");
+        } else if (_statementCacheSize < 1) {
+            throw new IllegalArgumentException("A connection pool needs to keep at least one statement per connection.");
+        }
+        this.factory = _factory;
+        this.statementCacheSize = _statementCacheSize;
+        this.permits = new Semaphore(_maxSize, true);
+        this.idle = new LinkedBlockingDeque<>();
+        this.openCount = new AtomicInteger();
+        this.preparedCount = new AtomicLong();
+    }
+
+    /**
+     * Lends out a connection, opening one if none are idle. The lease must be closed
+     * to give it back, e.g. with try-with-resources.
+     *
+     * @return lease of a connection, in auto-commit mode.
+     * @throws SQLException if no connection could be opened, or none was returned in time.
+     */
+    public Lease borrow() throws SQLException {
+        if (this.closed) {
+            throw new SQLException("The connection pool is closed.");
+        }
+        try {
+            if (!this.permits.tryAcquire(ConnectionPool.BORROW_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a database connection.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", ex);
+        }
+        try {
+            PooledConnection pooled;
+            while ((pooled = this.idle.pollFirst()) != null) {
+                if (pooled.isUsable()) {
+                    return new Lease(pooled);
+                }
+                this.discard(pooled);
+            }
+            Connection connection = this.factory.open();
+            this.openCount.incrementAndGet();
+            return new Lease(new PooledConnection(connection));
+        } catch (SQLException | RuntimeException ex) {
+            this.permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Closes the idle connections. Connections that are lent out are closed when
+     * they are returned.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        PooledConnection pooled;
+        while ((pooled = this.idle.pollFirst()) != null) {
+            this.discard(pooled);
+        }
+    }
+
+    private void giveBack(PooledConnection _pooled) {
+        try {
+            if (this.closed || _pooled.connection.isClosed()) {
+                this.discard(_pooled);
+                return;
+            }
+            // Work left uncommitted by a failed transaction is not carried over to the next lease.
+            if (!_pooled.connection.getAutoCommit()) {
+                _pooled.connection.rollback();
+                _pooled.connection.setAutoCommit(true);
+            }
+            _pooled.lastUsed = System.currentTimeMillis();
+            this.idle.offerFirst(_pooled);
+        } catch (SQLException ex) {
+            this.discard(_pooled);
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    private void discard(PooledConnection _pooled) {
+        this.openCount.decrementAndGet();
+        try {
+            _pooled.connection.close();
+        } catch (SQLException ex) {
+            // The connection is gone either way.
+        }
+    }
+
+    /**
+     * @return number of connections open, lent out or idle.
+     */
+    public int getOpenCount() {
+        return this.openCount.get();
+    }
+
+    /**
+     * @return number of connections open and not lent out.
+     */
+    public int getIdleCount() {
+        return this.idle.size();
+    }
+
+    /**
+     * @return number of statements prepared so far, i.e., not found in a connection's cache.
+     */
+    public long getPreparedCount() {
+        return this.preparedCount.get();
+    }
+
+    /**
+     * A connection lent out by the pool, for one thread at a time. Closing the lease
+     * returns the connection; any transaction it left open is rolled back.
+     */
+    public final class Lease implements AutoCloseable {
+
+        /**
+         *
+         */
+        private final PooledConnection pooled;
+
+        /**
+         *
+         */
+        private boolean returned;
+
+        private Lease(PooledConnection _pooled) {
+            this.pooled = _pooled;
+        }
+
+        /**
+         * Returns a prepared statement for the SQL, from the connection's cache if it
+         * has prepared it before. Its parameters are cleared.
+         *
+         * @param _sql - SQL of the statement.
+         * @return prepared statement; it belongs to the connection and must not be closed.
+         * @throws SQLException if the statement cannot be prepared.
+         */
+        public PreparedStatement prepare(String _sql) throws SQLException {
+            return this.prepare(_sql, false);
+        }
+
+        /**
+         * @param _sql        - SQL of the statement.
+         * @param _returnKeys - whether getGeneratedKeys() returns the keys of inserted rows.
+         * @return prepared statement; it belongs to the connection and must not be closed.
+         * @throws SQLException if the statement cannot be prepared.
+         */
+        public PreparedStatement prepare(String _sql, boolean _returnKeys) throws SQLException {
+            // The same SQL prepared to return keys is a different statement.
+            String key = _returnKeys ? "keys:" + _sql : _sql;
+            PreparedStatement statement = this.pooled.statements.get(key);
+            if (statement == null || statement.isClosed()) {
+                statement = _returnKeys
+                        ? this.getConnection().prepareStatement(_sql, Statement.RETURN_GENERATED_KEYS)
+                        : this.getConnection().prepareStatement(_sql);
+                ConnectionPool.this.preparedCount.incrementAndGet();
+                this.pooled.statements.put(key, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        /**
+         * @return the connection, for anything prepare() does not cover, e.g. transactions.
+         */
+        public Connection getConnection() {
+            if (this.returned) {
+                throw new IllegalStateException("The connection was returned to the pool.");
+            }
+            return this.pooled.connection;
+        }
+
+        @Override
+        public void close() {
+            if (!this.returned) {
+                this.returned = true;
+                ConnectionPool.this.giveBack(this.pooled);
+            }
+        }
+    }
+
+    /**
+     * A connection in the pool, and the statements it has prepared.
+     */
+    private final class PooledConnection {
+
+        /**
+         *
+         */
+        private final Connection connection;
+
+        /**
+         * Prepared statements by their SQL, least recently used first.
+         */
+        private final Map<String, PreparedStatement> statements;
+
+        /**
+         * When the connection was last returned.
+         */
+        private long lastUsed;
+
+        private PooledConnection(Connection _connection) {
+            this.connection = _connection;
+            this.lastUsed = System.currentTimeMillis();
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> _eldest) {
+                    if (this.size() <= ConnectionPool.this.statementCacheSize) {
+                        return false;
+                    }
+                    try {
+                        _eldest.getValue().close();
+                    } catch (SQLException ex) {
+                        // The statement is dropped either way.
+                    }
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * @return whether the connection can be lent out; one idle for a while is asked.
+         */
+        private boolean isUsable() {
+            try {
+                if (this.connection.isClosed()) {
+                    return false;
+                }
+                return System.currentTimeMillis() - this.lastUsed < ConnectionPool.VALIDATE_AFTER_MILLIS
+                        || this.connection.isValid(ConnectionPool.VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException ex) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.llat.database;
+
+import com.llat.controller.Controller;
+import com.llat.tools.EventBus;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Gives the views a database: the shared MySQL server, or a database file on this
+ * machine if the llat.database system property is "local" (e.g. -Dllat.database=local
+ * on lab computers without network access). Besides the blocking calls of DatabaseInterface,
+ * the adapter has asynchronous versions that run on an executor of their own, so
+ * that the JavaFX application thread never waits for the network. The calls run
+ * one at a time in the order they were made, so e.g. a settings update is never
+ * overtaken by a later one.
+ * <p>
+ * History entries are not written one at a time: queueHistory(...) hands them to
+ * a HistoryWriter, which writes them in batches in the background.
+ */
+public class DatabaseAdapter implements DatabaseInterface, AutoCloseable {
+
+    public static final int REGISTERED_SUCCESSFULLY = 0;
+    public static final int REGISTERED_EMPTY_INPUT = 1;
+    public static final int REGISTERED_DUP_USER = 2;
+    public static final int DATABASE_ERROR = 3;
+
+    /**
+     * System property that selects the database: "remote" (the default) or "local".
+     */
+    public static final String BACKEND_PROPERTY = "llat.database";
+
+    private final DatabaseInterface db;
+    private final Executor executor;
+    private final HistoryWriter historyWriter;
+    private Controller controller;
+    private UserObject user;
+
+    public DatabaseAdapter() {
+        this(DatabaseAdapter.openDatabase(System.getProperty(DatabaseAdapter.BACKEND_PROPERTY, "remote")), EventBus.newWorkerExecutor());
+    }
+
+    /**
+     * @param _db       - database to use.
+     * @param _executor - executor that the asynchronous calls run on.
+     */
+    public DatabaseAdapter(DatabaseInterface _db, Executor _executor) {
+        this.db = _db;
+        this.executor = _executor;
+        this.historyWriter = new HistoryWriter(_db);
+    }
+
+    /**
+     * @param _backend - "remote" for the MySQL server, or "local" for the default
+     *                 database file on this machine.
+     * @return the database.
+     * @throws IllegalArgumentException if the backend is neither.
+     */
+    public static DatabaseInterface openDatabase(String _backend) {
+        switch (_backend.trim().toLowerCase(Locale.ROOT)) {
+            case "remote":
+                return new AWSDatabase();
+            case "local":
+                return new LocalDatabase(LocalDatabase.getDefaultFile());
+            default:
+                throw new IllegalArgumentException("Unknown database " + _backend + "; expected remote or local.");
+        }
+    }
+
+    public UserObject Controller() {
+        return this.controller.getUser();
+    }
+
+    @Override
+    public UserObject Login(String Username, String Password) {
+        return this.db.Login(Username, Password);
+    }
+
+    @Override
+    public UserObject Login() {
+        return this.db.Login();
+    }
+
+    @Override
+    public int Register(String _userName, String _password, String _firstName, String _lastName) {
+        return this.db.Register(_userName, _password, _firstName, _lastName);
+    }
+
+    @Override
+    public void UpdateTheme(int id, String Theme) {
+        this.db.UpdateTheme(id, Theme);
+    }
+
+    @Override
+    public void UpdateLanguage(int id, String Language) {
+        this.db.UpdateLanguage(id, Language);
+    }
+
+    @Override
+    public void UpdateSettings(int id, String Theme, String Language) {
+        this.db.UpdateSettings(id, Theme, Language);
+    }
+
+    @Override
+    public void InsertQuery(int id, String Text) {
+        this.db.InsertQuery(id, Text);
+    }
+
+    @Override
+    public void InsertQueries(int id, List<String> Texts) {
+        this.db.InsertQueries(id, Texts);
+    }
+
+    @Override
+    public List<String> UpdateHistory(int id) {
+        return this.db.UpdateHistory(id);
+    }
+
+    @Override
+    public Map<Integer, List<String>> GetHistories(List<Integer> ids) {
+        return this.db.GetHistories(ids);
+    }
+
+    @Override
+    public boolean InsertEntries(int id, List<HistoryEntry> Entries) {
+        return this.db.InsertEntries(id, Entries);
+    }
+
+    @Override
+    public HistoryPage GetHistoryPage(int id, long cursor, int limit) {
+        return this.db.GetHistoryPage(id, cursor, limit);
+    }
+
+    @Override
+    public HistoryEntry GetHistoryEntry(int id, long queryId) {
+        return this.db.GetHistoryEntry(id, queryId);
+    }
+
+    public DatabaseInterface getDatabase() {
+        return this.db;
+    }
+
+    /**
+     * @return the user, or null if the credentials are wrong or the database cannot be reached.
+     */
+    public CompletableFuture<UserObject> loginAsync(String _userName, String _password) {
+        return CompletableFuture.supplyAsync(() -> this.db.Login(_userName, _password), this.executor);
+    }
+
+    /**
+     * @return the user of the credentials saved on this machine, or null if there are none.
+     */
+    public CompletableFuture<UserObject> loginAsync() {
+        return CompletableFuture.supplyAsync(this.db::Login, this.executor);
+    }
+
+    /**
+     * @return one of the REGISTERED_ constants, or DATABASE_ERROR.
+     */
+    public CompletableFuture<Integer> registerAsync(String _userName, String _password, String _firstName, String _lastName) {
+        return CompletableFuture.supplyAsync(() -> this.db.Register(_userName, _password, _firstName, _lastName), this.executor);
+    }
+
+    public CompletableFuture<Void> updateSettingsAsync(int _id, String _theme, String _language) {
+        return CompletableFuture.runAsync(() -> this.db.UpdateSettings(_id, _theme, _language), this.executor);
+    }
+
+    /**
+     * @param _cursor - HistoryPage.FIRST, or the cursor of the previous page.
+     * @return a page of the history of the user, newest first.
+     */
+    public CompletableFuture<HistoryPage> historyPageAsync(int _id, long _cursor, int _limit) {
+        return CompletableFuture.supplyAsync(() -> this.db.GetHistoryPage(_id, _cursor, _limit), this.executor);
+    }
+
+    /**
+     * @return the entry with its results, or null if there is none.
+     */
+    public CompletableFuture<HistoryEntry> historyEntryAsync(int _id, long _queryId) {
+        return CompletableFuture.supplyAsync(() -> this.db.GetHistoryEntry(_id, _queryId), this.executor);
+    }
+
+    /**
+     * Queues an entry to be written to the history of a user in the background.
+     */
+    public void queueHistory(int _id, HistoryEntry _entry) {
+        this.historyWriter.add(_id, _entry);
+    }
+
+    /**
+     * @return future that completes once the queued history entries are written.
+     */
+    public CompletableFuture<Void> flushHistory() {
+        return this.historyWriter.flush();
+    }
+
+    public HistoryWriter getHistoryWriter() {
+        return this.historyWriter;
+    }
+
+    /**
+     * Writes the queued history entries and closes the database.
+     */
+    @Override
+    public void close() {
+        this.historyWriter.close();
+        if (this.db instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) this.db).close();
+            } catch (Exception ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.llat.database;
 
 import java.util.List;
+import java.util.Map;
 
 public interface DatabaseInterface {
 
@@ -14,7 +15,19 @@ public interface DatabaseInterface {
 
     void UpdateLanguage(int id, String Language);
 
+    void UpdateSettings(int id, String Theme, String Language);
+
     void InsertQuery(int id, String Text);
 
+    void InsertQueries(int id, List<String> Texts);
+
     List<String> UpdateHistory(int id);
+
+    boolean InsertEntries(int id, List<HistoryEntry> Entries);
+
+    HistoryPage GetHistoryPage(int id, long cursor, int limit);
+
+    HistoryEntry GetHistoryEntry(int id, long queryId);
+
+    Map<Integer, List<String>> GetHistories(List<Integer> ids);
 }
@@ -0,0 +1,109 @@
+package com.llat.database;
+
+import com.llat.controller.Controller;
+import com.llat.input.events.SolvedFormulaEvent;
+import com.llat.models.AlgorithmTask;
+import com.llat.models.LogicSetup;
+import com.llat.models.events.AlgorithmFinishedEvent;
+import com.llat.tools.EventBus;
+import com.llat.tools.Subscription;
+import com.llat.views.events.OpenHistoryEntryEvent;
+import com.llat.views.events.UpdateHistoryEvent;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records the formulas that are solved in the history of the user. The formula
+ * being worked on stays open, collecting the results of the algorithms run on it,
+ * and is handed to the HistoryWriter once another formula is solved or the window
+ * closes, so nothing here waits for the database. The history view is told about
+ * the entry right away.
+ */
+public class DatabaseInterpeter {
+    Controller controller;
+    DatabaseAdapter databaseAdapter;
+
+    /**
+     *
+     */
+    private final List<Subscription> subscriptions;
+
+    /**
+     * Entry of the formula being worked on, or null if there is none.
+     */
+    private HistoryEntry openEntry;
+
+    /**
+     * UserID of the user the open entry belongs to.
+     */
+    private int openEntryUserId;
+
+    /**
+     * Entry that was opened from the history and has not been solved yet. Its
+     * results carry over to the open entry once it is.
+     */
+    private HistoryEntry reopenedEntry;
+
+    public DatabaseInterpeter(DatabaseAdapter databaseAdapter, Controller _controller) {
+        this.databaseAdapter = databaseAdapter;
+        this.controller = _controller;
+        // Nothing here waits for the database, so the handlers run on the JavaFX
+        // application thread, in the order the events were thrown.
+        this.subscriptions = List.of(
+                EventBus.subscribe(SolvedFormulaEvent.class, this::handleSolvedFormulaEvent, EventBus.FX_EXECUTOR),
+                EventBus.subscribe(AlgorithmFinishedEvent.class, this::handleAlgorithmFinishedEvent, EventBus.FX_EXECUTOR),
+                EventBus.subscribe(OpenHistoryEntryEvent.class, this::handleOpenHistoryEntryEvent, EventBus.FX_EXECUTOR));
+    }
+
+    /**
+     * Queues the open entry, and stops recording.
+     */
+    public void close() {
+        this.subscriptions.forEach(Subscription::unsubscribe);
+        this.queueOpenEntry();
+    }
+
+    private void handleSolvedFormulaEvent(SolvedFormulaEvent _event) {
+        this.queueOpenEntry();
+        if (this.controller.getUser() == null) {
+            return;
+        }
+        String formula = HistoryEntry.canonicalFormula(_event.getWffTree());
+        String results = null;
+        if (this.reopenedEntry != null && this.reopenedEntry.getFormula().equals(formula)) {
+            results = this.reopenedEntry.getResults();
+        }
+        this.reopenedEntry = null;
+        this.openEntry = new HistoryEntry(formula, results);
+        this.openEntryUserId = this.controller.getUser().getUserId();
+        EventBus.throwEvent(new UpdateHistoryEvent(this.openEntry));
+    }
+
+    /**
+     * Adds the result of an algorithm to the open entry, if it was run on its
+     * formula and finished without errors.
+     */
+    private void handleAlgorithmFinishedEvent(AlgorithmFinishedEvent _event) {
+        AlgorithmTask task = _event.getAlgorithmTask();
+        CompletableFuture<LogicSetup.LogicReturn> future = task.getFuture();
+        if (this.openEntry == null || task.getWffTrees() == null || task.isCancelled()
+                || !future.isDone() || future.isCompletedExceptionally() || task.getProgress().getErrorCount() > 0) {
+            return;
+        }
+        if (HistoryEntry.canonicalFormula(task.getWffTrees()).equals(this.openEntry.getFormula())) {
+            this.openEntry = this.openEntry.withResults(HistoryResults.add(this.openEntry.getResults(), task.getAlgorithmType(), future.join()));
+        }
+    }
+
+    private void handleOpenHistoryEntryEvent(OpenHistoryEntryEvent _event) {
+        this.reopenedEntry = _event.getHistoryEntry();
+    }
+
+    private void queueOpenEntry() {
+        if (this.openEntry != null) {
+            this.databaseAdapter.queueHistory(this.openEntryUserId, this.openEntry);
+            this.openEntry = null;
+        }
+    }
+}
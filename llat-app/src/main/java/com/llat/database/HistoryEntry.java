@@ -0,0 +1,102 @@
+package com.llat.database;
+
+import com.llat.models.treenode.WffTree;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One formula in the history of a user: the formula in its canonical form, and the
+ * results of the algorithms that were run on it (see HistoryResults), so that
+ * opening it again does not run them again.
+ * <p>
+ * Entries read as part of a HistoryPage do not carry their results, since the page
+ * only lists the formulas; DatabaseInterface.GetHistoryEntry(...) reads them.
+ */
+public final class HistoryEntry {
+
+    /**
+     * QueryID of the entry, or 0 if it has not been stored yet.
+     */
+    private final long queryId;
+
+    /**
+     *
+     */
+    private final String formula;
+
+    /**
+     * Encoded results, or null if there are none or they were not read.
+     */
+    private final String results;
+
+    /**
+     * @param _formula - canonical formula.
+     * @param _results - encoded results, or null.
+     */
+    public HistoryEntry(String _formula, String _results) {
+        this(0, _formula, _results);
+    }
+
+    /**
+     * @param _queryId - QueryID of the stored entry.
+     * @param _formula - canonical formula.
+     * @param _results - encoded results, or null.
+     */
+    public HistoryEntry(long _queryId, String _formula, String _results) {
+        this.queryId = _queryId;
+        this.formula = Objects.requireNonNull(_formula);
+        this.results = _results;
+    }
+
+    /**
+     * Writes formulas the way the parser reads them, so that the same input always
+     * gives the same text however it was typed: each formula in its standard string
+     * form, and for three or more, the premises separated by commas and the
+     * conclusion after ⊢. Two formulas are separated by a comma, which the parser
+     * reads the same way as one premise and a conclusion.
+     *
+     * @param _wffTrees - formulas, e.g. from a SolvedFormulaEvent.
+     * @return the canonical formula.
+     */
+    public static String canonicalFormula(List<WffTree> _wffTrees) {
+        StringBuilder formula = new StringBuilder();
+        for (int i = 0; i < _wffTrees.size(); i++) {
+            if (i > 0) {
+                formula.append(i == _wffTrees.size() - 1 && _wffTrees.size() > 2 ? " \u22A2 " : ", ");
+            }
+            formula.append(_wffTrees.get(i).getStringRep());
+        }
+        return formula.toString();
+    }
+
+    /**
+     * @param _results - encoded results, or null.
+     * @return a copy of this entry with other results.
+     */
+    public HistoryEntry withResults(String _results) {
+        return new HistoryEntry(this.queryId, this.formula, _results);
+    }
+
+    public long getQueryId() {
+        return this.queryId;
+    }
+
+    public String getFormula() {
+        return this.formula;
+    }
+
+    public String getResults() {
+        return this.results;
+    }
+
+    public boolean isStored() {
+        return this.queryId != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "HistoryEntry{queryId=" + this.queryId + ", formula='" + this.formula + "', results="
+                + (this.results == null ? "none" : this.results.length() + " chars") + '}';
+    }
+}
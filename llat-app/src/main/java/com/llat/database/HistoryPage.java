@@ -0,0 +1,48 @@
+package com.llat.database;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of the history of a user, newest first, without the results of the entries.
+ * The next page starts after getCursor(); the cursor is the QueryID of the last
+ * entry, so pages stay the same when entries are added in the meantime.
+ */
+public final class HistoryPage {
+
+    /**
+     * Cursor of the first page, i.e. before every entry.
+     */
+    public static final long FIRST = Long.MAX_VALUE;
+
+    /**
+     *
+     */
+    private final List<HistoryEntry> entries;
+
+    /**
+     * Cursor of the next page, or 0 if this is the last one.
+     */
+    private final long cursor;
+
+    /**
+     * @param _entries - entries of the page, newest first.
+     * @param _cursor  - cursor of the next page, or 0 if there is none.
+     */
+    public HistoryPage(List<HistoryEntry> _entries, long _cursor) {
+        this.entries = Collections.unmodifiableList(_entries);
+        this.cursor = _cursor;
+    }
+
+    public List<HistoryEntry> getEntries() {
+        return this.entries;
+    }
+
+    public long getCursor() {
+        return this.cursor;
+    }
+
+    public boolean hasMore() {
+        return this.cursor != 0;
+    }
+}
@@ -0,0 +1,415 @@
+package com.llat.database;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.input.LLATErrorListener;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.AlgorithmCache;
+import com.llat.models.AlgorithmType;
+import com.llat.models.LogicSetup;
+import com.llat.models.treenode.WffTree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encodes the results of the algorithms run on a formula for its HistoryEntry, and
+ * reads them back, so that a formula opened from the history shows its results
+ * without running the algorithms again.
+ * <p>
+ * The results are a JSON object from the name of each algorithm to its result.
+ * Unlike the output of the solving service, this keeps everything the views show,
+ * and trees are stored as the formulas they are made of rather than node by node:
+ * <ul>
+ * <li>A WffTree is {"wff": formula, "root": whether it is the ROOT node above the
+ * formula, "n": number of nodes, "f": flags of the root}, plus "h": the
+ * (preorder) indexes of the highlighted nodes, and "v": the truth values of every
+ * node as "TF..." strings, if it holds a truth table. It is read back by parsing the
+ * formula and putting the highlights and truth values back on its nodes.</li>
+ * <li>A TruthTree is a list of its nodes in preorder: "w": their formulas, "c":
+ * their number of children as digits, "i": their identifier numbers, "d": the
+ * identifier numbers of the nodes they were derived from (0 if none), and "f":
+ * their flags, e.g. whether the branch is closed, plus "x": the formulas of the
+ * steps they were derived from that are not above them, by identifier number.</li>
+ * </ul>
+ * Only results that AlgorithmCache would keep are encoded, and a result that cannot
+ * be read back exactly (e.g. a natural deduction proof) is left out, so opening the
+ * entry runs that algorithm again.
+ */
+public final class HistoryResults {
+
+    private HistoryResults() {
+    }
+
+    /**
+     * Adds the result of an algorithm to encoded results, replacing an earlier
+     * result of the same algorithm.
+     *
+     * @param _results     - encoded results, or null if there are none yet.
+     * @param _algorithm   - algorithm that was run.
+     * @param _logicReturn - its result.
+     * @return the encoded results; unchanged if the result cannot be encoded.
+     */
+    public static String add(String _results, AlgorithmType _algorithm, LogicSetup.LogicReturn _logicReturn) {
+        if (!AlgorithmCache.isCacheable(_algorithm)) {
+            return _results;
+        }
+        JsonObject result = HistoryResults.encode(_logicReturn);
+        if (result == null) {
+            return _results;
+        }
+        JsonObject json = HistoryResults.parseObject(_results);
+        json.add(_algorithm.name(), result);
+        return json.toString();
+    }
+
+    /**
+     * Reads encoded results back. This parses the formulas in them, and the parser
+     * keeps its errors in static state, so it must run on the thread that parses the
+     * input (the JavaFX application thread in the application).
+     *
+     * @param _results - encoded results, or null.
+     * @return the results that could be read back, by algorithm.
+     */
+    public static Map<AlgorithmType, LogicSetup.LogicReturn> decode(String _results) {
+        Map<AlgorithmType, LogicSetup.LogicReturn> results = new EnumMap<>(AlgorithmType.class);
+        Map<String, WffTree> parsed = new HashMap<>();
+        for (Map.Entry<String, JsonElement> entry : HistoryResults.parseObject(_results).entrySet()) {
+            try {
+                AlgorithmType algorithm = AlgorithmType.valueOf(entry.getKey());
+                LogicSetup.LogicReturn logicReturn = HistoryResults.decode(entry.getValue().getAsJsonObject(), parsed);
+                if (logicReturn != null) {
+                    results.put(algorithm, logicReturn);
+                }
+            } catch (RuntimeException ex) {
+                // An algorithm that no longer exists, or a result that is missing parts
+                // or was written differently: it is left out, like one never stored.
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @param _formula - formula, e.g. the one of a HistoryEntry.
+     * @return its abstract syntax trees, or null if it does not parse.
+     */
+    public static LinkedList<WffTree> parse(String _formula) {
+        LinkedList<WffTree> wffTrees = LLATParserAdapter.getAbstractSyntaxTree(_formula, false);
+        if (wffTrees == null || wffTrees.isEmpty() || LLATErrorListener.sawError()) {
+            return null;
+        }
+        return wffTrees;
+    }
+
+    /**
+     * @return the result as JSON, or null if it cannot be read back.
+     */
+    private static JsonObject encode(LogicSetup.LogicReturn _logicReturn) {
+        JsonObject json = new JsonObject();
+        if (_logicReturn instanceof LogicSetup.LogicTruthParseAndTruthTree) {
+            LogicSetup.LogicTruthParseAndTruthTree result = (LogicSetup.LogicTruthParseAndTruthTree) _logicReturn;
+            json.addProperty("value", result.getTruthValue());
+            return HistoryResults.addTree(json, result.getWffTree()) && HistoryResults.addTruthTree(json, result.getTruthTree()) ? json : null;
+        } else if (_logicReturn instanceof LogicSetup.LogicParseAndTruthTree) {
+            LogicSetup.LogicParseAndTruthTree result = (LogicSetup.LogicParseAndTruthTree) _logicReturn;
+            return HistoryResults.addTree(json, result.getWffTree()) && HistoryResults.addTruthTree(json, result.getTruthTree()) ? json : null;
+        } else if (_logicReturn instanceof LogicSetup.LogicTruthAndParseTree) {
+            LogicSetup.LogicTruthAndParseTree result = (LogicSetup.LogicTruthAndParseTree) _logicReturn;
+            json.addProperty("value", result.getTruthValue());
+            return HistoryResults.addTree(json, result.getWffTree()) ? json : null;
+        } else if (_logicReturn instanceof LogicSetup.LogicTree) {
+            return HistoryResults.addTree(json, ((LogicSetup.LogicTree) _logicReturn).getWffTree()) ? json : null;
+        } else if (_logicReturn instanceof LogicSetup.LogicTruthTree) {
+            return HistoryResults.addTruthTree(json, ((LogicSetup.LogicTruthTree) _logicReturn).getTruthTree()) ? json : null;
+        } else if (_logicReturn instanceof LogicSetup.LogicTruth) {
+            json.addProperty("value", ((LogicSetup.LogicTruth) _logicReturn).getTruthValue());
+            return json;
+        }
+        return null;
+    }
+
+    /**
+     * @return the result, or null if the JSON does not hold one.
+     */
+    private static LogicSetup.LogicReturn decode(JsonObject _json, Map<String, WffTree> _parsed) {
+        boolean hasValue = _json.has("value");
+        boolean value = hasValue && _json.get("value").getAsBoolean();
+        WffTree wffTree = null;
+        if (_json.has("tree")) {
+            wffTree = HistoryResults.decodeTree(_json.getAsJsonObject("tree"), _parsed);
+            if (wffTree == null) {
+                return null;
+            }
+        }
+        TruthTree truthTree = null;
+        if (_json.has("truthTree")) {
+            truthTree = HistoryResults.decodeTruthTree(_json.getAsJsonObject("truthTree"), _parsed);
+            if (truthTree == null) {
+                return null;
+            }
+        }
+
+        if (wffTree != null && truthTree != null) {
+            return hasValue ? new LogicSetup.LogicTruthParseAndTruthTree(value, wffTree, truthTree) : new LogicSetup.LogicParseAndTruthTree(wffTree, truthTree);
+        } else if (wffTree != null) {
+            return hasValue ? new LogicSetup.LogicTruthAndParseTree(value, wffTree) : new LogicSetup.LogicTree(wffTree);
+        } else if (truthTree != null) {
+            return hasValue ? null : new LogicSetup.LogicTruthTree(truthTree);
+        }
+        return hasValue ? new LogicSetup.LogicTruth(value) : null;
+    }
+
+    /**
+     * @return false if there is no tree to add.
+     */
+    private static boolean addTree(JsonObject _json, WffTree _wffTree) {
+        if (_wffTree == null) {
+            return false;
+        }
+        List<WffTree> nodes = HistoryResults.preorder(_wffTree);
+        JsonObject tree = new JsonObject();
+        tree.addProperty("wff", _wffTree.getStringRep());
+        tree.addProperty("root", _wffTree.isRoot());
+        tree.addProperty("n", nodes.size());
+        tree.addProperty("f", _wffTree.getFlags());
+        JsonArray highlighted = new JsonArray();
+        JsonArray values = new JsonArray();
+        boolean hasValues = false;
+        for (int i = 0; i < nodes.size(); i++) {
+            WffTree node = nodes.get(i);
+            if (node.isHighlighted()) {
+                highlighted.add(i);
+            }
+            StringBuilder column = new StringBuilder(node.getTruthValues().size());
+            for (boolean truthValue : node.getTruthValues()) {
+                column.append(truthValue ? 'T' : 'F');
+            }
+            hasValues |= column.length() > 0;
+            values.add(column.toString());
+        }
+        if (highlighted.size() > 0) {
+            tree.add("h", highlighted);
+        }
+        if (hasValues) {
+            tree.add("v", values);
+        }
+        _json.add("tree", tree);
+        return true;
+    }
+
+    /**
+     * @return the tree, or null if the formula no longer parses into the same tree.
+     */
+    private static WffTree decodeTree(JsonObject _json, Map<String, WffTree> _parsed) {
+        WffTree wffTree = HistoryResults.parseCopy(_json.get("wff").getAsString(), _json.get("root").getAsBoolean(), _parsed);
+        if (wffTree == null) {
+            return null;
+        }
+        List<WffTree> nodes = HistoryResults.preorder(wffTree);
+        if (nodes.size() != _json.get("n").getAsInt()) {
+            return null;
+        }
+        wffTree.setFlags(_json.get("f").getAsInt());
+        if (_json.has("h")) {
+            for (JsonElement index : _json.getAsJsonArray("h")) {
+                nodes.get(index.getAsInt()).setHighlighted(true);
+            }
+        }
+        if (_json.has("v")) {
+            JsonArray values = _json.getAsJsonArray("v");
+            for (int i = 0; i < nodes.size(); i++) {
+                String column = values.get(i).getAsString();
+                for (int row = 0; row < column.length(); row++) {
+                    nodes.get(i).setTruthValue(column.charAt(row) == 'T', row);
+                }
+            }
+        }
+        return wffTree;
+    }
+
+    /**
+     * @return false if there is no truth tree to add, or it has a right child but no
+     * left one, which the generators never make.
+     */
+    private static boolean addTruthTree(JsonObject _json, TruthTree _truthTree) {
+        if (_truthTree == null) {
+            return false;
+        }
+        JsonArray wffs = new JsonArray();
+        StringBuilder children = new StringBuilder();
+        JsonArray identifiers = new JsonArray();
+        JsonArray derivedFrom = new JsonArray();
+        JsonArray flags = new JsonArray();
+        JsonObject detached = new JsonObject();
+        Set<Integer> written = new HashSet<>();
+        Deque<TruthTree> stack = new ArrayDeque<>();
+        stack.push(_truthTree);
+        while (!stack.isEmpty()) {
+            TruthTree node = stack.pop();
+            if (node.getLeft() == null && node.getRight() != null) {
+                return false;
+            }
+            wffs.add(node.getWff().getStringRep());
+            identifiers.add(node.getIdentityNumber());
+            written.add(node.getIdentityNumber());
+            TruthTree derivedParent = node.getDerivedParent();
+            derivedFrom.add(derivedParent == null ? 0 : derivedParent.getIdentityNumber());
+            if (derivedParent != null && !written.contains(derivedParent.getIdentityNumber())) {
+                // Derived from a step that is not above it, e.g. one the generator left out of the tree.
+                detached.addProperty(Integer.toString(derivedParent.getIdentityNumber()), derivedParent.getWff().getStringRep());
+            }
+            flags.add(node.getFlags());
+            if (node.getRight() != null) {
+                children.append('2');
+                stack.push(node.getRight());
+                stack.push(node.getLeft());
+            } else if (node.getLeft() != null) {
+                children.append('1');
+                stack.push(node.getLeft());
+            } else {
+                children.append('0');
+            }
+        }
+        JsonObject tree = new JsonObject();
+        tree.add("w", wffs);
+        tree.addProperty("c", children.toString());
+        tree.add("i", identifiers);
+        tree.add("d", derivedFrom);
+        tree.add("f", flags);
+        if (detached.size() > 0) {
+            tree.add("x", detached);
+        }
+        _json.add("truthTree", tree);
+        return true;
+    }
+
+    /**
+     * Builds the nodes in the order they were written: a node, then its left
+     * subtree, then its right subtree.
+     *
+     * Nodes derived from a step that is not above them get a copy of that step
+     * which is not part of the tree, since only its number and formula are shown.
+     *
+     * @return the truth tree, or null if a formula no longer parses.
+     */
+    private static TruthTree decodeTruthTree(JsonObject _json, Map<String, WffTree> _parsed) {
+        JsonArray wffs = _json.getAsJsonArray("w");
+        String children = _json.get("c").getAsString();
+        JsonArray identifiers = _json.getAsJsonArray("i");
+        JsonArray derivedFrom = _json.getAsJsonArray("d");
+        JsonArray flags = _json.getAsJsonArray("f");
+        if (children.length() != wffs.size()) {
+            return null;
+        }
+
+        Map<Integer, TruthTree> nodesByIdentifier = new HashMap<>();
+        Map<Integer, TruthTree> detached = new HashMap<>();
+        if (_json.has("x")) {
+            for (Map.Entry<String, JsonElement> step : _json.getAsJsonObject("x").entrySet()) {
+                WffTree wff = HistoryResults.parseCopy(step.getValue().getAsString(), false, _parsed);
+                if (wff == null) {
+                    return null;
+                }
+                int identifier = Integer.parseInt(step.getKey());
+                detached.put(identifier, new TruthTree(wff, null, null, identifier));
+            }
+        }
+        // Nodes that still need children, and how many they still need.
+        Deque<TruthTree> open = new ArrayDeque<>();
+        Deque<Integer> missing = new ArrayDeque<>();
+        TruthTree root = null;
+        for (int i = 0; i < wffs.size(); i++) {
+            WffTree wff = HistoryResults.parseCopy(wffs.get(i).getAsString(), false, _parsed);
+            int derivedParentId = derivedFrom.get(i).getAsInt();
+            TruthTree derivedParent = derivedParentId == 0 ? null : nodesByIdentifier.getOrDefault(derivedParentId, detached.get(derivedParentId));
+            if (wff == null || (derivedParentId != 0 && derivedParent == null) || (i > 0 && open.isEmpty())) {
+                return null;
+            }
+
+            TruthTree parent = open.peek();
+            TruthTree node = new TruthTree(wff, parent, derivedParent, identifiers.get(i).getAsInt());
+            node.setFlags(flags.get(i).getAsInt());
+            nodesByIdentifier.put(node.getIdentityNumber(), node);
+            if (parent == null) {
+                root = node;
+            } else {
+                if (parent.getLeft() == null) {
+                    parent.addLeft(node);
+                } else {
+                    parent.addRight(node);
+                }
+                int stillMissing = missing.pop() - 1;
+                if (stillMissing == 0) {
+                    open.pop();
+                } else {
+                    missing.push(stillMissing);
+                }
+            }
+            int childCount = children.charAt(i) - '0';
+            if (childCount > 0) {
+                open.push(node);
+                missing.push(childCount);
+            }
+        }
+        return open.isEmpty() ? root : null;
+    }
+
+    /**
+     * @param _formula - formula of one tree.
+     * @param _root    - true for the ROOT node that the parser puts above the formula,
+     *                 false for the formula itself.
+     * @param _parsed  - trees parsed so far, by formula.
+     * @return a copy of the tree, or null if the formula does not parse into one tree.
+     */
+    private static WffTree parseCopy(String _formula, boolean _root, Map<String, WffTree> _parsed) {
+        WffTree parsed = _parsed.computeIfAbsent(_formula, (_wff) -> {
+            LinkedList<WffTree> wffTrees = HistoryResults.parse(_wff);
+            return wffTrees == null || wffTrees.size() != 1 ? null : wffTrees.getFirst();
+        });
+        if (parsed == null) {
+            return null;
+        }
+        if (_root) {
+            return parsed.copy();
+        }
+        return parsed.getChildrenSize() == 1 ? parsed.getChild(0).copy() : null;
+    }
+
+    private static List<WffTree> preorder(WffTree _wffTree) {
+        List<WffTree> nodes = new ArrayList<>();
+        Deque<WffTree> stack = new ArrayDeque<>();
+        stack.push(_wffTree);
+        while (!stack.isEmpty()) {
+            WffTree node = stack.pop();
+            nodes.add(node);
+            for (int i = node.getChildrenSize() - 1; i >= 0; i--) {
+                stack.push(node.getChild(i));
+            }
+        }
+        return nodes;
+    }
+
+    private static JsonObject parseObject(String _results) {
+        if (_results == null || _results.isEmpty()) {
+            return new JsonObject();
+        }
+        try {
+            JsonElement json = JsonParser.parseString(_results);
+            return json.isJsonObject() ? json.getAsJsonObject() : new JsonObject();
+        } catch (JsonParseException ex) {
+            return new JsonObject();
+        }
+    }
+}
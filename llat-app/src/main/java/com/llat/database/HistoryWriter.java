@@ -0,0 +1,275 @@
+package com.llat.database;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes history entries to a database in the background. add(...) only puts an
+ * entry in a queue, so recording a formula never waits for the database. The queue
+ * is written in batches, one transaction per user, once it holds batchSize entries,
+ * flushDelayMillis after the first entry was queued, or when flush() is called.
+ * <p>
+ * Entries that cannot be written, e.g. because the server cannot be reached, go
+ * back to the front of the queue and are tried again after the delay. If the queue
+ * grows past MAX_PENDING, the oldest entries are dropped, since the database would
+ * trim them from the history anyway.
+ */
+public final class HistoryWriter implements AutoCloseable {
+
+    /**
+     *
+     */
+    public static final int DEFAULT_BATCH_SIZE = 16;
+
+    /**
+     *
+     */
+    public static final long DEFAULT_FLUSH_DELAY_MILLIS = 5_000;
+
+    /**
+     * Most entries kept in the queue.
+     */
+    public static final int MAX_PENDING = 1_000;
+
+    /**
+     * How long close() waits for the last entries to be written.
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     *
+     */
+    private final DatabaseInterface db;
+
+    /**
+     * Number of queued entries that are written right away.
+     */
+    private final int batchSize;
+
+    /**
+     * Longest time an entry waits in the queue while the database can be reached.
+     */
+    private final long flushDelayMillis;
+
+    /**
+     * Runs the writes one at a time, so that the entries of a user are written in
+     * the order they were added.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Entries waiting to be written, oldest first.
+     */
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+
+    /**
+     * Write that is scheduled, or null if there is none.
+     */
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     *
+     */
+    private boolean closed;
+
+    private long written;
+
+    private long dropped;
+
+    public HistoryWriter(DatabaseInterface _db) {
+        this(_db, HistoryWriter.DEFAULT_BATCH_SIZE, HistoryWriter.DEFAULT_FLUSH_DELAY_MILLIS);
+    }
+
+    /**
+     * @param _db               - database to write to.
+     * @param _batchSize        - number of queued entries that are written right away.
+     * @param _flushDelayMillis - longest time an entry waits in the queue.
+     */
+    public HistoryWriter(DatabaseInterface _db, int _batchSize, long _flushDelayMillis) {
+        if (_batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1.");
+        }
+        this.db = _db;
+        this.batchSize = _batchSize;
+        this.flushDelayMillis = _flushDelayMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor((_runnable) -> {
+            Thread thread = new Thread(_runnable, "llat-history-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues an entry to be written to the history of a user.
+     *
+     * @param _userId - UserID of the user.
+     * @param _entry  - entry to write.
+     * @throws IllegalStateException if the writer is closed.
+     */
+    public synchronized void add(int _userId, HistoryEntry _entry) {
+        if (this.closed) {
+            throw new IllegalStateException("The history writer is closed.");
+        }
+        this.queue.addLast(new Pending(_userId, _entry));
+        while (this.queue.size() > HistoryWriter.MAX_PENDING) {
+            this.queue.removeFirst();
+            this.dropped++;
+        }
+        this.schedule(this.queue.size() >= this.batchSize ? 0 : this.flushDelayMillis);
+    }
+
+    /**
+     * Writes the queued entries now.
+     *
+     * @return future that completes once they have been written, or put back in the
+     * queue if they could not be.
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(this::write, this.scheduler);
+    }
+
+    /**
+     * Writes the queued entries, waiting for a while if need be, and stops the
+     * background thread. Entries that still cannot be written are lost.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+        }
+        try {
+            this.flush().get(HistoryWriter.CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            Logger.getLogger(HistoryWriter.class.getName()).log(Level.WARNING, "History was not written.", ex);
+        }
+        this.scheduler.shutdownNow();
+        synchronized (this) {
+            if (!this.queue.isEmpty()) {
+                Logger.getLogger(HistoryWriter.class.getName()).log(Level.WARNING, "{0} history entries were not written.", this.queue.size());
+            }
+        }
+    }
+
+    /**
+     * @return number of entries waiting to be written.
+     */
+    public synchronized int getPendingCount() {
+        return this.queue.size();
+    }
+
+    /**
+     * @return number of entries written so far.
+     */
+    public synchronized long getWrittenCount() {
+        return this.written;
+    }
+
+    /**
+     * @return number of entries dropped because the queue was full.
+     */
+    public synchronized long getDroppedCount() {
+        return this.dropped;
+    }
+
+    /**
+     * Schedules a write, unless one is already scheduled to run sooner.
+     */
+    private void schedule(long _delayMillis) {
+        if (this.scheduled != null) {
+            if (this.scheduled.getDelay(TimeUnit.MILLISECONDS) <= _delayMillis) {
+                return;
+            }
+            this.scheduled.cancel(false);
+        }
+        this.scheduled = this.scheduler.schedule(this::write, _delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the queued entries of each user as one batch. This runs on the
+     * scheduler, so writes never overlap.
+     */
+    private void write() {
+        List<Pending> batch;
+        synchronized (this) {
+            if (this.scheduled != null) {
+                this.scheduled.cancel(false);
+                this.scheduled = null;
+            }
+            batch = new ArrayList<>(this.queue);
+            this.queue.clear();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<HistoryEntry>> entriesByUser = new LinkedHashMap<>();
+        for (Pending pending : batch) {
+            entriesByUser.computeIfAbsent(pending.userId, (_id) -> new ArrayList<>()).add(pending.entry);
+        }
+        List<Pending> failed = new ArrayList<>();
+        long written = 0;
+        for (Map.Entry<Integer, List<HistoryEntry>> user : entriesByUser.entrySet()) {
+            boolean stored;
+            try {
+                stored = this.db.InsertEntries(user.getKey(), user.getValue());
+            } catch (RuntimeException ex) {
+                Logger.getLogger(HistoryWriter.class.getName()).log(Level.WARNING, null, ex);
+                stored = false;
+            }
+            if (stored) {
+                written += user.getValue().size();
+            } else {
+                for (HistoryEntry entry : user.getValue()) {
+                    failed.add(new Pending(user.getKey(), entry));
+                }
+            }
+        }
+
+        synchronized (this) {
+            this.written += written;
+            // Entries added in the meantime are newer, so the failed ones go first.
+            for (int i = failed.size() - 1; i >= 0; i--) {
+                this.queue.addFirst(failed.get(i));
+            }
+            while (this.queue.size() > HistoryWriter.MAX_PENDING) {
+                this.queue.removeFirst();
+                this.dropped++;
+            }
+            if (!this.queue.isEmpty() && !this.closed) {
+                this.schedule(failed.isEmpty() && this.queue.size() >= this.batchSize ? 0 : this.flushDelayMillis);
+            }
+        }
+    }
+
+    /**
+     * An entry and the user whose history it goes into.
+     */
+    private static final class Pending {
+
+        private final int userId;
+
+        private final HistoryEntry entry;
+
+        private Pending(int _userId, HistoryEntry _entry) {
+            this.userId = _userId;
+            this.entry = _entry;
+        }
+    }
+}
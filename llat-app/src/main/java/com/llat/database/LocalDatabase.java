@@ -0,0 +1,111 @@
+package com.llat.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A database in a file on this machine, for computers that cannot (or should not)
+ * reach the MySQL server, e.g. in a lab, and for tests. It runs on the embedded H2
+ * engine in its MySQL mode, so it has the same tables and answers the same SQL as
+ * AWSDatabase; the tables are created the first time the file is opened.
+ * <p>
+ * Only one process can have the file open at a time.
+ */
+public class LocalDatabase extends SQLDatabase {
+
+    /**
+     * Name of the database file in the default directory, without H2's extension.
+     */
+    public static final String DEFAULT_FILE_NAME = "llat";
+
+    /**
+     * Number of history entries kept per user. Disk space on this machine is cheap
+     * and the history is read a page at a time, so far more are kept than on the server.
+     */
+    public static final int HISTORY_SIZE = 1000;
+
+    /**
+     * An embedded database serves one user, so a couple of connections are enough.
+     */
+    private static final int POOL_SIZE = 2;
+
+    /**
+     *
+     */
+    private static final int STATEMENT_CACHE_SIZE = 16;
+
+    /**
+     * USER is a keyword in H2 but the name of a table here.
+     */
+    private static final String SETTINGS = ";MODE=MySQL;NON_KEYWORDS=USER";
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS User (UserID INT AUTO_INCREMENT PRIMARY KEY, UserName VARCHAR(255) NOT NULL UNIQUE, "
+                    + "Password VARCHAR(255), LName VARCHAR(255), FName VARCHAR(255))",
+            "CREATE TABLE IF NOT EXISTS Theme (UserID INT PRIMARY KEY, Theme VARCHAR(255))",
+            "CREATE TABLE IF NOT EXISTS Language (UserID INT PRIMARY KEY, Language VARCHAR(32))",
+            "CREATE TABLE IF NOT EXISTS Query_History (QueryID INT AUTO_INCREMENT PRIMARY KEY, UserID INT NOT NULL, TextInput VARCHAR(4096), "
+                    + "Results CLOB)",
+            "ALTER TABLE Query_History ADD COLUMN IF NOT EXISTS Results CLOB",
+            "CREATE INDEX IF NOT EXISTS Query_History_User ON Query_History (UserID, QueryID)"
+    };
+
+    /**
+     * @param _file - database file, without H2's extension; its directory is created if need be.
+     */
+    public LocalDatabase(Path _file) {
+        this(_file, LocalDatabase.HISTORY_SIZE);
+    }
+
+    /**
+     * @param _file        - database file, without H2's extension.
+     * @param _historySize - number of history entries kept per user.
+     */
+    public LocalDatabase(Path _file, int _historySize) {
+        super(new ConnectionPool(() -> LocalDatabase.openConnection(_file), LocalDatabase.POOL_SIZE, LocalDatabase.STATEMENT_CACHE_SIZE), _historySize);
+        try {
+            Path directory = _file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.createTables();
+    }
+
+    /**
+     * @return the database file used when none is given: llat in the .llat directory
+     * of the user's home.
+     */
+    public static Path getDefaultFile() {
+        return Paths.get(System.getProperty("user.home"), ".llat", LocalDatabase.DEFAULT_FILE_NAME);
+    }
+
+    private static Connection openConnection(Path _file) throws SQLException {
+        try {
+            Class.forName("org.h2.Driver");
+        } catch (ClassNotFoundException ex) {
+            throw new SQLException("The H2 driver is missing.", ex);
+        }
+        return DriverManager.getConnection("jdbc:h2:file:" + _file.toAbsolutePath() + LocalDatabase.SETTINGS);
+    }
+
+    private void createTables() {
+        try (ConnectionPool.Lease lease = this.getPool().borrow();
+             Statement statement = lease.getConnection().createStatement()) {
+            for (String sql : LocalDatabase.SCHEMA) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot open the local database.", e);
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.llat.database;
+
+import at.favre.lib.crypto.bcrypt.BCrypt;
+import com.llat.models.localstorage.credentials.CredentialsAdaptor;
+import com.llat.models.localstorage.credentials.CredentialsObject;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the users, their settings and their history in a SQL database with the
+ * tables User, Theme, Language and Query_History. Every call borrows a connection
+ * from a ConnectionPool and runs prepared statements that the connection keeps,
+ * and writes that belong together run in one transaction. The subclasses only say
+ * where the database is: AWSDatabase on the MySQL server, LocalDatabase in a file
+ * on this machine.
+ * <p>
+ * The calls block until the database answers; DatabaseAdapter runs them off the
+ * JavaFX application thread. History is read a page at a time with
+ * GetHistoryPage(...), and the results of an entry only when it is opened.
+ * <p>
+ * The results of the entries are kept in the Results column of Query_History. A
+ * database whose table does not have that column yet (see ADD_RESULTS_COLUMN)
+ * still stores and pages the formulas, just without their results.
+ */
+public abstract class SQLDatabase implements DatabaseInterface, AutoCloseable {
+
+    /**
+     * Number of history entries kept per user, unless a subclass keeps another number.
+     */
+    public static final int HISTORY_SIZE = 10;
+
+    /**
+     * Number of users that GetHistories(...) asks for in one query. The IN list of the
+     * query always has this many parameters, so that it is one prepared statement.
+     */
+    private static final int HISTORIES_PER_QUERY = 32;
+
+    private static final String INSERT_USER = "INSERT INTO User (UserName, Password, LName, FName) VALUES (?,?,?,?)";
+
+    private static final String INSERT_LANGUAGE = "INSERT INTO Language (UserID, Language) VALUES (?, 'en')";
+
+    private static final String INSERT_THEME = "INSERT INTO Theme (UserID, Theme) VALUES (?, 'teal.css')";
+
+    private static final String UPDATE_THEME = "UPDATE Theme SET Theme = ? WHERE UserID = ?";
+
+    private static final String UPDATE_LANGUAGE = "UPDATE Language SET Language = ? WHERE UserID = ?";
+
+    /**
+     * Adds the column that the results of the history entries are kept in to a
+     * database that was made before it existed.
+     */
+    public static final String ADD_RESULTS_COLUMN = "ALTER TABLE Query_History ADD COLUMN Results MEDIUMTEXT";
+
+    /**
+     * The password hash comes with the rest of the user, so logging in is one query.
+     */
+    private static final String SELECT_USER = "SELECT U.UserID, U.UserName, U.Password, U.FName, U.LName, T.Theme, L.Language FROM User U "
+            + "INNER JOIN Theme T ON U.UserID = T.UserID INNER JOIN Language L ON U.UserID = L.UserID WHERE U.UserName = ?";
+
+    private static final String SELECT_HISTORY = "SELECT TextInput FROM Query_History WHERE UserID = ? ORDER BY QueryID";
+
+    private static final String SELECT_HISTORIES = "SELECT UserID, TextInput FROM Query_History WHERE UserID IN ("
+            + String.join(",", Collections.nCopies(HISTORIES_PER_QUERY, "?")) + ") ORDER BY UserID, QueryID";
+
+    private static final String INSERT_QUERY = "INSERT INTO Query_History (UserID, TextInput) VALUES (?,?)";
+
+    private static final String INSERT_ENTRY = "INSERT INTO Query_History (UserID, TextInput, Results) VALUES (?,?,?)";
+
+    /**
+     * Pages by QueryID rather than by offset, so the database finds the start of a
+     * page in the index instead of skipping every entry before it.
+     */
+    private static final String SELECT_PAGE = "SELECT QueryID, TextInput FROM Query_History WHERE UserID = ? AND QueryID < ? "
+            + "ORDER BY QueryID DESC LIMIT ?";
+
+    private static final String SELECT_ENTRY = "SELECT QueryID, TextInput, Results FROM Query_History WHERE UserID = ? AND QueryID = ?";
+
+    private static final String SELECT_ENTRY_WITHOUT_RESULTS = "SELECT QueryID, TextInput, NULL FROM Query_History WHERE UserID = ? AND QueryID = ?";
+
+    private static final String FIND_RESULTS_COLUMN = "SELECT Results FROM Query_History WHERE 1 = 0";
+
+    /**
+     *
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * Number of history entries kept per user.
+     */
+    private final int historySize;
+
+    /**
+     * Whether Query_History has the Results column, or null until it is known.
+     */
+    private volatile Boolean storesResults;
+
+    /**
+     * Deletes all but the latest historySize entries of one user. The inner query is
+     * wrapped in a derived table since MySQL allows neither LIMIT in an IN subquery nor
+     * selecting from the table being deleted from.
+     */
+    private final String trimHistory;
+
+    /**
+     * @param _pool        - pool of connections to the database.
+     * @param _historySize - number of history entries kept per user.
+     */
+    protected SQLDatabase(ConnectionPool _pool, int _historySize) {
+        if (_historySize < 1) {
+            throw new IllegalArgumentException("A database must keep at least one history entry per user.");
+        }
+        this.pool = _pool;
+        this.historySize = _historySize;
+        this.trimHistory = "DELETE FROM Query_History WHERE UserID = ? AND QueryID NOT IN ("
+                + "SELECT QueryID FROM (SELECT QueryID FROM Query_History WHERE UserID = ? ORDER BY QueryID DESC LIMIT " + _historySize + ") recent)";
+    }
+
+    /**
+     * Creates a user account, with the default theme and language, in one transaction.
+     */
+    @Override
+    public int Register(String _userName, String _password, String _firstName, String _lastName) {
+        if (_password == null || _userName == null || _password.isEmpty() || _userName.isEmpty()) {
+            return DatabaseAdapter.REGISTERED_EMPTY_INPUT;
+        }
+
+        String bcryptHashString = BCrypt.withDefaults().hashToString(12, _password.toCharArray());
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            lease.getConnection().setAutoCommit(false);
+            PreparedStatement user = lease.prepare(SQLDatabase.INSERT_USER, true);
+            user.setString(1, _userName);
+            user.setString(2, bcryptHashString);
+            user.setString(3, _lastName);
+            user.setString(4, _firstName);
+            user.executeUpdate();
+
+            int id;
+            try (ResultSet keys = user.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No UserID was generated for " + _userName + ".");
+                }
+                id = keys.getInt(1);
+            }
+
+            PreparedStatement language = lease.prepare(SQLDatabase.INSERT_LANGUAGE);
+            language.setInt(1, id);
+            language.executeUpdate();
+            PreparedStatement theme = lease.prepare(SQLDatabase.INSERT_THEME);
+            theme.setInt(1, id);
+            theme.executeUpdate();
+            lease.getConnection().commit();
+        } catch (SQLIntegrityConstraintViolationException DupUser) {
+            return DatabaseAdapter.REGISTERED_DUP_USER;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return DatabaseAdapter.DATABASE_ERROR;
+        }
+        return DatabaseAdapter.REGISTERED_SUCCESSFULLY;
+    }
+
+    /**
+     * Updates the theme of a user.
+     */
+    @Override
+    public void UpdateTheme(int id, String Theme) {
+        this.update(SQLDatabase.UPDATE_THEME, Theme, id);
+    }
+
+    /**
+     * Updates the language of a user.
+     */
+    @Override
+    public void UpdateLanguage(int id, String Language) {
+        this.update(SQLDatabase.UPDATE_LANGUAGE, Language, id);
+    }
+
+    /**
+     * Updates the theme and language of a user in one transaction.
+     */
+    @Override
+    public void UpdateSettings(int id, String Theme, String Language) {
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            lease.getConnection().setAutoCommit(false);
+            PreparedStatement theme = lease.prepare(SQLDatabase.UPDATE_THEME);
+            theme.setString(1, Theme);
+            theme.setInt(2, id);
+            theme.executeUpdate();
+            PreparedStatement language = lease.prepare(SQLDatabase.UPDATE_LANGUAGE);
+            language.setString(1, Language);
+            language.setInt(2, id);
+            language.executeUpdate();
+            lease.getConnection().commit();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void update(String _sql, String _value, int _id) {
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            PreparedStatement statement = lease.prepare(_sql);
+            statement.setString(1, _value);
+            statement.setInt(2, _id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Validates login credentials. If they are correct, returns the user; otherwise
+     * returns null. The history is not read; see GetHistoryPage(...).
+     */
+    @Override
+    public UserObject Login(String Username, String Password) {
+        if (Username == null || Password == null) {
+            return null;
+        }
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            PreparedStatement statement = lease.prepare(SQLDatabase.SELECT_USER);
+            statement.setString(1, Username);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    System.out.println("[DB - Error] - User is not exist");
+                    return null;
+                }
+                String bcryptHashString = rs.getString("Password");
+                BCrypt.Result result = BCrypt.verifyer().verify(Password.toCharArray(), bcryptHashString);
+                if (!result.verified && !bcryptHashString.equals(Password)) {
+                    return null;
+                }
+                return new UserObject(rs.getInt("UserID"), rs.getString("UserName"), rs.getString("FName"), rs.getString("LName"),
+                        bcryptHashString, rs.getString("Theme"), rs.getString("Language"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Logs in with the credentials saved on this machine, if there are any.
+     */
+    @Override
+    public UserObject Login() {
+        CredentialsAdaptor ca = new CredentialsAdaptor();
+        CredentialsObject uco = (CredentialsObject) ca.getData();
+        if (uco == null) {
+            return null;
+        }
+        return this.Login(uco.getUserID(), uco.getPassword());
+    }
+
+    /**
+     * Inserts an entry into the history of a user, keeping the latest historySize.
+     */
+    @Override
+    public void InsertQuery(int id, String Text) {
+        this.InsertQueries(id, List.of(Text));
+    }
+
+    /**
+     * Inserts formulas into the history of a user as one batch, without results.
+     */
+    @Override
+    public void InsertQueries(int id, List<String> Texts) {
+        List<HistoryEntry> entries = new ArrayList<>(Texts.size());
+        for (String text : Texts) {
+            entries.add(new HistoryEntry(text, null));
+        }
+        this.InsertEntries(id, entries);
+    }
+
+    /**
+     * Inserts entries into the history of a user as one batch, then trims it to the
+     * latest historySize, all in one transaction.
+     *
+     * @return false if the database could not be written to, so that the caller can
+     * try again later; true otherwise.
+     */
+    @Override
+    public boolean InsertEntries(int id, List<HistoryEntry> Entries) {
+        if (Entries.isEmpty()) {
+            return true;
+        }
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            boolean storesResults = this.storesResults(lease);
+            lease.getConnection().setAutoCommit(false);
+            PreparedStatement insert = lease.prepare(storesResults ? SQLDatabase.INSERT_ENTRY : SQLDatabase.INSERT_QUERY);
+            for (HistoryEntry entry : Entries) {
+                insert.setInt(1, id);
+                insert.setString(2, entry.getFormula());
+                if (storesResults) {
+                    insert.setString(3, entry.getResults());
+                }
+                insert.addBatch();
+            }
+            insert.executeBatch();
+
+            PreparedStatement trim = lease.prepare(this.trimHistory);
+            trim.setInt(1, id);
+            trim.setInt(2, id);
+            trim.executeUpdate();
+            lease.getConnection().commit();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Reads a page of the history of a user, newest first, without the results.
+     *
+     * @param id     - UserID of the user.
+     * @param cursor - HistoryPage.FIRST, or the cursor of the previous page.
+     * @param limit  - most entries on the page.
+     * @return the page; empty if the database cannot be reached.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    @Override
+    public HistoryPage GetHistoryPage(int id, long cursor, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("A history page must hold at least one entry.");
+        }
+        List<HistoryEntry> entries = new ArrayList<>();
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            PreparedStatement statement = lease.prepare(SQLDatabase.SELECT_PAGE);
+            statement.setInt(1, id);
+            statement.setLong(2, cursor);
+            // One more than asked for, to know whether there is a next page.
+            statement.setInt(3, limit + 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(new HistoryEntry(rs.getLong(1), rs.getString(2), null));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        if (entries.size() <= limit) {
+            return new HistoryPage(entries, 0);
+        }
+        entries.remove(limit);
+        return new HistoryPage(entries, entries.get(limit - 1).getQueryId());
+    }
+
+    /**
+     * Reads one entry of the history of a user with its results.
+     *
+     * @param id      - UserID of the user.
+     * @param queryId - QueryID of the entry.
+     * @return the entry, or null if the user has no such entry or the database
+     * cannot be reached.
+     */
+    @Override
+    public HistoryEntry GetHistoryEntry(int id, long queryId) {
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            PreparedStatement statement = lease.prepare(this.storesResults(lease) ? SQLDatabase.SELECT_ENTRY : SQLDatabase.SELECT_ENTRY_WITHOUT_RESULTS);
+            statement.setInt(1, id);
+            statement.setLong(2, queryId);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return new HistoryEntry(rs.getLong(1), rs.getString(2), rs.getString(3));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Finds out once whether Query_History has the Results column.
+     */
+    private boolean storesResults(ConnectionPool.Lease _lease) {
+        Boolean storesResults = this.storesResults;
+        if (storesResults == null) {
+            try (Statement statement = _lease.getConnection().createStatement()) {
+                statement.executeQuery(SQLDatabase.FIND_RESULTS_COLUMN).close();
+                storesResults = true;
+            } catch (SQLException e) {
+                storesResults = false;
+            }
+            this.storesResults = storesResults;
+        }
+        return storesResults;
+    }
+
+    /**
+     * @param id - UserID of the user.
+     * @return the history of the user, oldest first.
+     */
+    @Override
+    public List<String> UpdateHistory(int id) {
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            return SQLDatabase.readHistory(lease, SQLDatabase.SELECT_HISTORY, id);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    private static List<String> readHistory(ConnectionPool.Lease _lease, String _sql, int _id) throws SQLException {
+        List<String> history = new ArrayList<>();
+        PreparedStatement statement = _lease.prepare(_sql);
+        statement.setInt(1, _id);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                history.add(rs.getString(1));
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Reads the histories of many users at once, e.g. of a whole class, with one query
+     * per HISTORIES_PER_QUERY users.
+     *
+     * @param ids - UserIDs of the users.
+     * @return the history of each user that has one, oldest first, in the order of ids.
+     */
+    @Override
+    public Map<Integer, List<String>> GetHistories(List<Integer> ids) {
+        Map<Integer, List<String>> histories = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            histories.put(id, new ArrayList<>());
+        }
+        List<Integer> users = new ArrayList<>(histories.keySet());
+        if (users.isEmpty()) {
+            return histories;
+        }
+        try (ConnectionPool.Lease lease = this.pool.borrow()) {
+            PreparedStatement statement = lease.prepare(SQLDatabase.SELECT_HISTORIES);
+            for (int from = 0; from < users.size(); from += HISTORIES_PER_QUERY) {
+                // A short last chunk repeats its first user, which matches no other rows.
+                List<Integer> chunk = users.subList(from, Math.min(users.size(), from + HISTORIES_PER_QUERY));
+                for (int i = 0; i < HISTORIES_PER_QUERY; i++) {
+                    statement.setInt(i + 1, chunk.get(i < chunk.size() ? i : 0));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        histories.get(rs.getInt(1)).add(rs.getString(2));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        histories.values().removeIf(List::isEmpty);
+        return histories;
+    }
+
+    /**
+     * Closes the connections to the database.
+     */
+    @Override
+    public void close() {
+        this.pool.close();
+    }
+
+    /**
+     * @return the pool that the calls borrow their connections from.
+     */
+    public ConnectionPool getPool() {
+        return this.pool;
+    }
+
+    public int getHistorySize() {
+        return this.historySize;
+    }
+}
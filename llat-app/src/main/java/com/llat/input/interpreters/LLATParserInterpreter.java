@@ -0,0 +1,75 @@
+package com.llat.input.interpreters;
+
+import com.llat.input.LLATErrorListener;
+import com.llat.input.LLATIncrementalParser;
+import com.llat.input.events.SolvedFormulaEvent;
+import com.llat.input.events.SyntaxErrorEvent;
+import com.llat.input.events.SyntaxWarningEvent;
+import com.llat.input.events.UnsolvedFormulaEvent;
+import com.llat.models.treenode.WffTree;
+import com.llat.tools.Event;
+import com.llat.tools.EventBus;
+import com.llat.tools.Listener;
+import com.llat.views.events.FormulaInputEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class LLATParserInterpreter implements Listener {
+
+    /**
+     * Runs every parse of the user interface off the JavaFX application thread, one
+     * at a time and in order, since LLATErrorListener keeps its errors in static state.
+     */
+    public static final Executor PARSER_EXECUTOR = EventBus.newWorkerExecutor();
+
+    /**
+     * Parser shared between the live validation and the solve button, so a
+     * submitted formula that was already validated does not get parsed again.
+     * It is only used on the PARSER_EXECUTOR.
+     */
+    private final LLATIncrementalParser incrementalParser = new LLATIncrementalParser();
+
+    public LLATParserInterpreter() {
+        EventBus.addListener(this, LLATParserInterpreter.PARSER_EXECUTOR, FormulaInputEvent.class);
+    }
+
+    /**
+     * Parses the formula on the PARSER_EXECUTOR, then throws its errors, warnings and
+     * result on the JavaFX application thread.
+     */
+    @Override
+    public void catchEvent(Event _event) {
+        if (_event instanceof FormulaInputEvent) {
+            LinkedList<WffTree> linkedTree = this.incrementalParser.parse(((FormulaInputEvent) _event).getFormula());
+            List<Event> events = new ArrayList<>();
+            LLATErrorListener.getErrorIterator().forEachRemaining((message) -> {
+                events.add(new SyntaxErrorEvent(message.toString()));
+            });
+            LLATErrorListener.getWarningIterator().forEachRemaining((message) -> {
+                events.add(new SyntaxWarningEvent(message.toString()));
+            });
+            if (linkedTree != null) {
+                events.add(new SolvedFormulaEvent(linkedTree));
+            } else {
+                events.add(new UnsolvedFormulaEvent());
+            }
+            EventBus.FX_EXECUTOR.execute(() -> events.forEach(EventBus::throwEvent));
+        }
+    }
+
+    /**
+     * Checks whether the input is a well-formed formula (or list of them) without
+     * throwing any events. This is called on every edit of the input field, so the
+     * parse runs on the PARSER_EXECUTOR.
+     *
+     * @param _wff - String of wff characters.
+     * @return future that is true if the input parses without errors, false otherwise.
+     */
+    public CompletableFuture<Boolean> isValidInputAsync(String _wff) {
+        return CompletableFuture.supplyAsync(() -> this.incrementalParser.parse(_wff) != null, LLATParserInterpreter.PARSER_EXECUTOR);
+    }
+}
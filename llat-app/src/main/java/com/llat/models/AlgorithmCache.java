@@ -0,0 +1,368 @@
+package com.llat.models;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.BaseTruthTreeGenerator;
+import com.llat.algorithms.models.NDWffTree;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.models.treenode.WffTree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of algorithm results, so re-running the same algorithm on the
+ * same formulas (switching tabs, clicking solve again, exporting what is on screen)
+ * does not recompute everything.
+ * <p>
+ * Entries are keyed on the string representation and flags of every formula, the
+ * algorithm, and the settings that change the result. The cache is bounded by the
+ * total number of WffTree and TruthTree nodes it holds rather than by its number of
+ * entries, since one predicate truth tree can be larger than a hundred parse trees.
+ */
+public final class AlgorithmCache {
+
+    /**
+     * Default maximum number of nodes held across all entries.
+     */
+    public static final int DEFAULT_MAX_WEIGHT = 250_000;
+
+    /**
+     * Entries in least- to most-recently used order.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Maximum total weight of the entries.
+     */
+    private final int maxWeight;
+
+    /**
+     * Current total weight of the entries.
+     */
+    private long weight;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    public AlgorithmCache() {
+        this(DEFAULT_MAX_WEIGHT);
+    }
+
+    public AlgorithmCache(int _maxWeight) {
+        this.maxWeight = _maxWeight;
+    }
+
+    /**
+     * Random formulas are different every time, and LogicVoid has nothing to
+     * store, so only algorithms that run on formulas are cached.
+     *
+     * @param _algorithm - algorithm to check.
+     * @return true if results of this algorithm can be cached, false otherwise.
+     */
+    public static boolean isCacheable(AlgorithmType _algorithm) {
+        switch (_algorithm) {
+            case RANDOM_PREDICATE_FORMULA:
+            case RANDOM_PROPOSITIONAL_FORMULA:
+            case GENERAL:
+            case PROPOSITIONAL:
+            case PREDICATE:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns the cached result of running the algorithm on these formulas, or
+     * computes, stores, and returns it. The computation runs outside of the lock,
+     * so two threads may compute the same entry; the second one wins.
+     * <p>
+     * A result is not stored if computing it threw (e.g., it was cancelled), or if
+     * the algorithm reported an error while computing it (e.g., a truth tree
+     * generator timed out), so the error is reported again next time.
+     *
+     * @param _wffTrees  - formulas the algorithm is run on.
+     * @param _algorithm - algorithm to run.
+     * @param _compute   - computes the result on a miss.
+     * @return cached or computed result.
+     */
+    public LogicSetup.LogicReturn computeIfAbsent(List<WffTree> _wffTrees, AlgorithmType _algorithm,
+                                                  Supplier<LogicSetup.LogicReturn> _compute) {
+        Key key = new Key(_wffTrees, _algorithm);
+        synchronized (this) {
+            Entry entry = this.entries.get(key);
+            if (entry != null) {
+                this.hits++;
+                return entry.result;
+            }
+            this.misses++;
+        }
+
+        AlgorithmProgress progress = AlgorithmProgress.current();
+        int errors = progress.getErrorCount();
+        LogicSetup.LogicReturn result = _compute.get();
+        if (progress.getErrorCount() == errors && !(result instanceof LogicSetup.LogicVoid)) {
+            this.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached result of running the algorithm on these formulas without
+     * computing anything.
+     *
+     * @param _wffTrees  - formulas the algorithm was run on.
+     * @param _algorithm - algorithm that was run.
+     * @return cached result, or null if there is none.
+     */
+    public synchronized LogicSetup.LogicReturn get(List<WffTree> _wffTrees, AlgorithmType _algorithm) {
+        Entry entry = this.entries.get(new Key(_wffTrees, _algorithm));
+        if (entry == null) {
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        return entry.result;
+    }
+
+    /**
+     * Stores a result that was computed earlier, e.g. one read back from the history,
+     * as if it had just been computed. Results of algorithms that are not cached are
+     * ignored.
+     *
+     * @param _wffTrees  - formulas the algorithm was run on.
+     * @param _algorithm - algorithm that was run.
+     * @param _result    - result of the algorithm.
+     */
+    public void put(List<WffTree> _wffTrees, AlgorithmType _algorithm, LogicSetup.LogicReturn _result) {
+        if (AlgorithmCache.isCacheable(_algorithm) && !(_result instanceof LogicSetup.LogicVoid)) {
+            this.put(new Key(_wffTrees, _algorithm), _result);
+        }
+    }
+
+    /**
+     * Removes every entry. The statistics are kept.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.weight = 0;
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss, and eviction counts.
+     *
+     * @return Statistics object.
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(this.hits, this.misses, this.evictions, this.entries.size(), this.weight);
+    }
+
+    /**
+     * Stores a result and evicts the least recently used entries until the cache is
+     * back under its maximum weight. A result that is heavier than the whole cache
+     * is not stored at all.
+     *
+     * @param _key    - key of the result.
+     * @param _result - result to store.
+     */
+    private synchronized void put(Key _key, LogicSetup.LogicReturn _result) {
+        int resultWeight = AlgorithmCache.weigh(_result);
+        if (resultWeight > this.maxWeight) {
+            return;
+        }
+
+        Entry old = this.entries.put(_key, new Entry(_result, resultWeight));
+        if (old != null) {
+            this.weight -= old.weight;
+        }
+        this.weight += resultWeight;
+
+        Iterator<Entry> it = this.entries.values().iterator();
+        while (this.weight > this.maxWeight && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            this.weight -= eldest.weight;
+            this.evictions++;
+        }
+    }
+
+    /**
+     * Weighs a result by the number of nodes in its trees.
+     *
+     * @param _result - result to weigh.
+     * @return number of nodes, and at least 1.
+     */
+    private static int weigh(LogicSetup.LogicReturn _result) {
+        int nodes = 1;
+        if (_result instanceof LogicSetup.LogicTruthParseAndTruthTree) {
+            nodes += AlgorithmCache.countNodes(((LogicSetup.LogicTruthParseAndTruthTree) _result).getWffTree());
+            nodes += AlgorithmCache.countNodes(((LogicSetup.LogicTruthParseAndTruthTree) _result).getTruthTree());
+        } else if (_result instanceof LogicSetup.LogicParseAndTruthTree) {
+            nodes += AlgorithmCache.countNodes(((LogicSetup.LogicParseAndTruthTree) _result).getWffTree());
+            nodes += AlgorithmCache.countNodes(((LogicSetup.LogicParseAndTruthTree) _result).getTruthTree());
+        } else if (_result instanceof LogicSetup.LogicTruthAndParseTree) {
+            WffTree wffTree = ((LogicSetup.LogicTruthAndParseTree) _result).getWffTree();
+            // A truth table stores one value per row in every node.
+            int rows = wffTree == null || wffTree.getChildrenSize() == 0 ? 0 : wffTree.getChild(0).getTruthValues().size();
+            nodes += AlgorithmCache.countNodes(wffTree) * Math.max(1, rows / 64);
+        } else if (_result instanceof LogicSetup.LogicTree) {
+            nodes += AlgorithmCache.countNodes(((LogicSetup.LogicTree) _result).getWffTree());
+        } else if (_result instanceof LogicSetup.LogicTruthTree) {
+            nodes += AlgorithmCache.countNodes(((LogicSetup.LogicTruthTree) _result).getTruthTree());
+        } else if (_result instanceof LogicSetup.LogicTrees) {
+            for (WffTree wffTree : ((LogicSetup.LogicTrees) _result).getWffTrees()) {
+                nodes += AlgorithmCache.countNodes(wffTree);
+            }
+        } else if (_result instanceof LogicSetup.LogicNaturalDeduction) {
+            List<NDWffTree> proof = ((LogicSetup.LogicNaturalDeduction) _result).getProof();
+            if (proof != null) {
+                for (NDWffTree step : proof) {
+                    nodes += AlgorithmCache.countNodes(step.getWffTree());
+                }
+            }
+        }
+        return nodes;
+    }
+
+    private static int countNodes(WffTree _tree) {
+        if (_tree == null) {
+            return 0;
+        }
+        int nodes = 1;
+        for (WffTree ch : _tree.getChildren()) {
+            nodes += AlgorithmCache.countNodes(ch);
+        }
+        return nodes;
+    }
+
+    private static int countNodes(TruthTree _tree) {
+        if (_tree == null) {
+            return 0;
+        }
+        // A stacked (center) child is stored as the left child.
+        return 1 + AlgorithmCache.countNodes(_tree.getLeft()) + AlgorithmCache.countNodes(_tree.getRight());
+    }
+
+    /**
+     * Snapshot of the cache counters, for diagnostics.
+     */
+    public static final class Statistics {
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long evictions;
+
+        private final int size;
+
+        private final long weight;
+
+        private Statistics(long _hits, long _misses, long _evictions, int _size, long _weight) {
+            this.hits = _hits;
+            this.misses = _misses;
+            this.evictions = _evictions;
+            this.size = _size;
+            this.weight = _weight;
+        }
+
+        public long getHits() {
+            return this.hits;
+        }
+
+        public long getMisses() {
+            return this.misses;
+        }
+
+        public long getEvictions() {
+            return this.evictions;
+        }
+
+        public int getSize() {
+            return this.size;
+        }
+
+        public long getWeight() {
+            return this.weight;
+        }
+
+        public double getHitRate() {
+            long lookups = this.hits + this.misses;
+            return lookups == 0 ? 0 : (double) this.hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AlgorithmCache{hits=%d, misses=%d, evictions=%d, size=%d, weight=%d, hitRate=%.2f}",
+                    this.hits, this.misses, this.evictions, this.size, this.weight, this.getHitRate());
+        }
+    }
+
+    /**
+     * Canonical form of the inputs to an algorithm.
+     */
+    private static final class Key {
+
+        private final List<String> formulas;
+
+        private final List<Integer> flags;
+
+        private final AlgorithmType algorithm;
+
+        /**
+         * Settings that change the result of an algorithm.
+         */
+        private final int timeout;
+
+        private Key(List<WffTree> _wffTrees, AlgorithmType _algorithm) {
+            this.formulas = new ArrayList<>();
+            this.flags = new ArrayList<>();
+            for (WffTree wffTree : _wffTrees) {
+                this.formulas.add(wffTree.getStringRep());
+                this.flags.add(wffTree.getFlags());
+            }
+            this.algorithm = _algorithm;
+            this.timeout = BaseTruthTreeGenerator.getTimeout();
+        }
+
+        @Override
+        public boolean equals(Object _o) {
+            if (this == _o) {
+                return true;
+            }
+            if (!(_o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) _o;
+            return this.timeout == key.timeout && this.algorithm == key.algorithm
+                    && this.formulas.equals(key.formulas) && this.flags.equals(key.flags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.formulas, this.flags, this.algorithm, this.timeout);
+        }
+    }
+
+    /**
+     * A cached result and its weight.
+     */
+    private static final class Entry {
+
+        private final LogicSetup.LogicReturn result;
+
+        private final int weight;
+
+        private Entry(LogicSetup.LogicReturn _result, int _weight) {
+            this.result = _result;
+            this.weight = _weight;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.llat.models;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.models.treenode.WffTree;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * An algorithm running off the JavaFX application thread. The result is available
+ * through getFuture(), the progress of the generator loops through getProgress(),
+ * and cancel() asks the algorithm to stop at its next progress report.
+ */
+public final class AlgorithmTask {
+
+    /**
+     *
+     */
+    private final AlgorithmType algorithmType;
+
+    /**
+     * Formulas the algorithm runs on, or null if it does not run on any.
+     */
+    private final List<WffTree> wffTrees;
+
+    /**
+     * Progress that the algorithm reports to; also carries the cancellation flag.
+     */
+    private final AlgorithmProgress progress;
+
+    /**
+     *
+     */
+    private final CompletableFuture<LogicSetup.LogicReturn> future;
+
+    private AlgorithmTask(AlgorithmType _algorithmType, List<WffTree> _wffTrees, Supplier<LogicSetup.LogicReturn> _algorithm, Executor _executor) {
+        this.algorithmType = _algorithmType;
+        this.wffTrees = _wffTrees;
+        this.progress = new AlgorithmProgress();
+        this.future = CompletableFuture.supplyAsync(() -> {
+            AlgorithmProgress.install(this.progress);
+            try {
+                // The task may have been cancelled while it was waiting for the executor.
+                this.progress.checkCancelled();
+                return _algorithm.get();
+            } finally {
+                AlgorithmProgress.clear();
+            }
+        }, _executor);
+    }
+
+    /**
+     * Starts running an algorithm on the given executor.
+     *
+     * @param _algorithmType - type of algorithm, for the views.
+     * @param _algorithm     - computes the result of the algorithm.
+     * @param _executor      - executor to run the algorithm on.
+     * @return the running task.
+     */
+    static AlgorithmTask submit(AlgorithmType _algorithmType, Supplier<LogicSetup.LogicReturn> _algorithm, Executor _executor) {
+        return new AlgorithmTask(_algorithmType, null, _algorithm, _executor);
+    }
+
+    /**
+     * Starts running an algorithm on formulas on the given executor.
+     *
+     * @param _algorithmType - type of algorithm, for the views.
+     * @param _wffTrees      - formulas the algorithm runs on, or null.
+     * @param _algorithm     - computes the result of the algorithm.
+     * @param _executor      - executor to run the algorithm on.
+     * @return the running task.
+     */
+    static AlgorithmTask submit(AlgorithmType _algorithmType, List<WffTree> _wffTrees, Supplier<LogicSetup.LogicReturn> _algorithm, Executor _executor) {
+        return new AlgorithmTask(_algorithmType, _wffTrees, _algorithm, _executor);
+    }
+
+    /**
+     * Asks the algorithm to stop. The future completes right away with a
+     * CancellationException, but the algorithm thread keeps going until the
+     * generator loop next reports its progress.
+     */
+    public void cancel() {
+        this.progress.cancel();
+        this.future.cancel(false);
+    }
+
+    public boolean isCancelled() {
+        return this.progress.isCancelled();
+    }
+
+    public AlgorithmType getAlgorithmType() {
+        return this.algorithmType;
+    }
+
+    /**
+     * @return the formulas the algorithm runs on, or null if it does not run on any.
+     */
+    public List<WffTree> getWffTrees() {
+        return this.wffTrees;
+    }
+
+    public AlgorithmProgress getProgress() {
+        return this.progress;
+    }
+
+    public CompletableFuture<LogicSetup.LogicReturn> getFuture() {
+        return this.future;
+    }
+}
@@ -1,6 +1,7 @@
 package com.llat.models;
 
 import com.llat.algorithms.*;
+import com.llat.algorithms.models.NDWffTree;
 import com.llat.algorithms.models.TruthTree;
 import com.llat.algorithms.predicate.*;
 import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
@@ -12,12 +13,25 @@ import com.llat.models.treenode.WffTree;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  *
  */
 public class LogicSetup {
 
+    /**
+     * Single thread that the algorithms run on, in the order they are submitted.
+     */
+    private static final ExecutorService ALGORITHM_EXECUTOR = Executors.newSingleThreadExecutor((_runnable) -> {
+        Thread thread = new Thread(_runnable, "llat-algorithm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     /**
      *
      */
@@ -88,12 +102,25 @@ public class LogicSetup {
         this.add(AlgorithmType.PREDICATE_TRUTH_TREE_GENERATOR);
     }};
     /**
-     *
+     * Results of algorithms that have already been run.
      */
-    private LinkedList<WffTree> wffTree;
+    private final AlgorithmCache algorithmCache = new AlgorithmCache();
+
+    /**
+     * Set from the event worker and read by the algorithm thread.
+     */
+    private volatile LinkedList<WffTree> wffTree;
 
     public LogicSetup() {
-        this.logicSetupInterpreter = new LogicSetupInterpreter(this);
+        this(true);
+    }
+
+    /**
+     * @param _interactive - true if this listens for events from the views. The
+     *                     solving service runs without any views, so it passes false.
+     */
+    public LogicSetup(boolean _interactive) {
+        this.logicSetupInterpreter = _interactive ? new LogicSetupInterpreter(this) : null;
     }
 
     /**
@@ -109,7 +136,150 @@ public class LogicSetup {
      * @return
      */
     public LogicReturn detectAlgorithm(AlgorithmType _algorithm) {
-        if (this.wffTree == null) {
+        return this.computeAlgorithm(_algorithm, this.wffTree);
+    }
+
+    /**
+     * Runs an algorithm on the given formulas instead of the ones that are set, on
+     * the calling thread. Like runAlgorithm(...), this only shares the cache, so it
+     * may be called from many threads at once.
+     *
+     * @param _algorithm - algorithm to run.
+     * @param _wffTree   - formulas to run it on.
+     * @return result of the algorithm.
+     */
+    public LogicReturn detectAlgorithm(AlgorithmType _algorithm, LinkedList<WffTree> _wffTree) {
+        return this.computeAlgorithm(_algorithm, _wffTree);
+    }
+
+    /**
+     * Runs an algorithm on its own thread so the caller (i.e., the UI) never waits
+     * on it. The algorithm runs on the trees that are set when this is called, even if
+     * setWffTree(...) is called while it is running.
+     * <p>
+     * Algorithms are run one at a time. A cancelled algorithm stops the next time its
+     * generator reports progress, and only then does the next one start, since they
+     * may share the same trees.
+     *
+     * @param _algorithm - algorithm to run.
+     * @return task that can be cancelled, polled for progress, or waited on.
+     */
+    public AlgorithmTask runAlgorithm(AlgorithmType _algorithm) {
+        LinkedList<WffTree> wffTree = this.wffTree;
+        return AlgorithmTask.submit(_algorithm, wffTree, () -> this.computeAlgorithm(_algorithm, wffTree), LogicSetup.ALGORITHM_EXECUTOR);
+    }
+
+    /**
+     * Runs an algorithm on the given formulas instead of the ones that are set, on
+     * the given executor. This does not touch any state besides the cache, so it may
+     * be called from many threads at once.
+     *
+     * @param _algorithm - algorithm to run.
+     * @param _wffTree   - formulas to run it on.
+     * @param _executor  - executor to run the algorithm on.
+     * @return task that can be cancelled, polled for progress, or waited on.
+     */
+    public AlgorithmTask runAlgorithm(AlgorithmType _algorithm, LinkedList<WffTree> _wffTree, Executor _executor) {
+        return AlgorithmTask.submit(_algorithm, _wffTree, () -> this.computeAlgorithm(_algorithm, _wffTree), _executor);
+    }
+
+    /**
+     * Runs something that uses the results of the algorithms, e.g. an export, on the
+     * algorithm thread like runAlgorithm(...), so it waits for the algorithm that is
+     * running, reports to a progress of its own and can be cancelled. It has no
+     * formulas of its own, so it is not taken for a result of them.
+     *
+     * @param _algorithm - algorithm whose result it uses, for the views.
+     * @param _export    - what to run.
+     * @return task that can be cancelled, polled for progress, or waited on.
+     */
+    public AlgorithmTask runExport(AlgorithmType _algorithm, Runnable _export) {
+        return AlgorithmTask.submit(_algorithm, () -> {
+            _export.run();
+            return new LogicVoid();
+        }, LogicSetup.ALGORITHM_EXECUTOR);
+    }
+
+    /**
+     * Returns the truth tree of a wff from the cache, or generates and caches it.
+     * This is what the exports use, so exporting a tree that is on screen does not
+     * build it again.
+     *
+     * @param _wffTree - root of the wff.
+     * @return TruthTree of the wff.
+     */
+    public TruthTree getTruthTree(WffTree _wffTree) {
+        AlgorithmType algorithm = _wffTree.isPropositionalWff()
+                ? AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR : AlgorithmType.PREDICATE_TRUTH_TREE_GENERATOR;
+        LinkedList<WffTree> wffTrees = new LinkedList<>();
+        wffTrees.add(_wffTree);
+        return ((LogicParseAndTruthTree) this.computeAlgorithm(algorithm, wffTrees)).getTruthTree();
+    }
+
+    /**
+     * Returns the truth table of a wff from the cache, or generates and caches it,
+     * like getTruthTree(...). The tree returned is shared with the cache, so it must
+     * only be read.
+     *
+     * @param _wffTree - root of the wff.
+     * @return root of a copy of the wff whose nodes hold the truth table, or null if
+     * the wff has too many atoms for one.
+     */
+    public WffTree getTruthTable(WffTree _wffTree) {
+        LinkedList<WffTree> wffTrees = new LinkedList<>();
+        wffTrees.add(_wffTree);
+        LogicTruthAndParseTree truthTable = (LogicTruthAndParseTree) this.computeAlgorithm(AlgorithmType.TRUTH_TABLE_GENERATOR, wffTrees);
+        return truthTable.getTruthValue() ? truthTable.getWffTree() : null;
+    }
+
+    /**
+     * Puts results that were computed earlier for these formulas into the cache, e.g.
+     * the ones of a formula opened from the history, so that running those algorithms
+     * on the same formulas again returns them right away.
+     *
+     * @param _wffTree - formulas the results are of.
+     * @param _results - results, by algorithm.
+     */
+    public void restoreResults(List<WffTree> _wffTree, Map<AlgorithmType, LogicReturn> _results) {
+        for (Map.Entry<AlgorithmType, LogicReturn> result : _results.entrySet()) {
+            this.algorithmCache.put(_wffTree, result.getKey(), result.getValue());
+        }
+    }
+
+    public AlgorithmCache.Statistics getCacheStatistics() {
+        return this.algorithmCache.getStatistics();
+    }
+
+    /**
+     * Runs an algorithm through the cache. On a miss, the algorithm runs on a copy
+     * of the formulas, since the algorithms highlight and annotate the trees they are
+     * given, and a cached result must not change when the input trees are reused.
+     *
+     * @param _algorithm - algorithm to run.
+     * @param _wffTree   - formulas to run it on; may be null.
+     * @return result of the algorithm.
+     */
+    private LogicReturn computeAlgorithm(AlgorithmType _algorithm, LinkedList<WffTree> _wffTree) {
+        if (_wffTree == null || !AlgorithmCache.isCacheable(_algorithm)) {
+            return this.applyAlgorithm(_algorithm, _wffTree);
+        }
+
+        return this.algorithmCache.computeIfAbsent(_wffTree, _algorithm, () -> {
+            LinkedList<WffTree> copies = new LinkedList<>();
+            for (WffTree tree : _wffTree) {
+                copies.add(tree.copy());
+            }
+            return this.applyAlgorithm(_algorithm, copies);
+        });
+    }
+
+    /**
+     * @param _algorithm
+     * @param _wffTree
+     * @return
+     */
+    private LogicReturn applyAlgorithm(AlgorithmType _algorithm, LinkedList<WffTree> _wffTree) {
+        if (_wffTree == null) {
             switch (_algorithm) {
                 case RANDOM_PREDICATE_FORMULA:
                     RandomPredicateFormulaGenerator randomPredicateFormulaGenerator = new RandomPredicateFormulaGenerator();
@@ -124,11 +294,11 @@ public class LogicSetup {
             WffTree rootOne = null;
             WffTree rootTwo = null;
 
-            if (this.wffTree.size() >= 1) {
-                rootOne = this.wffTree.get(0);
+            if (_wffTree.size() >= 1) {
+                rootOne = _wffTree.get(0);
             }
-            if (this.wffTree.size() == 2) {
-                rootTwo = this.wffTree.get(1);
+            if (_wffTree.size() == 2) {
+                rootTwo = _wffTree.get(1);
             }
 
             // Clear the highlighting before we detect an algorithm.
@@ -190,13 +360,19 @@ public class LogicSetup {
                     return new LogicTruthParseAndTruthTree(logicallyImpliedDeterminer.isImplied(), logicallyImpliedDeterminer.getCombinedTree(), logicallyImpliedDeterminer.getTruthTree());
 
                 case ARGUMENT_TRUTH_TREE_VALIDATOR:
-                    ArgumentTruthTreeValidator argumentTruthTreeValidator = new ArgumentTruthTreeValidator(this.wffTree);
+                    ArgumentTruthTreeValidator argumentTruthTreeValidator = new ArgumentTruthTreeValidator(_wffTree);
                     return new LogicTruthParseAndTruthTree(argumentTruthTreeValidator.isValid(), argumentTruthTreeValidator.getCombinedTree(), argumentTruthTreeValidator.getTruthTree());
 
                 case SEMANTIC_ENTAILMENT_DETERMINER:
-                    SemanticEntailmentDeterminer semanticEntailmentDeterminer = new SemanticEntailmentDeterminer(this.wffTree);
+                    SemanticEntailmentDeterminer semanticEntailmentDeterminer = new SemanticEntailmentDeterminer(_wffTree);
                     return new LogicTruthParseAndTruthTree(semanticEntailmentDeterminer.isSemanticallyEntailing(), semanticEntailmentDeterminer.getCombinedTree(), semanticEntailmentDeterminer.getTruthTree());
 
+                case ARGUMENT_NATURAL_DEDUCTION_VALIDATOR:
+                    // The truth tree usually tells an invalid argument apart well before the
+                    // proof search gives up on it, so they race, and the search is cancelled.
+                    ArgumentPortfolioValidator argumentPortfolioValidator = new ArgumentPortfolioValidator(_wffTree, true);
+                    return new LogicNaturalDeduction(argumentPortfolioValidator.isValid() ? argumentPortfolioValidator.getNaturalDeductionProof() : null);
+
                 case PROPOSITIONAL_TRUTH_TREE_GENERATOR:
                     PropositionalTruthTreeGenerator propositionalTruthTreeGenerator = new PropositionalTruthTreeGenerator(rootOne);
                     return new LogicParseAndTruthTree(propositionalTruthTreeGenerator.getWffTree(), propositionalTruthTreeGenerator.getTruthTree());
@@ -267,15 +443,41 @@ public class LogicSetup {
     }
 
     public ArrayList<List<Object>> getAvailableAlgorithms() {
+        return this.getAvailableAlgorithms(this.wffTree);
+    }
+
+    /**
+     * Checks whether an algorithm can run on the given formulas, by the same rules
+     * that decide which algorithms the app offers.
+     *
+     * @param _algorithm - algorithm to check.
+     * @param _wffTree   - formulas to run it on.
+     * @return true if the algorithm applies to this many formulas of this kind.
+     */
+    public boolean isAvailable(AlgorithmType _algorithm, LinkedList<WffTree> _wffTree) {
+        // The app does not offer natural deduction yet, since it has no view for it.
+        if (_algorithm == AlgorithmType.ARGUMENT_NATURAL_DEDUCTION_VALIDATOR) {
+            return _wffTree != null && _wffTree.size() >= 2;
+        }
+        for (List<Object> algorithms : this.getAvailableAlgorithms(_wffTree)) {
+            // The first entry of each list only names the group.
+            if (algorithms.indexOf(_algorithm) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ArrayList<List<Object>> getAvailableAlgorithms(LinkedList<WffTree> _wffTree) {
         ArrayList<List<Object>> availableAlgorithms = new ArrayList<>() {{
             this.add(LogicSetup.this.predicate);
             this.add(LogicSetup.this.propositional);
         }};
-        switch (this.getWffCount()) {
+        switch ((_wffTree == null || _wffTree.isEmpty()) ? -1 : _wffTree.size()) {
             case -1:
                 return availableAlgorithms;
             case 1:
-                if (this.wffTree.get(0).isPredicateWff()) {
+                if (_wffTree.get(0).isPredicateWff()) {
                     availableAlgorithms.add(LogicSetup.this.general1);
                     availableAlgorithms.add(LogicSetup.this.predicate1);
                 } else {
@@ -439,6 +641,25 @@ public class LogicSetup {
         }
     }
 
+    /**
+     *
+     */
+    public static class LogicNaturalDeduction implements LogicReturn {
+        private final LinkedList<NDWffTree> proof;
+
+        public LogicNaturalDeduction(LinkedList<NDWffTree> _proof) {
+            this.proof = _proof;
+        }
+
+        /**
+         * @return steps of the proof with the conclusion last, or null if the argument
+         * is invalid or no proof was found in time.
+         */
+        public LinkedList<NDWffTree> getProof() {
+            return this.proof;
+        }
+    }
+
     /**
      *
      */
@@ -0,0 +1,17 @@
+package com.llat.models.events;
+
+import com.llat.models.AlgorithmTask;
+import com.llat.tools.Event;
+
+public class AlgorithmFinishedEvent implements Event {
+
+    private final AlgorithmTask algorithmTask;
+
+    public AlgorithmFinishedEvent(AlgorithmTask _algorithmTask) {
+        this.algorithmTask = _algorithmTask;
+    }
+
+    public AlgorithmTask getAlgorithmTask() {
+        return this.algorithmTask;
+    }
+}
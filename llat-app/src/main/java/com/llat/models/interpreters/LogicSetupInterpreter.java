@@ -0,0 +1,341 @@
+package com.llat.models.interpreters;
+
+
+import com.llat.algorithms.*;
+import com.llat.algorithms.propositional.PDFTruthTablePrinter;
+import com.llat.algorithms.propositional.TexTablePrinter;
+import com.llat.input.events.SolvedFormulaEvent;
+import com.llat.input.events.SyntaxErrorEvent;
+import com.llat.input.events.UnsolvedFormulaEvent;
+import com.llat.models.AlgorithmTask;
+import com.llat.models.AlgorithmType;
+import com.llat.models.LogicSetup;
+import com.llat.models.events.*;
+import com.llat.models.treenode.WffTree;
+import com.llat.tools.EventBus;
+import com.llat.views.events.*;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class LogicSetupInterpreter {
+
+    /**
+     *
+     */
+    private final LogicSetup logicSetup;
+
+    /**
+     * Tree that the views are showing, which the parse tree exports are made from. This is set
+     * on the JavaFX application thread and read by the event worker.
+     */
+    private volatile WffTree outputTree;
+
+    /**
+     * Algorithm that is running now, or the last one that ran.
+     */
+    private volatile AlgorithmTask currentTask;
+
+    /**
+     * Serial executor that the events are handled on. The formulas of the LogicSetup
+     * are only changed here.
+     */
+    private final Executor worker;
+
+    public LogicSetupInterpreter(LogicSetup _logicSetup) {
+        this.logicSetup = _logicSetup;
+
+        // Algorithms and exports can take a while, so they run off the JavaFX
+        // application thread. One serial executor keeps the events in order.
+        Executor worker = EventBus.newWorkerExecutor();
+        this.worker = worker;
+        EventBus.subscribe(SolvedFormulaEvent.class, this::handleSolvedFormulaEvent, worker);
+        EventBus.subscribe(ApplyAlgorithmEvent.class, this::handleApplyAlgorithmEvent, worker);
+        EventBus.subscribe(ExportPDFParseTreeEvent.class, this::handleExportPDFParseTreeEvent, worker);
+        EventBus.subscribe(ExportPDFTruthTableEvent.class, this::handleExportPDFTruthTableEvent, worker);
+        EventBus.subscribe(ExportPDFTruthTreeEvent.class, this::handleExportPDFTruthTreeEvent, worker);
+        EventBus.subscribe(ExportLaTeXParseTreeEvent.class, this::handleExportLaTeXParseTreeEvent, worker);
+        EventBus.subscribe(ExportLaTeXTruthTableEvent.class, this::handleExportLaTeXTruthTableEvent, worker);
+        EventBus.subscribe(ExportLaTeXTruthTreeEvent.class, this::handleExportLaTeXTruthTreeEvent, worker);
+        EventBus.subscribe(AlgorithmSelectionViewInitializedEvent.class, this::handleAlgorithmSelectionViewInitializedEvent, worker);
+        EventBus.subscribe(UnsolvedFormulaEvent.class, this::handleUnsolvedFormulaEvent, worker);
+        EventBus.subscribe(OpenHistoryEntryEvent.class, this::handleOpenHistoryEntryEvent, worker);
+    }
+
+    /**
+     * Puts the results stored with a history entry into the cache. This runs before
+     * the entry's formula is solved, since the events arrive in order.
+     */
+    private void handleOpenHistoryEntryEvent(OpenHistoryEntryEvent _event) {
+        if (_event.getWffTrees() != null) {
+            this.logicSetup.restoreResults(_event.getWffTrees(), _event.getResults());
+        }
+    }
+
+    /**
+     *
+     */
+    private void handleSolvedFormulaEvent(SolvedFormulaEvent _event) {
+        this.cancelCurrentTask();
+        this.logicSetup.setWffTree(_event.getWffTree());
+        EventBus.throwEvent(new SetAlgorithmInputEvent(this.logicSetup.getAvailableAlgorithms()));
+    }
+
+    /**
+     * Starts the algorithm on the algorithm thread, replacing the one that is
+     * running (if any). The views are updated on the JavaFX application thread
+     * once it finishes.
+     */
+    private void handleApplyAlgorithmEvent(ApplyAlgorithmEvent _event) {
+        AlgorithmType algorithmType = this.logicSetup.convertStringToAlgorithmType(_event.getAlgorithmType());
+        this.cancelCurrentTask();
+        AlgorithmTask task = this.logicSetup.runAlgorithm(algorithmType);
+        this.currentTask = task;
+        EventBus.throwEvent(new AlgorithmStartedEvent(task));
+        task.getFuture().whenCompleteAsync((_logicReturn, _ex) -> {
+            // A random formula replaces the input, which is only changed on the worker,
+            // before the views show it.
+            boolean random = algorithmType == AlgorithmType.RANDOM_PREDICATE_FORMULA
+                    || algorithmType == AlgorithmType.RANDOM_PROPOSITIONAL_FORMULA;
+            if (_ex == null && task == this.currentTask && random) {
+                this.logicSetup.setWffTree(null);
+                EventBus.throwEvent(new SetAlgorithmInputEvent(this.logicSetup.getAvailableAlgorithms()));
+            }
+        }, this.worker).whenCompleteAsync((_logicReturn, _ex) -> {
+            // A cancelled or superseded algorithm leaves the views as they were.
+            if (_ex == null && task == this.currentTask) {
+                this.throwErrors(task.getProgress());
+                this.publishResult(algorithmType, _logicReturn);
+            } else if (_ex != null && !task.isCancelled()) {
+                Logger.getLogger(LogicSetupInterpreter.class.getName()).log(Level.SEVERE, null, _ex);
+            }
+            EventBus.throwEvent(new AlgorithmFinishedEvent(task));
+        }, EventBus.FX_EXECUTOR);
+    }
+
+    /**
+     * Throws the events that update the views with the result of an algorithm.
+     *
+     * @param _algorithmType - algorithm that was run.
+     * @param _logicReturn   - result of the algorithm.
+     */
+    private void publishResult(AlgorithmType _algorithmType, LogicSetup.LogicReturn _logicReturn) {
+        UpdateViewTruthEvent updateViewTruthEvent = new UpdateViewTruthEvent();
+        UpdateViewParseTreeEvent updateViewParseTreeEvent = new UpdateViewParseTreeEvent();
+        UpdateViewTruthTreeEvent updateViewTruthTreeEvent = new UpdateViewTruthTreeEvent();
+        UpdateViewTruthTableEvent updateViewTruthTableEvent = new UpdateViewTruthTableEvent();
+        RandomGeneratedFormulaEvent randomGeneratedFormulaEvent = new RandomGeneratedFormulaEvent();
+        if (!(_logicReturn instanceof LogicSetup.LogicVoid)) {
+            switch (_algorithmType) {
+                case RANDOM_PREDICATE_FORMULA:
+                case RANDOM_PROPOSITIONAL_FORMULA:
+                    this.outputTree = null;
+                    randomGeneratedFormulaEvent = new RandomGeneratedFormulaEvent(((LogicSetup.LogicFormula) (_logicReturn)).getFormula());
+                    break;
+
+                case CLOSED_TREE_DETERMINER:
+                case LOGICALLY_CONTINGENT_DETERMINER:
+                case OPEN_TREE_DETERMINER:
+                case GROUND_SENTENCE_DETERMINER:
+                case CLOSED_SENTENCE_DETERMINER:
+                case OPEN_SENTENCE_DETERMINER:
+                    this.outputTree = ((LogicSetup.LogicTruthAndParseTree) _logicReturn).getWffTree();
+                    updateViewTruthEvent = new UpdateViewTruthEvent(((LogicSetup.LogicTruthAndParseTree) _logicReturn).getTruthValue());
+                    updateViewParseTreeEvent = new UpdateViewParseTreeEvent(this.outputTree);
+                    break;
+
+                case TRUTH_TABLE_GENERATOR:
+                    this.outputTree = ((LogicSetup.LogicTruthAndParseTree) _logicReturn).getWffTree();
+                    updateViewTruthEvent = new UpdateViewTruthEvent(((LogicSetup.LogicTruthAndParseTree) _logicReturn).getTruthValue());
+                    updateViewTruthTableEvent = new UpdateViewTruthTableEvent(this.outputTree);
+                    break;
+
+                case MAIN_OPERATOR_DETECTOR:
+                case BOUND_VARIABLE_DETECTOR:
+                case FREE_VARIABLE_DETECTOR:
+                    this.outputTree = ((LogicSetup.LogicTree) _logicReturn).getWffTree();
+                    updateViewParseTreeEvent = new UpdateViewParseTreeEvent(this.outputTree);
+                    break;
+
+                case PREDICATE_TRUTH_TREE_GENERATOR:
+                case PROPOSITIONAL_TRUTH_TREE_GENERATOR:
+                    this.outputTree = ((LogicSetup.LogicParseAndTruthTree) _logicReturn).getWffTree();
+                    updateViewParseTreeEvent = new UpdateViewParseTreeEvent(this.outputTree);
+                    updateViewTruthTreeEvent = new UpdateViewTruthTreeEvent(((LogicSetup.LogicParseAndTruthTree) _logicReturn).getTruthTree());
+                    break;
+
+                case LOGICALLY_CONSISTENT_DETERMINER:
+                case LOGICALLY_CONTRARY_DETERMINER:
+                case LOGICAL_TAUTOLOGY_DETERMINER:
+                case LOGICALLY_IMPLIED_DETERMINER:
+                case LOGICAL_FALSEHOOD_DETERMINER:
+                case LOGICALLY_CONTRADICTORY_DETERMINER:
+                case LOGICALLY_EQUIVALENT_DETERMINER:
+                case ARGUMENT_TRUTH_TREE_VALIDATOR:
+                case SEMANTIC_ENTAILMENT_DETERMINER:
+                    this.outputTree = ((LogicSetup.LogicTruthParseAndTruthTree) _logicReturn).getWffTree();
+                    this.outputTree.setFlags(((LogicSetup.LogicTruthParseAndTruthTree) _logicReturn).getWffTree().getFlags());
+                    updateViewTruthEvent = new UpdateViewTruthEvent(((LogicSetup.LogicTruthParseAndTruthTree) _logicReturn).getTruthValue());
+                    updateViewParseTreeEvent = new UpdateViewParseTreeEvent(this.outputTree);
+                    updateViewTruthTreeEvent = new UpdateViewTruthTreeEvent(((LogicSetup.LogicTruthParseAndTruthTree) _logicReturn).getTruthTree());
+                    break;
+            }
+        }
+
+        EventBus.throwEvent(randomGeneratedFormulaEvent);
+        EventBus.throwEvent(updateViewTruthEvent);
+        EventBus.throwEvent(updateViewParseTreeEvent);
+        EventBus.throwEvent(updateViewTruthTreeEvent);
+        EventBus.throwEvent(updateViewTruthTableEvent);
+    }
+
+    /**
+     *
+     */
+    private void handleExportPDFParseTreeEvent(ExportPDFParseTreeEvent _event) {
+        PDFPrinter pdfParseTreePrinter = new PDFParseTreePrinter(this.outputTree, _event.getFilePath());
+        pdfParseTreePrinter.outputToFile();
+    }
+
+    /**
+     *
+     */
+    private void handleExportPDFTruthTableEvent(ExportPDFTruthTableEvent _event) {
+        WffTree formula = this.getExportedFormula();
+        this.runExport(AlgorithmType.TRUTH_TABLE_GENERATOR, () -> {
+            WffTree truthTable = this.logicSetup.getTruthTable(formula);
+            PDFPrinter pdfTruthTablePrinter = truthTable != null
+                    ? new PDFTruthTablePrinter(truthTable, _event.getFilePath(), true)
+                    : new PDFTruthTablePrinter(formula.copy(), _event.getFilePath());
+            pdfTruthTablePrinter.outputToFile();
+        });
+    }
+
+    /**
+     *
+     */
+    private void handleExportPDFTruthTreeEvent(ExportPDFTruthTreeEvent _event) {
+        WffTree formula = this.getExportedFormula();
+        this.runExport(LogicSetupInterpreter.getTruthTreeAlgorithm(formula), () -> {
+            PDFTruthTreePrinter pdfTruthTreePrinter = new PDFTruthTreePrinter(this.logicSetup.getTruthTree(formula), _event.getFilePath());
+            pdfTruthTreePrinter.outputToFile();
+        });
+    }
+
+    /**
+     *
+     */
+    private void handleExportLaTeXParseTreeEvent(ExportLaTeXParseTreeEvent _event) {
+        TexParseTreePrinter texParseTreePrinter = new TexParseTreePrinter(this.outputTree, _event.getFilePath());
+        texParseTreePrinter.outputToFile();
+    }
+
+    /**
+     *
+     */
+    private void handleExportLaTeXTruthTableEvent(ExportLaTeXTruthTableEvent _event) {
+        WffTree formula = this.getExportedFormula();
+        this.runExport(AlgorithmType.TRUTH_TABLE_GENERATOR, () -> {
+            WffTree truthTable = this.logicSetup.getTruthTable(formula);
+            TexTablePrinter texTablePrinter = truthTable != null
+                    ? new TexTablePrinter(truthTable, _event.getFilePath(), true)
+                    : new TexTablePrinter(formula.copy(), _event.getFilePath());
+            texTablePrinter.outputToFile();
+        });
+    }
+
+    /**
+     *
+     */
+    private void handleExportLaTeXTruthTreeEvent(ExportLaTeXTruthTreeEvent _event) {
+        WffTree formula = this.getExportedFormula();
+        this.runExport(LogicSetupInterpreter.getTruthTreeAlgorithm(formula), () -> {
+            TexTruthTreePrinter texTruthTreePrinter = new TexTruthTreePrinter(this.logicSetup.getTruthTree(formula), _event.getFilePath());
+            texTruthTreePrinter.outputToFile();
+        });
+    }
+
+    /**
+     * Runs an export on the algorithm thread, after the algorithm that is running.
+     * The formula input shows its progress and can cancel it like an algorithm's,
+     * and the errors it reports (e.g., a truth tree that was cut off) are shown once
+     * it finishes.
+     *
+     * @param _algorithmType - algorithm whose result is exported.
+     * @param _export        - writes the file.
+     */
+    private void runExport(AlgorithmType _algorithmType, Runnable _export) {
+        AlgorithmTask task = this.logicSetup.runExport(_algorithmType, _export);
+        EventBus.throwEvent(new AlgorithmStartedEvent(task));
+        task.getFuture().whenCompleteAsync((_logicReturn, _ex) -> {
+            if (_ex == null) {
+                this.throwErrors(task.getProgress());
+            } else if (!task.isCancelled()) {
+                Logger.getLogger(LogicSetupInterpreter.class.getName()).log(Level.SEVERE, null, _ex);
+            }
+            EventBus.throwEvent(new AlgorithmFinishedEvent(task));
+        }, EventBus.FX_EXECUTOR);
+    }
+
+    private static AlgorithmType getTruthTreeAlgorithm(WffTree _wffTree) {
+        return _wffTree.isPropositionalWff()
+                ? AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR : AlgorithmType.PREDICATE_TRUTH_TREE_GENERATOR;
+    }
+
+    /**
+     * Formula that the truth table and truth tree exports are made of. This is the
+     * formula that was typed in, so they are looked up in the cache by the formula
+     * and algorithm whatever result is on screen. Several formulas are exported as
+     * the tree on screen, since the algorithms on them show them combined.
+     *
+     * @return root of the formula to export.
+     */
+    private WffTree getExportedFormula() {
+        List<WffTree> wffTrees = this.logicSetup.getWffTree();
+        return (wffTrees != null && wffTrees.size() == 1) ? wffTrees.get(0) : this.outputTree;
+    }
+
+    /**
+     * Shows the errors that the algorithms reported, since the engine cannot show
+     * them itself. They are taken on the calling thread, which may be a worker, and
+     * thrown on the JavaFX application thread.
+     *
+     * @param _progress - progress that the algorithms reported to.
+     */
+    private void throwErrors(AlgorithmProgress _progress) {
+        List<String> messages = _progress.drainErrors();
+        EventBus.FX_EXECUTOR.execute(() -> {
+            for (String message : messages) {
+                EventBus.throwEvent(new SyntaxErrorEvent(message));
+            }
+        });
+    }
+
+    /**
+     * Cancels the running algorithm, since its input is about to change.
+     */
+    private void cancelCurrentTask() {
+        AlgorithmTask task = this.currentTask;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     *
+     */
+    private void handleAlgorithmSelectionViewInitializedEvent(AlgorithmSelectionViewInitializedEvent _event) {
+        EventBus.throwEvent(new SetAlgorithmInputEvent(this.logicSetup.getAvailableAlgorithms()));
+    }
+
+    /**
+     *
+     */
+    private void handleUnsolvedFormulaEvent(UnsolvedFormulaEvent _event) {
+        this.cancelCurrentTask();
+        this.logicSetup.setWffTree(null);
+        EventBus.throwEvent(new SetAlgorithmInputEvent(this.logicSetup.getAvailableAlgorithms()));
+    }
+}
@@ -86,6 +86,7 @@ public class TranslateUIDO {
         mainViewLabels.setHistoryTabLabel(this.ta.translate(LANG_FROM, this.langTo, mainViewLabels.getHistoryTabLabel()));
         mainViewLabels.setSolveButton(this.ta.translate(LANG_FROM, this.langTo, mainViewLabels.getSolveButton()));
         mainViewLabels.setApplyButton(this.ta.translate(LANG_FROM, this.langTo, mainViewLabels.getApplyButton()));
+        mainViewLabels.setCancelButton(this.ta.translate(LANG_FROM, this.langTo, mainViewLabels.getCancelButton()));
         mainViewLabels.setExplanationLabel(this.ta.translate(LANG_FROM, this.langTo, mainViewLabels.getExplanationLabel()));
         // Errors/Warnings
         mainViewLabels.setErrorAndWarningLabel(this.ta.translate(LANG_FROM, this.langTo, mainViewLabels.getErrorAndWarningLabel()));
@@ -20,6 +20,7 @@ public class MainViewLabels {
     public String historyTabLabel;
     public String solveButton;
     public String applyButton;
+    public String cancelButton;
 
     public MainViewLabels(String propositionalLabel, String predicateLabel, String errorAndWarningLabel, String truthTableLabel, String parseTreeLabel, String truthTreeLabel, String symbolNameLabel, String formalNameLabel, String alternativeSymbolsLabel, String explanationLabel, String examplesLabel, GeneralMenu generalMenu, PropositionalMenu propositionalMenu, PredicateMenu predicateMenu, String axiomTabLabel, String historyTabLabel, String solveButton, String applyButton) {
         this.propositionalLabel = propositionalLabel;
@@ -186,6 +187,14 @@ public class MainViewLabels {
         this.applyButton = applyButton;
     }
 
+    public String getCancelButton() {
+        return this.cancelButton;
+    }
+
+    public void setCancelButton(String cancelButton) {
+        this.cancelButton = cancelButton;
+    }
+
     @Override
     public String toString() {
         return "MainViewLabels{" +
@@ -207,6 +216,7 @@ public class MainViewLabels {
                 ", historyTabLabel='" + this.historyTabLabel + '\'' +
                 ", solveButton='" + this.solveButton + '\'' +
                 ", applyButton='" + this.applyButton + '\'' +
+                ", cancelButton='" + this.cancelButton + '\'' +
                 '}';
     }
 }
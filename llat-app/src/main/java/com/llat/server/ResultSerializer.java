@@ -0,0 +1,191 @@
+package com.llat.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.llat.algorithms.models.NDWffTree;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.models.LogicSetup;
+import com.llat.models.treenode.WffTree;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the results of the algorithms into compact JSON for the solving service.
+ * <p>
+ * A WffTree node is {"t": node type, "s": symbol, "c": [children]}, plus "h": true
+ * if it is highlighted and "v": "TF..." if it holds a column of a truth table. Empty
+ * fields are left out.
+ * <p>
+ * A TruthTree is written as branches rather than nodes, since most of its nodes
+ * only have one child: {"w": [wffs down the branch], "l": left, "r": right}, plus
+ * "x": true if the branch ends closed.
+ */
+public final class ResultSerializer {
+
+    private ResultSerializer() {
+    }
+
+    /**
+     * @param _logicReturn - result of an algorithm.
+     * @return the result as a JSON object; empty for a LogicVoid.
+     */
+    public static JsonObject serialize(LogicSetup.LogicReturn _logicReturn) {
+        JsonObject json = new JsonObject();
+        if (_logicReturn instanceof LogicSetup.LogicTruthParseAndTruthTree) {
+            LogicSetup.LogicTruthParseAndTruthTree result = (LogicSetup.LogicTruthParseAndTruthTree) _logicReturn;
+            json.addProperty("value", result.getTruthValue());
+            json.add("tree", ResultSerializer.serialize(result.getWffTree()));
+            json.add("truthTree", ResultSerializer.serialize(result.getTruthTree()));
+        } else if (_logicReturn instanceof LogicSetup.LogicParseAndTruthTree) {
+            LogicSetup.LogicParseAndTruthTree result = (LogicSetup.LogicParseAndTruthTree) _logicReturn;
+            json.add("tree", ResultSerializer.serialize(result.getWffTree()));
+            json.add("truthTree", ResultSerializer.serialize(result.getTruthTree()));
+        } else if (_logicReturn instanceof LogicSetup.LogicTruthAndParseTree) {
+            LogicSetup.LogicTruthAndParseTree result = (LogicSetup.LogicTruthAndParseTree) _logicReturn;
+            json.addProperty("value", result.getTruthValue());
+            json.add("tree", ResultSerializer.serialize(result.getWffTree()));
+        } else if (_logicReturn instanceof LogicSetup.LogicTree) {
+            json.add("tree", ResultSerializer.serialize(((LogicSetup.LogicTree) _logicReturn).getWffTree()));
+        } else if (_logicReturn instanceof LogicSetup.LogicTrees) {
+            json.add("trees", ResultSerializer.serialize(((LogicSetup.LogicTrees) _logicReturn).getWffTrees()));
+        } else if (_logicReturn instanceof LogicSetup.LogicTruthTree) {
+            json.add("truthTree", ResultSerializer.serialize(((LogicSetup.LogicTruthTree) _logicReturn).getTruthTree()));
+        } else if (_logicReturn instanceof LogicSetup.LogicTruth) {
+            json.addProperty("value", ((LogicSetup.LogicTruth) _logicReturn).getTruthValue());
+        } else if (_logicReturn instanceof LogicSetup.LogicFormula) {
+            json.addProperty("formula", ((LogicSetup.LogicFormula) _logicReturn).getFormula());
+        } else if (_logicReturn instanceof LogicSetup.LogicNaturalDeduction) {
+            LinkedList<NDWffTree> proof = ((LogicSetup.LogicNaturalDeduction) _logicReturn).getProof();
+            json.addProperty("value", proof != null);
+            if (proof != null) {
+                json.add("proof", ResultSerializer.serializeProof(proof));
+            }
+        }
+        return json;
+    }
+
+    /**
+     * @param _wffTrees - formulas, e.g. the premises and conclusion of an argument.
+     * @return JSON array of the formulas.
+     */
+    public static JsonArray serialize(List<WffTree> _wffTrees) {
+        JsonArray json = new JsonArray();
+        for (WffTree wffTree : _wffTrees) {
+            json.add(ResultSerializer.serialize(wffTree));
+        }
+        return json;
+    }
+
+    /**
+     * Writes a formula. The root (i.e., the ROOT node that the parser puts above
+     * each formula) also gets its string representation in "wff".
+     *
+     * @param _wffTree - formula to write.
+     * @return JSON object of the formula, or null if there is none.
+     */
+    public static JsonObject serialize(WffTree _wffTree) {
+        if (_wffTree == null) {
+            return null;
+        }
+        JsonObject json = ResultSerializer.serializeNode(_wffTree);
+        if (_wffTree.isRoot()) {
+            json.addProperty("wff", _wffTree.getStringRep());
+        }
+        return json;
+    }
+
+    /**
+     * @param _truthTree - root of the truth tree.
+     * @return JSON object of the truth tree, or null if there is none.
+     */
+    public static JsonObject serialize(TruthTree _truthTree) {
+        if (_truthTree == null) {
+            return null;
+        }
+        JsonObject json = new JsonObject();
+        JsonArray wffs = new JsonArray();
+        TruthTree node = _truthTree;
+        // Follow the branch down until it splits or ends.
+        while (true) {
+            wffs.add(node.getWff().getStringRep());
+            if (node.getRight() != null) {
+                json.add("w", wffs);
+                json.add("l", ResultSerializer.serialize(node.getLeft()));
+                json.add("r", ResultSerializer.serialize(node.getRight()));
+                return json;
+            } else if (node.getLeft() == null) {
+                json.add("w", wffs);
+                if (node.isClosed()) {
+                    json.addProperty("x", true);
+                }
+                return json;
+            }
+            node = node.getLeft();
+        }
+    }
+
+    private static JsonObject serializeNode(WffTree _node) {
+        JsonObject json = new JsonObject();
+        json.addProperty("t", _node.getNodeType().toString());
+        if (_node.getSymbol() != null) {
+            json.addProperty("s", _node.getSymbol());
+        }
+        if (_node.isHighlighted()) {
+            json.addProperty("h", true);
+        }
+        if (!_node.getTruthValues().isEmpty()) {
+            StringBuilder values = new StringBuilder(_node.getTruthValues().size());
+            for (boolean value : _node.getTruthValues()) {
+                values.append(value ? 'T' : 'F');
+            }
+            json.addProperty("v", values.toString());
+        }
+        if (_node.getChildrenSize() > 0) {
+            JsonArray children = new JsonArray(_node.getChildrenSize());
+            for (WffTree child : _node.getChildren()) {
+                children.add(ResultSerializer.serializeNode(child));
+            }
+            json.add("c", children);
+        }
+        return json;
+    }
+
+    /**
+     * Writes a natural deduction proof as numbered lines. Each line refers to the
+     * lines it was derived from by their (1-based) numbers in "from", and the lines
+     * of a subproof have the number of subproofs they are in as "depth".
+     *
+     * @param _proof - steps of the proof with the conclusion last.
+     * @return JSON array of the lines.
+     */
+    private static JsonArray serializeProof(LinkedList<NDWffTree> _proof) {
+        Map<NDWffTree, Integer> lines = new IdentityHashMap<>();
+        JsonArray json = new JsonArray();
+        for (NDWffTree step : _proof) {
+            lines.put(step, lines.size() + 1);
+            JsonObject line = new JsonObject();
+            line.addProperty("wff", step.getWffTree().getStringRep());
+            line.addProperty("step", step.getDerivationStep().toString());
+            if (step.getDepth() > 0) {
+                line.addProperty("depth", step.getDepth());
+            }
+            if (step.getDerivedParents() != null && !step.getDerivedParents().isEmpty()) {
+                JsonArray from = new JsonArray();
+                for (NDWffTree parent : step.getDerivedParents()) {
+                    Integer number = lines.get(parent);
+                    if (number != null) {
+                        from.add(number);
+                    } else {
+                        from.add(parent.getWffTree().getStringRep());
+                    }
+                }
+                line.add("from", from);
+            }
+            json.add(line);
+        }
+        return json;
+    }
+}
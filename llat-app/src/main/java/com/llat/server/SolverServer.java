@@ -0,0 +1,536 @@
+package com.llat.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.input.LLATErrorListener;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.AlgorithmCache;
+import com.llat.models.AlgorithmTask;
+import com.llat.models.AlgorithmType;
+import com.llat.models.LogicSetup;
+import com.llat.models.treenode.WffTree;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the LLAT algorithms as a local HTTP service that takes and returns JSON.
+ * <p>
+ * Every endpoint but /status, /metrics and /metrics.json takes a POST with a JSON object holding the input in
+ * "formula" (in the same syntax as the input field of the app, e.g.
+ * "(A->B), A ⊢ B"), and optionally a time budget in "budgetMillis":
+ * <ul>
+ *     <li>/parse - the abstract syntax trees of the formula(s).</li>
+ *     <li>/truth-table - truth table of a propositional formula.</li>
+ *     <li>/truth-tree - truth tree of a formula.</li>
+ *     <li>/validity - whether an argument is valid, with its truth tree.</li>
+ *     <li>/nd - natural deduction proof of an argument.</li>
+ *     <li>/solve - any algorithm, named in "algorithm" (e.g. "MAIN_OPERATOR_DETECTOR").</li>
+ *     <li>/batch - many of the above at once, listed in "requests". Each one names
+ *     its endpoint in "endpoint", and they all share one budget.</li>
+ * </ul>
+ * The algorithms run on a fixed pool of workers with a bounded queue. When the
+ * queue is full, requests are turned away with 503 instead of waiting, and an
+ * algorithm that runs past its budget is cancelled and answered with 504.
+ * <p>
+ * GET /metrics returns the counters and histograms of AlgorithmMetrics in the
+ * Prometheus text format, so the service can be scraped, and /metrics.json
+ * returns the same snapshot as JSON.
+ */
+public final class SolverServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Budget of a request that does not ask for one.
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 5_000;
+
+    /**
+     * Longest budget that a request may ask for.
+     */
+    public static final long MAX_BUDGET_MILLIS = 60_000;
+
+    /**
+     * Most requests that one batch may hold.
+     */
+    public static final int MAX_BATCH_SIZE = 256;
+
+    /**
+     * Largest request body that is read, in bytes.
+     */
+    private static final int MAX_REQUEST_BYTES = 1 << 20;
+
+    /**
+     *
+     */
+    private final HttpServer server;
+
+    /**
+     * Threads that run the algorithms. Its queue is bounded, which is what limits
+     * how much work the service takes on.
+     */
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * Threads that read requests, parse the formulas, and write responses. They
+     * never wait on an algorithm, so a few of them are enough.
+     */
+    private final ExecutorService exchanges;
+
+    /**
+     * Shared by all requests, so they share its cache of results.
+     */
+    private final LogicSetup logicSetup = new LogicSetup(false);
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong timedOut = new AtomicLong();
+
+    /**
+     * @param _port          - port to listen on, or 0 for any free port.
+     * @param _workers       - number of algorithms that may run at once.
+     * @param _queueCapacity - number of algorithms that may wait for a worker.
+     * @throws IOException if the port cannot be bound.
+     */
+    public SolverServer(int _port, int _workers, int _queueCapacity) throws IOException {
+        this.workers = new ThreadPoolExecutor(_workers, _workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(_queueCapacity), SolverServer.daemonThreads("llat-solver"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.exchanges = Executors.newFixedThreadPool(Math.max(2, _workers / 2), SolverServer.daemonThreads("llat-http"));
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), _port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(this.exchanges);
+    }
+
+    public static void main(String[] _args) throws IOException {
+        int port = _args.length > 0 ? Integer.parseInt(_args[0]) : SolverServer.DEFAULT_PORT;
+        int workers = _args.length > 1 ? Integer.parseInt(_args[1]) : Runtime.getRuntime().availableProcessors();
+        SolverServer solverServer = new SolverServer(port, workers, workers * 16);
+        solverServer.start();
+        System.out.println("LLAT solving service listening on http://localhost:" + solverServer.getPort() + "/");
+    }
+
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops listening and cancels the algorithms that are still running.
+     */
+    public void stop() {
+        this.server.stop(0);
+        this.workers.shutdownNow();
+        this.exchanges.shutdownNow();
+    }
+
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Handles one exchange. Only the parsing is done here; the algorithm runs on a
+     * worker, which answers the exchange when it finishes.
+     */
+    private void handle(HttpExchange _exchange) {
+        try {
+            String endpoint = _exchange.getRequestURI().getPath().substring(1);
+            if (_exchange.getRequestMethod().equals("GET")) {
+                if (endpoint.equals("status")) {
+                    SolverServer.respond(_exchange, 200, this.getStatus());
+                    return;
+                } else if (endpoint.equals("metrics")) {
+                    SolverServer.respond(_exchange, 200, "text/plain; version=0.0.4; charset=utf-8", AlgorithmMetrics.toPrometheus());
+                    return;
+                } else if (endpoint.equals("metrics.json")) {
+                    SolverServer.respond(_exchange, 200, "application/json; charset=utf-8", AlgorithmMetrics.toJson());
+                    return;
+                }
+            }
+            if (!_exchange.getRequestMethod().equals("POST")) {
+                throw new RequestException(405, "Only POST is supported on /" + endpoint + ".");
+            }
+
+            JsonObject request = SolverServer.readRequest(_exchange);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SolverServer.getBudget(request));
+            CompletableFuture<JsonObject> response = endpoint.equals("batch")
+                    ? this.solveBatch(request, deadline)
+                    : this.solve(endpoint, request, deadline);
+            response.whenCompleteAsync((_json, _ex) -> {
+                if (_ex == null) {
+                    SolverServer.respond(_exchange, 200, _json);
+                } else {
+                    SolverServer.respondError(_exchange, SolverServer.toRequestException(_ex));
+                }
+            }, this.exchanges);
+        } catch (RuntimeException ex) {
+            SolverServer.respondError(_exchange, SolverServer.toRequestException(ex));
+        }
+    }
+
+    /**
+     * Parses a request and starts its algorithm.
+     *
+     * @param _endpoint - endpoint the request was sent to, without the slash.
+     * @param _request  - body of the request.
+     * @param _deadline - System.nanoTime() by which the algorithm must finish.
+     * @return future response; it fails with a RequestException if the request
+     * cannot be answered.
+     */
+    private CompletableFuture<JsonObject> solve(String _endpoint, JsonObject _request, long _deadline) {
+        if (_endpoint.equals("parse")) {
+            JsonObject json = new JsonObject();
+            json.add("trees", ResultSerializer.serialize(SolverServer.parse(SolverServer.getFormula(_request))));
+            return CompletableFuture.completedFuture(json);
+        }
+
+        AlgorithmType algorithm;
+        LinkedList<WffTree> wffTrees;
+        if (_endpoint.equals("solve")) {
+            algorithm = SolverServer.getAlgorithm(_request);
+            // The random formula generators are the only ones that need no input.
+            boolean random = algorithm == AlgorithmType.RANDOM_PREDICATE_FORMULA || algorithm == AlgorithmType.RANDOM_PROPOSITIONAL_FORMULA;
+            wffTrees = random && !_request.has("formula") ? null : SolverServer.parse(SolverServer.getFormula(_request));
+        } else {
+            wffTrees = SolverServer.parse(SolverServer.getFormula(_request));
+            algorithm = SolverServer.selectAlgorithm(_endpoint, wffTrees);
+        }
+
+        AlgorithmTask task;
+        try {
+            task = this.logicSetup.runAlgorithm(algorithm, wffTrees, this.workers);
+        } catch (RejectedExecutionException ex) {
+            this.rejected.incrementAndGet();
+            throw new RequestException(503, "The service is busy; try again later.");
+        }
+
+        long start = System.nanoTime();
+        return task.getFuture().orTimeout(Math.max(0, _deadline - start), TimeUnit.NANOSECONDS).handle((_logicReturn, _ex) -> {
+            if (_ex != null) {
+                Throwable cause = SolverServer.unwrap(_ex);
+                if (cause instanceof TimeoutException) {
+                    // Stop the algorithm too, or it would keep the worker busy.
+                    task.cancel();
+                    this.timedOut.incrementAndGet();
+                    throw new RequestException(504, "The algorithm did not finish within its budget.");
+                }
+                throw new CompletionException(cause);
+            }
+
+            AlgorithmProgress progress = task.getProgress();
+            JsonObject json = new JsonObject();
+            json.addProperty("algorithm", algorithm.name());
+            json.add("result", ResultSerializer.serialize(_logicReturn));
+            JsonArray errors = new JsonArray();
+            progress.drainErrors().forEach(errors::add);
+            if (errors.size() > 0) {
+                json.add("errors", errors);
+            }
+            json.addProperty("nodes", progress.getNodesExpanded());
+            json.addProperty("millis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return json;
+        });
+    }
+
+    /**
+     * Starts every request of a batch. A request that fails (including one that is
+     * turned away because the queue is full) gets an error in its place in the
+     * results, so the others still get answered.
+     *
+     * @param _request  - body of the batch.
+     * @param _deadline - System.nanoTime() by which all of the algorithms must finish.
+     * @return future response with the results in the same order as the requests.
+     */
+    private CompletableFuture<JsonObject> solveBatch(JsonObject _request, long _deadline) {
+        JsonElement requests = _request.get("requests");
+        if (requests == null || !requests.isJsonArray()) {
+            throw new RequestException(400, "A batch needs a \"requests\" array.");
+        }
+        if (requests.getAsJsonArray().size() > SolverServer.MAX_BATCH_SIZE) {
+            throw new RequestException(400, "A batch may hold at most " + SolverServer.MAX_BATCH_SIZE + " requests.");
+        }
+
+        List<CompletableFuture<JsonObject>> results = new ArrayList<>();
+        for (JsonElement element : requests.getAsJsonArray()) {
+            CompletableFuture<JsonObject> result;
+            try {
+                if (!element.isJsonObject()) {
+                    throw new RequestException(400, "Each request of a batch must be an object.");
+                }
+                JsonObject request = element.getAsJsonObject();
+                String endpoint = request.has("endpoint") ? request.get("endpoint").getAsString() : "solve";
+                if (endpoint.equals("batch")) {
+                    throw new RequestException(400, "Batches cannot be nested.");
+                }
+                result = this.solve(endpoint, request, _deadline);
+            } catch (RuntimeException ex) {
+                result = CompletableFuture.failedFuture(ex);
+            }
+            results.add(result.exceptionally((_ex) -> SolverServer.toError(SolverServer.toRequestException(_ex))));
+        }
+
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).thenApply((_v) -> {
+            JsonArray array = new JsonArray(results.size());
+            for (CompletableFuture<JsonObject> result : results) {
+                array.add(result.join());
+            }
+            JsonObject json = new JsonObject();
+            json.add("results", array);
+            return json;
+        });
+    }
+
+    /**
+     * @return state of the workers and the cache.
+     */
+    private JsonObject getStatus() {
+        JsonObject json = new JsonObject();
+        json.addProperty("workers", this.workers.getMaximumPoolSize());
+        json.addProperty("active", this.workers.getActiveCount());
+        json.addProperty("queued", this.workers.getQueue().size());
+        json.addProperty("queueCapacity", this.workers.getQueue().size() + this.workers.getQueue().remainingCapacity());
+        json.addProperty("completed", this.workers.getCompletedTaskCount());
+        json.addProperty("rejected", this.rejected.get());
+        json.addProperty("timedOut", this.timedOut.get());
+        AlgorithmCache.Statistics statistics = this.logicSetup.getCacheStatistics();
+        JsonObject cache = new JsonObject();
+        cache.addProperty("hits", statistics.getHits());
+        cache.addProperty("misses", statistics.getMisses());
+        cache.addProperty("evictions", statistics.getEvictions());
+        cache.addProperty("size", statistics.getSize());
+        cache.addProperty("weight", statistics.getWeight());
+        json.add("cache", cache);
+        return json;
+    }
+
+    /**
+     * Picks the algorithm behind one of the fixed endpoints, and checks that the
+     * formulas suit it.
+     */
+    private static AlgorithmType selectAlgorithm(String _endpoint, LinkedList<WffTree> _wffTrees) {
+        switch (_endpoint) {
+            case "truth-table":
+                SolverServer.requireFormulas(_wffTrees, 1, 1);
+                if (_wffTrees.getFirst().isPredicateWff()) {
+                    throw new RequestException(400, "Truth tables can only be made for propositional formulas.");
+                }
+                return AlgorithmType.TRUTH_TABLE_GENERATOR;
+            case "truth-tree":
+                SolverServer.requireFormulas(_wffTrees, 1, 1);
+                return _wffTrees.getFirst().isPredicateWff()
+                        ? AlgorithmType.PREDICATE_TRUTH_TREE_GENERATOR : AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR;
+            case "validity":
+                SolverServer.requireFormulas(_wffTrees, 2, Integer.MAX_VALUE);
+                return AlgorithmType.ARGUMENT_TRUTH_TREE_VALIDATOR;
+            case "nd":
+                SolverServer.requireFormulas(_wffTrees, 2, Integer.MAX_VALUE);
+                return AlgorithmType.ARGUMENT_NATURAL_DEDUCTION_VALIDATOR;
+            default:
+                throw new RequestException(404, "Unknown endpoint /" + _endpoint + ".");
+        }
+    }
+
+    private static void requireFormulas(LinkedList<WffTree> _wffTrees, int _min, int _max) {
+        if (_wffTrees.size() < _min || _wffTrees.size() > _max) {
+            throw new RequestException(400, _min == _max
+                    ? "Expected " + _min + " formula, but got " + _wffTrees.size() + "."
+                    : "Expected at least " + _min + " formulas, but got " + _wffTrees.size() + ".");
+        }
+    }
+
+    /**
+     * Reads the algorithm of a /solve request, either by its enum name (e.g.
+     * "MAIN_OPERATOR_DETECTOR") or by the name shown in the app.
+     */
+    private static AlgorithmType getAlgorithm(JsonObject _request) {
+        JsonElement name = _request.get("algorithm");
+        if (name == null || !name.isJsonPrimitive()) {
+            throw new RequestException(400, "Missing \"algorithm\".");
+        }
+        AlgorithmType algorithm = null;
+        for (AlgorithmType type : AlgorithmType.values()) {
+            if (type.name().equals(name.getAsString()) || name.getAsString().equals(type.toString())) {
+                algorithm = type;
+            }
+        }
+        // These only group the algorithms in the app.
+        if (algorithm == null || algorithm == AlgorithmType.GENERAL || algorithm == AlgorithmType.PROPOSITIONAL
+                || algorithm == AlgorithmType.PREDICATE || algorithm == AlgorithmType.NULL) {
+            throw new RequestException(400, "Unknown algorithm " + name.getAsString() + ".");
+        }
+        return algorithm;
+    }
+
+    private static String getFormula(JsonObject _request) {
+        JsonElement formula = _request.get("formula");
+        if (formula == null || !formula.isJsonPrimitive() || formula.getAsString().isBlank()) {
+            throw new RequestException(400, "Missing \"formula\".");
+        }
+        return formula.getAsString();
+    }
+
+    private static long getBudget(JsonObject _request) {
+        JsonElement budget = _request.get("budgetMillis");
+        if (budget == null) {
+            return SolverServer.DEFAULT_BUDGET_MILLIS;
+        }
+        try {
+            return Math.max(1, Math.min(SolverServer.MAX_BUDGET_MILLIS, budget.getAsLong()));
+        } catch (RuntimeException ex) {
+            throw new RequestException(400, "\"budgetMillis\" must be a number.");
+        }
+    }
+
+    /**
+     * Parses the input into its formulas.
+     *
+     * @param _formula - input, e.g. "(A->B), A ⊢ B".
+     * @return the abstract syntax trees of the formulas.
+     * @throws RequestException with the syntax errors if it does not parse.
+     */
+    private static LinkedList<WffTree> parse(String _formula) {
+        // LLATErrorListener keeps the errors of each thread apart, so requests parse at once.
+        LinkedList<WffTree> wffTrees = LLATParserAdapter.getAbstractSyntaxTree(_formula, false);
+        if (wffTrees == null || wffTrees.isEmpty() || LLATErrorListener.sawError()) {
+            StringJoiner message = new StringJoiner("; ", "Syntax error: ", "");
+            message.setEmptyValue("Syntax error.");
+            LLATErrorListener.getErrorIterator().forEachRemaining((_error) -> message.add(_error.toString()));
+            throw new RequestException(400, message.toString());
+        }
+        return wffTrees;
+    }
+
+    private static JsonObject readRequest(HttpExchange _exchange) {
+        try (InputStream in = _exchange.getRequestBody()) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+                if (body.size() > SolverServer.MAX_REQUEST_BYTES) {
+                    throw new RequestException(413, "The request is too large.");
+                }
+            }
+            JsonElement json = JsonParser.parseString(body.toString(StandardCharsets.UTF_8));
+            if (!json.isJsonObject()) {
+                throw new RequestException(400, "The request must be a JSON object.");
+            }
+            return json.getAsJsonObject();
+        } catch (IOException | JsonParseException ex) {
+            throw new RequestException(400, "The request is not valid JSON.");
+        }
+    }
+
+    private static void respond(HttpExchange _exchange, int _status, JsonObject _json) {
+        SolverServer.respond(_exchange, _status, "application/json; charset=utf-8", _json.toString());
+    }
+
+    private static void respond(HttpExchange _exchange, int _status, String _contentType, String _text) {
+        byte[] body = _text.getBytes(StandardCharsets.UTF_8);
+        _exchange.getResponseHeaders().set("Content-Type", _contentType);
+        try (OutputStream out = _exchange.getResponseBody()) {
+            _exchange.sendResponseHeaders(_status, body.length);
+            out.write(body);
+        } catch (IOException ex) {
+            // The client went away; there is nobody left to answer.
+            Logger.getLogger(SolverServer.class.getName()).log(Level.FINE, null, ex);
+        } finally {
+            _exchange.close();
+        }
+    }
+
+    private static void respondError(HttpExchange _exchange, RequestException _ex) {
+        if (_ex.getStatus() == 503) {
+            _exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+        SolverServer.respond(_exchange, _ex.getStatus(), SolverServer.toError(_ex));
+    }
+
+    private static JsonObject toError(RequestException _ex) {
+        JsonObject json = new JsonObject();
+        json.addProperty("status", _ex.getStatus());
+        json.addProperty("error", _ex.getMessage());
+        return json;
+    }
+
+    /**
+     * Turns anything that went wrong into the response to send; anything that is
+     * not already a RequestException is a bug, so it is logged and answered with 500.
+     */
+    private static RequestException toRequestException(Throwable _ex) {
+        Throwable cause = SolverServer.unwrap(_ex);
+        if (cause instanceof RequestException) {
+            return (RequestException) cause;
+        } else if (cause instanceof CancellationException) {
+            return new RequestException(503, "The algorithm was cancelled.");
+        }
+        Logger.getLogger(SolverServer.class.getName()).log(Level.SEVERE, null, cause);
+        return new RequestException(500, cause.toString());
+    }
+
+    private static Throwable unwrap(Throwable _ex) {
+        Throwable cause = _ex;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static ThreadFactory daemonThreads(String _name) {
+        AtomicInteger count = new AtomicInteger();
+        return (_runnable) -> {
+            Thread thread = new Thread(_runnable, _name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A request that cannot be answered, with the HTTP status to answer it with.
+     */
+    private static final class RequestException extends RuntimeException {
+
+        private final int status;
+
+        RequestException(int _status, String _message) {
+            super(_message);
+            this.status = _status;
+        }
+
+        int getStatus() {
+            return this.status;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.llat.tools;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public final class EventBus {
+
+    /**
+     * Runs a handler on the JavaFX application thread. If we are already on it, the
+     * handler runs right away so events thrown by the views are still synchronous.
+     * If the toolkit was never started (unit tests, headless tools), it runs inline.
+     */
+    public static final Executor FX_EXECUTOR = EventBus::runOnFxThread;
+
+    /**
+     * Runs a handler on whichever thread threw the event.
+     */
+    public static final Executor CALLER_EXECUTOR = Runnable::run;
+
+    /**
+     * Shared pool of daemon threads that the worker executors run on.
+     */
+    private static final ExecutorService WORKER_POOL = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), new WorkerThreadFactory());
+
+    /**
+     * Registry of all subscriptions along with the routing table built from them.
+     * Events are thrown far more often than listeners are added, so the registry is
+     * replaced as a whole whenever it changes and read without locking.
+     */
+    private static volatile Registry registry = new Registry(new Subscription[0]);
+
+    /**
+     * Throws an event to every subscription whose types match it. Each handler is
+     * run on its subscription's executor, so this may return before they finish.
+     */
+    public static void throwEvent(Event _event) {
+        for (Subscription subscription : EventBus.registry.route(_event.getClass())) {
+            subscription.dispatch(_event);
+        }
+    }
+
+    /**
+     * Adds a listener that receives every event on the JavaFX application thread.
+     * Prefer declaring the event types so the listener is not sent events it ignores.
+     *
+     * @param _listener - listener to add.
+     */
+    public static void addListener(Listener _listener) {
+        EventBus.addListener(_listener, EventBus.FX_EXECUTOR);
+    }
+
+    /**
+     * Adds a listener that receives only the given types of events (and their
+     * subtypes) on the JavaFX application thread.
+     *
+     * @param _listener - listener to add.
+     * @param _types    - classes of events that the listener handles.
+     * @return subscription handle.
+     */
+    @SafeVarargs
+    public static Subscription addListener(Listener _listener, Class<? extends Event>... _types) {
+        return EventBus.addListener(_listener, EventBus.FX_EXECUTOR, _types);
+    }
+
+    /**
+     * Adds a listener that receives every event on the given executor. Compute-heavy
+     * listeners should pass newWorkerExecutor() so they do not block the UI.
+     *
+     * @param _listener - listener to add.
+     * @param _executor - executor to run catchEvent on.
+     * @return subscription handle.
+     */
+    public static Subscription addListener(Listener _listener, Executor _executor) {
+        return EventBus.addListener(_listener, _executor, Event.class);
+    }
+
+    /**
+     * Adds a listener that receives only the given types of events (and their
+     * subtypes) on the given executor.
+     *
+     * @param _listener - listener to add.
+     * @param _executor - executor to run catchEvent on.
+     * @param _types    - classes of events that the listener handles.
+     * @return subscription handle.
+     */
+    @SafeVarargs
+    public static Subscription addListener(Listener _listener, Executor _executor, Class<? extends Event>... _types) {
+        if (_types.length == 0) {
+            throw new IllegalArgumentException("A listener must handle at least one type of event.");
+        }
+        Subscription subscription = new Subscription(Arrays.asList(_types), _listener, _listener::catchEvent, _executor);
+        EventBus.register(subscription);
+        return subscription;
+    }
+
+    /**
+     * Subscribes a handler to one type of event (and its subtypes) on the JavaFX
+     * application thread.
+     *
+     * @param _type    - class of event to handle.
+     * @param _handler - handler to run.
+     * @return subscription handle.
+     */
+    public static <E extends Event> Subscription subscribe(Class<E> _type, Consumer<? super E> _handler) {
+        return EventBus.subscribe(_type, _handler, EventBus.FX_EXECUTOR);
+    }
+
+    /**
+     * Subscribes a handler to one type of event (and its subtypes) on the given executor.
+     *
+     * @param _type     - class of event to handle.
+     * @param _handler  - handler to run.
+     * @param _executor - executor to run the handler on.
+     * @return subscription handle.
+     */
+    public static <E extends Event> Subscription subscribe(Class<E> _type, Consumer<? super E> _handler, Executor _executor) {
+        Subscription subscription = new Subscription(List.of(_type), _handler, (_event) -> _handler.accept(_type.cast(_event)), _executor);
+        EventBus.register(subscription);
+        return subscription;
+    }
+
+    /**
+     * Removes a subscription.
+     *
+     * @param _subscription - subscription handle returned when subscribing.
+     */
+    public static synchronized void unsubscribe(Subscription _subscription) {
+        EventBus.registry = EventBus.registry.without((subscription) -> subscription == _subscription);
+    }
+
+    /**
+     * Removes every subscription belonging to this listener.
+     *
+     * @param _listener - listener to remove.
+     */
+    public static synchronized void removeListener(Listener _listener) {
+        EventBus.registry = EventBus.registry.without((subscription) -> subscription.getOwner() == _listener);
+    }
+
+    /**
+     * Returns a snapshot of the listeners that are currently subscribed.
+     *
+     * @return list of listeners.
+     */
+    public static List<Listener> getListeners() {
+        List<Listener> listeners = new ArrayList<>();
+        for (Subscription subscription : EventBus.registry.subscriptions) {
+            if (subscription.getOwner() instanceof Listener) {
+                listeners.add((Listener) subscription.getOwner());
+            }
+        }
+        return listeners;
+    }
+
+    public static synchronized void resetListeners() {
+        EventBus.registry = new Registry(new Subscription[0]);
+    }
+
+    /**
+     * Creates an executor that runs its tasks one at a time, in order, on the shared
+     * worker pool. Each compute listener should get its own so that it sees events
+     * in the order they were thrown.
+     *
+     * @return new serial executor backed by the worker pool.
+     */
+    public static Executor newWorkerExecutor() {
+        return new SerialExecutor(EventBus.WORKER_POOL);
+    }
+
+    private static synchronized void register(Subscription _subscription) {
+        Subscription[] subscriptions = Arrays.copyOf(EventBus.registry.subscriptions, EventBus.registry.subscriptions.length + 1);
+        subscriptions[subscriptions.length - 1] = _subscription;
+        EventBus.registry = new Registry(subscriptions);
+    }
+
+    /**
+     * Logs an exception thrown by an event handler.
+     *
+     * @param _ex - exception thrown.
+     */
+    static void logException(Throwable _ex) {
+        Logger.getLogger(EventBus.class.getName()).log(Level.SEVERE, null, _ex);
+    }
+
+    private static void runOnFxThread(Runnable _runnable) {
+        if (Platform.isFxApplicationThread()) {
+            _runnable.run();
+            return;
+        }
+
+        try {
+            Platform.runLater(_runnable);
+        } catch (IllegalStateException ex) {
+            // The toolkit is not running, so there is no UI to protect.
+            _runnable.run();
+        }
+    }
+
+    /**
+     * Immutable list of subscriptions, plus a table from each class of event that
+     * has been thrown to the subscriptions that handle it. The table is filled in
+     * lazily, so each event class is resolved against the supertype hierarchy once
+     * and every later throw is a single map lookup. Adding or removing a listener
+     * builds a new Registry, which throws the old table away.
+     */
+    private static final class Registry {
+
+        private final Subscription[] subscriptions;
+
+        private final ConcurrentHashMap<Class<?>, Subscription[]> routes;
+
+        private Registry(Subscription[] _subscriptions) {
+            this.subscriptions = _subscriptions;
+            this.routes = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Returns the subscriptions that handle this class of event, in the order
+         * that they were registered.
+         *
+         * @param _eventClass - runtime class of the event.
+         * @return array of subscriptions; must not be modified.
+         */
+        private Subscription[] route(Class<?> _eventClass) {
+            Subscription[] route = this.routes.get(_eventClass);
+            if (route == null) {
+                route = this.routes.computeIfAbsent(_eventClass, this::resolve);
+            }
+            return route;
+        }
+
+        private Subscription[] resolve(Class<?> _eventClass) {
+            List<Subscription> route = new ArrayList<>();
+            for (Subscription subscription : this.subscriptions) {
+                if (subscription.handles(_eventClass)) {
+                    route.add(subscription);
+                }
+            }
+            return route.toArray(new Subscription[0]);
+        }
+
+        private Registry without(Predicate<Subscription> _filter) {
+            List<Subscription> subscriptions = new ArrayList<>();
+            for (Subscription subscription : this.subscriptions) {
+                if (!_filter.test(subscription)) {
+                    subscriptions.add(subscription);
+                }
+            }
+            return subscriptions.size() == this.subscriptions.length ? this : new Registry(subscriptions.toArray(new Subscription[0]));
+        }
+    }
+
+    /**
+     * Names the worker threads and makes them daemons so they never keep the
+     * application alive once the window closes.
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable _runnable) {
+            Thread thread = new Thread(_runnable, "llat-event-worker-" + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.llat.tools;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that runs its tasks one at a time and in submission order on top of
+ * another (usually pooled) executor. Many serial executors can share one pool
+ * while each still behaves like a single thread.
+ */
+public final class SerialExecutor implements Executor {
+
+    /**
+     * Tasks waiting to run.
+     */
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    /**
+     * Executor that actually runs the tasks.
+     */
+    private final Executor executor;
+
+    /**
+     * Task currently handed off to the executor, or null if we are idle.
+     */
+    private Runnable active;
+
+    public SerialExecutor(Executor _executor) {
+        this.executor = _executor;
+    }
+
+    @Override
+    public synchronized void execute(Runnable _runnable) {
+        this.tasks.add(() -> {
+            try {
+                _runnable.run();
+            } finally {
+                this.scheduleNext();
+            }
+        });
+
+        if (this.active == null) {
+            this.scheduleNext();
+        }
+    }
+
+    /**
+     * Hands the next queued task to the executor.
+     */
+    private synchronized void scheduleNext() {
+        if ((this.active = this.tasks.poll()) != null) {
+            this.executor.execute(this.active);
+        }
+    }
+}
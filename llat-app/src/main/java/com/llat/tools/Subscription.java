@@ -0,0 +1,90 @@
+package com.llat.tools;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Handle for a handler registered with the EventBus. A subscription knows which
+ * types of events it handles and which executor the handler runs on.
+ */
+public final class Subscription {
+
+    /**
+     * Classes of events (including subtypes) that this subscription handles.
+     */
+    private final List<Class<? extends Event>> types;
+
+    /**
+     * Object that subscribed - either a Listener or a typed handler.
+     */
+    private final Object owner;
+
+    /**
+     * Handler to run for each matching event.
+     */
+    private final Consumer<Event> handler;
+
+    /**
+     * Executor that the handler is run on.
+     */
+    private final Executor executor;
+
+    Subscription(List<Class<? extends Event>> _types, Object _owner, Consumer<Event> _handler, Executor _executor) {
+        this.types = List.copyOf(_types);
+        this.owner = _owner;
+        this.handler = _handler;
+        this.executor = _executor;
+    }
+
+    /**
+     * Removes this subscription from the EventBus.
+     */
+    public void unsubscribe() {
+        EventBus.unsubscribe(this);
+    }
+
+    public List<Class<? extends Event>> getTypes() {
+        return this.types;
+    }
+
+    public Object getOwner() {
+        return this.owner;
+    }
+
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Determines whether this subscription handles events of the given class, i.e.,
+     * whether one of its types is the class itself or one of its supertypes.
+     *
+     * @param _eventClass - runtime class of an event.
+     * @return true if the handler should receive the event, false otherwise.
+     */
+    boolean handles(Class<?> _eventClass) {
+        for (Class<? extends Event> type : this.types) {
+            if (type.isAssignableFrom(_eventClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the handler for this event on the executor. Exceptions are logged
+     * rather than thrown so one bad listener does not stop the others.
+     *
+     * @param _event - event to handle.
+     */
+    void dispatch(Event _event) {
+        this.executor.execute(() -> {
+            try {
+                this.handler.accept(_event);
+            } catch (Exception e) {
+                EventBus.logException(e);
+            }
+        });
+    }
+}
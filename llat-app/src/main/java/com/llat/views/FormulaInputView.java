@@ -2,9 +2,13 @@ package com.llat.views;
 
 import com.llat.controller.Controller;
 import com.llat.views.interpreters.FormulaInputInterpreter;
+import javafx.css.PseudoClass;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
@@ -18,6 +22,11 @@ public class FormulaInputView {
      */
     public final static int FORMULA_INPUT_VIEW_HEIGHT = 74;
 
+    /**
+     * Pseudo-class set on the input field while its text does not parse.
+     */
+    public final static PseudoClass INVALID_PSEUDO_CLASS = PseudoClass.getPseudoClass("invalid");
+
     /**
      *
      */
@@ -48,6 +57,21 @@ public class FormulaInputView {
      */
     private final Button algorithmApplyButton;
 
+    /**
+     * Spinner shown while an algorithm is running.
+     */
+    private final ProgressIndicator algorithmProgressIndicator = new ProgressIndicator();
+
+    /**
+     * Shows how far the running algorithm has gotten.
+     */
+    private final Label algorithmProgressLabel = new Label();
+
+    /**
+     *
+     */
+    private final Button algorithmCancelButton;
+
     /**
      *
      */
@@ -64,6 +88,7 @@ public class FormulaInputView {
         this.stage = _controller.getStage();
         this.formulaInputButton = new Button(this.controller.getUiObject().getMainView().getMainViewLabels().getSolveButton());
         this.algorithmApplyButton = new Button(this.controller.getUiObject().getMainView().getMainViewLabels().getApplyButton());
+        this.algorithmCancelButton = new Button(this.controller.getUiObject().getMainView().getMainViewLabels().getCancelButton());
 
         // Setting HBox parentHBox properties.
         this.formulaInputHBox.setId("formulaInputHBox");
@@ -98,8 +123,13 @@ public class FormulaInputView {
         this.algorithmApplyButton.setDisable(true);
         HBox.setHgrow(this.algorithmApplyButton, Priority.ALWAYS);
 
+        // Setting the algorithm progress properties. These are only shown while an algorithm runs.
+        this.algorithmProgressIndicator.setMaxSize(24, 24);
+        this.setAlgorithmRunning(false);
+
         // Adding children nodes to their parents nodes.
-        this.formulaInputHBox.getChildren().addAll(this.formulaInputButton, this.formulaInputField, this.algorithmApplyButton);
+        this.formulaInputHBox.getChildren().addAll(this.formulaInputButton, this.formulaInputField, this.algorithmApplyButton,
+                this.algorithmProgressIndicator, this.algorithmProgressLabel, this.algorithmCancelButton);
 
         // Creating interpreter to handle events and actions.
         this.formulaInputInterpreter = new FormulaInputInterpreter(this.controller, this);
@@ -113,6 +143,29 @@ public class FormulaInputView {
         return this.algorithmApplyButton;
     }
 
+    public Button getAlgorithmCancelButton() {
+        return this.algorithmCancelButton;
+    }
+
+    public Label getAlgorithmProgressLabel() {
+        return this.algorithmProgressLabel;
+    }
+
+    /**
+     * Shows or hides the spinner, progress label, and cancel button.
+     *
+     * @param _running - true if an algorithm is running, false otherwise.
+     */
+    public void setAlgorithmRunning(boolean _running) {
+        for (Node node : new Node[]{this.algorithmProgressIndicator, this.algorithmProgressLabel, this.algorithmCancelButton}) {
+            node.setVisible(_running);
+            node.setManaged(_running);
+        }
+        if (!_running) {
+            this.algorithmProgressLabel.setText("");
+        }
+    }
+
     public TextField getFormulaInputField() {
         return this.formulaInputField;
     }
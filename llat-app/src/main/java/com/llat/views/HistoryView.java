@@ -1,6 +1,7 @@
 package com.llat.views;
 
 import com.llat.controller.Controller;
+import com.llat.database.HistoryEntry;
 import com.llat.views.interpreters.HistoryViewInterpreter;
 import javafx.scene.control.TableView;
 import javafx.scene.layout.Pane;
@@ -27,7 +28,7 @@ public class HistoryView {
     /**
      *
      */
-    private TableView<String> table = new TableView();
+    private final TableView<HistoryEntry> table = new TableView<>();
 
     public HistoryView(Controller _controller) {
         this.controller = _controller;
@@ -35,7 +36,7 @@ public class HistoryView {
         this.parentPane.getChildren().add(this.table);
         this.table.setId("historyView");
         this.historyViewInterpreter = new HistoryViewInterpreter(this.controller, this);
-        this.historyViewInterpreter.updateHistory();
+        this.historyViewInterpreter.reloadHistory();
     }
 
     public Pane getParentPane() {
@@ -46,10 +47,7 @@ public class HistoryView {
         return this.controller;
     }
 
-    public void setTable(TableView<String> _table) {
-        this.parentPane.getChildren().remove(this.table);
-        this.parentPane.getChildren().add(_table);
-        this.table = _table;
-        VBox.setVgrow(this.table, Priority.ALWAYS);
+    public TableView<HistoryEntry> getTable() {
+        return this.table;
     }
 }
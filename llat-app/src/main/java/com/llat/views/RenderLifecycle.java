@@ -0,0 +1,107 @@
+package com.llat.views;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.Property;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Owns the listeners and bindings a view makes for what it is showing, so that they
+ * are undone when it shows something else. A view that is re-rendered on every update
+ * calls begin() first, which disposes of everything the previous render subscribed to;
+ * otherwise each update would leave another listener on a long-lived property (e.g.
+ * the width of the parent pane), holding on to the old render and running on every
+ * resize.
+ */
+public final class RenderLifecycle {
+
+    /**
+     * Undoes each subscription, in the order they were made.
+     */
+    private final List<Runnable> disposers;
+
+    /**
+     * Number of times begin() has been called.
+     */
+    private int renders;
+
+    public RenderLifecycle() {
+        this.disposers = new ArrayList<>();
+    }
+
+    /**
+     * Disposes of the previous render's subscriptions and starts a new render.
+     */
+    public void begin() {
+        this.dispose();
+        this.renders++;
+    }
+
+    /**
+     * Adds a change listener until the render is disposed of.
+     *
+     * @param _observable - value to listen to.
+     * @param _listener   - listener to add.
+     */
+    public <T> void listen(ObservableValue<T> _observable, ChangeListener<? super T> _listener) {
+        _observable.addListener(_listener);
+        this.disposers.add(() -> _observable.removeListener(_listener));
+    }
+
+    /**
+     * Adds an invalidation listener until the render is disposed of.
+     *
+     * @param _observable - value to listen to.
+     * @param _listener   - listener to add.
+     */
+    public void listen(Observable _observable, InvalidationListener _listener) {
+        _observable.addListener(_listener);
+        this.disposers.add(() -> _observable.removeListener(_listener));
+    }
+
+    /**
+     * Binds a property until the render is disposed of.
+     *
+     * @param _property - property to bind.
+     * @param _value    - value to bind it to.
+     */
+    public <T> void bind(Property<T> _property, ObservableValue<? extends T> _value) {
+        _property.bind(_value);
+        this.disposers.add(_property::unbind);
+    }
+
+    /**
+     * @param _disposer - run when the render is disposed of, e.g. to remove a node from a pane.
+     */
+    public void onDispose(Runnable _disposer) {
+        this.disposers.add(_disposer);
+    }
+
+    /**
+     * Undoes every subscription of the current render, most recent first.
+     */
+    public void dispose() {
+        for (int i = this.disposers.size() - 1; i >= 0; i--) {
+            this.disposers.get(i).run();
+        }
+        this.disposers.clear();
+    }
+
+    /**
+     * @return the number of subscriptions the current render holds.
+     */
+    public int getSubscriptionCount() {
+        return this.disposers.size();
+    }
+
+    /**
+     * @return the number of renders begun so far.
+     */
+    public int getRenderCount() {
+        return this.renders;
+    }
+}
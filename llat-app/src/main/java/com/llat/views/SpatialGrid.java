@@ -0,0 +1,217 @@
+package com.llat.views;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Uniform grid over axis-aligned boxes, so the items in a region (e.g. the part of a tree
+ * that is on screen) are found without looking at all the others. An item is put into every
+ * cell its box overlaps; a query only visits the cells of the region, so its cost depends
+ * on what is there rather than on how many items the grid holds.
+ *
+ * @param <T> - type of the item stored with each box.
+ */
+public final class SpatialGrid<T> {
+
+    /**
+     * Side of each square cell, in the same units as the boxes.
+     */
+    private final double cellSize;
+
+    /**
+     * Non-empty cells keyed by their packed column and row.
+     */
+    private final HashMap<Long, List<Entry<T>>> cells;
+
+    /**
+     *
+     */
+    private int size;
+
+    /**
+     * Incremented by each query so an item that overlaps several cells is only visited once.
+     */
+    private int queryStamp;
+
+    /**
+     *
+     */
+    private double minX = Double.POSITIVE_INFINITY;
+
+    /**
+     *
+     */
+    private double minY = Double.POSITIVE_INFINITY;
+
+    /**
+     *
+     */
+    private double maxX = Double.NEGATIVE_INFINITY;
+
+    /**
+     *
+     */
+    private double maxY = Double.NEGATIVE_INFINITY;
+
+    public SpatialGrid(double _cellSize) {
+        if (!(_cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + _cellSize);
+        }
+        this.cellSize = _cellSize;
+        this.cells = new HashMap<>();
+    }
+
+    /**
+     * Adds an item with its bounding box. Items added later are on top of earlier ones when
+     * hit-testing with find().
+     *
+     * @param _item - item to add.
+     * @param _x    - left of the box.
+     * @param _y    - top of the box.
+     * @param _w    - width of the box.
+     * @param _h    - height of the box.
+     */
+    public void add(T _item, double _x, double _y, double _w, double _h) {
+        Entry<T> entry = new Entry<>(_item, this.size++, _x, _y, _x + Math.max(0, _w), _y + Math.max(0, _h));
+        for (int row = this.cell(entry.minY); row <= this.cell(entry.maxY); row++) {
+            for (int col = this.cell(entry.minX); col <= this.cell(entry.maxX); col++) {
+                this.cells.computeIfAbsent(SpatialGrid.key(col, row), (_key) -> new ArrayList<>(2)).add(entry);
+            }
+        }
+        this.minX = Math.min(this.minX, entry.minX);
+        this.minY = Math.min(this.minY, entry.minY);
+        this.maxX = Math.max(this.maxX, entry.maxX);
+        this.maxY = Math.max(this.maxY, entry.maxY);
+    }
+
+    /**
+     * Visits every item whose box intersects the region, each one once.
+     *
+     * @param _x       - left of the region.
+     * @param _y       - top of the region.
+     * @param _w       - width of the region.
+     * @param _h       - height of the region.
+     * @param _visitor - called with each item in the region.
+     */
+    public void query(double _x, double _y, double _w, double _h, Consumer<? super T> _visitor) {
+        if (this.size == 0 || _x > this.maxX || _y > this.maxY || _x + _w < this.minX || _y + _h < this.minY) {
+            return;
+        }
+        // There is nothing to look at outside of the items' own bounds.
+        double x0 = Math.max(_x, this.minX), y0 = Math.max(_y, this.minY);
+        double x1 = Math.min(_x + _w, this.maxX), y1 = Math.min(_y + _h, this.maxY);
+        int stamp = ++this.queryStamp;
+        long cellCount = (long) (this.cell(x1) - this.cell(x0) + 1) * (this.cell(y1) - this.cell(y0) + 1);
+        if (cellCount > this.cells.size()) {
+            // Zoomed far out, it is cheaper to go through the occupied cells than the region's.
+            for (List<Entry<T>> cell : this.cells.values()) {
+                SpatialGrid.visit(cell, stamp, x0, y0, x1, y1, _visitor);
+            }
+            return;
+        }
+        for (int row = this.cell(y0); row <= this.cell(y1); row++) {
+            for (int col = this.cell(x0); col <= this.cell(x1); col++) {
+                List<Entry<T>> cell = this.cells.get(SpatialGrid.key(col, row));
+                if (cell != null) {
+                    SpatialGrid.visit(cell, stamp, x0, y0, x1, y1, _visitor);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param _x - x-coordinate of the point.
+     * @param _y - y-coordinate of the point.
+     * @return the item added last whose box contains the point, or null if there is none.
+     */
+    public T find(double _x, double _y) {
+        List<Entry<T>> cell = this.cells.get(SpatialGrid.key(this.cell(_x), this.cell(_y)));
+        if (cell == null) {
+            return null;
+        }
+        Entry<T> top = null;
+        for (Entry<T> entry : cell) {
+            if (entry.contains(_x, _y) && (top == null || entry.order > top.order)) {
+                top = entry;
+            }
+        }
+        return top == null ? null : top.item;
+    }
+
+    /**
+     * @return the number of items in the grid.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the box around every item as {minX, minY, maxX, maxY}, or null if the grid is empty.
+     */
+    public double[] getBounds() {
+        return this.size == 0 ? null : new double[]{this.minX, this.minY, this.maxX, this.maxY};
+    }
+
+    private static <T> void visit(List<Entry<T>> _cell, int _stamp, double _x0, double _y0, double _x1, double _y1,
+                                  Consumer<? super T> _visitor) {
+        for (Entry<T> entry : _cell) {
+            if (entry.stamp != _stamp && entry.intersects(_x0, _y0, _x1, _y1)) {
+                entry.stamp = _stamp;
+                _visitor.accept(entry.item);
+            }
+        }
+    }
+
+    private int cell(double _coordinate) {
+        return (int) Math.floor(_coordinate / this.cellSize);
+    }
+
+    private static long key(int _col, int _row) {
+        return ((long) _col << 32) | (_row & 0xFFFFFFFFL);
+    }
+
+    /**
+     * An item with its box.
+     */
+    private static final class Entry<T> {
+
+        /**
+         *
+         */
+        private final T item;
+
+        /**
+         * Position in the order the items were added.
+         */
+        private final int order;
+
+        /**
+         *
+         */
+        private final double minX, minY, maxX, maxY;
+
+        /**
+         * Stamp of the last query that visited this entry.
+         */
+        private int stamp;
+
+        private Entry(T _item, int _order, double _minX, double _minY, double _maxX, double _maxY) {
+            this.item = _item;
+            this.order = _order;
+            this.minX = _minX;
+            this.minY = _minY;
+            this.maxX = _maxX;
+            this.maxY = _maxY;
+        }
+
+        private boolean intersects(double _x0, double _y0, double _x1, double _y1) {
+            return this.minX <= _x1 && this.maxX >= _x0 && this.minY <= _y1 && this.maxY >= _y0;
+        }
+
+        private boolean contains(double _x, double _y) {
+            return _x >= this.minX && _x <= this.maxX && _y >= this.minY && _y <= this.maxY;
+        }
+    }
+}
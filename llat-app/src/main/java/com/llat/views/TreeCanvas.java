@@ -0,0 +1,276 @@
+package com.llat.views;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+/**
+ * Draws a laid out tree onto a single canvas the size of the viewport. The nodes and edges
+ * are kept in spatial grids, and every frame only draws what is inside the viewport, so
+ * panning and zooming cost the same however large the tree is. Tooltips are found by
+ * hit-testing the grid instead of being attached to a control per node.
+ */
+public class TreeCanvas extends Pane {
+
+    /**
+     * Side of a grid cell; a few nodes wide, so a cell holds only a handful of them.
+     */
+    private static final double CELL_SIZE = 128;
+
+    /**
+     * How much a single scroll zooms in or out.
+     */
+    private static final double SCALE_STEP = .1;
+
+    /**
+     *
+     */
+    private static final double TOOLTIP_SHOW_DELAY = 0.2;
+
+    /**
+     * Color of the edges between nodes.
+     */
+    private static final Color EDGE_COLOR = Color.BLACK;
+
+    /**
+     *
+     */
+    private final Canvas canvas;
+
+    /**
+     * Shown for the node under the mouse, if it has any text for it. Made the first time
+     * it is needed, so a canvas can be drawn without the rest of the toolkit.
+     */
+    private Tooltip tooltip;
+
+    /**
+     *
+     */
+    private PauseTransition tooltipDelay;
+
+    /**
+     * Nodes of the tree in layout coordinates.
+     */
+    private SpatialGrid<Item> nodes;
+
+    /**
+     * Edges of the tree as {x1, y1, x2, y2}, in layout coordinates.
+     */
+    private SpatialGrid<double[]> edges;
+
+    /**
+     * Screen position of the layout's origin.
+     */
+    private double offsetX, offsetY;
+
+    /**
+     *
+     */
+    private double scale = 1;
+
+    /**
+     * Where the mouse was when last pressed or dragged.
+     */
+    private double mouseX, mouseY;
+
+    /**
+     * Node the mouse is over.
+     */
+    private Item hovered;
+
+    public TreeCanvas() {
+        this.canvas = new Canvas();
+        this.nodes = new SpatialGrid<>(TreeCanvas.CELL_SIZE);
+        this.edges = new SpatialGrid<>(TreeCanvas.CELL_SIZE);
+        this.getChildren().add(this.canvas);
+
+        // The canvas is only ever as large as the viewport; resizing keeps the tree where it
+        // was relative to the center.
+        this.canvas.widthProperty().bind(this.widthProperty());
+        this.canvas.heightProperty().bind(this.heightProperty());
+        this.canvas.widthProperty().addListener((obs, oldVal, newVal) -> {
+            this.offsetX += (newVal.doubleValue() - oldVal.doubleValue()) / 2;
+            this.redraw();
+        });
+        this.canvas.heightProperty().addListener((obs, oldVal, newVal) -> {
+            this.offsetY += (newVal.doubleValue() - oldVal.doubleValue()) / 2;
+            this.redraw();
+        });
+
+        this.canvas.setOnScroll(this::zoom);
+        this.canvas.setOnMousePressed((_event) -> {
+            this.mouseX = _event.getX();
+            this.mouseY = _event.getY();
+            this.hideTooltip();
+        });
+        this.canvas.setOnMouseDragged(this::pan);
+        this.canvas.setOnMouseMoved(this::hover);
+        this.canvas.setOnMouseExited((_event) -> this.hideTooltip());
+    }
+
+    /**
+     * Removes the tree, leaving the canvas blank.
+     */
+    public void clear() {
+        this.nodes = new SpatialGrid<>(TreeCanvas.CELL_SIZE);
+        this.edges = new SpatialGrid<>(TreeCanvas.CELL_SIZE);
+        this.hideTooltip();
+        this.redraw();
+    }
+
+    /**
+     * Adds a node of the tree; it is drawn whenever its box is in the viewport.
+     *
+     * @param _item - node to draw.
+     * @param _x    - left of the node's box, in layout coordinates.
+     * @param _y    - top of the node's box.
+     * @param _w    - width of the node's box, including anything it draws around itself.
+     * @param _h    - height of the node's box.
+     */
+    public void addItem(Item _item, double _x, double _y, double _w, double _h) {
+        this.nodes.add(_item, _x, _y, _w, _h);
+    }
+
+    /**
+     * Adds an edge of the tree, in layout coordinates.
+     */
+    public void addEdge(double _x1, double _y1, double _x2, double _y2) {
+        this.edges.add(new double[]{_x1, _y1, _x2, _y2}, Math.min(_x1, _x2), Math.min(_y1, _y2),
+                Math.abs(_x2 - _x1), Math.abs(_y2 - _y1));
+    }
+
+    /**
+     * @return the number of nodes on the canvas, in view or not.
+     */
+    public int getItemCount() {
+        return this.nodes.size();
+    }
+
+    /**
+     * @return the number of edges on the canvas, in view or not.
+     */
+    public int getEdgeCount() {
+        return this.edges.size();
+    }
+
+    /**
+     * Resets the zoom and centers the tree in the viewport, then draws it. Call once every
+     * node and edge has been added.
+     */
+    public void center() {
+        double[] bounds = this.nodes.getBounds();
+        this.scale = 1;
+        if (bounds != null) {
+            this.offsetX = (this.canvas.getWidth() - (bounds[2] - bounds[0])) / 2 - bounds[0];
+            this.offsetY = (this.canvas.getHeight() - (bounds[3] - bounds[1])) / 2 - bounds[1];
+        }
+        this.redraw();
+    }
+
+    /**
+     * Draws the nodes and edges inside the viewport.
+     */
+    public void redraw() {
+        GraphicsContext gc = this.canvas.getGraphicsContext2D();
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, this.canvas.getWidth(), this.canvas.getHeight());
+        gc.setTransform(this.scale, 0, 0, this.scale, this.offsetX, this.offsetY);
+
+        // The viewport in layout coordinates.
+        double x = -this.offsetX / this.scale;
+        double y = -this.offsetY / this.scale;
+        double w = this.canvas.getWidth() / this.scale;
+        double h = this.canvas.getHeight() / this.scale;
+
+        gc.setStroke(TreeCanvas.EDGE_COLOR);
+        gc.setLineWidth(1);
+        this.edges.query(x, y, w, h, (_edge) -> gc.strokeLine(_edge[0], _edge[1], _edge[2], _edge[3]));
+        this.nodes.query(x, y, w, h, (_item) -> _item.draw(gc));
+    }
+
+    /**
+     * Zooms in or out around the mouse, within the same limits as the other tree views.
+     *
+     * @param _event - scroll over the canvas.
+     */
+    private void zoom(ScrollEvent _event) {
+        double modifier = _event.getDeltaY() < 0 ? TreeCanvas.SCALE_STEP : -TreeCanvas.SCALE_STEP;
+        double newScale = this.scale + modifier;
+        if (newScale >= ParseTreeView.MAXSCALE || newScale <= ParseTreeView.MINSCALE + TreeCanvas.SCALE_STEP) {
+            return;
+        }
+        // Keep the point under the mouse where it is.
+        this.offsetX = _event.getX() - (_event.getX() - this.offsetX) * newScale / this.scale;
+        this.offsetY = _event.getY() - (_event.getY() - this.offsetY) * newScale / this.scale;
+        this.scale = newScale;
+        this.hideTooltip();
+        this.redraw();
+    }
+
+    /**
+     * @param _event - drag across the canvas.
+     */
+    private void pan(MouseEvent _event) {
+        this.offsetX += _event.getX() - this.mouseX;
+        this.offsetY += _event.getY() - this.mouseY;
+        this.mouseX = _event.getX();
+        this.mouseY = _event.getY();
+        this.redraw();
+    }
+
+    /**
+     * Shows the tooltip of the node under the mouse, after a short delay.
+     *
+     * @param _event - movement over the canvas.
+     */
+    private void hover(MouseEvent _event) {
+        Item item = this.nodes.find((_event.getX() - this.offsetX) / this.scale, (_event.getY() - this.offsetY) / this.scale);
+        if (item == this.hovered) {
+            return;
+        }
+        this.hideTooltip();
+        this.hovered = item;
+        String text = item == null ? null : item.getTooltipText();
+        if (text != null) {
+            if (this.tooltip == null) {
+                this.tooltip = new Tooltip();
+                this.tooltipDelay = new PauseTransition(Duration.seconds(TreeCanvas.TOOLTIP_SHOW_DELAY));
+            }
+            this.tooltipDelay.setOnFinished((_finished) -> {
+                this.tooltip.setText(text);
+                this.tooltip.show(this.canvas, _event.getScreenX() + 12, _event.getScreenY() + 12);
+            });
+            this.tooltipDelay.playFromStart();
+        }
+    }
+
+    private void hideTooltip() {
+        this.hovered = null;
+        if (this.tooltip != null) {
+            this.tooltipDelay.stop();
+            this.tooltip.hide();
+        }
+    }
+
+    /**
+     * A node of the tree, drawn in layout coordinates.
+     */
+    public interface Item {
+
+        /**
+         * @param _gc - graphics context, already transformed to layout coordinates.
+         */
+        void draw(GraphicsContext _gc);
+
+        /**
+         * @return text to show when the mouse is over the node, or null for none.
+         */
+        String getTooltipText();
+    }
+}
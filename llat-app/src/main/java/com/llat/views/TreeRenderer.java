@@ -0,0 +1,123 @@
+package com.llat.views;
+
+import com.llat.algorithms.layout.TreeLayoutCache;
+import com.llat.algorithms.layout.TreeLayoutModel;
+import com.llat.algorithms.layout.TreeLayoutResult;
+import javafx.scene.layout.Pane;
+
+/**
+ * Shows trees of one kind in a view. The renderer has a single TreeCanvas, added to the
+ * view's pane once by attach(), and each render hands it a new tree instead of building
+ * new nodes. Subscriptions are made through two lifecycles: one for as long as the
+ * renderer is attached to its pane, and one for the tree currently shown, which is
+ * disposed of by the next render. Rendering any number of trees therefore leaves the
+ * same number of listeners behind.
+ *
+ * @param <N> - type of the nodes of the trees.
+ */
+public abstract class TreeRenderer<N> {
+
+    /**
+     *
+     */
+    private final TreeCanvas canvas;
+
+    /**
+     *
+     */
+    private final TreeLayoutCache<N> layouts;
+
+    /**
+     * Subscriptions for as long as the canvas is in its pane.
+     */
+    private final RenderLifecycle attachment;
+
+    /**
+     * Subscriptions of the tree on the canvas.
+     */
+    private final RenderLifecycle render;
+
+    /**
+     * @param _model     - layout model of the trees.
+     * @param _levelGap  - vertical space between two levels of a tree.
+     * @param _nodeGap   - smallest horizontal space between two nodes.
+     * @param _cacheSize - number of trees whose layouts are kept, e.g. to show them
+     *                   again after another algorithm has been run on the same formula.
+     */
+    protected TreeRenderer(TreeLayoutModel<N> _model, double _levelGap, double _nodeGap, int _cacheSize) {
+        this.canvas = new TreeCanvas();
+        this.layouts = new TreeLayoutCache<>(_model, _levelGap, _nodeGap, _cacheSize);
+        this.attachment = new RenderLifecycle();
+        this.render = new RenderLifecycle();
+    }
+
+    /**
+     * Adds the canvas to a pane and makes it fill it. Attaching again detaches it from
+     * the previous pane.
+     *
+     * @param _parent - pane of the view.
+     */
+    public void attach(Pane _parent) {
+        this.attachment.begin();
+        this.attachment.bind(this.canvas.prefWidthProperty(), _parent.widthProperty());
+        this.attachment.bind(this.canvas.prefHeightProperty(), _parent.heightProperty());
+        _parent.getChildren().add(this.canvas);
+        this.attachment.onDispose(() -> _parent.getChildren().remove(this.canvas));
+    }
+
+    /**
+     * Shows a tree in place of the current one. Only the parts of the tree that changed
+     * since it was last shown are laid out again.
+     *
+     * @param _root - root of the tree.
+     */
+    public void render(N _root) {
+        this.clear();
+        this.draw(this.layouts.layout(_root), this.canvas, this.render);
+        this.canvas.center();
+    }
+
+    /**
+     * Removes the current tree and disposes of its subscriptions.
+     */
+    public void clear() {
+        this.render.begin();
+        this.canvas.clear();
+    }
+
+    /**
+     * Clears the canvas and removes it from its pane, undoing every subscription.
+     */
+    public void dispose() {
+        this.clear();
+        this.render.dispose();
+        this.attachment.dispose();
+    }
+
+    /**
+     * Adds the nodes and edges of a laid out tree to the canvas.
+     *
+     * @param _layout - layout of the tree.
+     * @param _canvas - canvas to add them to; it is empty.
+     * @param _render - lifecycle for anything the tree subscribes to while it is shown.
+     */
+    protected abstract void draw(TreeLayoutResult<N> _layout, TreeCanvas _canvas, RenderLifecycle _render);
+
+    public TreeCanvas getCanvas() {
+        return this.canvas;
+    }
+
+    /**
+     * @return the lifecycle of the tree on the canvas.
+     */
+    public RenderLifecycle getRenderLifecycle() {
+        return this.render;
+    }
+
+    /**
+     * @return the lifecycle of the canvas in its pane.
+     */
+    public RenderLifecycle getAttachmentLifecycle() {
+        return this.attachment;
+    }
+}
@@ -0,0 +1,46 @@
+package com.llat.views.events;
+
+import com.llat.database.HistoryEntry;
+import com.llat.models.AlgorithmType;
+import com.llat.models.LogicSetup;
+import com.llat.models.treenode.WffTree;
+import com.llat.tools.Event;
+
+import java.util.LinkedList;
+import java.util.Map;
+
+public class OpenHistoryEntryEvent implements Event {
+
+    /**
+     *
+     */
+    private final HistoryEntry historyEntry;
+
+    /**
+     * Formulas of the entry, parsed on the JavaFX application thread.
+     */
+    private final LinkedList<WffTree> wffTrees;
+
+    /**
+     * Results stored with the entry, by algorithm.
+     */
+    private final Map<AlgorithmType, LogicSetup.LogicReturn> results;
+
+    public OpenHistoryEntryEvent(HistoryEntry _historyEntry, LinkedList<WffTree> _wffTrees, Map<AlgorithmType, LogicSetup.LogicReturn> _results) {
+        this.historyEntry = _historyEntry;
+        this.wffTrees = _wffTrees;
+        this.results = _results;
+    }
+
+    public HistoryEntry getHistoryEntry() {
+        return this.historyEntry;
+    }
+
+    public LinkedList<WffTree> getWffTrees() {
+        return this.wffTrees;
+    }
+
+    public Map<AlgorithmType, LogicSetup.LogicReturn> getResults() {
+        return this.results;
+    }
+}
@@ -0,0 +1,20 @@
+package com.llat.views.events;
+
+import com.llat.database.HistoryEntry;
+import com.llat.tools.Event;
+
+public class UpdateHistoryEvent implements Event {
+
+    /**
+     * Entry that was added to the history, which may not have been stored yet.
+     */
+    private final HistoryEntry historyEntry;
+
+    public UpdateHistoryEvent(HistoryEntry _historyEntry) {
+        this.historyEntry = _historyEntry;
+    }
+
+    public HistoryEntry getHistoryEntry() {
+        return this.historyEntry;
+    }
+}
@@ -33,7 +33,7 @@ public class AlgorithmSelectionViewInterpreter implements Listener {
     public AlgorithmSelectionViewInterpreter(Controller _controller, AlgorithmSelectionView _algorithmSelectionView) {
         this.controller = _controller;
         this.algorithmSelectionView = _algorithmSelectionView;
-        EventBus.addListener(this);
+        EventBus.addListener(this, SolveButtonEvent.class, SetAlgorithmInputEvent.class, ApplyAlgorithmButtonEvent.class);
         EventBus.throwEvent(new AlgorithmSelectionViewInitializedEvent());
     }
 
@@ -19,7 +19,7 @@ public class CenterViewInterpreter implements Listener {
     public CenterViewInterpreter(Controller _controller, CenterView _centerView) {
         this.controller = _controller;
         this.centerView = _centerView;
-        EventBus.addListener(this);
+        EventBus.addListener(this, UpdateViewTruthEvent.class);
     }
 
     @Override
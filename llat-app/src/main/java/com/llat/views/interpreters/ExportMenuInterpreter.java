@@ -38,7 +38,7 @@ public class ExportMenuInterpreter implements Listener {
         this.controller.setExportOnAction(this.exportMenu.getExportPDFTruthTreeMenuItem().getItem(), ExportType.PDF_TRUTH_TREE);
         this.controller.setExportOnAction(this.exportMenu.getExportPDFTruthTableMenuItem().getItem(), ExportType.PDF_TRUTH_TABLE);
         this.disableMenuItems();
-        EventBus.addListener(this);
+        EventBus.addListener(this, ApplyAlgorithmEvent.class, SolveButtonEvent.class);
     }
 
     @Override
@@ -0,0 +1,71 @@
+package com.llat.views.interpreters;
+
+import com.llat.controller.Controller;
+import com.llat.database.UserObject;
+import com.llat.tools.Event;
+import com.llat.tools.EventBus;
+import com.llat.tools.Listener;
+import com.llat.views.events.LoginFailEvent;
+import com.llat.views.events.LoginSuccessEvent;
+import com.llat.views.menu.FileMenu;
+import javafx.scene.control.MenuItem;
+
+import java.util.function.Supplier;
+
+/**
+ * Shows Login and Register in the file menu while no user is logged in, and Logout
+ * once one is. The user saved on this computer is logged in after the window is
+ * shown, so the items change when the login answers.
+ */
+public class FileMenuInterpreter implements Listener {
+
+    /**
+     * Gives the user that is logged in, or null if there is none.
+     */
+    private final Supplier<UserObject> user;
+
+    /**
+     *
+     */
+    private final MenuItem loginItem;
+
+    /**
+     *
+     */
+    private final MenuItem registerItem;
+
+    /**
+     *
+     */
+    private final MenuItem logoutItem;
+
+    public FileMenuInterpreter(Controller _controller, FileMenu _fileMenu) {
+        this(_controller::getUser, _fileMenu.getLoginItem(), _fileMenu.getRegisterItem(), _fileMenu.getLogoutItem());
+    }
+
+    public FileMenuInterpreter(Supplier<UserObject> _user, MenuItem _loginItem, MenuItem _registerItem, MenuItem _logoutItem) {
+        this.user = _user;
+        this.loginItem = _loginItem;
+        this.registerItem = _registerItem;
+        this.logoutItem = _logoutItem;
+        this.showUser();
+        EventBus.addListener(this, LoginSuccessEvent.class, LoginFailEvent.class);
+    }
+
+    @Override
+    public void catchEvent(Event _event) {
+        if (_event instanceof LoginSuccessEvent || _event instanceof LoginFailEvent) {
+            this.showUser();
+        }
+    }
+
+    /**
+     * Shows the items for whether a user is logged in now.
+     */
+    private void showUser() {
+        boolean loggedIn = this.user.get() != null;
+        this.loginItem.setVisible(!loggedIn);
+        this.registerItem.setVisible(!loggedIn);
+        this.logoutItem.setVisible(loggedIn);
+    }
+}
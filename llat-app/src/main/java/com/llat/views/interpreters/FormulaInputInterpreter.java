@@ -1,18 +1,31 @@
 package com.llat.views.interpreters;
 
+import com.llat.algorithms.AlgorithmProgress;
 import com.llat.controller.Controller;
 import com.llat.input.events.SolvedFormulaEvent;
 import com.llat.input.events.SyntaxErrorEvent;
+import com.llat.models.AlgorithmTask;
+import com.llat.models.events.AlgorithmFinishedEvent;
+import com.llat.models.events.AlgorithmStartedEvent;
 import com.llat.models.events.RandomGeneratedFormulaEvent;
 import com.llat.tools.Event;
 import com.llat.tools.EventBus;
 import com.llat.tools.Listener;
 import com.llat.views.FormulaInputView;
 import com.llat.views.events.*;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
 
 public class FormulaInputInterpreter implements Listener {
 
+    /**
+     * How often the progress label is refreshed while an algorithm runs.
+     */
+    private static final Duration PROGRESS_POLL_INTERVAL = Duration.millis(100);
+
     /**
      *
      */
@@ -33,6 +46,16 @@ public class FormulaInputInterpreter implements Listener {
      */
     private boolean algorithmSelected = false;
 
+    /**
+     * Algorithm that the progress controls are showing, or null if none is running.
+     */
+    private AlgorithmTask runningTask;
+
+    /**
+     * Polls the running algorithm for its progress while it runs.
+     */
+    private final Timeline progressTimeline;
+
     public FormulaInputInterpreter(Controller _controller, FormulaInputView _formulaInputView) {
         this.controller = _controller;
         this.formulaInputView = _formulaInputView;
@@ -45,9 +68,31 @@ public class FormulaInputInterpreter implements Listener {
         this.formulaInputView.getFormulaInputField().textProperty().addListener((obs, oldVal, newVal) -> {
             this.formulaInputView.getAlgorithmApplyButton().setDisable(!newVal.equals(this.lastValidWff) || !this.algorithmSelected);
             this.formulaInputView.getFormulaInputButton().setDisable(false);
+            // Validate as the user types so the field can be highlighted before they hit solve.
+            if (newVal.isBlank()) {
+                this.formulaInputView.getFormulaInputField().pseudoClassStateChanged(FormulaInputView.INVALID_PSEUDO_CLASS, false);
+                return;
+            }
+            this.controller.getLlatParserInterpreter().isValidInputAsync(newVal).thenAcceptAsync((_valid) -> {
+                // The answer to an earlier edit is dropped once the text has changed again.
+                if (newVal.equals(this.formulaInputView.getFormulaInputField().getText())) {
+                    this.formulaInputView.getFormulaInputField().pseudoClassStateChanged(FormulaInputView.INVALID_PSEUDO_CLASS, !_valid);
+                }
+            }, EventBus.FX_EXECUTOR);
         });
 
-        EventBus.addListener(this);
+        this.formulaInputView.getAlgorithmCancelButton().setOnAction((event) -> {
+            if (this.runningTask != null) {
+                this.runningTask.cancel();
+            }
+        });
+
+        this.progressTimeline = new Timeline(new KeyFrame(PROGRESS_POLL_INTERVAL, (event) -> this.showProgress()));
+        this.progressTimeline.setCycleCount(Animation.INDEFINITE);
+
+        EventBus.addListener(this, SymbolInputEvent.class, SolveButtonEvent.class, AlgorithmSelectedEvent.class,
+                SyntaxErrorEvent.class, ApplyAlgorithmButtonEvent.class, SolvedFormulaEvent.class, RandomGeneratedFormulaEvent.class,
+                AlgorithmStartedEvent.class, AlgorithmFinishedEvent.class, OpenHistoryEntryEvent.class);
     }
 
     @Override
@@ -66,6 +111,12 @@ public class FormulaInputInterpreter implements Listener {
             this.handleSolvedFormulaEvent(_event);
         } else if (_event instanceof RandomGeneratedFormulaEvent) {
             this.handleRandomGeneratedFormulaEvent(_event);
+        } else if (_event instanceof AlgorithmStartedEvent) {
+            this.handleAlgorithmStartedEvent(_event);
+        } else if (_event instanceof AlgorithmFinishedEvent) {
+            this.handleAlgorithmFinishedEvent(_event);
+        } else if (_event instanceof OpenHistoryEntryEvent) {
+            this.handleOpenHistoryEntryEvent(_event);
         }
     }
 
@@ -143,4 +194,52 @@ public class FormulaInputInterpreter implements Listener {
             this.formulaInputView.getFormulaInputField().setText(((RandomGeneratedFormulaEvent) _event).getFormula());
         }
     }
+
+    /**
+     * Puts the formula of the entry in the input field and solves it.
+     */
+    private void handleOpenHistoryEntryEvent(Event _event) {
+        this.formulaInputView.getFormulaInputField().setText(((OpenHistoryEntryEvent) _event).getHistoryEntry().getFormula());
+        this.formulaInputView.setCaretPos(this.formulaInputView.getFormulaInputField().getLength());
+        EventBus.throwEvent(new SolveButtonEvent());
+    }
+
+    /**
+     *
+     */
+    private void handleAlgorithmStartedEvent(Event _event) {
+        this.runningTask = ((AlgorithmStartedEvent) _event).getAlgorithmTask();
+        this.formulaInputView.setAlgorithmRunning(true);
+        this.progressTimeline.play();
+    }
+
+    /**
+     *
+     */
+    private void handleAlgorithmFinishedEvent(Event _event) {
+        // A newer algorithm may have replaced this one, in which case we keep showing it.
+        if (((AlgorithmFinishedEvent) _event).getAlgorithmTask() != this.runningTask) {
+            return;
+        }
+        this.runningTask = null;
+        this.progressTimeline.stop();
+        this.formulaInputView.setAlgorithmRunning(false);
+    }
+
+    /**
+     * Shows the number of nodes expanded and, for truth trees, the number of open
+     * branches of the running algorithm.
+     */
+    private void showProgress() {
+        if (this.runningTask == null) {
+            return;
+        }
+
+        AlgorithmProgress progress = this.runningTask.getProgress();
+        String text = Integer.toString(progress.getNodesExpanded());
+        if (progress.getOpenBranches() >= 0) {
+            text += " / " + progress.getOpenBranches();
+        }
+        this.formulaInputView.getAlgorithmProgressLabel().setText(text);
+    }
 }
@@ -0,0 +1,176 @@
+package com.llat.views.interpreters;
+
+import com.llat.controller.Controller;
+import com.llat.database.HistoryEntry;
+import com.llat.database.HistoryPage;
+import com.llat.database.HistoryResults;
+import com.llat.database.UserObject;
+import com.llat.input.interpreters.LLATParserInterpreter;
+import com.llat.models.treenode.WffTree;
+import com.llat.tools.Event;
+import com.llat.tools.EventBus;
+import com.llat.tools.Listener;
+import com.llat.views.HistoryView;
+import com.llat.views.events.LoginSuccessEvent;
+import com.llat.views.events.OpenHistoryEntryEvent;
+import com.llat.views.events.UpdateHistoryEvent;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.input.MouseButton;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Shows the history of the user a page at a time: the next page is read once the
+ * last entry is shown. Double-clicking an entry opens it again, with the results
+ * that were stored with it.
+ */
+public class HistoryViewInterpreter implements Listener {
+
+    /**
+     * Number of entries read at a time.
+     */
+    public static final int PAGE_SIZE = 50;
+
+    private final Controller controller;
+    private final HistoryView historyView;
+
+    /**
+     * Entries shown, newest first.
+     */
+    private final ObservableList<HistoryEntry> entries = FXCollections.observableArrayList();
+
+    /**
+     * Cursor of the next page, or 0 if every page has been read.
+     */
+    private long cursor = 0;
+
+    /**
+     * Whether a page is being read.
+     */
+    private boolean loading = false;
+
+    /**
+     * Counts the reloads, so that a page read before the last one is ignored.
+     */
+    private int generation = 0;
+
+    public HistoryViewInterpreter(Controller _controller, HistoryView _historyView) {
+        this.controller = _controller;
+        this.historyView = _historyView;
+
+        TableView<HistoryEntry> table = this.historyView.getTable();
+        table.setItems(this.entries);
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        TableColumn<HistoryEntry, String> formulaColumn = new TableColumn<>("Formula");
+        formulaColumn.setCellValueFactory((p) -> new ReadOnlyStringWrapper(p.getValue().getFormula()));
+        table.getColumns().add(formulaColumn);
+        table.setRowFactory((_table) -> {
+            TableRow<HistoryEntry> row = new TableRow<>() {
+                @Override
+                protected void updateItem(HistoryEntry _entry, boolean _empty) {
+                    super.updateItem(_entry, _empty);
+                    if (!_empty && this.getIndex() == HistoryViewInterpreter.this.entries.size() - 1) {
+                        HistoryViewInterpreter.this.loadNextPage();
+                    }
+                }
+            };
+            row.setOnMouseClicked((event) -> {
+                if (event.getButton() == MouseButton.PRIMARY && event.getClickCount() == 2 && !row.isEmpty()) {
+                    this.openEntry(row.getItem());
+                }
+            });
+            return row;
+        });
+
+        EventBus.addListener(this, LoginSuccessEvent.class, UpdateHistoryEvent.class);
+    }
+
+
+    @Override
+    public void catchEvent(Event _event) {
+        if (_event instanceof LoginSuccessEvent) {
+            this.reloadHistory();
+        }
+
+
+        if (_event instanceof UpdateHistoryEvent) {
+            this.entries.add(0, ((UpdateHistoryEvent) _event).getHistoryEntry());
+        }
+    }
+
+    /**
+     * Shows the history of the user from the first page.
+     */
+    public void reloadHistory() {
+        this.generation++;
+        this.entries.clear();
+        this.loading = false;
+        this.cursor = this.controller.getUser() == null ? 0 : HistoryPage.FIRST;
+        this.loadNextPage();
+    }
+
+    /**
+     * Reads the next page in the background, unless one is being read already or
+     * there are no more.
+     */
+    private void loadNextPage() {
+        UserObject user = this.controller.getUser();
+        if (this.loading || this.cursor == 0 || user == null) {
+            return;
+        }
+        this.loading = true;
+        int generation = this.generation;
+        this.controller.getDatabaseAdapter().historyPageAsync(user.getUserId(), this.cursor, HistoryViewInterpreter.PAGE_SIZE).whenCompleteAsync((_page, _ex) -> {
+            if (generation != this.generation) {
+                return;
+            }
+            this.loading = false;
+            if (_page == null) {
+                Logger.getLogger(HistoryViewInterpreter.class.getName()).log(Level.WARNING, null, _ex);
+                this.cursor = 0;
+                return;
+            }
+            this.entries.addAll(_page.getEntries());
+            this.cursor = _page.getCursor();
+        }, EventBus.FX_EXECUTOR);
+    }
+
+    /**
+     * Reads the results of a stored entry, then opens it. An entry that has not
+     * been stored yet was solved in this session, so its results are still in the
+     * AlgorithmCache.
+     */
+    private void openEntry(HistoryEntry _entry) {
+        UserObject user = this.controller.getUser();
+        if (!_entry.isStored() || _entry.getResults() != null || user == null) {
+            this.throwOpenHistoryEntryEvent(_entry);
+            return;
+        }
+        this.controller.getDatabaseAdapter().historyEntryAsync(user.getUserId(), _entry.getQueryId()).whenCompleteAsync((_stored, _ex) -> {
+            // Without its results, the entry is solved again like a formula that was typed in.
+            this.throwOpenHistoryEntryEvent(_stored == null ? _entry : _stored);
+        }, EventBus.FX_EXECUTOR);
+    }
+
+    /**
+     * Parses the entry and its results on the parser's executor, which the other
+     * parses of the window take turns on, then opens it on the JavaFX application thread.
+     */
+    private void throwOpenHistoryEntryEvent(HistoryEntry _entry) {
+        CompletableFuture.supplyAsync(() -> {
+            LinkedList<WffTree> wffTrees = HistoryResults.parse(_entry.getFormula());
+            return new OpenHistoryEntryEvent(_entry, wffTrees,
+                    wffTrees == null ? Collections.emptyMap() : HistoryResults.decode(_entry.getResults()));
+        }, LLATParserInterpreter.PARSER_EXECUTOR).thenAcceptAsync(EventBus::throwEvent, EventBus.FX_EXECUTOR);
+    }
+}
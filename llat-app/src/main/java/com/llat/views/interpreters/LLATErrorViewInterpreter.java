@@ -25,7 +25,7 @@ public class LLATErrorViewInterpreter implements Listener {
     public LLATErrorViewInterpreter(Controller _controller, LLATErrorView _llatErrorView) {
         this.controller = _controller;
         this.llatErrorView = _llatErrorView;
-        EventBus.addListener(this);
+        EventBus.addListener(this, SyntaxErrorEvent.class, SyntaxWarningEvent.class);
     }
 
     @Override
@@ -35,7 +35,7 @@ public class LoginViewInterpreter implements Listener {
             this.controller.changeViewTo(ViewManager.MAINAPPLICATION);
         });
 
-        EventBus.addListener(this);
+        EventBus.addListener(this, LoginSuccessEvent.class, LoginFailEvent.class);
     }
 
     @Override
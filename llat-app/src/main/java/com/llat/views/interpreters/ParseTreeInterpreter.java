@@ -0,0 +1,67 @@
+package com.llat.views.interpreters;
+
+import com.llat.controller.Controller;
+import com.llat.input.events.UnsolvedFormulaEvent;
+import com.llat.models.events.UpdateViewParseTreeEvent;
+import com.llat.models.treenode.WffTree;
+import com.llat.tools.Event;
+import com.llat.tools.EventBus;
+import com.llat.tools.Listener;
+import com.llat.views.ParseTreeView;
+import javafx.scene.layout.Pane;
+
+/**
+ *
+ */
+public class ParseTreeInterpreter implements Listener {
+
+    /**
+     *
+     */
+    private final Controller controller;
+
+    /**
+     * Pane of the view, which the renderer draws in.
+     */
+    private final Pane parentPane;
+
+    /**
+     * Draws each tree on a canvas that stays in the view.
+     */
+    private final ParseTreeRenderer renderer;
+
+    public ParseTreeInterpreter(Controller _controller, ParseTreeView _truthTreeView) {
+        this(_controller, _truthTreeView.getParentPane());
+    }
+
+    /**
+     * @param _controller - controller of the window.
+     * @param _parentPane - pane of the view.
+     */
+    ParseTreeInterpreter(Controller _controller, Pane _parentPane) {
+        this.controller = _controller;
+        this.parentPane = _parentPane;
+        this.renderer = new ParseTreeRenderer();
+        this.renderer.attach(this.parentPane);
+        EventBus.addListener(this, UpdateViewParseTreeEvent.class, UnsolvedFormulaEvent.class);
+    }
+
+    @Override
+    public void catchEvent(Event _event) {
+        if (_event instanceof UpdateViewParseTreeEvent) {
+            this.parentPane.setVisible(true);
+
+            // If the event is empty just bail out.
+            if (((UpdateViewParseTreeEvent) _event).isEmpty()) {
+                this.renderer.clear();
+                return;
+            }
+
+            WffTree wff = ((UpdateViewParseTreeEvent) _event).getWffTree();
+            wff = (wff.isRoot()) ? wff.getChild(0) : wff;
+            this.renderer.render(wff);
+        } else if (_event instanceof UnsolvedFormulaEvent) {
+            this.renderer.clear();
+        }
+    }
+}
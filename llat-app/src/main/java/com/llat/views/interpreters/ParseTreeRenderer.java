@@ -0,0 +1,259 @@
+package com.llat.views.interpreters;
+
+import com.llat.algorithms.layout.TreeLayoutModel;
+import com.llat.algorithms.layout.TreeLayoutResult;
+import com.llat.models.treenode.WffTree;
+import com.llat.views.RenderLifecycle;
+import com.llat.views.TreeCanvas;
+import com.llat.views.TreeRenderer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+/**
+ * Draws parse trees on the canvas of the parse tree view.
+ */
+final class ParseTreeRenderer extends TreeRenderer<WffTree> {
+
+    /**
+     * Color to use when drawing the text/symbol(s).
+     */
+    private static final Color TEXT_COLOR = Color.BLACK;
+
+    /**
+     *
+     */
+    private static final int TREE_LEVEL_GAP = 20;
+
+    /**
+     *
+     */
+    private static final int TREE_NODE_GAP = 20;
+
+    /**
+     * Number of trees whose layouts are kept, e.g., to show them again after another
+     * algorithm has highlighted some of their nodes.
+     */
+    private static final int LAYOUT_CACHE_SIZE = 8;
+
+    ParseTreeRenderer() {
+        super(new WffTreeLayoutModel(), ParseTreeRenderer.TREE_LEVEL_GAP, ParseTreeRenderer.TREE_NODE_GAP,
+                ParseTreeRenderer.LAYOUT_CACHE_SIZE);
+    }
+
+    /**
+     * Adds the laid out tree to the canvas, which draws whichever part of it is in view.
+     *
+     * @param _layout - layout of the tree.
+     * @param _canvas - canvas to add the tree to.
+     * @param _render - unused, as nothing in the tree changes while it is shown.
+     */
+    @Override
+    protected void draw(TreeLayoutResult<WffTree> _layout, TreeCanvas _canvas, RenderLifecycle _render) {
+        this.drawEdges(_layout, _canvas, _layout.getRoot());
+        for (WffTree wffTree : _layout.getNodes()) {
+            this.paintBox(_layout, _canvas, wffTree);
+        }
+    }
+
+    /**
+     * Draws the edges from the WffTree passed in to all of its children.
+     *
+     * @param _layout - layout of the tree.
+     * @param _canvas - canvas to add the edges to.
+     * @param _tree   - tree to draw edge(s) from. Draws edges from this node
+     *                to all children.
+     */
+    private void drawEdges(TreeLayoutResult<WffTree> _layout, TreeCanvas _canvas, WffTree _tree) {
+        if (!_layout.isLeaf(_tree)) {
+            Rectangle2D b1 = ParseTreeRenderer.getBounds(_layout, _tree);
+            double x1 = b1.getCenterX();
+            double y1 = b1.getCenterY();
+            for (WffTree child : _layout.getChildren(_tree)) {
+                Rectangle2D.Double b2 = ParseTreeRenderer.getBounds(_layout, child);
+                // Compute offsets to position it in the center of the screen.
+                double x1Off = x1;
+                double y1Off = y1 + b1.getHeight() / 2 + 2;
+                double x2Off = b2.getCenterX();
+                double y2Off = b2.getCenterY() - b2.getHeight() / 2 - 2;
+                _canvas.addEdge(x1Off, y1Off, x2Off, y2Off);
+                this.drawEdges(_layout, _canvas, child);
+            }
+        }
+    }
+
+    /**
+     * Places the node in the tree. Each node is assigned a "box", which has a corresponding
+     * position. This position is defined by the tree in the library.
+     *
+     * @param _layout  - layout of the tree.
+     * @param _wffTree - WffTree object to construct.
+     */
+    private void paintBox(TreeLayoutResult<WffTree> _layout, TreeCanvas _canvas, WffTree _wffTree) {
+        Rectangle2D.Double box = ParseTreeRenderer.getBounds(_layout, _wffTree);
+
+        // Constructs the node; its outer border is a pixel outside of the box.
+        WffTreeGuiNode nodeBox = new WffTreeGuiNode(_wffTree, box.x, box.y, box.width, box.height);
+        _canvas.addItem(nodeBox, box.x - 1, box.y - 1, box.width + 2, box.height + 2);
+    }
+
+    /**
+     * @param _layout - layout of the tree.
+     * @param _node   - node of the tree.
+     * @return the box the layout gives the node.
+     */
+    private static Rectangle2D.Double getBounds(TreeLayoutResult<WffTree> _layout, WffTree _node) {
+        return new Rectangle2D.Double(_layout.getX(_node), _layout.getY(_node), _layout.getWidth(_node), _layout.getHeight(_node));
+    }
+
+    /**
+     * This class provides the attributes for the tree layout - it determines
+     * the positioning and sizing of each node in the GUI.
+     */
+    private static class WffTreeLayoutModel implements TreeLayoutModel<WffTree> {
+
+        /**
+         * Default width for a node that only has one or two chars as their symbol.
+         */
+        private static final int SMALL_WFF_WIDTH = 25;
+
+        /**
+         * Multiplier for nodes that contain > 2 chars. The multiplier grows the node.
+         */
+        private static final int LARGE_WFF_WIDTH_MULTIPLER = 4;
+
+        /**
+         * Height for each WFF.
+         */
+        private static final int WFF_HEIGHT = 15;
+
+        @Override
+        public List<WffTree> getChildren(WffTree treeNode) {
+            return treeNode.getChildren();
+        }
+
+        @Override
+        public double getWidth(WffTree treeNode) {
+            String s = treeNode.getSymbol();
+            if (s == null) {
+                return 0;
+            }
+            if (s.length() <= 2) {
+                return WffTreeLayoutModel.SMALL_WFF_WIDTH;
+            }
+
+            return (s.length() + 4) * WffTreeLayoutModel.LARGE_WFF_WIDTH_MULTIPLER;
+        }
+
+        @Override
+        public double getHeight(WffTree treeNode) {
+            return WffTreeLayoutModel.WFF_HEIGHT;
+        }
+    }
+
+    /**
+     * Creates a WffTree node for display in the GUI. Pass in the x, y, width, and height for
+     * the backing rectangle. The box, its borders and its symbol are drawn whenever the node
+     * is in view.
+     * <p>
+     * Hopefully, by encapsulating this in a class, we can add listeners or whatever else easily.
+     */
+    private static class WffTreeGuiNode implements TreeCanvas.Item {
+
+        /**
+         * Color for the inner left and top borders.
+         */
+        private static final Color INNER_LEFT_BORDER_COLOR = Color.color(0.84314f, 0.97647f, 0.49412f);
+
+        /**
+         * Color for the inner bottom and right borders.
+         */
+        private static final Color INNER_RIGHT_BORDER_COLOR = Color.color(0.35686f, 0.45490f, 0.23137f);
+
+        /**
+         * Color for the outer left and top borders.
+         */
+        private static final Color OUTER_LEFT_BORDER_COLOR = Color.color(0.99608f, 0.98431f, 0.58431f);
+
+        /**
+         * Color for the outer bottom and right borders.
+         */
+        private static final Color OUTER_RIGHT_BORDER_COLOR = Color.BLACK;
+
+        /**
+         * Color for the box node itself.
+         */
+        private static final Color BOX_COLOR = Color.color(0.54902f, 0.70980f, 0.35294);
+
+        /**
+         * Color for when the node is highlighted by an algorithm.
+         */
+        private static final Color HIGHLIGHTED_COLOR = Color.YELLOW;
+
+        /**
+         * Backing WffTree for this gui node.
+         */
+        private final WffTree WFF_TREE;
+
+        /**
+         *
+         */
+        private final double x, y, w, h;
+
+        public WffTreeGuiNode(WffTree _tree, double _x, double _y, double _w, double _h) {
+            this.WFF_TREE = _tree;
+            this.x = _x;
+            this.y = _y;
+            this.w = _w;
+            this.h = _h;
+        }
+
+        @Override
+        public void draw(GraphicsContext _gc) {
+            double x = this.x, y = this.y, w = this.w, h = this.h;
+
+            // First, draw the box itself.
+            _gc.setFill(this.WFF_TREE.isHighlighted() ? WffTreeGuiNode.HIGHLIGHTED_COLOR : WffTreeGuiNode.BOX_COLOR);
+            _gc.fillRect(x, y, w, h);
+
+            // Draw the left-bot and top-right inner borders.
+            _gc.setStroke(WffTreeGuiNode.INNER_LEFT_BORDER_COLOR);
+            _gc.strokeLine(x, y, x, y + h);
+            _gc.strokeLine(x, y, x + w, y);
+
+            // Draw the bot-right and top-right-bot inner borders.
+            _gc.setStroke(WffTreeGuiNode.INNER_RIGHT_BORDER_COLOR);
+            _gc.strokeLine(x, y + h, x + w, y + h);
+            _gc.strokeLine(x + w, y, x + w, y + h);
+
+            // Draw the left-bot and top-right outer borders.
+            _gc.setStroke(WffTreeGuiNode.OUTER_LEFT_BORDER_COLOR);
+            _gc.strokeLine(x - 1, y - 1, x - 1, y + h);
+            _gc.strokeLine(x - 1, y - 1, x + w, y - 1);
+
+            // Draw the bot-right and top-right-bot outer borders.
+            _gc.setStroke(WffTreeGuiNode.OUTER_RIGHT_BORDER_COLOR);
+            _gc.strokeLine(x - 1, y + h + 1, x + w + 1, y + h + 1);
+            _gc.strokeLine(x + w + 1, y - 1, x + w + 1, y + h + 1);
+
+            // Finally, draw and position the text.
+            _gc.setFill(ParseTreeRenderer.TEXT_COLOR);
+            _gc.setFont(Font.getDefault());
+            _gc.setTextAlign(TextAlignment.CENTER);
+            _gc.setTextBaseline(VPos.BASELINE);
+            if (this.WFF_TREE.getSymbol() != null) {
+                _gc.fillText(this.WFF_TREE.getSymbol(), x + w / 2, y + h / 1.30d);
+            }
+        }
+
+        @Override
+        public String getTooltipText() {
+            return null;
+        }
+    }
+}
@@ -31,7 +31,7 @@ public class RegisterInterpreter implements Listener {
             this.controller.changeViewTo(ViewManager.MAINAPPLICATION);
         });
 
-        EventBus.addListener(this);
+        EventBus.addListener(this, RegistrationStatusEvent.class);
     }
 
     @Override
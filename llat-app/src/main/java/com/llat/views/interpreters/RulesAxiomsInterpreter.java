@@ -24,7 +24,7 @@ public class RulesAxiomsInterpreter implements Listener {
     public RulesAxiomsInterpreter(Controller _controller, RulesAxiomsView _rulesAxiomsView) {
         this.controller = _controller;
         this.rulesAxiomsView = _rulesAxiomsView;
-        EventBus.addListener(this);
+        EventBus.addListener(this, SymbolDescriptionEvent.class);
     }
 
     @Override
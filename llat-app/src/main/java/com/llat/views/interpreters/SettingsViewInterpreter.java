@@ -3,9 +3,6 @@ package com.llat.views.interpreters;
 import com.llat.controller.Controller;
 import com.llat.models.localstorage.settings.language.LanguageObject;
 import com.llat.models.localstorage.settings.theme.ThemeObject;
-import com.llat.tools.Event;
-import com.llat.tools.EventBus;
-import com.llat.tools.Listener;
 import com.llat.tools.ViewManager;
 import com.llat.views.SettingsView;
 import com.llat.views.menu.items.CustomMenuItem;
@@ -18,7 +15,7 @@ import javafx.scene.layout.VBox;
 import java.util.ArrayList;
 import java.util.List;
 
-public class SettingsViewInterpreter implements Listener {
+public class SettingsViewInterpreter {
     private Controller controller;
     private final SettingsView settingsView;
     private VBox selectedCategory = null;
@@ -68,11 +65,6 @@ public class SettingsViewInterpreter implements Listener {
         });
         // Setting the actions of the save button.
         this.onActionSaveAlert(this.settingsView.getSaveButton());
-        EventBus.addListener(this);
-    }
-
-    @Override
-    public void catchEvent(Event _event) {
     }
 
     public void showSelectedCategory(Button _button, VBox _categoryVBox) {
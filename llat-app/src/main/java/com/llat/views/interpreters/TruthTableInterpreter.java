@@ -7,7 +7,9 @@ import com.llat.models.treenode.WffTree;
 import com.llat.tools.Event;
 import com.llat.tools.EventBus;
 import com.llat.tools.Listener;
+import com.llat.views.RenderLifecycle;
 import com.llat.views.TruthTableView;
+import javafx.beans.InvalidationListener;
 import javafx.scene.control.Button;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
@@ -25,15 +27,22 @@ public class TruthTableInterpreter implements Listener {
      */
     private final TruthTableView truthTableView;
 
+    /**
+     * Subscriptions of the table currently shown.
+     */
+    private final RenderLifecycle render;
+
     public TruthTableInterpreter(Controller _controller, TruthTableView _truthTableView) {
         this.controller = _controller;
         this.truthTableView = _truthTableView;
-        EventBus.addListener(this);
+        this.render = new RenderLifecycle();
+        EventBus.addListener(this, UpdateViewTruthTableEvent.class, UnsolvedFormulaEvent.class);
     }
 
     @Override
     public void catchEvent(Event _event) {
         if (_event instanceof UpdateViewTruthTableEvent) {
+            this.render.begin();
             this.truthTableView.getTruthTable().getChildren().clear();
             if (((UpdateViewTruthTableEvent) _event).isEmpty()) {
                 this.truthTableView.getParentPane().getChildren().remove(this.truthTableView.getScrollPane());
@@ -44,8 +53,16 @@ public class TruthTableInterpreter implements Listener {
             }
 
             this.createTruthTable(((UpdateViewTruthTableEvent) _event).getWffTree().getChild(0), this.truthTableView.getTruthTable());
-            this.truthTableView.getTruthTable().setLayoutX((this.truthTableView.getParentPane().getWidth() / 2) - (this.truthTableView.getTruthTable().getWidth() / 2));
+
+            // The table only has its width once it is laid out, so keep it centered until
+            // the next table replaces it.
+            InvalidationListener center = (obs) -> this.truthTableView.getTruthTable().setLayoutX(
+                    (this.truthTableView.getParentPane().getWidth() / 2) - (this.truthTableView.getTruthTable().getWidth() / 2));
+            this.render.listen(this.truthTableView.getParentPane().widthProperty(), center);
+            this.render.listen(this.truthTableView.getTruthTable().widthProperty(), center);
+            center.invalidated(null);
         } else if (_event instanceof UnsolvedFormulaEvent) {
+            this.render.dispose();
             this.truthTableView.getTruthTable().getChildren().clear();
             this.truthTableView.getParentPane().getChildren().remove(this.truthTableView.getScrollPane());
         }
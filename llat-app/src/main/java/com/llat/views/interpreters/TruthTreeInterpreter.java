@@ -0,0 +1,62 @@
+package com.llat.views.interpreters;
+
+import com.llat.controller.Controller;
+import com.llat.input.events.UnsolvedFormulaEvent;
+import com.llat.models.events.UpdateViewTruthTreeEvent;
+import com.llat.tools.Event;
+import com.llat.tools.EventBus;
+import com.llat.tools.Listener;
+import com.llat.views.TruthTreeView;
+import javafx.scene.layout.Pane;
+
+/**
+ *
+ */
+public class TruthTreeInterpreter implements Listener {
+
+    /**
+     *
+     */
+    private final Controller controller;
+
+    /**
+     * Pane of the view, which the renderer draws in.
+     */
+    private final Pane parentPane;
+
+    /**
+     * Draws each tree on a canvas that stays in the view.
+     */
+    private final TruthTreeRenderer renderer;
+
+    public TruthTreeInterpreter(Controller _controller, TruthTreeView _truthTreeView) {
+        this(_controller, _truthTreeView.getParentPane());
+    }
+
+    /**
+     * @param _controller - controller of the window.
+     * @param _parentPane - pane of the view.
+     */
+    TruthTreeInterpreter(Controller _controller, Pane _parentPane) {
+        this.controller = _controller;
+        this.parentPane = _parentPane;
+        this.renderer = new TruthTreeRenderer();
+        this.renderer.attach(this.parentPane);
+        EventBus.addListener(this, UpdateViewTruthTreeEvent.class, UnsolvedFormulaEvent.class);
+    }
+
+    @Override
+    public void catchEvent(Event _event) {
+        if (_event instanceof UpdateViewTruthTreeEvent) {
+            this.parentPane.setVisible(true);
+            if (((UpdateViewTruthTreeEvent) _event).isEmpty()) {
+                this.renderer.clear();
+                return;
+            }
+
+            this.renderer.render(((UpdateViewTruthTreeEvent) _event).getTruthTree());
+        } else if (_event instanceof UnsolvedFormulaEvent) {
+            this.renderer.clear();
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.llat.views.interpreters;
+
+import com.llat.algorithms.layout.TreeLayoutModel;
+import com.llat.algorithms.layout.TreeLayoutResult;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.views.RenderLifecycle;
+import com.llat.views.TreeCanvas;
+import com.llat.views.TreeRenderer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Draws truth trees on the canvas of the truth tree view.
+ */
+final class TruthTreeRenderer extends TreeRenderer<TruthTree> {
+
+    /**
+     * Color to use when drawing the text/symbol(s).
+     */
+    private static final Color TEXT_COLOR = Color.BLACK;
+
+    /**
+     *
+     */
+    private static final int TREE_LEVEL_GAP = 40;
+
+    /**
+     *
+     */
+    private static final int TREE_NODE_GAP = 50;
+
+    /**
+     * Number of trees whose layouts are kept, e.g., to show them again after the same
+     * formula is solved with another algorithm.
+     */
+    private static final int LAYOUT_CACHE_SIZE = 8;
+
+    TruthTreeRenderer() {
+        super(new TruthTreeLayoutModel(), TruthTreeRenderer.TREE_LEVEL_GAP, TruthTreeRenderer.TREE_NODE_GAP,
+                TruthTreeRenderer.LAYOUT_CACHE_SIZE);
+    }
+
+    /**
+     * Adds the laid out tree to the canvas, which draws whichever part of it is in view.
+     *
+     * @param _layout - layout of the tree, whose nodes are the first of each stack.
+     * @param _canvas - canvas to add the tree to.
+     * @param _render - unused, as nothing in the tree changes while it is shown.
+     */
+    @Override
+    protected void draw(TreeLayoutResult<TruthTree> _layout, TreeCanvas _canvas, RenderLifecycle _render) {
+        this.drawEdges(_layout, _canvas, _layout.getRoot());
+        for (TruthTree truthTree : _layout.getNodes()) {
+            this.paintBox(_layout, _canvas, new TruthTreeGuiNode(truthTree));
+        }
+    }
+
+    /**
+     * Draws the edges from the TruthTree passed in to all of its children.
+     *
+     * @param _layout - layout of the tree.
+     * @param _canvas - canvas to add the edges to.
+     * @param _tree   - tree to draw edge(s) from. Draws edges from this node
+     *                to all children.
+     */
+    private void drawEdges(TreeLayoutResult<TruthTree> _layout, TreeCanvas _canvas, TruthTree _tree) {
+        final int V_OFFSET = 12;
+        final int H_OFFSET = 2;
+
+        // Grab the parent node and its child then draw a line.
+        if (!_layout.isLeaf(_tree)) {
+            Rectangle2D b1 = TruthTreeRenderer.getBounds(_layout, _tree);
+            double x1 = b1.getCenterX();
+            double y1 = b1.getCenterY();
+            for (TruthTree child : _layout.getChildren(_tree)) {
+                Rectangle2D.Double b2 = TruthTreeRenderer.getBounds(_layout, child);
+                // Compute offsets to position it in the center of the screen.
+                double x1Off = x1;
+                double y1Off = y1 + b1.getHeight() / 2 + H_OFFSET;
+                double x2Off = b2.getCenterX();
+                double y2Off = b2.getCenterY() - b2.getHeight() / 2 - V_OFFSET;
+                _canvas.addEdge(x1Off, y1Off, x2Off, y2Off);
+                this.drawEdges(_layout, _canvas, child);
+            }
+        }
+    }
+
+    /**
+     * Places the node in the tree. Each node is assigned a "box", which has a corresponding
+     * position. This position is defined by the tree in the library.
+     *
+     * @param _layout    - layout of the tree.
+     * @param _truthTree - TruthTree object to construct.
+     */
+    private void paintBox(TreeLayoutResult<TruthTree> _layout, TreeCanvas _canvas, TruthTreeGuiNode _truthTree) {
+        TruthTree head = _truthTree.truthTrees.getFirst();
+        Rectangle2D.Double box = TruthTreeRenderer.getBounds(_layout, head);
+        _truthTree.place(box, _layout.isLeaf(head));
+
+        // The text starts a little above the box, and a leaf has its branch label below it.
+        double top = box.y - TruthTreeGuiNode.Y_LABEL_OFFSET;
+        double bottom = box.y + box.height + (_truthTree.isLeaf ? TruthTreeGuiNode.LEAF_LABEL_HEIGHT : TruthTreeGuiNode.Y_LABEL_OFFSET);
+        _canvas.addItem(_truthTree, box.x, top, box.width, bottom - top);
+    }
+
+    /**
+     * @param _layout - layout of the tree.
+     * @param _node   - first node of a stack.
+     * @return the box the layout gives the stack.
+     */
+    private static Rectangle2D.Double getBounds(TreeLayoutResult<TruthTree> _layout, TruthTree _node) {
+        return new Rectangle2D.Double(_layout.getX(_node), _layout.getY(_node), _layout.getWidth(_node), _layout.getHeight(_node));
+    }
+
+    /**
+     * This class provides the attributes for the tree layout - it determines
+     * the positioning and sizing of each node in the GUI. A node of the layout is
+     * the first of a stack, i.e., of the nodes down to where the tree branches,
+     * which are shown as one.
+     */
+    private static class TruthTreeLayoutModel implements TreeLayoutModel<TruthTree> {
+
+        @Override
+        public List<TruthTree> getChildren(TruthTree treeNode) {
+            TruthTree t = treeNode;
+            // If the right is null but the left isn't, it stacks.
+            while (t.getLeft() != null && t.getRight() == null) {
+                t = t.getLeft();
+            }
+            return t.getRight() != null ? List.of(t.getLeft(), t.getRight()) : List.of();
+        }
+
+        @Override
+        public double getWidth(TruthTree treeNode) {
+            return new TruthTreeGuiNode(treeNode).width;
+        }
+
+        @Override
+        public double getHeight(TruthTree treeNode) {
+            return new TruthTreeGuiNode(treeNode).height;
+        }
+
+        @Override
+        public int getBoxSize(TruthTree treeNode) {
+            // The box shows the whole stack, which grows as the tree is built.
+            int size = 1;
+            for (TruthTree t = treeNode; t.getLeft() != null && t.getRight() == null; t = t.getLeft()) {
+                size++;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Creates a TruthTree node for display in the GUI.
+     * <p>
+     * Hopefully, by encapsulating this in a class, we can add listeners or whatever else easily.
+     */
+    private static class TruthTreeGuiNode implements TreeCanvas.Item {
+
+        /**
+         *
+         */
+        private static final int RESIZE_WIDTH_DELTA = 24;
+
+        /**
+         *
+         */
+        private static final int RESIZE_HEIGHT_DELTA = 12;
+
+        /**
+         * Distance between the lines of a stacked node.
+         */
+        private static final int V_OFFSET = 12;
+
+        /**
+         * How far above its box the text of a node starts.
+         */
+        private static final int Y_LABEL_OFFSET = 6;
+
+        /**
+         * Room below a leaf for its open or closed label.
+         */
+        private static final int LEAF_LABEL_HEIGHT = 24;
+
+        /**
+         *
+         */
+        private final LinkedList<TruthTree> truthTrees;
+
+        /**
+         *
+         */
+        private String text;
+
+        /**
+         *
+         */
+        private double width;
+
+        /**
+         *
+         */
+        private double height;
+
+        /**
+         * Box given to this node by the layout.
+         */
+        private Rectangle2D.Double box;
+
+        /**
+         *
+         */
+        private boolean isLeaf;
+
+        public TruthTreeGuiNode(TruthTree _tree) {
+            this.truthTrees = new LinkedList<>();
+            this.truthTrees.add(_tree);
+            this.text = _tree.getWff().getStringRep() + "\n" + "";
+            this.height = 12;
+            this.width = this.text.length() * 10;
+
+            // If the right is null but the left isn't, it stacks.
+            for (TruthTree t = _tree; t.getLeft() != null && t.getRight() == null; t = t.getLeft()) {
+                this.stackNode(t.getLeft());
+            }
+        }
+
+        /**
+         * @param _tree
+         */
+        public void stackNode(TruthTree _tree) {
+            this.truthTrees.add(_tree);
+            this.text += _tree.getWff().getStringRep() + "\n";
+            this.width += RESIZE_WIDTH_DELTA;
+            this.height += RESIZE_HEIGHT_DELTA;
+        }
+
+        /**
+         * @param _box    - box given to this node by the layout.
+         * @param _isLeaf - whether the node ends a branch.
+         */
+        public void place(Rectangle2D.Double _box, boolean _isLeaf) {
+            this.box = _box;
+            this.isLeaf = _isLeaf;
+        }
+
+        public TruthTree getLeft() {
+            return this.truthTrees.get(0).getLeft();
+        }
+
+        public TruthTree getRight() {
+            return this.truthTrees.get(0).getRight();
+        }
+
+        public boolean isClosed() {
+            for (TruthTree t : this.truthTrees) {
+                if (t.isClosed()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void draw(GraphicsContext _gc) {
+            _gc.setFill(TruthTreeRenderer.TEXT_COLOR);
+            _gc.setFont(Font.getDefault());
+            _gc.setTextAlign(TextAlignment.CENTER);
+            _gc.setTextBaseline(VPos.TOP);
+            double prevY = this.box.y;
+            // Stacked nodes are made up of multiple lines, so this breaks them apart.
+            for (String line : this.text.split("\n")) {
+                _gc.fillText(line, this.box.getCenterX(), prevY - Y_LABEL_OFFSET);
+                prevY += V_OFFSET;
+            }
+
+            // If the branch is a leaf, then we can label it open or closed.
+            if (this.isLeaf) {
+                _gc.fillText(this.isClosed() ? "✕" : "OPEN", this.box.getCenterX(), prevY + Y_LABEL_OFFSET);
+            }
+        }
+
+        @Override
+        public String getTooltipText() {
+            StringBuilder sb = new StringBuilder();
+            for (TruthTree t : this.truthTrees) {
+                if (t.getDerivedParent() != null) {
+                    sb.append(t.getIdentityNumber());
+                    sb.append(". (");
+                    sb.append(t.getDerivedParent().getIdentityNumber());
+                    sb.append(") ");
+                    sb.append(t.getDerivedParent().getWff().getSymbol());
+                } else {
+                    sb.append("1. ROOT");
+                }
+                sb.append("\n");
+            }
+            return sb.toString();
+        }
+    }
+}
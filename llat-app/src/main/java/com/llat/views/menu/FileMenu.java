@@ -0,0 +1,82 @@
+package com.llat.views.menu;
+
+import com.llat.controller.Controller;
+import com.llat.views.interpreters.FileMenuInterpreter;
+import com.llat.views.menu.items.*;
+import javafx.scene.control.Menu;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.SeparatorMenuItem;
+
+public class FileMenu {
+
+    /**
+     *
+     */
+    private final Controller controller;
+
+    /**
+     *
+     */
+    private final Menu fileMenu;
+
+    /**
+     *
+     */
+    private final MenuItem loginItem;
+
+    /**
+     *
+     */
+    private final MenuItem registerItem;
+
+    /**
+     *
+     */
+    private final MenuItem logoutItem;
+
+    /**
+     *
+     */
+    private final FileMenuInterpreter fileMenuInterpreter;
+
+    public FileMenu(Controller controller) {
+        this.controller = controller;
+        this.fileMenu = new Menu(controller.getUiObject().getMenuBar().getFile().getLabel());
+        this.loginItem = new LoginItem(this.controller).getItem();
+        this.registerItem = new RegisterItem(this.controller).getItem();
+        this.logoutItem = new LogoutItem(this.controller).getItem();
+
+        // Setting Menu fileMenu properties. The user may only be logged in once the
+        // window is shown, so the interpreter shows either Login and Register or Logout.
+        this.fileMenu.getItems().addAll(
+                new NewProjectItem(this.controller).getItem(),
+                new OpenItem(this.controller).getItem(),
+                new SeparatorMenuItem(),
+                this.loginItem,
+                this.registerItem,
+                this.logoutItem,
+                new SeparatorMenuItem(),
+                new SettingsItem(this.controller).getItem(),
+                new SeparatorMenuItem(),
+                new ExitItem(this.controller).getItem());
+
+        // Creating interpreter to handle events and actions.
+        this.fileMenuInterpreter = new FileMenuInterpreter(this.controller, this);
+    }
+
+    public Menu getMenu() {
+        return this.fileMenu;
+    }
+
+    public MenuItem getLoginItem() {
+        return this.loginItem;
+    }
+
+    public MenuItem getRegisterItem() {
+        return this.registerItem;
+    }
+
+    public MenuItem getLogoutItem() {
+        return this.logoutItem;
+    }
+}
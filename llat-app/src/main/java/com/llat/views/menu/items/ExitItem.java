@@ -14,6 +14,7 @@ public class ExitItem {
         this.exitItem = new MenuItem(controller.getUiObject().getMenuBar().getFile().getExit().getLabel());
 
         this.exitItem.setOnAction((ActionEvent t) -> {
+            this.controller.closeDatabase();
             System.exit(0);
         });
     }
@@ -2,11 +2,12 @@ module LLAT {
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.graphics;
-    requires org.antlr.antlr4.runtime;
+    requires llat.core;
     requires com.google.gson;
-    requires org.abego.treelayout.core;
     requires bcrypt;
     requires java.desktop;
+    requires java.sql;
+    requires jdk.httpserver;
 
     opens com.llat.models.localstorage;
     opens com.llat.models.localstorage.credentials;
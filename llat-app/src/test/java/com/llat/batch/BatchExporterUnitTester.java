@@ -0,0 +1,118 @@
+package com.llat.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchExporterUnitTester {
+
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("llat-export");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach((_path) -> _path.toFile().delete());
+        }
+    }
+
+    /**
+     * @return an input of many formulas, with a comment and a line that does not parse.
+     */
+    private Path writeInput(int _formulas) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("// Worksheet");
+        for (int i = 0; i < _formulas; i++) {
+            lines.add(i % 2 == 0 ? "((A ∨ B) & ~A)" : "((A → B) ↔ (~B → ~A))");
+        }
+        lines.add("(A &");
+        return Files.write(this.directory.resolve("input.txt"), lines, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void test001() throws IOException {
+        Path output = this.directory.resolve("trees.pdf");
+        assertEquals(40, new BatchExporter(this.writeInput(40), output, BatchExporter.Kind.TRUTH_TREE, 4).run());
+        String pdf = new String(Files.readAllBytes(output), StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF-1.4"));
+        assertTrue(pdf.contains("/Count 40 "));
+
+        // The pages are in the order of the input, whatever order they were drawn in:
+        // the formulas alternate, and so do the sizes of their pages.
+        Matcher mediaBox = Pattern.compile("/MediaBox \\[0 0 ([\\d.]+) ([\\d.]+)]").matcher(pdf);
+        List<String> sizes = new ArrayList<>();
+        while (mediaBox.find()) {
+            sizes.add(mediaBox.group(1) + "x" + mediaBox.group(2));
+        }
+        assertEquals(40, sizes.size());
+        assertNotEquals(sizes.get(0), sizes.get(1));
+        for (int i = 2; i < sizes.size(); i++) {
+            assertEquals(sizes.get(i % 2), sizes.get(i));
+        }
+    }
+
+    @Test
+    public void test002() throws IOException {
+        Path output = this.directory.resolve("tables.tex");
+        assertEquals(3, new BatchExporter(this.writeInput(3), output, BatchExporter.Kind.TRUTH_TABLE, 2).run());
+        String tex = Files.readString(output, StandardCharsets.UTF_8);
+        assertTrue(tex.contains("multi=tabular]{standalone}"));
+        assertEquals(1, tex.split("\\\\begin\\{document}", -1).length - 1);
+        assertEquals(3, tex.split("\\\\end\\{tabular}", -1).length - 1);
+        assertTrue(tex.indexOf("% Line 2") < tex.indexOf("% Line 3"));
+        assertTrue(tex.endsWith("\\end{document}\n"));
+    }
+
+    @Test
+    public void test003() throws IOException {
+        Path output = this.directory.resolve("parse-trees.zip");
+        assertEquals(5, new BatchExporter(this.writeInput(5), output, BatchExporter.Kind.PARSE_TREE, 3).run());
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(output))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                byte[] header = ((InputStream) zip).readNBytes(8);
+                assertEquals("%PDF-1.4", new String(header, StandardCharsets.ISO_8859_1));
+            }
+        }
+        assertEquals(List.of("line000002.pdf", "line000003.pdf", "line000004.pdf", "line000005.pdf", "line000006.pdf"), names);
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchExporter(this.writeInput(1), this.directory.resolve("out.docx"), BatchExporter.Kind.PARSE_TREE, 1).run());
+    }
+
+    @Test
+    public void test004() throws IOException {
+        // A truth tree that was cut off is left out, like a line that does not parse.
+        StringBuilder cutOff = new StringBuilder("(S | T)");
+        for (char atom = 'Q'; atom >= 'A'; atom -= 2) {
+            cutOff.insert(0, "((" + atom + " | " + (char) (atom + 1) + ") & ").append(")");
+        }
+        Path input = Files.write(this.directory.resolve("input.txt"), List.of("((A → B) ↔ (~B → ~A))", cutOff.toString()),
+                StandardCharsets.UTF_8);
+        Path output = this.directory.resolve("trees.tex");
+        assertEquals(1, new BatchExporter(input, output, BatchExporter.Kind.TRUTH_TREE, 2).run());
+        String tex = Files.readString(output, StandardCharsets.UTF_8);
+        assertTrue(tex.contains("% Line 1"));
+        assertFalse(tex.contains("% Line 2"));
+    }
+}
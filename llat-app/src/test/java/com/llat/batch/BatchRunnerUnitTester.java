@@ -0,0 +1,164 @@
+package com.llat.batch;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.llat.algorithms.trace.TraceTool;
+import com.llat.models.AlgorithmType;
+import com.llat.models.LogicSetup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerUnitTester {
+
+    private static final List<AlgorithmType> ALGORITHMS = List.of(AlgorithmType.TRUTH_TABLE_GENERATOR,
+            AlgorithmType.ARGUMENT_TRUTH_TREE_VALIDATOR);
+
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("llat-batch");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach((_path) -> _path.toFile().delete());
+        }
+    }
+
+    private Path write(String _name, String... _lines) throws IOException {
+        return Files.write(this.directory.resolve(_name), List.of(_lines), StandardCharsets.UTF_8);
+    }
+
+    private static List<JsonObject> readJsonLines(Path _path) throws IOException {
+        List<JsonObject> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(_path, StandardCharsets.UTF_8)) {
+            lines.add(JsonParser.parseString(line).getAsJsonObject());
+        }
+        return lines;
+    }
+
+    /**
+     * @return the parts of a JSONL result that do not depend on timing.
+     */
+    private static String describe(JsonObject _result) {
+        return _result.get("line") + " " + _result.get("algorithm") + " " + _result.get("status") + " " + _result.get("value");
+    }
+
+    @Test
+    public void test001() throws IOException {
+        // Every line gets a result for each algorithm, in the order of the input.
+        Path input = this.write("input.txt", "// Week 1", "", "(A & B)", "(A -> B), A ⊢ B", "((");
+        Path output = this.directory.resolve("output.jsonl");
+        BatchRunner.Summary summary = new BatchRunner(input, output, ALGORITHMS, 2, 10_000, false).run(false);
+        List<JsonObject> results = BatchRunnerUnitTester.readJsonLines(output);
+        assertEquals(5, results.size());
+        assertEquals(5, summary.getTotal());
+        assertEquals("3 \"TRUTH_TABLE_GENERATOR\" \"ok\" true", BatchRunnerUnitTester.describe(results.get(0)));
+        assertEquals("3 \"ARGUMENT_TRUTH_TREE_VALIDATOR\" \"skipped\" null", BatchRunnerUnitTester.describe(results.get(1)));
+        assertEquals("4 \"TRUTH_TABLE_GENERATOR\" \"skipped\" null", BatchRunnerUnitTester.describe(results.get(2)));
+        assertEquals("4 \"ARGUMENT_TRUTH_TREE_VALIDATOR\" \"ok\" true", BatchRunnerUnitTester.describe(results.get(3)));
+        assertEquals("syntax_error", results.get(4).get("status").getAsString());
+        assertEquals(1, summary.getCount(BatchResult.Status.SYNTAX_ERROR));
+        assertFalse(results.get(0).has("result"));
+    }
+
+    @Test
+    public void test002() throws IOException {
+        // CSV output has a header and quotes the fields that need it.
+        Path input = this.write("input.txt", "(A -> B), B ⊢ A");
+        Path output = this.directory.resolve("output.csv");
+        new BatchRunner(input, output, ALGORITHMS, 1, 10_000, false).run(false);
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals(BatchResult.CSV_HEADER, lines.get(0));
+        assertTrue(lines.get(2).startsWith("1,\"(A -> B), B ⊢ A\",ARGUMENT_TRUTH_TREE_VALIDATOR,ok,false,"));
+    }
+
+    @Test
+    public void test003() throws IOException {
+        // A resumed run drops what was written after the checkpoint and ends up
+        // with the same results as a run that was never interrupted.
+        Path output = this.directory.resolve("output.jsonl");
+        Path input = this.write("input.txt", "(A & B)", "(A | ~A)");
+        new BatchRunner(input, output, ALGORITHMS, 2, 10_000, false).run(false);
+        Files.write(output, "{\"line\": 3, \"half wr".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Files.write(input, List.of("(A -> B), A ⊢ B", "(A & ~A)"), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        BatchRunner.Summary summary = new BatchRunner(input, output, ALGORITHMS, 2, 10_000, false).run(true);
+        assertEquals(4, summary.getTotal());
+
+        Path fresh = this.directory.resolve("fresh.jsonl");
+        new BatchRunner(input, fresh, ALGORITHMS, 2, 10_000, false).run(false);
+        List<JsonObject> resumed = BatchRunnerUnitTester.readJsonLines(output);
+        List<JsonObject> expected = BatchRunnerUnitTester.readJsonLines(fresh);
+        assertEquals(expected.size(), resumed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(BatchRunnerUnitTester.describe(expected.get(i)), BatchRunnerUnitTester.describe(resumed.get(i)));
+        }
+
+        // Resuming a finished run does nothing.
+        assertEquals(0, new BatchRunner(input, output, ALGORITHMS, 2, 10_000, false).run(true).getTotal());
+        // A checkpoint for other algorithms cannot be resumed.
+        assertThrows(IllegalStateException.class, () -> new BatchRunner(input, output,
+                List.of(AlgorithmType.MAIN_OPERATOR_DETECTOR), 2, 10_000, false).run(true));
+    }
+
+    @Test
+    public void test004() throws IOException {
+        // An algorithm that runs past its time limit is cancelled and reported.
+        StringBuilder formula = new StringBuilder("A");
+        for (int i = 1; i < 14; i++) {
+            formula.insert(0, "(").append(" | ").append((char) ('A' + i)).append(")");
+        }
+        Path input = this.write("input.txt", formula.toString(), "(A & B)");
+        Path output = this.directory.resolve("output.jsonl");
+        new BatchRunner(input, output, List.of(AlgorithmType.TRUTH_TABLE_GENERATOR), 1, 1, true).run(false);
+        List<JsonObject> results = BatchRunnerUnitTester.readJsonLines(output);
+        assertEquals("timeout", results.get(0).get("status").getAsString());
+        assertEquals("ok", results.get(1).get("status").getAsString());
+        assertTrue(results.get(1).has("result"));
+    }
+
+    @Test
+    public void test005() {
+        // Algorithms can be named either way.
+        assertEquals(List.of(AlgorithmType.MAIN_OPERATOR_DETECTOR, AlgorithmType.TRUTH_TABLE_GENERATOR),
+                BatchRunner.parseAlgorithms("main_operator_detector, Truth Table Generator"));
+        assertFalse(BatchRunner.parseAlgorithms("ALL").contains(AlgorithmType.RANDOM_PREDICATE_FORMULA));
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.parseAlgorithms("GENERAL"));
+        // No formulas at all is the same as none given.
+        assertFalse(new LogicSetup(false).isAvailable(AlgorithmType.MAIN_OPERATOR_DETECTOR, new LinkedList<>()));
+        assertFalse(new LogicSetup(false).isAvailable(AlgorithmType.ARGUMENT_TRUTH_TREE_VALIDATOR, new LinkedList<>()));
+    }
+
+    @Test
+    public void test006() throws IOException {
+        // With a trace directory, each truth tree that is built leaves a trace there.
+        Path input = this.write("input.txt", "(A → B), A ⊢ B", "(A & B)");
+        Path traces = Files.createDirectory(this.directory.resolve("traces"));
+        BatchRunner batchRunner = new BatchRunner(input, this.directory.resolve("output.jsonl"), ALGORITHMS, 1, 10_000, false);
+        batchRunner.setTraceDirectory(traces);
+        batchRunner.run(false);
+        Path trace = traces.resolve("line000001-ARGUMENT_TRUTH_TREE_VALIDATOR.trace");
+        assertTrue(Files.exists(trace));
+        assertFalse(TraceTool.read(trace).getEvents().isEmpty());
+        try (Stream<Path> files = Files.list(traces)) {
+            assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.llat.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AWSDatabaseUnitTester {
+
+    /**
+     * Number of databases made so far, so that each test gets its own.
+     */
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    /**
+     * Embedded database with the tables of the remote one. It lives as long as this
+     * connection is open.
+     */
+    private Connection keepAlive;
+
+    /**
+     *
+     */
+    private String url;
+
+    /**
+     * Number of connections the factory has opened.
+     */
+    private final AtomicInteger opened = new AtomicInteger();
+
+    @BeforeEach
+    public void createDatabase() throws SQLException {
+        this.url = "jdbc:h2:mem:llat" + DATABASES.incrementAndGet() + ";MODE=MySQL;NON_KEYWORDS=USER";
+        this.keepAlive = DriverManager.getConnection(this.url);
+        try (Statement statement = this.keepAlive.createStatement()) {
+            statement.execute("CREATE TABLE User (UserID INT AUTO_INCREMENT PRIMARY KEY, UserName VARCHAR(64) NOT NULL UNIQUE, "
+                    + "Password VARCHAR(100), LName VARCHAR(64), FName VARCHAR(64))");
+            statement.execute("CREATE TABLE Theme (UserID INT PRIMARY KEY, Theme VARCHAR(64))");
+            statement.execute("CREATE TABLE Language (UserID INT PRIMARY KEY, Language VARCHAR(16))");
+            statement.execute("CREATE TABLE Query_History (QueryID INT AUTO_INCREMENT PRIMARY KEY, UserID INT, TextInput VARCHAR(255))");
+        }
+    }
+
+    @AfterEach
+    public void dropDatabase() throws SQLException {
+        this.keepAlive.close();
+    }
+
+    private ConnectionPool newPool(int _maxSize) {
+        return new ConnectionPool(() -> {
+            this.opened.incrementAndGet();
+            return DriverManager.getConnection(this.url);
+        }, _maxSize, 8);
+    }
+
+    @Test
+    public void test001() throws Exception {
+        ConnectionPool pool = this.newPool(2);
+
+        // Statements are prepared once per connection, and connections are reused.
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            PreparedStatement statement = lease.prepare("SELECT COUNT(*) FROM User WHERE UserName = ?");
+            assertSame(statement, lease.prepare("SELECT COUNT(*) FROM User WHERE UserName = ?"));
+            assertNotSame(statement, lease.prepare("SELECT COUNT(*) FROM User WHERE UserName = ?", true));
+        }
+        for (int i = 0; i < 10; i++) {
+            try (ConnectionPool.Lease lease = pool.borrow()) {
+                lease.prepare("SELECT COUNT(*) FROM User WHERE UserName = ?");
+            }
+        }
+        assertEquals(1, this.opened.get());
+        assertEquals(2, pool.getPreparedCount());
+
+        // With every connection lent out, borrowing waits for one to be returned.
+        ConnectionPool.Lease first = pool.borrow();
+        ConnectionPool.Lease second = pool.borrow();
+        assertEquals(2, pool.getOpenCount());
+        CompletableFuture<ConnectionPool.Lease> third = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.borrow();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(third.isDone());
+        Connection returned = first.getConnection();
+        first.close();
+        assertSame(returned, third.get(5, TimeUnit.SECONDS).getConnection());
+        assertThrows(IllegalStateException.class, first::getConnection);
+
+        // Uncommitted work is rolled back, and closed connections are replaced.
+        second.getConnection().setAutoCommit(false);
+        second.getConnection().createStatement().execute("INSERT INTO Theme (UserID, Theme) VALUES (1, 'dark.css')");
+        second.close();
+        third.get().getConnection().close();
+        third.get().close();
+        assertEquals(1, pool.getOpenCount());
+        try (ConnectionPool.Lease lease = pool.borrow()) {
+            assertTrue(lease.getConnection().getAutoCommit());
+            ResultSet themes = lease.getConnection().createStatement().executeQuery("SELECT COUNT(*) FROM Theme");
+            assertTrue(themes.next());
+            assertEquals(0, themes.getInt(1));
+        }
+        pool.close();
+        assertEquals(0, pool.getOpenCount());
+        assertThrows(SQLException.class, pool::borrow);
+
+        // A pool that kept no statements could never close the ones it prepares.
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool(() -> DriverManager.getConnection(this.url), 2, 0));
+    }
+
+    @Test
+    public void test002() {
+        AWSDatabase db = new AWSDatabase(this.newPool(2));
+        assertEquals(DatabaseAdapter.REGISTERED_SUCCESSFULLY, db.Register("ada", "secret", "Ada", "Lovelace"));
+        assertEquals(DatabaseAdapter.REGISTERED_DUP_USER, db.Register("ada", "other", "Ada", "Byron"));
+        assertEquals(DatabaseAdapter.REGISTERED_EMPTY_INPUT, db.Register("", "secret", "A", "B"));
+        assertNull(db.Login("ada", "wrong"));
+        assertNull(db.Login("nobody", "secret"));
+
+        UserObject user = db.Login("ada", "secret");
+        assertNotNull(user);
+        assertEquals("ada", user.getUserName());
+        assertEquals("teal.css", user.getTheme());
+        assertEquals("en", user.getLanguage());
+
+        db.UpdateSettings(user.getUserId(), "dark.css", "es");
+        user = db.Login("ada", "secret");
+        assertEquals("dark.css", user.getTheme());
+        assertEquals("es", user.getLanguage());
+
+        // History is written in batches and trimmed to the latest entries.
+        List<String> formulas = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            formulas.add("(A" + i + " & B)");
+        }
+        db.InsertQueries(user.getUserId(), formulas.subList(0, 11));
+        db.InsertQuery(user.getUserId(), formulas.get(11));
+        assertEquals(formulas.subList(2, 12), db.UpdateHistory(user.getUserId()));
+        assertNull(db.Login("ada", "secret").getHistory());
+        HistoryPage page = db.GetHistoryPage(user.getUserId(), HistoryPage.FIRST, 4);
+        assertEquals("(A11 & B)", page.getEntries().get(0).getFormula());
+        assertEquals(4, page.getEntries().size());
+        assertTrue(page.hasMore());
+
+        // Without a Results column, entries are stored without their results.
+        assertTrue(db.InsertEntries(user.getUserId(), List.of(new HistoryEntry("(E -> F)", "{}"))));
+        HistoryEntry entry = db.GetHistoryPage(user.getUserId(), HistoryPage.FIRST, 1).getEntries().get(0);
+        assertEquals("(E -> F)", entry.getFormula());
+        assertNull(db.GetHistoryEntry(user.getUserId(), entry.getQueryId()).getResults());
+        assertNull(db.GetHistoryEntry(user.getUserId() + 1, entry.getQueryId()));
+
+        // Running the same calls again prepares nothing new.
+        long prepared = db.getPool().getPreparedCount();
+        db.Login("ada", "secret");
+        db.UpdateSettings(user.getUserId(), "teal.css", "en");
+        db.InsertQuery(user.getUserId(), "(C | D)");
+        assertEquals(prepared, db.getPool().getPreparedCount());
+        assertTrue(this.opened.get() <= 2);
+    }
+
+    @Test
+    public void test003() throws Exception {
+        // Logins from many threads share the pool and do not block the caller.
+        AWSDatabase db = new AWSDatabase(this.newPool(2));
+        db.Register("grace", "cobol", "Grace", "Hopper");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DatabaseAdapter adapter = new DatabaseAdapter(db, executor);
+            List<CompletableFuture<UserObject>> logins = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                logins.add(adapter.loginAsync("grace", i % 2 == 0 ? "cobol" : "fortran"));
+            }
+            for (int i = 0; i < logins.size(); i++) {
+                UserObject user = logins.get(i).get(30, TimeUnit.SECONDS);
+                assertEquals(i % 2 == 0, user != null);
+            }
+            assertTrue(this.opened.get() <= 2);
+            assertEquals(DatabaseAdapter.REGISTERED_DUP_USER, (int) adapter.registerAsync("grace", "x", "G", "H").get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
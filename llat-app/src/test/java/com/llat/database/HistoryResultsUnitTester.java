@@ -0,0 +1,95 @@
+package com.llat.database;
+
+import com.llat.models.AlgorithmCache;
+import com.llat.models.AlgorithmType;
+import com.llat.models.LogicSetup;
+import com.llat.models.treenode.WffTree;
+import com.llat.server.ResultSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistoryResultsUnitTester {
+
+    @Test
+    public void test001() {
+        // The canonical form of a formula parses back to the same formula.
+        String[] inputs = {"((A & B) -> ~C)", "(A | B), ~A \u22A2 B", "(A & B), (B & A)", "(A -> B), (B -> C), ~C => ~A",
+                "(\u2200x)(Px -> Qx), Pa \u22A2 Qa", "~(\u2203x)(Fx & ~Gx)"};
+        for (String input : inputs) {
+            LinkedList<WffTree> wffTrees = HistoryResults.parse(input);
+            assertNotNull(wffTrees, input);
+            String canonical = HistoryEntry.canonicalFormula(wffTrees);
+            LinkedList<WffTree> parsed = HistoryResults.parse(canonical);
+            assertNotNull(parsed, canonical);
+            assertEquals(wffTrees.size(), parsed.size());
+            assertEquals(canonical, HistoryEntry.canonicalFormula(parsed));
+        }
+        assertNull(HistoryResults.parse("(A &"));
+        assertTrue(HistoryResults.decode(null).isEmpty());
+        assertTrue(HistoryResults.decode("not json").isEmpty());
+
+        // Results that are damaged are left out, and the others are still read.
+        String truthTable = "{\"wff\":\"(A & B)\",\"root\":true,\"n\":4,\"f\":1,\"v\":[\"FFFT\",\"FFFT\",\"FFTT\",\"FTFT\"]}";
+        String damaged = "{\"MAIN_OPERATOR_DETECTOR\":{\"tree\":{\"root\":true,\"n\":4,\"f\":1}},"
+                + "\"FREE_VARIABLE_DETECTOR\":{\"tree\":{\"wff\":\"(A & B)\",\"root\":true,\"n\":4,\"f\":1,\"h\":[7]}},"
+                + "\"TRUTH_TABLE_GENERATOR\":{\"value\":false,\"tree\":{\"wff\":\"(A & B)\",\"root\":true,\"n\":4,\"f\":1,\"v\":[\"FT\"]}},"
+                + "\"PROPOSITIONAL_TRUTH_TREE_GENERATOR\":{\"truthTree\":{\"w\":[\"(A & B)\",\"A\"],\"c\":\"10\",\"i\":[1],\"d\":[0,1],\"f\":[0,0]}},"
+                + "\"LOGICAL_TAUTOLOGY_DETERMINER\":\"true\","
+                + "\"LOGICAL_FALSEHOOD_DETERMINER\":{\"value\":false,\"tree\":" + truthTable + "}}";
+        Map<AlgorithmType, LogicSetup.LogicReturn> results = HistoryResults.decode(damaged);
+        assertEquals(Set.of(AlgorithmType.LOGICAL_FALSEHOOD_DETERMINER), results.keySet());
+    }
+
+    @Test
+    public void test002() {
+        // Every result that is stored reads back to the same result, trees included.
+        LogicSetup logicSetup = new LogicSetup(false);
+        String[] formulas = {"((A & B) -> (A | ~C))", "((P <-> Q) & ~(P -> Q))", "(\u2200x)(Px -> (\u2203y)Qxy)",
+                "~(\u2203x)(Fx & ~Gx)", "(A -> B), (B -> C)", "(A | B), ~A \u22A2 B", "(\u2200x)(Px -> Qx), Pa \u22A2 Qa"};
+        Set<AlgorithmType> mustDecode = Set.of(AlgorithmType.TRUTH_TABLE_GENERATOR, AlgorithmType.MAIN_OPERATOR_DETECTOR,
+                AlgorithmType.LOGICAL_TAUTOLOGY_DETERMINER, AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR,
+                AlgorithmType.PREDICATE_TRUTH_TREE_GENERATOR, AlgorithmType.FREE_VARIABLE_DETECTOR,
+                AlgorithmType.ARGUMENT_TRUTH_TREE_VALIDATOR);
+        int decoded = 0;
+        for (String formula : formulas) {
+            LinkedList<WffTree> wffTrees = HistoryResults.parse(formula);
+            String results = null;
+            for (AlgorithmType algorithm : AlgorithmType.values()) {
+                if (!AlgorithmCache.isCacheable(algorithm) || !logicSetup.isAvailable(algorithm, wffTrees)) {
+                    continue;
+                }
+                LogicSetup.LogicReturn result = logicSetup.detectAlgorithm(algorithm, wffTrees);
+                String single = HistoryResults.add(null, algorithm, result);
+                results = HistoryResults.add(results, algorithm, result);
+                LogicSetup.LogicReturn readBack = HistoryResults.decode(single).get(algorithm);
+                if (readBack == null) {
+                    assertFalse(mustDecode.contains(algorithm), formula + " " + algorithm);
+                    continue;
+                }
+                decoded++;
+                assertSame(result.getClass(), readBack.getClass());
+                assertEquals(single, HistoryResults.add(null, algorithm, readBack), formula + " " + algorithm);
+                assertEquals(ResultSerializer.serialize(result), ResultSerializer.serialize(readBack), formula + " " + algorithm);
+            }
+            Map<AlgorithmType, LogicSetup.LogicReturn> all = HistoryResults.decode(results);
+            assertFalse(all.isEmpty(), formula);
+        }
+        assertTrue(decoded > 30);
+
+        // Results read back are cache hits for the same formulas.
+        LogicSetup other = new LogicSetup(false);
+        LinkedList<WffTree> wffTrees = HistoryResults.parse("((A & B) -> (A | ~C))");
+        String results = HistoryResults.add(null, AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR,
+                logicSetup.detectAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR, wffTrees));
+        Map<AlgorithmType, LogicSetup.LogicReturn> restored = HistoryResults.decode(results);
+        other.restoreResults(HistoryResults.parse(HistoryEntry.canonicalFormula(wffTrees)), restored);
+        assertSame(restored.get(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR),
+                other.detectAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR, HistoryResults.parse("((A & B) -> (A | ~C))")));
+        assertEquals(1, other.getCacheStatistics().getHits());
+    }
+}
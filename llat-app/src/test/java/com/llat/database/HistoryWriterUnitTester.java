@@ -0,0 +1,129 @@
+package com.llat.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistoryWriterUnitTester {
+
+    private Path directory;
+
+    private FlakyDatabase db;
+
+    @BeforeEach
+    public void createDatabase() throws IOException {
+        this.directory = Files.createTempDirectory("llat-test");
+        this.db = new FlakyDatabase(this.directory.resolve("llat"));
+    }
+
+    @AfterEach
+    public void deleteDatabase() throws IOException {
+        this.db.close();
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void test001() throws Exception {
+        // A full batch is written right away, in one call per user, keeping the order of each user's entries.
+        try (HistoryWriter writer = new HistoryWriter(this.db, 4, 60_000)) {
+            writer.add(1, new HistoryEntry("(A -> B)", null));
+            writer.add(2, new HistoryEntry("(C & D)", null));
+            writer.add(1, new HistoryEntry("(B -> C)", "{}"));
+            assertEquals(3, writer.getPendingCount());
+            assertEquals(0, this.db.calls.get());
+
+            writer.add(1, new HistoryEntry("(C -> D)", null));
+            writer.flush().get();
+            assertEquals(2, this.db.calls.get());
+            assertEquals(4, writer.getWrittenCount());
+            assertEquals(0, writer.getPendingCount());
+            assertEquals(List.of("(C -> D)", "(B -> C)", "(A -> B)"), this.formulas(1));
+            assertEquals(List.of("(C & D)"), this.formulas(2));
+        }
+    }
+
+    @Test
+    public void test002() throws Exception {
+        // Entries that are not a full batch are written after the delay.
+        try (HistoryWriter writer = new HistoryWriter(this.db, 100, 50)) {
+            writer.add(1, new HistoryEntry("(A | B)", null));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (writer.getWrittenCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, writer.getWrittenCount());
+            assertEquals(List.of("(A | B)"), this.formulas(1));
+        }
+    }
+
+    @Test
+    public void test003() throws Exception {
+        // Entries that cannot be written stay queued ahead of newer ones, and the oldest are dropped when it is full.
+        HistoryWriter writer = new HistoryWriter(this.db, HistoryWriter.MAX_PENDING * 2, 60_000);
+        this.db.failing = true;
+        writer.add(1, new HistoryEntry("(A -> B)", null));
+        writer.add(1, new HistoryEntry("(B -> C)", null));
+        writer.flush().get();
+        assertEquals(2, writer.getPendingCount());
+        assertEquals(0, writer.getWrittenCount());
+
+        this.db.failing = false;
+        writer.add(1, new HistoryEntry("(C -> D)", null));
+        writer.flush().get();
+        assertEquals(3, writer.getWrittenCount());
+        assertEquals(List.of("(C -> D)", "(B -> C)", "(A -> B)"), this.formulas(1));
+
+        this.db.failing = true;
+        for (int i = 0; i < HistoryWriter.MAX_PENDING + 5; i++) {
+            writer.add(2, new HistoryEntry("(P" + i + " & Q)", null));
+        }
+        assertEquals(HistoryWriter.MAX_PENDING, writer.getPendingCount());
+        assertEquals(5, writer.getDroppedCount());
+
+        this.db.failing = false;
+        writer.close();
+        assertEquals(0, writer.getPendingCount());
+        assertEquals("(P5 & Q)", this.db.GetHistoryPage(2, HistoryPage.FIRST, HistoryWriter.MAX_PENDING).getEntries().get(HistoryWriter.MAX_PENDING - 1).getFormula());
+        assertThrows(IllegalStateException.class, () -> writer.add(1, new HistoryEntry("(A)", null)));
+    }
+
+    private List<String> formulas(int _userId) {
+        return this.db.GetHistoryPage(_userId, HistoryPage.FIRST, 100).getEntries().stream()
+                .map(HistoryEntry::getFormula).collect(Collectors.toList());
+    }
+
+    /**
+     * Local database that can be made to fail, like a server that cannot be reached.
+     */
+    private static final class FlakyDatabase extends LocalDatabase {
+
+        private volatile boolean failing = false;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private FlakyDatabase(Path _file) {
+            super(_file);
+        }
+
+        @Override
+        public boolean InsertEntries(int id, List<HistoryEntry> Entries) {
+            this.calls.incrementAndGet();
+            return !this.failing && super.InsertEntries(id, Entries);
+        }
+    }
+}
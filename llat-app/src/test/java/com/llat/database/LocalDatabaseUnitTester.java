@@ -0,0 +1,139 @@
+package com.llat.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalDatabaseUnitTester {
+
+    private Path directory;
+
+    @BeforeEach
+    public void createDirectory() throws IOException {
+        this.directory = Files.createTempDirectory("llat-test");
+    }
+
+    @AfterEach
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void test001() {
+        // Everything is kept in the file, so it is still there when it is opened again.
+        Path file = this.directory.resolve("data").resolve("llat");
+        int id;
+        try (LocalDatabase db = new LocalDatabase(file)) {
+            assertEquals(DatabaseAdapter.REGISTERED_SUCCESSFULLY, db.Register("alan", "enigma", "Alan", "Turing"));
+            assertEquals(DatabaseAdapter.REGISTERED_DUP_USER, db.Register("alan", "bombe", "Alan", "Turing"));
+            id = db.Login("alan", "enigma").getUserId();
+            db.UpdateSettings(id, "dark.css", "de");
+            db.InsertQueries(id, List.of("(A & B)", "(A | B)"));
+        }
+        try (LocalDatabase db = new LocalDatabase(file)) {
+            UserObject user = db.Login("alan", "enigma");
+            assertNotNull(user);
+            assertEquals(id, user.getUserId());
+            assertEquals("dark.css", user.getTheme());
+            assertEquals("de", user.getLanguage());
+            List<HistoryEntry> entries = db.GetHistoryPage(id, HistoryPage.FIRST, 10).getEntries();
+            assertEquals("(A | B)", entries.get(0).getFormula());
+            assertEquals("(A & B)", entries.get(1).getFormula());
+            assertNull(db.Login("alan", "bombe"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> DatabaseAdapter.openDatabase("floppy"));
+    }
+
+    @Test
+    public void test002() {
+        // Histories of many users come back in a few queries, each user's oldest first.
+        try (LocalDatabase db = new LocalDatabase(this.directory.resolve("llat"), 100)) {
+            List<Integer> ids = new ArrayList<>();
+            for (int id = 1; id <= 70; id++) {
+                List<String> formulas = new ArrayList<>();
+                for (int i = 0; i < id % 5; i++) {
+                    formulas.add("(P" + id + " → Q" + i + ")");
+                }
+                db.InsertQueries(id, formulas);
+                ids.add(id);
+            }
+            ids.add(3);
+            ids.add(1000);
+            Map<Integer, List<String>> histories = db.GetHistories(ids);
+            assertEquals(56, histories.size());
+            assertFalse(histories.containsKey(5));
+            assertFalse(histories.containsKey(1000));
+            assertEquals(List.of("(P69 → Q0)", "(P69 → Q1)", "(P69 → Q2)", "(P69 → Q3)"), histories.get(69));
+            assertEquals(histories.get(33), db.UpdateHistory(33));
+            assertTrue(db.GetHistories(List.of()).isEmpty());
+
+            // The history is trimmed to its size.
+            List<String> many = new ArrayList<>();
+            for (int i = 0; i < 150; i++) {
+                many.add("(R" + i + " ∨ S)");
+            }
+            db.InsertQueries(1, many);
+            assertEquals(many.subList(50, 150), db.UpdateHistory(1));
+            assertTrue(db.getPool().getOpenCount() <= 2);
+        }
+    }
+
+    @Test
+    public void test003() {
+        // Pages go from the newest entry to the oldest, and stay the same when entries are added in between.
+        try (LocalDatabase db = new LocalDatabase(this.directory.resolve("llat"))) {
+            List<HistoryEntry> entries = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                entries.add(new HistoryEntry("(A" + i + " -> B)", i % 2 == 0 ? "{\"MAIN_OPERATOR_DETECTOR\":{}}" : null));
+            }
+            assertTrue(db.InsertEntries(1, entries));
+            assertTrue(db.InsertEntries(2, List.of(new HistoryEntry("(C & D)", null))));
+
+            List<String> formulas = new ArrayList<>();
+            long cursor = HistoryPage.FIRST;
+            int pages = 0;
+            while (cursor != 0) {
+                HistoryPage page = db.GetHistoryPage(1, cursor, 10);
+                for (HistoryEntry entry : page.getEntries()) {
+                    assertTrue(entry.isStored());
+                    assertNull(entry.getResults());
+                    formulas.add(entry.getFormula());
+                }
+                if (pages == 0) {
+                    db.InsertEntries(1, List.of(new HistoryEntry("(Z -> B)", null)));
+                }
+                cursor = page.getCursor();
+                pages++;
+            }
+            assertEquals(3, pages);
+            assertEquals(25, formulas.size());
+            assertEquals("(A24 -> B)", formulas.get(0));
+            assertEquals("(A0 -> B)", formulas.get(24));
+
+            HistoryPage page = db.GetHistoryPage(1, HistoryPage.FIRST, 30);
+            assertFalse(page.hasMore());
+            assertEquals("(Z -> B)", page.getEntries().get(0).getFormula());
+            HistoryEntry oldest = page.getEntries().get(25);
+            assertEquals("{\"MAIN_OPERATOR_DETECTOR\":{}}", db.GetHistoryEntry(1, oldest.getQueryId()).getResults());
+            assertNull(db.GetHistoryEntry(1, page.getEntries().get(24).getQueryId()).getResults());
+            assertNull(db.GetHistoryEntry(2, oldest.getQueryId()));
+            assertEquals("(C & D)", db.GetHistoryPage(2, HistoryPage.FIRST, 10).getEntries().get(0).getFormula());
+            assertThrows(IllegalArgumentException.class, () -> db.GetHistoryPage(1, HistoryPage.FIRST, 0));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.llat.models;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.propositional.TexTablePrinter;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.WffTree;
+import com.llat.tools.EventBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedList;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlgorithmCacheUnitTester {
+
+    @AfterEach
+    public void tearDown() {
+        EventBus.resetListeners();
+    }
+
+    @Test
+    public void test001() {
+        // Running the same algorithm on the same text twice is a hit, even across parses.
+        LogicSetup logicSetup = new LogicSetup();
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("((A & B) -> (C | ~A))"));
+        LogicSetup.LogicReturn first = logicSetup.detectAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR);
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("((A & B) -> (C | ~A))"));
+        LogicSetup.LogicReturn second = logicSetup.detectAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR);
+        assertSame(first, second);
+        assertEquals(1, logicSetup.getCacheStatistics().getHits());
+        assertEquals(1, logicSetup.getCacheStatistics().getMisses());
+    }
+
+    @Test
+    public void test002() {
+        // Different algorithms and different formulas are different entries.
+        LogicSetup logicSetup = new LogicSetup();
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("(A -> B)"));
+        logicSetup.detectAlgorithm(AlgorithmType.TRUTH_TABLE_GENERATOR);
+        logicSetup.detectAlgorithm(AlgorithmType.MAIN_OPERATOR_DETECTOR);
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("(A -> C)"));
+        logicSetup.detectAlgorithm(AlgorithmType.TRUTH_TABLE_GENERATOR);
+        assertEquals(0, logicSetup.getCacheStatistics().getHits());
+        assertEquals(3, logicSetup.getCacheStatistics().getSize());
+    }
+
+    @Test
+    public void test003() {
+        // The result is computed on a copy, so the input tree is left alone.
+        LogicSetup logicSetup = new LogicSetup();
+        LinkedList<WffTree> trees = LLATParserAdapter.getAbstractSyntaxTree("((A | B) & C)");
+        logicSetup.setWffTree(trees);
+        LogicSetup.LogicReturn logicReturn = logicSetup.detectAlgorithm(AlgorithmType.TRUTH_TABLE_GENERATOR);
+        assertNotSame(trees.get(0), ((LogicSetup.LogicTruthAndParseTree) logicReturn).getWffTree());
+        assertTrue(trees.get(0).getChild(0).getTruthValues().isEmpty());
+        assertEquals(8, ((LogicSetup.LogicTruthAndParseTree) logicReturn).getWffTree().getChild(0).getTruthValues().size());
+    }
+
+    @Test
+    public void test004() {
+        // The least recently used entry is evicted once the cache is over its weight.
+        LinkedList<WffTree> a = LLATParserAdapter.getAbstractSyntaxTree("((A & B) | (C & D))");
+        LinkedList<WffTree> b = LLATParserAdapter.getAbstractSyntaxTree("((A & B) | (C & E))");
+        AlgorithmCache cache = new AlgorithmCache(12);
+        cache.computeIfAbsent(a, AlgorithmType.MAIN_OPERATOR_DETECTOR, () -> new LogicSetup.LogicTree(a.get(0)));
+        cache.computeIfAbsent(b, AlgorithmType.MAIN_OPERATOR_DETECTOR, () -> new LogicSetup.LogicTree(b.get(0)));
+        assertEquals(1, cache.getStatistics().getEvictions());
+        assertNull(cache.get(a, AlgorithmType.MAIN_OPERATOR_DETECTOR));
+        assertNotNull(cache.get(b, AlgorithmType.MAIN_OPERATOR_DETECTOR));
+    }
+
+    @Test
+    public void test005() {
+        // A cancelled or timed out computation is not stored.
+        LinkedList<WffTree> a = LLATParserAdapter.getAbstractSyntaxTree("(A & B)");
+        AlgorithmCache cache = new AlgorithmCache();
+        assertThrows(CancellationException.class, () -> cache.computeIfAbsent(a, AlgorithmType.MAIN_OPERATOR_DETECTOR, () -> {
+            throw new CancellationException();
+        }));
+        cache.computeIfAbsent(a, AlgorithmType.MAIN_OPERATOR_DETECTOR, () -> {
+            AlgorithmProgress.current().reportError("Timeout error: cannot compute a truth tree this complex.");
+            return new LogicSetup.LogicTree(a.get(0));
+        });
+        assertEquals(0, cache.getStatistics().getSize());
+        assertEquals(1, AlgorithmProgress.current().drainErrors().size());
+    }
+
+    @Test
+    public void test006() {
+        // Exporting a truth tree that was just generated reuses it.
+        LogicSetup logicSetup = new LogicSetup();
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("((A -> B) & ~B)"));
+        LogicSetup.LogicReturn logicReturn = logicSetup.detectAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR);
+        WffTree outputTree = ((LogicSetup.LogicParseAndTruthTree) logicReturn).getWffTree();
+        TruthTree truthTree = logicSetup.getTruthTree(outputTree);
+        assertSame(((LogicSetup.LogicParseAndTruthTree) logicReturn).getTruthTree(), truthTree);
+    }
+
+    @Test
+    public void test007() throws Exception {
+        // The exports look results up by formula, whatever result was on screen, and
+        // printing a cached truth table leaves it as it was.
+        LogicSetup logicSetup = new LogicSetup();
+        LinkedList<WffTree> wffTrees = LLATParserAdapter.getAbstractSyntaxTree("((A -> B) & ~B)");
+        logicSetup.setWffTree(wffTrees);
+        LogicSetup.LogicReturn truthTable = logicSetup.detectAlgorithm(AlgorithmType.TRUTH_TABLE_GENERATOR);
+        logicSetup.detectAlgorithm(AlgorithmType.MAIN_OPERATOR_DETECTOR);
+        WffTree cached = logicSetup.getTruthTable(wffTrees.get(0));
+        assertSame(((LogicSetup.LogicTruthAndParseTree) truthTable).getWffTree(), cached);
+
+        String column = cached.getChild(0).getTruthValues().toString();
+        Path file = Files.createTempFile("llat-test", ".tex");
+        try {
+            new TexTablePrinter(cached, file.toString(), true).outputToFile();
+            assertTrue(Files.readString(file).contains("\\begin{tabular}"));
+        } finally {
+            Files.delete(file);
+        }
+        assertEquals(column, cached.getChild(0).getTruthValues().toString());
+
+        LogicSetup.LogicReturn truthTree = logicSetup.detectAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR);
+        assertSame(((LogicSetup.LogicParseAndTruthTree) truthTree).getTruthTree(), logicSetup.getTruthTree(wffTrees.get(0)));
+
+        // A formula with too many atoms has no truth table.
+        String tooLarge = "A";
+        for (char atom = 'B'; atom <= 'P'; atom++) {
+            tooLarge = "(" + tooLarge + " & " + atom + ")";
+        }
+        assertNull(logicSetup.getTruthTable(LLATParserAdapter.getAbstractSyntaxTree(tooLarge).get(0)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.llat.models;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.input.LLATParserAdapter;
+import com.llat.tools.EventBus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlgorithmTaskUnitTester {
+
+    @AfterEach
+    public void tearDown() {
+        EventBus.resetListeners();
+    }
+
+    @Test
+    public void test001() throws Exception {
+        // Running an algorithm on its own thread gives the same result as running it inline.
+        LogicSetup logicSetup = new LogicSetup();
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("((A & B) -> (C | ~A))"));
+        AlgorithmTask task = logicSetup.runAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR);
+        LogicSetup.LogicReturn logicReturn = task.getFuture().get(10, TimeUnit.SECONDS);
+        assertTrue(logicReturn instanceof LogicSetup.LogicParseAndTruthTree);
+        assertNotNull(((LogicSetup.LogicParseAndTruthTree) logicReturn).getTruthTree());
+        assertFalse(task.isCancelled());
+    }
+
+    @Test
+    public void test002() throws Exception {
+        // Cancelling stops the algorithm at its next progress report.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        AlgorithmTask task = AlgorithmTask.submit(AlgorithmType.TRUTH_TABLE_GENERATOR, () -> {
+            started.countDown();
+            try {
+                while (true) {
+                    AlgorithmProgress.current().step();
+                }
+            } finally {
+                stopped.countDown();
+            }
+        }, executor);
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        task.cancel();
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertTrue(task.isCancelled());
+        assertTrue(task.getProgress().getNodesExpanded() > 0);
+        assertThrows(CancellationException.class, () -> task.getFuture().join());
+        executor.shutdown();
+    }
+
+    @Test
+    public void test003() throws Exception {
+        // The truth tree generators report their progress.
+        LogicSetup logicSetup = new LogicSetup();
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("(((A | B) & (C | D)) & ((E | F) & (G | H)))"));
+        AlgorithmTask task = logicSetup.runAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR);
+        task.getFuture().get(10, TimeUnit.SECONDS);
+        assertTrue(task.getProgress().getNodesExpanded() > 0);
+        assertTrue(task.getProgress().getOpenBranches() > 0);
+    }
+
+    @Test
+    public void test004() throws Exception {
+        // An export waits for the algorithm that is running and reports its errors to a progress of its own.
+        LogicSetup logicSetup = new LogicSetup();
+        logicSetup.setWffTree(LLATParserAdapter.getAbstractSyntaxTree("(((A | B) & (C | D)) & ((E | F) & (G | H)))"));
+        AlgorithmTask algorithm = logicSetup.runAlgorithm(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR);
+        AlgorithmTask export = logicSetup.runExport(AlgorithmType.PROPOSITIONAL_TRUTH_TREE_GENERATOR, () -> {
+            assertTrue(algorithm.getFuture().isDone());
+            AlgorithmProgress.current().reportError("cut off");
+        });
+        assertTrue(export.getFuture().get(10, TimeUnit.SECONDS) instanceof LogicSetup.LogicVoid);
+        assertNull(export.getWffTrees());
+        assertEquals(1, export.getProgress().getErrorCount());
+        assertEquals(0, algorithm.getProgress().getErrorCount());
+    }
+}
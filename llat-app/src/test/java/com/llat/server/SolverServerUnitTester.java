@@ -0,0 +1,246 @@
+package com.llat.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverServerUnitTester {
+
+    private SolverServer solverServer;
+
+    /**
+     * Starts a server on a free port.
+     */
+    private void start(int _workers, int _queueCapacity) throws IOException {
+        this.solverServer = new SolverServer(0, _workers, _queueCapacity);
+        this.solverServer.start();
+    }
+
+    @AfterEach
+    public void stop() {
+        if (this.solverServer != null) {
+            this.solverServer.stop();
+        }
+    }
+
+    /**
+     * Sends a request to the server and reads the response, whatever its status.
+     *
+     * @return JSON object with the status in "code" and the response in "body".
+     */
+    private JsonObject send(String _method, String _path, String _body) throws IOException {
+        URL url = new URL("http://localhost:" + this.solverServer.getPort() + _path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(_method);
+        if (_body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(_body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int code = connection.getResponseCode();
+        try (InputStream in = code >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+            JsonObject json = new JsonObject();
+            json.addProperty("code", code);
+            json.add("body", JsonParser.parseString(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            return json;
+        }
+    }
+
+    private JsonObject post(String _path, String _body) throws IOException {
+        return this.send("POST", _path, _body);
+    }
+
+    /**
+     * @return a propositional formula over the first _atoms letters, whose truth
+     * table takes a while to build.
+     */
+    private static String bigFormula(int _atoms, String _operator) {
+        StringBuilder formula = new StringBuilder("A");
+        for (int i = 1; i < _atoms; i++) {
+            formula.insert(0, "(").append(" ").append(_operator).append(" ").append((char) ('A' + i)).append(")");
+        }
+        return formula.toString();
+    }
+
+    @Test
+    public void test001() throws IOException {
+        // Parsing returns one compact tree per formula.
+        this.start(1, 4);
+        JsonObject response = this.post("/parse", "{\"formula\": \"(A -> B), A ⊢ B\"}");
+        assertEquals(200, response.get("code").getAsInt());
+        JsonArray trees = response.getAsJsonObject("body").getAsJsonArray("trees");
+        assertEquals(3, trees.size());
+        assertEquals("ROOT", trees.get(0).getAsJsonObject().get("t").getAsString());
+        assertEquals("IMP", trees.get(0).getAsJsonObject().getAsJsonArray("c").get(0).getAsJsonObject().get("t").getAsString());
+        assertTrue(trees.get(0).getAsJsonObject().has("wff"));
+    }
+
+    @Test
+    public void test002() throws IOException {
+        // A truth table comes back as a column of values on every node.
+        this.start(1, 4);
+        JsonObject response = this.post("/truth-table", "{\"formula\": \"(A & B)\"}");
+        assertEquals(200, response.get("code").getAsInt());
+        JsonObject body = response.getAsJsonObject("body");
+        assertEquals("TRUTH_TABLE_GENERATOR", body.get("algorithm").getAsString());
+        JsonObject and = body.getAsJsonObject("result").getAsJsonObject("tree").getAsJsonArray("c").get(0).getAsJsonObject();
+        assertEquals(4, and.get("v").getAsString().length());
+        assertEquals(1, and.get("v").getAsString().chars().filter((_c) -> _c == 'T').count());
+    }
+
+    @Test
+    public void test003() throws IOException {
+        // Validity, natural deduction and truth trees.
+        this.start(2, 4);
+        JsonObject valid = this.post("/validity", "{\"formula\": \"(A -> B), A ⊢ B\"}").getAsJsonObject("body");
+        assertTrue(valid.getAsJsonObject("result").get("value").getAsBoolean());
+        assertTrue(valid.getAsJsonObject("result").has("truthTree"));
+        JsonObject invalid = this.post("/validity", "{\"formula\": \"(A -> B), B ⊢ A\"}").getAsJsonObject("body");
+        assertFalse(invalid.getAsJsonObject("result").get("value").getAsBoolean());
+
+        JsonObject proof = this.post("/nd", "{\"formula\": \"(A -> B), A ⊢ B\"}").getAsJsonObject("body");
+        assertTrue(proof.getAsJsonObject("result").get("value").getAsBoolean());
+        JsonArray lines = proof.getAsJsonObject("result").getAsJsonArray("proof");
+        boolean modusPonens = false;
+        for (JsonElement line : lines) {
+            modusPonens |= line.getAsJsonObject().get("step").getAsString().equals("MP");
+        }
+        assertTrue(modusPonens, lines.toString());
+
+        JsonObject truthTree = this.post("/truth-tree", "{\"formula\": \"(A | B)\"}").getAsJsonObject("body");
+        JsonObject root = truthTree.getAsJsonObject("result").getAsJsonObject("truthTree");
+        assertTrue(root.has("l") && root.has("r"));
+    }
+
+    @Test
+    public void test004() throws IOException {
+        // Bad requests are answered with an error instead of a result.
+        this.start(1, 4);
+        assertEquals(400, this.post("/truth-table", "{\"formula\": \"(A & \"}").get("code").getAsInt());
+        assertEquals(400, this.post("/truth-table", "not json").get("code").getAsInt());
+        assertEquals(400, this.post("/validity", "{\"formula\": \"A\"}").get("code").getAsInt());
+        assertEquals(400, this.post("/solve", "{\"formula\": \"A\", \"algorithm\": \"NOPE\"}").get("code").getAsInt());
+        assertEquals(404, this.post("/nope", "{\"formula\": \"A\"}").get("code").getAsInt());
+        assertEquals(405, this.send("GET", "/parse", null).get("code").getAsInt());
+    }
+
+    @Test
+    public void test005() throws IOException {
+        // A batch answers every request in order, including the ones that fail.
+        this.start(2, 16);
+        String batch = "{\"requests\": ["
+                + "{\"endpoint\": \"truth-table\", \"formula\": \"(A | ~A)\"},"
+                + "{\"algorithm\": \"MAIN_OPERATOR_DETECTOR\", \"formula\": \"((A & B) -> C)\"},"
+                + "{\"endpoint\": \"truth-table\", \"formula\": \"((\"},"
+                + "{\"endpoint\": \"parse\", \"formula\": \"A, B\"}]}";
+        JsonObject response = this.post("/batch", batch);
+        assertEquals(200, response.get("code").getAsInt());
+        JsonArray results = response.getAsJsonObject("body").getAsJsonArray("results");
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).getAsJsonObject().getAsJsonObject("result").get("value").getAsBoolean());
+        JsonObject mainOperator = results.get(1).getAsJsonObject().getAsJsonObject("result").getAsJsonObject("tree")
+                .getAsJsonArray("c").get(0).getAsJsonObject();
+        assertEquals("IMP", mainOperator.get("t").getAsString());
+        assertTrue(mainOperator.get("h").getAsBoolean());
+        assertEquals(400, results.get(2).getAsJsonObject().get("status").getAsInt());
+        assertEquals(2, results.get(3).getAsJsonObject().getAsJsonArray("trees").size());
+    }
+
+    @Test
+    public void test006() throws IOException {
+        // With one worker and one queue slot, the rest of a burst is turned away.
+        this.start(1, 1);
+        StringBuilder batch = new StringBuilder("{\"requests\": [");
+        for (int i = 0; i < 8; i++) {
+            batch.append(i == 0 ? "" : ",").append("{\"endpoint\": \"truth-table\", \"formula\": \"")
+                    .append(SolverServerUnitTester.bigFormula(12, "&")).append("\"}");
+        }
+        batch.append("], \"budgetMillis\": 30000}");
+        JsonArray results = this.post("/batch", batch.toString()).getAsJsonObject("body").getAsJsonArray("results");
+        int solved = 0;
+        int rejected = 0;
+        for (JsonElement result : results) {
+            if (result.getAsJsonObject().has("result")) {
+                solved++;
+            } else if (result.getAsJsonObject().get("status").getAsInt() == 503) {
+                rejected++;
+            }
+        }
+        assertTrue(solved >= 1);
+        assertTrue(rejected >= 1);
+        JsonObject status = this.send("GET", "/status", null).getAsJsonObject("body");
+        assertEquals(rejected, status.get("rejected").getAsInt());
+    }
+
+    @Test
+    public void test007() throws IOException {
+        // An algorithm that runs past its budget is cancelled and answered with 504.
+        this.start(1, 4);
+        JsonObject response = this.post("/truth-table", "{\"formula\": \"" + SolverServerUnitTester.bigFormula(14, "|")
+                + "\", \"budgetMillis\": 1}");
+        assertEquals(504, response.get("code").getAsInt());
+        assertEquals(1, this.send("GET", "/status", null).getAsJsonObject("body").get("timedOut").getAsInt());
+    }
+
+    @Test
+    public void test008() throws IOException {
+        // The metrics of the algorithms can be read as JSON and scraped as Prometheus text.
+        this.start(1, 4);
+        assertEquals(200, this.post("/truth-table", "{\"formula\": \"(A & ~B)\"}").get("code").getAsInt());
+        JsonObject metrics = this.send("GET", "/metrics.json", null).getAsJsonObject("body");
+        assertTrue(metrics.getAsJsonObject("llat_parse_seconds").get("count").getAsLong() > 0);
+        assertTrue(metrics.get("llat_truth_table_rows_total").getAsLong() >= 4);
+
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + this.solverServer.getPort() + "/metrics").openConnection();
+        assertEquals(200, connection.getResponseCode());
+        assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+        try (InputStream in = connection.getInputStream()) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(text.contains("# TYPE llat_truth_table_seconds histogram\n"), text);
+            assertTrue(text.contains("llat_truth_table_seconds_bucket{le=\"+Inf\"} "), text);
+        }
+    }
+
+    @Test
+    public void test009() throws Exception {
+        // Requests that build the same truth tree at once get the same response as one on its own.
+        String request = "{\"formula\": \"((((A | B) & (C | D)) & ((E | F) & (G | H))) & ~((A & C) | (B & D)))\"}";
+        this.start(1, 4);
+        String expected = this.post("/truth-tree", request).getAsJsonObject("body").get("result").toString();
+        this.solverServer.stop();
+
+        // A new server, so the requests do not find the tree in the cache.
+        this.start(8, 64);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JsonObject>> responses = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                responses.add(clients.submit(() -> this.post("/truth-tree", request)));
+            }
+            for (Future<JsonObject> response : responses) {
+                assertEquals(200, response.get().get("code").getAsInt());
+                assertEquals(expected, response.get().getAsJsonObject("body").get("result").toString());
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+}
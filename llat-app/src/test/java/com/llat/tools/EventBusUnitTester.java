@@ -0,0 +1,166 @@
+package com.llat.tools;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBusUnitTester {
+
+    private static class FirstEvent implements Event {
+        private final int number;
+
+        private FirstEvent(int _number) {
+            this.number = _number;
+        }
+    }
+
+    private static class SecondEvent implements Event {
+    }
+
+    private interface TaggedEvent extends Event {
+    }
+
+    private static class ThirdEvent extends SecondEvent implements TaggedEvent {
+    }
+
+    @AfterEach
+    public void tearDown() {
+        EventBus.resetListeners();
+    }
+
+    @Test
+    public void test001() {
+        // Typed subscriptions only see their own events.
+        List<Event> first = new ArrayList<>();
+        List<Event> second = new ArrayList<>();
+        EventBus.subscribe(FirstEvent.class, first::add, EventBus.CALLER_EXECUTOR);
+        EventBus.subscribe(SecondEvent.class, second::add, EventBus.CALLER_EXECUTOR);
+        EventBus.throwEvent(new FirstEvent(0));
+        EventBus.throwEvent(new SecondEvent());
+        EventBus.throwEvent(new FirstEvent(1));
+        assertEquals(2, first.size());
+        assertEquals(1, second.size());
+    }
+
+    @Test
+    public void test002() {
+        // Listeners see every event, and removing them stops delivery.
+        List<Event> events = new ArrayList<>();
+        Listener listener = events::add;
+        EventBus.addListener(listener, EventBus.CALLER_EXECUTOR);
+        EventBus.throwEvent(new FirstEvent(0));
+        EventBus.throwEvent(new SecondEvent());
+        EventBus.removeListener(listener);
+        EventBus.throwEvent(new SecondEvent());
+        assertEquals(2, events.size());
+        assertTrue(EventBus.getListeners().isEmpty());
+    }
+
+    @Test
+    public void test003() throws InterruptedException {
+        // A worker executor runs off the calling thread, in the order the events were thrown.
+        int count = 1000;
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(count);
+        Executor worker = EventBus.newWorkerExecutor();
+        EventBus.subscribe(FirstEvent.class, (_event) -> {
+            order.add(_event.number);
+            threads.add(Thread.currentThread());
+            latch.countDown();
+        }, worker);
+
+        for (int i = 0; i < count; i++) {
+            EventBus.throwEvent(new FirstEvent(i));
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, order.get(i));
+        }
+        assertFalse(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void test004() {
+        // Without a running toolkit, the FX executor runs handlers inline.
+        List<Event> events = new ArrayList<>();
+        EventBus.subscribe(SecondEvent.class, events::add);
+        EventBus.throwEvent(new SecondEvent());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void test005() throws InterruptedException {
+        // Subscribing while another thread throws events must not fail.
+        Thread thrower = new Thread(() -> {
+            for (int i = 0; i < 10000; i++) {
+                EventBus.throwEvent(new SecondEvent());
+            }
+        });
+        thrower.start();
+        for (int i = 0; i < 500; i++) {
+            Subscription s = EventBus.subscribe(SecondEvent.class, (_event) -> {
+            }, EventBus.CALLER_EXECUTOR);
+            s.unsubscribe();
+        }
+        thrower.join();
+    }
+
+    @Test
+    public void test006() {
+        // Events are routed through their superclasses and interfaces.
+        List<Event> second = new ArrayList<>();
+        List<Event> tagged = new ArrayList<>();
+        List<Event> all = new ArrayList<>();
+        EventBus.subscribe(SecondEvent.class, second::add, EventBus.CALLER_EXECUTOR);
+        EventBus.subscribe(TaggedEvent.class, tagged::add, EventBus.CALLER_EXECUTOR);
+        EventBus.subscribe(Event.class, all::add, EventBus.CALLER_EXECUTOR);
+        EventBus.throwEvent(new ThirdEvent());
+        EventBus.throwEvent(new SecondEvent());
+        EventBus.throwEvent(new FirstEvent(0));
+        assertEquals(2, second.size());
+        assertEquals(1, tagged.size());
+        assertEquals(3, all.size());
+    }
+
+    @Test
+    public void test007() {
+        // A listener only receives the types of events it declares.
+        List<Event> events = new ArrayList<>();
+        Listener listener = events::add;
+        EventBus.addListener(listener, EventBus.CALLER_EXECUTOR, FirstEvent.class, TaggedEvent.class);
+        EventBus.throwEvent(new FirstEvent(0));
+        EventBus.throwEvent(new SecondEvent());
+        EventBus.throwEvent(new ThirdEvent());
+        assertEquals(2, events.size());
+
+        // No types at all is a mistake, not a listener for every event.
+        @SuppressWarnings("unchecked")
+        Class<? extends Event>[] noTypes = (Class<? extends Event>[]) new Class<?>[0];
+        assertThrows(IllegalArgumentException.class, () -> EventBus.addListener(listener, EventBus.CALLER_EXECUTOR, noTypes));
+    }
+
+    @Test
+    public void test008() {
+        // Subscribing after an event class has been routed must still reach the new handler.
+        List<Event> first = new ArrayList<>();
+        List<Event> second = new ArrayList<>();
+        Subscription s = EventBus.subscribe(SecondEvent.class, first::add, EventBus.CALLER_EXECUTOR);
+        EventBus.throwEvent(new SecondEvent());
+        EventBus.subscribe(SecondEvent.class, second::add, EventBus.CALLER_EXECUTOR);
+        EventBus.throwEvent(new SecondEvent());
+        s.unsubscribe();
+        EventBus.throwEvent(new SecondEvent());
+        assertEquals(2, first.size());
+        assertEquals(2, second.size());
+    }
+}
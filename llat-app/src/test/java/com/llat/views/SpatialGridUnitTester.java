@@ -0,0 +1,58 @@
+package com.llat.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialGridUnitTester {
+
+    @Test
+    public void test001() {
+        SpatialGrid<String> grid = new SpatialGrid<>(10);
+        assertNull(grid.getBounds());
+        grid.add("a", 0, 0, 5, 5);
+        grid.add("b", 20, 20, 5, 5);
+        // Spans many cells, but is only visited once.
+        grid.add("wide", -100, 2, 300, 1);
+        grid.add("over a", 2, 2, 2, 2);
+
+        List<String> found = new ArrayList<>();
+        grid.query(-1, -1, 8, 8, found::add);
+        found.sort(null);
+        assertEquals(List.of("a", "over a", "wide"), found);
+
+        found.clear();
+        grid.query(30, 30, 10, 10, found::add);
+        assertTrue(found.isEmpty());
+
+        // The item added last is on top.
+        assertEquals("over a", grid.find(3, 3));
+        assertEquals("a", grid.find(1, 4));
+        assertEquals("b", grid.find(21, 21));
+        assertNull(grid.find(50, 50));
+        assertArrayEquals(new double[]{-100, 0, 200, 25}, grid.getBounds());
+        assertThrows(IllegalArgumentException.class, () -> new SpatialGrid<>(0));
+    }
+
+    @Test
+    public void test002() {
+        // A wide tree: a viewport's worth of nodes is found the same, whether it is looked at
+        // up close or from far enough out that it covers more cells than are occupied.
+        SpatialGrid<Integer> grid = new SpatialGrid<>(128);
+        for (int i = 0; i < 100_000; i++) {
+            grid.add(i, (i % 1000) * 60, (i / 1000) * 40, 50, 12);
+        }
+        assertEquals(100_000, grid.size());
+        int[] count = new int[1];
+        grid.query(0, 0, 800, 590, (_i) -> count[0]++);
+        // 14 columns (the one at 780 overlaps) by 15 rows.
+        assertEquals(14 * 15, count[0]);
+
+        count[0] = 0;
+        grid.query(-1e9, -1e9, 2e9, 2e9, (_i) -> count[0]++);
+        assertEquals(100_000, count[0]);
+    }
+}
@@ -0,0 +1,51 @@
+package com.llat.views.interpreters;
+
+import com.llat.database.UserObject;
+import com.llat.tools.EventBus;
+import com.llat.views.events.LoginFailEvent;
+import com.llat.views.events.LoginSuccessEvent;
+import javafx.scene.control.MenuItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileMenuInterpreterUnitTester {
+
+    @AfterEach
+    public void tearDown() {
+        EventBus.resetListeners();
+    }
+
+    @Test
+    public void test001() throws Exception {
+        // The saved user is logged in after the menu is built, like at startup, and
+        // the menu then shows Logout instead of Login and Register.
+        AtomicReference<UserObject> user = new AtomicReference<>();
+        MenuItem loginItem = new MenuItem("Login");
+        MenuItem registerItem = new MenuItem("Register");
+        MenuItem logoutItem = new MenuItem("Logout");
+        new FileMenuInterpreter(user::get, loginItem, registerItem, logoutItem);
+        assertTrue(loginItem.isVisible());
+        assertTrue(registerItem.isVisible());
+        assertFalse(logoutItem.isVisible());
+
+        CompletableFuture.supplyAsync(() -> new UserObject("user", "password")).thenAccept((_user) -> {
+            user.set(_user);
+            EventBus.throwEvent(new LoginSuccessEvent());
+        }).get();
+        assertFalse(loginItem.isVisible());
+        assertFalse(registerItem.isVisible());
+        assertTrue(logoutItem.isVisible());
+
+        // Saved credentials that are no longer valid leave the user logged out.
+        user.set(null);
+        EventBus.throwEvent(new LoginFailEvent());
+        assertTrue(loginItem.isVisible());
+        assertTrue(registerItem.isVisible());
+        assertFalse(logoutItem.isVisible());
+    }
+}
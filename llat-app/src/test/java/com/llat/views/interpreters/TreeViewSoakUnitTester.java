@@ -0,0 +1,154 @@
+package com.llat.views.interpreters;
+
+import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.input.LLATParserAdapter;
+import com.llat.input.events.UnsolvedFormulaEvent;
+import com.llat.models.events.UpdateViewParseTreeEvent;
+import com.llat.models.events.UpdateViewTruthTreeEvent;
+import com.llat.models.treenode.WffTree;
+import com.llat.views.TreeCanvas;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreeViewSoakUnitTester {
+
+    /**
+     * Number of formulas rendered by each view.
+     */
+    private static final int RENDERS = 10_000;
+
+    /**
+     * Renders before the heap is first measured, so the layout caches are full.
+     */
+    private static final int WARM_UP = 1_000;
+
+    /**
+     * Most the heap may grow from the warm-up to the end.
+     */
+    private static final long MAX_HEAP_GROWTH = 32L << 20;
+
+    /**
+     * @return the i-th of a family of formulas over five atoms, with three shapes.
+     */
+    private static String formula(int _i) {
+        char p = (char) ('A' + _i % 5);
+        char q = (char) ('A' + (_i / 5) % 5);
+        char r = (char) ('A' + (_i / 25) % 5);
+        switch (_i % 3) {
+            case 0:
+                return "((" + p + " ∨ " + q + ") & ~" + r + ")";
+            case 1:
+                return "((" + p + " → " + q + ") ↔ (~" + q + " → ~" + r + "))";
+            default:
+                return "(" + p + " & (" + q + " ∨ ~(" + r + " & " + p + ")))";
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    /**
+     * Counts the listeners on a property of a node, e.g. the width of a view's pane.
+     * JavaFX has no API for it, so this reads the ExpressionHelper it keeps them in,
+     * which the surefire configuration opens to the tests.
+     */
+    private static int listeners(ReadOnlyDoubleProperty _property) throws ReflectiveOperationException {
+        Class<?> type = _property.getClass();
+        Field helperField = null;
+        while (helperField == null) {
+            try {
+                helperField = type.getDeclaredField("helper");
+            } catch (NoSuchFieldException ex) {
+                type = type.getSuperclass();
+            }
+        }
+        helperField.setAccessible(true);
+        Object helper = helperField.get(_property);
+        if (helper == null) {
+            return 0;
+        }
+        Class<?> helperType = helper.getClass();
+        if (!helperType.getSimpleName().equals("Generic")) {
+            // SingleInvalidation or SingleChange.
+            return 1;
+        }
+        Field invalidationSize = helperType.getDeclaredField("invalidationSize");
+        Field changeSize = helperType.getDeclaredField("changeSize");
+        invalidationSize.setAccessible(true);
+        changeSize.setAccessible(true);
+        return invalidationSize.getInt(helper) + changeSize.getInt(helper);
+    }
+
+    private static void checkSubscriptions(Pane _parent) throws ReflectiveOperationException {
+        assertEquals(1, _parent.getChildren().size());
+        assertEquals(1, TreeViewSoakUnitTester.listeners(_parent.widthProperty()));
+        assertEquals(1, TreeViewSoakUnitTester.listeners(_parent.heightProperty()));
+    }
+
+    @Test
+    public void test001() throws ReflectiveOperationException {
+        // The views render every formula through their interpreters, and whatever a
+        // render subscribes to is let go by the next one.
+        Pane truthTreePane = new Pane();
+        Pane parseTreePane = new Pane();
+        TruthTreeInterpreter truthTrees = new TruthTreeInterpreter(null, truthTreePane);
+        ParseTreeInterpreter parseTrees = new ParseTreeInterpreter(null, parseTreePane);
+        TreeCanvas truthTreeCanvas = (TreeCanvas) truthTreePane.getChildren().get(0);
+        TreeCanvas parseTreeCanvas = (TreeCanvas) parseTreePane.getChildren().get(0);
+
+        long warmHeap = 0;
+        for (int i = 0; i < RENDERS; i++) {
+            if (i == WARM_UP) {
+                warmHeap = TreeViewSoakUnitTester.usedHeap();
+            }
+            WffTree wffTree = LLATParserAdapter.getAbstractSyntaxTree(TreeViewSoakUnitTester.formula(i), false).getFirst();
+            TruthTree truthTree = new PropositionalTruthTreeGenerator(wffTree).getTruthTree();
+            truthTrees.catchEvent(new UpdateViewTruthTreeEvent(truthTree));
+            parseTrees.catchEvent(new UpdateViewParseTreeEvent(wffTree));
+            assertTrue(truthTreeCanvas.getItemCount() > 0);
+            assertEquals(parseTreeCanvas.getItemCount() - 1, parseTreeCanvas.getEdgeCount());
+            if (i % 100 == 99) {
+                truthTrees.catchEvent(new UnsolvedFormulaEvent());
+                parseTrees.catchEvent(new UnsolvedFormulaEvent());
+                assertEquals(0, truthTreeCanvas.getItemCount());
+            }
+            TreeViewSoakUnitTester.checkSubscriptions(truthTreePane);
+            TreeViewSoakUnitTester.checkSubscriptions(parseTreePane);
+        }
+        long growth = TreeViewSoakUnitTester.usedHeap() - warmHeap;
+        assertTrue(growth < MAX_HEAP_GROWTH, "Heap grew by " + growth + " bytes");
+    }
+
+    @Test
+    public void test002() throws ReflectiveOperationException {
+        // Disposing of a renderer takes its canvas out of the pane and lets go of the pane.
+        Pane truthTreePane = new Pane();
+        TruthTreeRenderer truthTrees = new TruthTreeRenderer();
+        truthTrees.attach(truthTreePane);
+        for (int i = 0; i < 3; i++) {
+            WffTree wffTree = LLATParserAdapter.getAbstractSyntaxTree(TreeViewSoakUnitTester.formula(i), false).getFirst();
+            truthTrees.render(new PropositionalTruthTreeGenerator(wffTree).getTruthTree());
+            TreeViewSoakUnitTester.checkSubscriptions(truthTreePane);
+            assertEquals(2 + 1, truthTrees.getAttachmentLifecycle().getSubscriptionCount());
+            assertTrue(truthTrees.getRenderLifecycle().getSubscriptionCount() <= 1);
+        }
+        assertEquals(3, truthTrees.getRenderLifecycle().getRenderCount());
+
+        truthTrees.dispose();
+        assertTrue(truthTreePane.getChildren().isEmpty());
+        assertEquals(0, truthTrees.getAttachmentLifecycle().getSubscriptionCount());
+        assertEquals(0, TreeViewSoakUnitTester.listeners(truthTreePane.widthProperty()));
+        assertEquals(0, TreeViewSoakUnitTester.listeners(truthTreePane.heightProperty()));
+        assertFalse(truthTrees.getCanvas().prefWidthProperty().isBound());
+    }
+}
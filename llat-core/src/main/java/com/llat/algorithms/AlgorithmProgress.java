@@ -0,0 +1,178 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.trace.TruthTreeTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Progress of the algorithm running on the current thread. The generator loops
+ * (truth trees, truth tables) report how far they have gotten through
+ * AlgorithmProgress.current(), and that is also where a cancelled algorithm stops:
+ * the next report throws a CancellationException, which unwinds out of whichever
+ * determiner called the generator.
+ * <p>
+ * Algorithms that are not run through an AlgorithmTask still report to a progress
+ * object of their own, which is never cancelled, so none of the algorithms need
+ * to know whether they are being watched.
+ * <p>
+ * This is also where the algorithms report errors (e.g., a generator timing out),
+ * since the engine has no UI to show them in. Whoever ran the algorithm takes
+ * them with drainErrors() and shows them however it likes.
+ * <p>
+ * A TruthTreeTrace given to setTrace(...) records every node that the truth tree
+ * generators reporting here expand.
+ */
+public final class AlgorithmProgress {
+
+    /**
+     * Progress object that the algorithms on each thread report to.
+     */
+    private static final ThreadLocal<AlgorithmProgress> CURRENT = ThreadLocal.withInitial(AlgorithmProgress::new);
+
+    /**
+     * Number of nodes expanded (truth trees) or evaluated (truth tables) so far.
+     */
+    private volatile int nodesExpanded;
+
+    /**
+     * Number of branches in the truth tree that are not closed. This is -1 if the
+     * algorithm does not build a truth tree.
+     */
+    private volatile int openBranches = -1;
+
+    /**
+     * Number of errors ever reported, including those that were drained. A result
+     * computed while this went up is incomplete.
+     */
+    private volatile int errorCount;
+
+    /**
+     * Error messages reported since the last drainErrors().
+     */
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * Set by another thread to ask the algorithm to stop at its next report.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Trace that the truth tree generators record to, or null if they do not.
+     */
+    private TruthTreeTrace trace;
+
+    /**
+     * Returns the progress object for the algorithm running on this thread.
+     *
+     * @return AlgorithmProgress object.
+     */
+    public static AlgorithmProgress current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given progress object the one that algorithms on this thread report
+     * to, until clear() is called.
+     *
+     * @param _progress - progress object to report to.
+     */
+    public static void install(AlgorithmProgress _progress) {
+        CURRENT.set(_progress);
+    }
+
+    /**
+     * Resets this thread to a fresh progress object.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records the progress of a truth tree generator.
+     *
+     * @param _nodesExpanded - number of nodes polled from the queue so far.
+     * @param _openBranches  - number of branches that are not closed.
+     * @throws CancellationException if the algorithm was cancelled.
+     */
+    public void update(int _nodesExpanded, int _openBranches) {
+        this.nodesExpanded = _nodesExpanded;
+        this.openBranches = _openBranches;
+        this.checkCancelled();
+    }
+
+    /**
+     * Records that one more node was expanded or evaluated.
+     *
+     * @throws CancellationException if the algorithm was cancelled.
+     */
+    public void step() {
+        this.nodesExpanded++;
+        this.checkCancelled();
+    }
+
+    /**
+     * @throws CancellationException if the algorithm was cancelled.
+     */
+    public void checkCancelled() {
+        if (this.cancelled) {
+            AlgorithmMetrics.CANCELLATIONS.increment();
+            throw new CancellationException("Algorithm cancelled.");
+        }
+    }
+
+    /**
+     * Records an error that made the algorithm give up early, such as a generator
+     * hitting its timeout.
+     *
+     * @param _message - error message to show to the user.
+     */
+    public synchronized void reportError(String _message) {
+        this.errors.add(_message);
+        this.errorCount++;
+    }
+
+    /**
+     * Returns the error messages reported since the last call, and forgets them.
+     *
+     * @return list of error messages, in the order they were reported.
+     */
+    public synchronized List<String> drainErrors() {
+        List<String> drained = new ArrayList<>(this.errors);
+        this.errors.clear();
+        return drained;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    public int getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+
+    public int getOpenBranches() {
+        return this.openBranches;
+    }
+
+    public int getErrorCount() {
+        return this.errorCount;
+    }
+
+    public TruthTreeTrace getTrace() {
+        return this.trace;
+    }
+
+    /**
+     * @param _trace - trace for the truth tree generators to record to, or null to stop tracing.
+     */
+    public void setTrace(TruthTreeTrace _trace) {
+        this.trace = _trace;
+    }
+}
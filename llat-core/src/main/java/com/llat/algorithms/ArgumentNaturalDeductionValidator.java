@@ -0,0 +1,434 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.models.NDFlag;
+import com.llat.algorithms.models.NDStep;
+import com.llat.algorithms.models.NDWffTree;
+import com.llat.algorithms.propositional.SatisfiabilitySolver;
+import com.llat.models.treenode.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Searches for a natural deduction proof of an argument, from both ends.
+ * <p>
+ * First, the elimination rules are applied to the premises by forward chaining
+ * (see NDContext). That finds most proofs that need no subproofs, and is quick.
+ * <p>
+ * If the conclusion is not among what comes out, the search works backward from
+ * it: a goal is proven by an introduction rule that fits its shape (e.g., an
+ * implication by assuming its antecedent and proving its consequent in a
+ * subproof), by an elimination rule whose major premise is a line (e.g., modus
+ * ponens from an implication with the goal as its consequent), by cases on a
+ * disjunction, or by assuming its negation and deriving a contradiction. Every
+ * subproof has its own NDContext, which applies the elimination rules forward
+ * again, so both ends meet in the middle.
+ * <p>
+ * Only a valid argument is searched; the SatisfiabilitySolver (or, for a
+ * predicate argument, the truth tree) decides that first, since the search could
+ * only give up on an invalid one once its time is up.
+ * <p>
+ * The backward search is depth-first with iterative deepening: it first tries
+ * every proof whose goals are nested at most one deep, then two, and so on, so the
+ * proofs it finds first are the short ones. Goals that could not be proven are
+ * remembered per context, by key and depth, so they are not tried again within
+ * the same depth. The search gives up at MAX_DEPTH, or when its time is up.
+ */
+public final class ArgumentNaturalDeductionValidator {
+
+    /**
+     * Most lines that are processed before the search gives up.
+     */
+    private static final int TIMEOUT = 10_000;
+
+    /**
+     * Most lines that are processed, across every context, before the backward
+     * search gives up.
+     */
+    private static final int BACKWARD_TIMEOUT = 100_000;
+
+    /**
+     * Most time that the backward search takes before it gives up.
+     */
+    private static final long BACKWARD_TIMEOUT_NANOS = 2_000_000_000L;
+
+    /**
+     * Deepest that goals are nested in the backward search.
+     */
+    private static final int MAX_DEPTH = 12;
+
+    /**
+     * Premises, then the conclusion, as given.
+     */
+    private final LinkedList<WffTree> ARGUMENT;
+
+    /**
+     *
+     */
+    private final NDWffTree CONCLUSION_WFF;
+
+    /**
+     * Premises, and every line derived from them.
+     */
+    private final NDContext PREMISES;
+
+    /**
+     * Lines processed so far, in every context.
+     */
+    private int processed;
+
+    /**
+     * System.nanoTime() at which the backward search gives up.
+     */
+    private long deadline;
+
+    public ArgumentNaturalDeductionValidator(LinkedList<WffTree> _wffTreeList) {
+        this.ARGUMENT = _wffTreeList;
+        this.CONCLUSION_WFF = new NDWffTree(_wffTreeList.getLast().getChild(0), NDStep.C);
+        Map<String, List<WffTree>> conjunctions = new HashMap<>();
+        Map<String, List<WffTree>> disjunctions = new HashMap<>();
+        this.PREMISES = new NDContext(conjunctions, disjunctions);
+
+        ArgumentNaturalDeductionValidator.findConnectives(this.CONCLUSION_WFF.getWffTree(), conjunctions, disjunctions);
+        for (int i = 0; i < _wffTreeList.size() - 1; i++) {
+            WffTree wff = _wffTreeList.get(i).getNodeType() == NodeType.ROOT ? _wffTreeList.get(i).getChild(0) : _wffTreeList.get(i);
+            ArgumentNaturalDeductionValidator.findConnectives(wff, conjunctions, disjunctions);
+            this.PREMISES.addPremise(wff);
+        }
+    }
+
+    /**
+     * Searches for a proof of the argument, if it is valid.
+     *
+     * @return the lines of the proof, ending with the conclusion, or null if the
+     * argument is invalid or no proof was found.
+     */
+    public LinkedList<NDWffTree> getNaturalDeductionProof() {
+        if (!this.mayBeValid()) {
+            return null;
+        }
+        WffTree conclusion = this.CONCLUSION_WFF.getWffTree();
+
+        // We'll either find the conclusion, run out of lines, or time out first.
+        this.processed = this.PREMISES.saturate(NDProofIndex.getKey(conclusion), ArgumentNaturalDeductionValidator.TIMEOUT + 1);
+        if (this.processed > ArgumentNaturalDeductionValidator.TIMEOUT) {
+            AlgorithmMetrics.NATURAL_DEDUCTION_TIMEOUTS.increment();
+            return null;
+        }
+
+        NDWffTree proved = this.PREMISES.get(conclusion);
+        if (proved == null) {
+            proved = this.PREMISES.getFalse() != null ? this.PREMISES.derive(conclusion, NDStep.FALSE_E, this.PREMISES.getFalse()) : null;
+        }
+        this.deadline = System.nanoTime() + ArgumentNaturalDeductionValidator.BACKWARD_TIMEOUT_NANOS;
+        for (int depth = 1; proved == null && depth <= ArgumentNaturalDeductionValidator.MAX_DEPTH && !this.isOutOfTime(); depth++) {
+            proved = this.prove(this.PREMISES, conclusion, depth);
+        }
+
+        if (proved == null) {
+            if (this.isOutOfTime()) {
+                AlgorithmMetrics.NATURAL_DEDUCTION_TIMEOUTS.increment();
+            }
+            return null;
+        }
+
+        // Only the lines that the conclusion was derived from are part of the proof,
+        // and the premises among them come first.
+        this.activateLinks(proved);
+        LinkedList<NDWffTree> args = new LinkedList<>();
+        Set<NDWffTree> emitted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (NDWffTree ndWffTree : this.PREMISES.getProofIndex().getLines()) {
+            if (ndWffTree.isActive() && ndWffTree.getDerivationStep() == NDStep.P) {
+                this.emit(ndWffTree, args, emitted);
+            }
+        }
+        this.emit(proved, args, emitted);
+
+        // Finally, add the conclusion.
+        args.add(this.CONCLUSION_WFF);
+        return args;
+    }
+
+    /**
+     * Decides whether the argument is valid, on a copy of it since the deciders
+     * write into the wffs. A propositional argument is decided by the
+     * SatisfiabilitySolver, any other by its truth tree.
+     *
+     * @return false if the argument is invalid, true if it is valid or its truth
+     * tree was cut off before it could tell.
+     */
+    private boolean mayBeValid() {
+        LinkedList<WffTree> argument = ArgumentPortfolioValidator.copy(this.ARGUMENT);
+        if (argument.stream().noneMatch(WffTree::isPredicateWff)) {
+            return !new SatisfiabilitySolver(ArgumentPortfolioValidator.getCounterexampleWff(argument)).isSatisfiable();
+        }
+        AlgorithmProgress progress = AlgorithmProgress.current();
+        int errors = progress.getErrorCount();
+        return new ArgumentTruthTreeValidator(argument).isValid() || progress.getErrorCount() > errors;
+    }
+
+    /**
+     * Tries to prove a goal in a context, with goals nested at most the given depth.
+     *
+     * @param _context - lines that can be used.
+     * @param _goal    - wff to prove.
+     * @param _depth   - how much deeper goals can be nested.
+     * @return the line of the goal, or null if none was found.
+     */
+    private NDWffTree prove(NDContext _context, WffTree _goal, int _depth) {
+        String key = NDProofIndex.getKey(_goal);
+        _context.sync();
+        this.processed += _context.saturate(key, ArgumentNaturalDeductionValidator.TIMEOUT);
+        NDWffTree line = _context.get(_goal);
+        if (line != null) {
+            return line;
+        } else if (_context.getFalse() != null) {
+            return _context.derive(_goal, NDStep.FALSE_E, _context.getFalse());
+        } else if (_depth == 0 || this.isOutOfTime() || _context.getFailedDepth(key) >= _depth || !_context.openGoal(key)) {
+            return null;
+        }
+
+        line = this.proveByIntroduction(_context, _goal, _depth - 1);
+        if (line == null) {
+            line = this.proveByElimination(_context, _goal, _depth - 1);
+        }
+        if (line == null) {
+            line = this.proveByCases(_context, _goal, _depth - 1);
+        }
+        if (line == null && !_goal.isNegation() && !(_goal instanceof FalseNode)) {
+            // Indirect proof; a negation is already proven this way by ~I.
+            NDContext child = _context.assume(BaseTruthTreeGenerator.getFlippedNode(_goal));
+            NDWffTree falseNode = this.prove(child, new FalseNode(), _depth - 1);
+            if (falseNode != null) {
+                line = _context.derive(_goal, NDStep.IP, child.getAssumption(), falseNode);
+            }
+        }
+
+        _context.closeGoal(key);
+        if (line == null && !this.isOutOfTime()) {
+            _context.setFailedDepth(key, _depth);
+        }
+        return line;
+    }
+
+    /**
+     * Tries to prove a goal by the introduction rule of its main operator. A
+     * contradiction is proven from a negation and the wff it negates.
+     */
+    private NDWffTree proveByIntroduction(NDContext _context, WffTree _goal, int _depth) {
+        if (_goal.isAnd()) {
+            NDWffTree lhs = this.prove(_context, _goal.getChild(0), _depth);
+            NDWffTree rhs = lhs != null ? this.prove(_context, _goal.getChild(1), _depth) : null;
+            if (rhs != null) {
+                return _context.derive(_goal, NDStep.AND_I, lhs, rhs);
+            }
+        } else if (_goal.isOr()) {
+            for (int i = 0; i < 2; i++) {
+                NDWffTree disjunct = this.prove(_context, _goal.getChild(i), _depth);
+                if (disjunct != null) {
+                    return _context.derive(_goal, NDStep.OR_I, disjunct);
+                }
+            }
+        } else if (_goal.isImp()) {
+            NDContext child = _context.assume(_goal.getChild(0));
+            NDWffTree consequent = this.prove(child, _goal.getChild(1), _depth);
+            if (consequent != null) {
+                return _context.derive(_goal, NDStep.IMP_I, child.getAssumption(), consequent);
+            }
+        } else if (_goal.isBicond()) {
+            NDWffTree[] implications = new NDWffTree[2];
+            for (int i = 0; i < 2; i++) {
+                ImpNode impNode = new ImpNode();
+                impNode.addChild(_goal.getChild(i));
+                impNode.addChild(_goal.getChild(1 - i));
+                implications[i] = this.prove(_context, impNode, _depth);
+                if (implications[i] == null) {
+                    return null;
+                }
+            }
+            return _context.derive(_goal, NDStep.BICOND_I, implications);
+        } else if (_goal.isNegation()) {
+            NDContext child = _context.assume(_goal.getChild(0));
+            NDWffTree falseNode = this.prove(child, new FalseNode(), _depth);
+            if (falseNode != null) {
+                return _context.derive(_goal, NDStep.NEG_I, child.getAssumption(), falseNode);
+            }
+        } else if (_goal instanceof FalseNode) {
+            for (NDWffTree negation : new ArrayList<>(_context.getProofIndex().getLines())) {
+                if (negation.getWffTree().isNegation()) {
+                    NDWffTree negated = this.prove(_context, negation.getWffTree().getChild(0), _depth);
+                    if (negated != null) {
+                        return _context.derive(_goal, NDStep.FALSE_I, negation, negated);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tries to prove a goal by modus ponens, disjunctive syllogism or modus tollens,
+     * with a line as the major premise and the minor premise as a new goal.
+     */
+    private NDWffTree proveByElimination(NDContext _context, WffTree _goal, int _depth) {
+        NDProofIndex proofIndex = _context.getProofIndex();
+        String key = NDProofIndex.getKey(_goal);
+        for (NDWffTree impNode : new ArrayList<>(proofIndex.getImplicationsByConsequent(key))) {
+            NDWffTree antecedent = this.prove(_context, impNode.getWffTree().getChild(0), _depth);
+            if (antecedent != null) {
+                // The consequent may be the goal with its operands the other way around.
+                return _context.cite(_context.derive(impNode.getWffTree().getChild(1), NDStep.MP, impNode, antecedent), _goal);
+            }
+        }
+        for (NDWffTree orNode : new ArrayList<>(proofIndex.getDisjunctionsByDisjunct(key))) {
+            for (int i = 0; i < 2; i++) {
+                if (NDProofIndex.getKey(orNode.getWffTree().getChild(i)).equals(key)) {
+                    WffTree other = BaseTruthTreeGenerator.getFlippedNode(orNode.getWffTree().getChild(1 - i));
+                    NDWffTree negDisjunct = this.prove(_context, other, _depth);
+                    if (negDisjunct != null) {
+                        return _context.cite(_context.derive(orNode.getWffTree().getChild(i), NDStep.DS, orNode, negDisjunct), _goal);
+                    }
+                }
+            }
+        }
+        String flippedKey = NDProofIndex.getKey(BaseTruthTreeGenerator.getFlippedNode(_goal));
+        for (NDWffTree impNode : new ArrayList<>(proofIndex.getImplicationsByAntecedent(flippedKey))) {
+            WffTree consequent = BaseTruthTreeGenerator.getFlippedNode(impNode.getWffTree().getChild(1));
+            NDWffTree negConsequent = this.prove(_context, consequent, _depth);
+            if (negConsequent != null) {
+                WffTree negAntecedent = BaseTruthTreeGenerator.getFlippedNode(impNode.getWffTree().getChild(0));
+                return _context.cite(_context.derive(negAntecedent, NDStep.MT, impNode, negConsequent), _goal);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tries to prove a goal by disjunction elimination, i.e., in a subproof for
+     * each disjunct of a disjunction.
+     */
+    private NDWffTree proveByCases(NDContext _context, WffTree _goal, int _depth) {
+        for (NDWffTree orNode : new ArrayList<>(_context.getProofIndex().getDisjunctions())) {
+            NDContext lhs = _context.assume(orNode.getWffTree().getChild(0));
+            NDWffTree lhsGoal = this.prove(lhs, _goal, _depth);
+            if (lhsGoal == null) {
+                continue;
+            }
+            NDContext rhs = _context.assume(orNode.getWffTree().getChild(1));
+            NDWffTree rhsGoal = this.prove(rhs, _goal, _depth);
+            if (rhsGoal != null) {
+                return _context.derive(_goal, NDStep.OR_E, orNode, lhs.getAssumption(), lhsGoal, rhs.getAssumption(), rhsGoal);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the backward search has used up its time or lines.
+     */
+    private boolean isOutOfTime() {
+        return this.processed > ArgumentNaturalDeductionValidator.BACKWARD_TIMEOUT || System.nanoTime() > this.deadline;
+    }
+
+    /**
+     * Adds a line to the proof after the lines it was derived from. A subproof that
+     * a line closes (by its assumption) is added as a block: first the lines from
+     * outside of it that it uses, then its assumption, then its own lines.
+     * <p>
+     * The lines of a subproof can only be used inside of it, so they are added
+     * again if another subproof has the same assumption.
+     *
+     * @param _line    - line to add.
+     * @param _proof   - lines of the proof so far.
+     * @param _emitted - lines that can be used where the line is added.
+     */
+    private void emit(NDWffTree _line, LinkedList<NDWffTree> _proof, Set<NDWffTree> _emitted) {
+        if (!_emitted.add(_line)) {
+            return;
+        }
+        List<NDWffTree> parents = _line.getDerivedParents();
+        for (int i = 0; i < parents.size(); i++) {
+            NDWffTree parent = parents.get(i);
+            if (parent.getDerivationStep() == NDStep.A && parent.getDepth() > _line.getDepth()) {
+                NDWffTree result = parents.get(++i);
+                List<NDWffTree> outside = new ArrayList<>();
+                ArgumentNaturalDeductionValidator.findOutside(result, parent.getDepth(),
+                        Collections.newSetFromMap(new IdentityHashMap<>()), outside);
+                for (NDWffTree outer : outside) {
+                    this.emit(outer, _proof, _emitted);
+                }
+                Set<NDWffTree> subproof = Collections.newSetFromMap(new IdentityHashMap<>());
+                subproof.addAll(_emitted);
+                subproof.add(parent);
+                _proof.add(parent);
+                this.emit(result, _proof, subproof);
+            } else {
+                this.emit(parent, _proof, _emitted);
+            }
+        }
+        _proof.add(_line);
+    }
+
+    /**
+     * Finds the lines from outside of a subproof that its lines were derived from.
+     *
+     * @param _line    - line of the subproof.
+     * @param _depth   - depth of the subproof.
+     * @param _visited - lines of the subproof that were already looked at.
+     * @param _outside - where to put the lines from outside.
+     */
+    private static void findOutside(NDWffTree _line, int _depth, Set<NDWffTree> _visited, List<NDWffTree> _outside) {
+        if (_line.getDepth() < _depth) {
+            _outside.add(_line);
+        } else if (_visited.add(_line)) {
+            for (NDWffTree parent : _line.getDerivedParents()) {
+                ArgumentNaturalDeductionValidator.findOutside(parent, _depth, _visited, _outside);
+            }
+        }
+    }
+
+    /**
+     * Records the conjunctions and disjunctions in a wff, so they can be introduced
+     * when their operands are derived.
+     *
+     * @param _wff          - premise or conclusion.
+     * @param _conjunctions - conjunctions, by the key of each conjunct.
+     * @param _disjunctions - disjunctions, by the key of each disjunct.
+     */
+    private static void findConnectives(WffTree _wff, Map<String, List<WffTree>> _conjunctions,
+                                        Map<String, List<WffTree>> _disjunctions) {
+        if (_wff.isAnd()) {
+            NDProofIndex.put(_conjunctions, NDProofIndex.getKey(_wff.getChild(0)), _wff);
+            NDProofIndex.put(_conjunctions, NDProofIndex.getKey(_wff.getChild(1)), _wff);
+        } else if (_wff.isOr()) {
+            NDProofIndex.put(_disjunctions, NDProofIndex.getKey(_wff.getChild(0)), _wff);
+            NDProofIndex.put(_disjunctions, NDProofIndex.getKey(_wff.getChild(1)), _wff);
+        }
+        for (WffTree child : _wff.getChildren()) {
+            ArgumentNaturalDeductionValidator.findConnectives(child, _conjunctions, _disjunctions);
+        }
+    }
+
+    /**
+     * Marks a line and every line it was derived from as part of the proof.
+     *
+     * @param _ndWffTree - line to mark.
+     */
+    private void activateLinks(NDWffTree _ndWffTree) {
+        if (_ndWffTree == null || _ndWffTree.isActive()) {
+            return;
+        }
+
+        _ndWffTree.setFlags(NDFlag.ACTIVE);
+        for (NDWffTree parent : _ndWffTree.getDerivedParents()) {
+            this.activateLinks(parent);
+        }
+    }
+}
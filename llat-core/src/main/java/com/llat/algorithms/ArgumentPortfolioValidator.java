@@ -0,0 +1,306 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.metrics.Counter;
+import com.llat.algorithms.models.NDWffTree;
+import com.llat.algorithms.propositional.SatisfiabilitySolver;
+import com.llat.models.treenode.AndNode;
+import com.llat.models.treenode.NegNode;
+import com.llat.models.treenode.WffTree;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether an argument is valid by racing several strategies on separate
+ * threads, and taking the answer of whichever is first to give a definitive one:
+ * <ul>
+ *     <li>TRUTH_TREE - the truth tree of the premises and the negated conclusion
+ *     (see ArgumentTruthTreeValidator). Definitive unless the generator timed out.</li>
+ *     <li>SATISFIABILITY - a search for an assignment that makes the premises true
+ *     and the conclusion false (see SatisfiabilitySolver). Always definitive, but
+ *     only run for propositional arguments.</li>
+ *     <li>NATURAL_DEDUCTION - a proof search (see ArgumentNaturalDeductionValidator).
+ *     Definitive only if it finds a proof, since it is not complete.</li>
+ * </ul>
+ * The strategies that are still running once there is an answer are cancelled
+ * through their AlgorithmProgress, unless the caller wants a proof and the answer
+ * is that the argument is valid, in which case natural deduction keeps going.
+ * <p>
+ * Each strategy works on a copy of the argument, since some of them write into
+ * the wffs (e.g., truth values). The strategy that answered first is counted in
+ * AlgorithmMetrics, so the portfolio can be tuned on real workloads.
+ */
+public final class ArgumentPortfolioValidator {
+
+    /**
+     *
+     */
+    public enum Strategy {
+        TRUTH_TREE(AlgorithmMetrics.TRUTH_TREE_WINS),
+        SATISFIABILITY(AlgorithmMetrics.SATISFIABILITY_WINS),
+        NATURAL_DEDUCTION(AlgorithmMetrics.NATURAL_DEDUCTION_WINS);
+
+        /**
+         * Number of arguments that this strategy decided first.
+         */
+        private final Counter wins;
+
+        Strategy(Counter _wins) {
+            this.wins = _wins;
+        }
+    }
+
+    /**
+     * Threads that the strategies run on, one per processor. When more portfolios
+     * run at once than there are threads, their strategies wait in line.
+     */
+    private static final ExecutorService STRATEGY_EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), (_runnable) -> {
+                Thread thread = new Thread(_runnable, "llat-portfolio");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * How often the caller checks whether it was cancelled while it waits.
+     */
+    private static final long POLL_MILLIS = 50;
+
+    /**
+     * Premises, then the conclusion.
+     */
+    private final LinkedList<WffTree> wffTreeList;
+
+    /**
+     * Whether natural deduction keeps going when another strategy finds the
+     * argument valid.
+     */
+    private final boolean proofWanted;
+
+    /**
+     * Strategies to race.
+     */
+    private final List<Strategy> strategies;
+
+    /**
+     * Answer of the portfolio, or null before isValid() was called.
+     */
+    private Boolean valid;
+
+    /**
+     * Strategy that answered first, or null if none gave a definitive answer.
+     */
+    private Strategy winner;
+
+    /**
+     *
+     */
+    private LinkedList<NDWffTree> proof;
+
+    /**
+     * @param _wffTreeList - premises, then the conclusion.
+     * @param _proofWanted - true to wait for a natural deduction proof of a valid argument.
+     */
+    public ArgumentPortfolioValidator(LinkedList<WffTree> _wffTreeList, boolean _proofWanted) {
+        this.wffTreeList = _wffTreeList;
+        this.proofWanted = _proofWanted;
+        this.strategies = new ArrayList<>();
+        this.strategies.add(Strategy.TRUTH_TREE);
+        if (_wffTreeList.stream().noneMatch(WffTree::isPredicateWff)) {
+            this.strategies.add(Strategy.SATISFIABILITY);
+        }
+        this.strategies.add(Strategy.NATURAL_DEDUCTION);
+    }
+
+    /**
+     * Races the strategies, the first time it is called. If none of them gives a
+     * definitive answer, the argument counts as invalid and an error is reported to
+     * the caller's AlgorithmProgress.
+     *
+     * @return true if the argument is valid.
+     * @throws CancellationException if the caller was cancelled while waiting.
+     */
+    public boolean isValid() {
+        if (this.valid == null) {
+            this.race();
+        }
+        return this.valid;
+    }
+
+    /**
+     * @return strategy that answered first, or null if none gave a definitive answer.
+     */
+    public Strategy getWinner() {
+        this.isValid();
+        return this.winner;
+    }
+
+    /**
+     * @return natural deduction proof of the argument, or null if the search was
+     * cancelled or did not find one.
+     */
+    public LinkedList<NDWffTree> getNaturalDeductionProof() {
+        this.isValid();
+        return this.proof;
+    }
+
+    /**
+     * @return strategies that are raced for this argument.
+     */
+    public List<Strategy> getStrategies() {
+        return this.strategies;
+    }
+
+    private void race() {
+        AlgorithmProgress caller = AlgorithmProgress.current();
+        caller.checkCancelled();
+        BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        Map<Strategy, AlgorithmProgress> running = new EnumMap<>(Strategy.class);
+        for (Strategy strategy : this.strategies) {
+            AlgorithmProgress progress = new AlgorithmProgress();
+            LinkedList<WffTree> argument = ArgumentPortfolioValidator.copy(this.wffTreeList);
+            running.put(strategy, progress);
+            STRATEGY_EXECUTOR.execute(() -> {
+                // A strategy that waited in line may no longer be needed.
+                if (progress.isCancelled()) {
+                    outcomes.add(new Outcome(strategy, null, null));
+                    return;
+                }
+                AlgorithmProgress.install(progress);
+                Outcome outcome = null;
+                try {
+                    outcome = ArgumentPortfolioValidator.solve(strategy, argument, progress);
+                } catch (RuntimeException | StackOverflowError ex) {
+                    // Cancelled, or the strategy failed (e.g., a tree too deep for the
+                    // stack); either way it has no answer.
+                    outcome = new Outcome(strategy, null, null);
+                } finally {
+                    AlgorithmProgress.clear();
+                    // The caller waits for an outcome of every strategy, whatever happened.
+                    outcomes.add(outcome != null ? outcome : new Outcome(strategy, null, null));
+                }
+            });
+        }
+
+        try {
+            while (!running.isEmpty()) {
+                Outcome outcome = outcomes.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (outcome == null) {
+                    caller.checkCancelled();
+                    continue;
+                }
+                running.remove(outcome.strategy);
+                if (outcome.proof != null) {
+                    this.proof = outcome.proof;
+                }
+                if (this.winner == null && outcome.valid != null) {
+                    this.winner = outcome.strategy;
+                    this.valid = outcome.valid;
+                    this.winner.wins.increment();
+                }
+                if (this.winner != null && (!this.proofWanted || !this.valid || this.proof != null)) {
+                    break;
+                } else if (this.winner != null) {
+                    // Only the proof is left to wait for.
+                    ArgumentPortfolioValidator.cancelAll(running, Strategy.NATURAL_DEDUCTION);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the strategies.");
+        } finally {
+            ArgumentPortfolioValidator.cancelAll(running, null);
+        }
+
+        if (this.winner == null) {
+            AlgorithmMetrics.PORTFOLIO_UNDECIDED.increment();
+            caller.reportError("None of the strategies could decide whether this argument is valid.");
+            this.valid = false;
+        }
+    }
+
+    /**
+     * Runs one strategy on the current thread.
+     *
+     * @return answer of the strategy; its validity is null if it is not definitive.
+     */
+    private static Outcome solve(Strategy _strategy, LinkedList<WffTree> _argument, AlgorithmProgress _progress) {
+        switch (_strategy) {
+            case TRUTH_TREE:
+                boolean closed = new ArgumentTruthTreeValidator(_argument).isValid();
+                // An open tree that timed out proves nothing.
+                return new Outcome(_strategy, closed || _progress.getErrorCount() == 0 ? closed : null, null);
+            case SATISFIABILITY:
+                return new Outcome(_strategy, !new SatisfiabilitySolver(ArgumentPortfolioValidator.getCounterexampleWff(_argument)).isSatisfiable(), null);
+            case NATURAL_DEDUCTION:
+                LinkedList<NDWffTree> proof = new ArgumentNaturalDeductionValidator(_argument).getNaturalDeductionProof();
+                return new Outcome(_strategy, proof != null ? Boolean.TRUE : null, proof);
+            default:
+                throw new IllegalArgumentException("Unknown strategy " + _strategy + ".");
+        }
+    }
+
+    /**
+     * @return conjunction of the premises and the negated conclusion, which is
+     * satisfiable if and only if the argument is invalid.
+     */
+    static WffTree getCounterexampleWff(LinkedList<WffTree> _argument) {
+        NegNode negNode = new NegNode();
+        negNode.addChild(_argument.getLast().getChild(0));
+        WffTree wff = negNode;
+        for (int i = _argument.size() - 2; i >= 0; i--) {
+            AndNode andNode = new AndNode();
+            andNode.addChild(_argument.get(i).getChild(0));
+            andNode.addChild(wff);
+            wff = andNode;
+        }
+        return wff;
+    }
+
+    static LinkedList<WffTree> copy(LinkedList<WffTree> _wffTreeList) {
+        LinkedList<WffTree> copy = new LinkedList<>();
+        for (WffTree wffTree : _wffTreeList) {
+            copy.add(wffTree.copy());
+        }
+        return copy;
+    }
+
+    private static void cancelAll(Map<Strategy, AlgorithmProgress> _running, Strategy _except) {
+        for (Map.Entry<Strategy, AlgorithmProgress> entry : _running.entrySet()) {
+            if (entry.getKey() != _except) {
+                entry.getValue().cancel();
+            }
+        }
+    }
+
+    /**
+     * What a strategy came up with.
+     */
+    private static final class Outcome {
+
+        private final Strategy strategy;
+
+        /**
+         * Whether the argument is valid, or null if the strategy could not tell.
+         */
+        private final Boolean valid;
+
+        private final LinkedList<NDWffTree> proof;
+
+        Outcome(Strategy _strategy, Boolean _valid, LinkedList<NDWffTree> _proof) {
+            this.strategy = _strategy;
+            this.valid = _valid;
+            this.proof = _proof;
+        }
+    }
+}
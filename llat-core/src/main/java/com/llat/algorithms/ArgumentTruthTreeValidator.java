@@ -23,7 +23,12 @@ public final class ArgumentTruthTreeValidator {
     /**
      *
      */
-    private BaseTruthTreeGenerator truthTreeGenerator;
+    private final BaseTruthTreeGenerator truthTreeGenerator;
+
+    /**
+     * Truth tree of the combined tree, once isValid() or getTruthTree() built it.
+     */
+    private TruthTree truthTree;
 
     public ArgumentTruthTreeValidator(LinkedList<WffTree> _wffTreeList) {
         this.combinedTree = new WffTree();
@@ -65,7 +70,7 @@ public final class ArgumentTruthTreeValidator {
         if (this.combinedTree.isPropositionalWff()) {
             this.truthTreeGenerator = new PropositionalTruthTreeGenerator(this.combinedTree);
         } else {
-            this.truthTreeGenerator = new PropositionalTruthTreeGenerator(this.combinedTree);
+            this.truthTreeGenerator = new PredicateTruthTreeGenerator(this.combinedTree);
         }
     }
 
@@ -81,13 +86,7 @@ public final class ArgumentTruthTreeValidator {
      * @return
      */
     public boolean isValid() {
-        if (this.combinedTree.isPropositionalWff()) {
-            this.truthTreeGenerator = new PropositionalTruthTreeGenerator(this.combinedTree);
-        } else {
-            this.truthTreeGenerator = new PredicateTruthTreeGenerator(this.combinedTree);
-        }
-
-        ClosedTreeDeterminer closedTreeDeterminer = new ClosedTreeDeterminer(this.truthTreeGenerator.getTruthTree());
+        ClosedTreeDeterminer closedTreeDeterminer = new ClosedTreeDeterminer(this.getTruthTree());
         return closedTreeDeterminer.hasAllClosed();
     }
 
@@ -95,7 +94,16 @@ public final class ArgumentTruthTreeValidator {
         return this.combinedTree;
     }
 
+    /**
+     * Builds the truth tree the first time it is asked for; isValid() and the views
+     * then share it.
+     *
+     * @return truth tree of the premises and the negated conclusion.
+     */
     public TruthTree getTruthTree() {
-        return this.truthTreeGenerator.getTruthTree();
+        if (this.truthTree == null) {
+            this.truthTree = this.truthTreeGenerator.getTruthTree();
+        }
+        return this.truthTree;
     }
 }
@@ -1,10 +1,13 @@
 package com.llat.algorithms;
 
+import com.llat.algorithms.metrics.AlgorithmMetrics;
 import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.trace.TruthTreeLog;
 import com.llat.models.treenode.*;
 
 import java.util.LinkedList;
 import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *
@@ -12,23 +15,41 @@ import java.util.PriorityQueue;
 public abstract class BaseTruthTreeGenerator {
 
     /**
-     *
+     * We should definitely make this a setting...
      */
-    public static int identityCount = 0;
+    protected static int TIMEOUT = 1000;
 
     /**
-     * We should definitely make this a setting...
+     * Number of iterations between progress reports. Counting the open branches
+     * walks the whole tree, so we do not want to do it on every iteration.
      */
-    protected static int TIMEOUT = 1000;
+    private static final int PROGRESS_INTERVAL = 16;
 
     /**
      *
      */
     protected WffTree tree;
 
+    /**
+     * Rule applied by the last rule method called, or null if none was since
+     * the last call to takeRule().
+     */
+    private AlgorithmMetrics.Rule rule;
+
+    /**
+     * Numbers the nodes of the trees made by this generator. Each generator has
+     * its own, so generators may run on many threads at once.
+     */
+    private final AtomicInteger identityCount = new AtomicInteger();
+
+    /**
+     * Log that getTruthTree() records the construction of the tree to, or null if
+     * it does not.
+     */
+    private TruthTreeLog log;
+
     public BaseTruthTreeGenerator(WffTree _tree) {
         this.tree = _tree;
-        BaseTruthTreeGenerator.identityCount = 0;
     }
 
     /**
@@ -66,6 +87,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _leaves - list of leaves to check for closure.
      */
     public static void computeClosedBranches(LinkedList<TruthTree> _leaves) {
+        long checks = 0;
         for (TruthTree leaf : _leaves) {
             if (!leaf.isClosed()) {
                 TruthTree currentLeaf = leaf;
@@ -74,9 +96,11 @@ public abstract class BaseTruthTreeGenerator {
                 while (currentLeaf != null && (currentLeaf.getFlags() & NodeFlag.STOP_CLOSE_CHECK) == 0) {
                     TruthTree parentToCheck = currentLeaf.getParent();
                     while (parentToCheck != null) {
+                        checks++;
                         if (currentLeaf.getWff().stringEquals(getFlippedNode(parentToCheck.getWff()))
                                 && currentLeaf.getWff().isClosable()) {
                             leaf.setClosed(true);
+                            AlgorithmMetrics.BRANCHES_CLOSED.increment();
                             break outer;
                         }
                         parentToCheck = parentToCheck.getParent();
@@ -86,6 +110,42 @@ public abstract class BaseTruthTreeGenerator {
             }
             leaf.setFlags(NodeFlag.STOP_CLOSE_CHECK);
         }
+        AlgorithmMetrics.CLOSURE_CHECKS.add(checks);
+    }
+
+    /**
+     * Counts the leaves of a truth tree that are not closed, i.e., the number of
+     * open branches.
+     *
+     * @param _root - root of the TruthTree.
+     * @return number of open branches.
+     */
+    public static int countOpenBranches(TruthTree _root) {
+        int open = 0;
+        for (TruthTree leaf : BaseTruthTreeGenerator.getLeaves(_root)) {
+            if (!leaf.isClosed()) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Reports the progress of the generator loop to the AlgorithmProgress of this
+     * thread every few iterations. If the algorithm was cancelled, this throws
+     * instead, and the partially-built tree is thrown away.
+     *
+     * @param _root       - root of the TruthTree being built.
+     * @param _iterations - number of iterations of the generator loop so far.
+     * @throws java.util.concurrent.CancellationException if the algorithm was cancelled.
+     */
+    protected static void reportProgress(TruthTree _root, int _iterations) {
+        AlgorithmProgress progress = AlgorithmProgress.current();
+        if (_iterations % PROGRESS_INTERVAL == 0) {
+            progress.update(_iterations, BaseTruthTreeGenerator.countOpenBranches(_root));
+        } else {
+            progress.checkCancelled();
+        }
     }
 
     /**
@@ -225,6 +285,16 @@ public abstract class BaseTruthTreeGenerator {
         }
     }
 
+    /**
+     * Returns the number of iterations a generator may take before giving up. Results
+     * depend on this, so anything that stores them should key on it as well.
+     *
+     * @return maximum number of iterations.
+     */
+    public static int getTimeout() {
+        return BaseTruthTreeGenerator.TIMEOUT;
+    }
+
     public WffTree getWffTree() {
         return this.tree;
     }
@@ -235,8 +305,13 @@ public abstract class BaseTruthTreeGenerator {
      * @return new TruthTree object constructed from the WffTree.
      */
     public TruthTree getTruthTree() {
-        TruthTree ttn = new TruthTree(this.tree.getChild(0), null, null);
+        long start = System.nanoTime();
+        TruthTree ttn = new TruthTree(this.tree.getChild(0), null, null, this.identityCount);
+        if (this.log != null) {
+            this.log.start(ttn);
+        }
         this.buildTreeHelper(ttn);
+        AlgorithmMetrics.TRUTH_TREE_SECONDS.recordSince(start);
         return ttn;
     }
 
@@ -272,6 +347,52 @@ public abstract class BaseTruthTreeGenerator {
      */
     public abstract void buildTreeHelper(TruthTree _node);
 
+    /**
+     * Counts a rule in the metrics, and remembers it for the trace and the log. Every rule
+     * method calls this first.
+     *
+     * @param _rule - rule applied.
+     */
+    protected void countRule(AlgorithmMetrics.Rule _rule) {
+        AlgorithmMetrics.countRule(_rule);
+        this.rule = _rule;
+    }
+
+    /**
+     * @return the rule applied since the last call, or null if none was.
+     */
+    protected AlgorithmMetrics.Rule takeRule() {
+        AlgorithmMetrics.Rule applied = this.rule;
+        this.rule = null;
+        return applied;
+    }
+
+    /**
+     * Records an iteration of the generator loop to the log, if there is one. Every
+     * generator loop calls this once the polled node has been expanded.
+     *
+     * @param _node   - node polled from the queue.
+     * @param _rule   - rule that expanded it, or null if it was not expanded.
+     * @param _leaves - leaves below the node before it was expanded.
+     */
+    protected void logStep(TruthTree _node, AlgorithmMetrics.Rule _rule, LinkedList<TruthTree> _leaves) {
+        if (this.log != null) {
+            this.log.record(_node, _rule, _leaves);
+        }
+    }
+
+    public TruthTreeLog getLog() {
+        return this.log;
+    }
+
+    /**
+     * @param _log - log to record the construction of the next tree to, so that it
+     *             can be replayed step by step, or null to stop logging.
+     */
+    public void setLog(TruthTreeLog _log) {
+        this.log = _log;
+    }
+
     /**
      * Stacks a conjunction node. The stack works as follows:
      * <p>
@@ -287,6 +408,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue  - priority queue of nodes left to process.
      */
     protected void stackConjunction(TruthTree _conj, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.STACK_CONJUNCTION);
         if (!(_conj.getWff() instanceof AndNode)) {
             throw new IllegalArgumentException("Error: conjunction expects conjunction node but got " + _conj.getClass());
         }
@@ -317,6 +439,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue  - priority queue of nodes left to process.
      */
     protected void branchDisjunction(TruthTree _disj, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.BRANCH_DISJUNCTION);
         if (!(_disj.getWff() instanceof OrNode)) {
             throw new IllegalArgumentException("Error: disjunction expects disjunction node but got " + _disj.getClass());
         }
@@ -347,6 +470,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue  - priority queue of nodes left to process.
      */
     protected void branchImplication(TruthTree _imp, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.BRANCH_IMPLICATION);
         if (!(_imp.getWff() instanceof ImpNode)) {
             throw new IllegalArgumentException("Error: implication expects implication node but got " + _imp.getClass());
         }
@@ -377,6 +501,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue   - priority queue of nodes left to process.
      */
     protected void stackNegationImplication(TruthTree _negRoot, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.STACK_NEGATED_IMPLICATION);
         if (!(_negRoot.getWff().getChild(0) instanceof ImpNode)) {
             throw new IllegalArgumentException("Error: negated implication child expects implication node but got " + _negRoot.getClass());
         }
@@ -406,6 +531,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue   - Priority queue to add the four constructed children to.
      */
     protected void branchExclusiveOr(TruthTree _xorRoot, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.BRANCH_EXCLUSIVE_OR);
         if (!(_xorRoot.getWff() instanceof ExclusiveOrNode)) {
             throw new IllegalArgumentException("Error: branch exclusive or expects exclusive or node but got " + _xorRoot.getClass());
         }
@@ -445,6 +571,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue   - Priority queue to add the four constructed children to.
      */
     protected void branchNegationExclusiveOr(TruthTree _negRoot, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.BRANCH_NEGATED_EXCLUSIVE_OR);
         if (!(_negRoot.getWff().getChild(0) instanceof ExclusiveOrNode)) {
             throw new IllegalArgumentException("Error: branch negation exclusive or expects exclusive or node but got " + _negRoot.getClass());
         }
@@ -481,6 +608,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue  - Priority queue to add the four constructed children to.
      */
     protected void branchBiconditional(TruthTree _bicond, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.BRANCH_BICONDITIONAL);
         if (!(_bicond.getWff() instanceof BicondNode)) {
             throw new IllegalArgumentException("Error: branch biconditional expects biconditional node but got " + _bicond.getClass());
         }
@@ -518,6 +646,7 @@ public abstract class BaseTruthTreeGenerator {
      * @param _queue   - Priority queue to add the four constructed children to.
      */
     protected void branchNegationBiconditional(TruthTree _negRoot, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.BRANCH_NEGATED_BICONDITIONAL);
         if (!(_negRoot.getWff().getChild(0) instanceof BicondNode)) {
             throw new IllegalArgumentException("Error: branch negation biconditional expects biconditional node but got " + _negRoot.getClass());
         }
@@ -563,6 +692,7 @@ public abstract class BaseTruthTreeGenerator {
      *                 is added to this priority queue.
      */
     protected void distributeNegation(TruthTree _negRoot, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.DISTRIBUTE_NEGATION);
         WffTree child = _negRoot.getWff().getChild(0);
         WffTree negatedAtom;
         TruthTree enqueuedTTNode;
@@ -0,0 +1,474 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.models.NDStep;
+import com.llat.algorithms.models.NDWffTree;
+import com.llat.models.treenode.*;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lines that are available at one point of a natural deduction proof: the
+ * premises, the assumptions of the subproofs that are open there, and what the
+ * elimination rules derive from them. Each subproof has a context of its own,
+ * whose parent is the context it was opened in.
+ * <p>
+ * The elimination rules are applied by forward chaining. Every line goes through a
+ * worklist once, and when it is taken off, each rule looks up the lines that it
+ * can be combined with in an NDProofIndex (e.g., modus ponens looks up the
+ * implications whose antecedent is the line). So a rule only ever visits matching
+ * lines, and only new lines lead to new rule checks.
+ * <p>
+ * The index only tells lines apart up to the order of the operands of &amp;, ∨, ↔
+ * and =, so that no wff is derived twice. A rule cites a line as exactly the wff it
+ * needs, though: a line that only matches up to that order is first restated by a
+ * commutation step (see cite(...)).
+ */
+final class NDContext {
+
+    /**
+     * Key of every contradiction.
+     */
+    private static final String FALSE_KEY = NDProofIndex.getKey(new FalseNode());
+
+    /**
+     * Context that this subproof was opened in, or null for the premises.
+     */
+    private final NDContext PARENT;
+
+    /**
+     * Assumption that opened this subproof, or null for the premises.
+     */
+    private final NDWffTree ASSUMPTION;
+
+    /**
+     * Number of subproofs that this one is nested in.
+     */
+    private final int DEPTH;
+
+    /**
+     * Every line of this context, including those of its parents.
+     */
+    private final NDProofIndex PROOF_INDEX;
+
+    /**
+     * Lines that the rules have not been applied to yet.
+     */
+    private final Deque<NDWffTree> WORKLIST;
+
+    /**
+     * Conjunctions and disjunctions that occur in the argument, by the key of each
+     * operand. Only these are introduced, since they could otherwise be introduced
+     * forever.
+     */
+    private final Map<String, List<WffTree>> CONJUNCTIONS;
+
+    /**
+     *
+     */
+    private final Map<String, List<WffTree>> DISJUNCTIONS;
+
+    /**
+     * Subproofs opened in this context, by their assumption as it is written.
+     */
+    private final Map<String, NDContext> CHILDREN;
+
+    /**
+     * Goals that could not be proven here, by their key, with the largest depth
+     * that the search tried them with.
+     */
+    private final Map<String, Integer> FAILED_GOALS;
+
+    /**
+     * Goals that the search is trying to prove here, by their key, so that it does
+     * not go round in circles.
+     */
+    private final Set<String> OPEN_GOALS;
+
+    /**
+     * Number of lines of the parent that this context has taken in.
+     */
+    private int parentLines;
+
+    NDContext(Map<String, List<WffTree>> _conjunctions, Map<String, List<WffTree>> _disjunctions) {
+        this(null, null, _conjunctions, _disjunctions);
+    }
+
+    private NDContext(NDContext _parent, NDWffTree _assumption, Map<String, List<WffTree>> _conjunctions,
+                      Map<String, List<WffTree>> _disjunctions) {
+        this.PARENT = _parent;
+        this.ASSUMPTION = _assumption;
+        this.DEPTH = _parent == null ? 0 : _parent.DEPTH + 1;
+        this.PROOF_INDEX = new NDProofIndex();
+        this.WORKLIST = new ArrayDeque<>();
+        this.CONJUNCTIONS = _conjunctions;
+        this.DISJUNCTIONS = _disjunctions;
+        this.CHILDREN = new HashMap<>();
+        this.FAILED_GOALS = new HashMap<>();
+        this.OPEN_GOALS = new HashSet<>();
+
+        if (_parent != null) {
+            // The rules were already applied to the lines of the parent among
+            // themselves, so they only need to be indexed here.
+            for (NDWffTree line : _parent.PROOF_INDEX.getLines()) {
+                if (this.PROOF_INDEX.add(line)) {
+                    this.PROOF_INDEX.index(line);
+                }
+            }
+            this.parentLines = _parent.PROOF_INDEX.getLines().size();
+            this.add(_assumption);
+        }
+    }
+
+    /**
+     * Opens (or returns the already open) subproof with the given assumption.
+     *
+     * @param _assumption - wff to assume.
+     * @return context of the subproof.
+     */
+    NDContext assume(WffTree _assumption) {
+        // The assumption is cited by the rule that closes the subproof, so it has to be
+        // written exactly as that rule needs it.
+        NDContext child = this.CHILDREN.get(_assumption.getStringRep());
+        if (child == null) {
+            NDWffTree assumption = new NDWffTree(_assumption, NDStep.A);
+            assumption.setDepth(this.DEPTH + 1);
+            child = new NDContext(this, assumption, this.CONJUNCTIONS, this.DISJUNCTIONS);
+            this.CHILDREN.put(_assumption.getStringRep(), child);
+        }
+        return child;
+    }
+
+    /**
+     * Takes in the lines that the parent derived since this context last looked.
+     */
+    void sync() {
+        if (this.PARENT == null) {
+            return;
+        }
+        this.PARENT.sync();
+        List<NDWffTree> lines = this.PARENT.PROOF_INDEX.getLines();
+        for (; this.parentLines < lines.size(); this.parentLines++) {
+            this.add(lines.get(this.parentLines));
+        }
+    }
+
+    /**
+     * Applies the elimination rules until no new lines come out, the goal is
+     * derived, or the limit is reached.
+     *
+     * @param _goalKey - key of a wff to stop at, or null to not stop early.
+     * @param _limit   - most lines to take off the worklist.
+     * @return number of lines taken off the worklist.
+     */
+    int saturate(String _goalKey, int _limit) {
+        int processed = 0;
+        while (!this.WORKLIST.isEmpty() && processed < _limit
+                && (_goalKey == null || this.PROOF_INDEX.get(_goalKey) == null)) {
+            processed++;
+            AlgorithmProgress.current().step();
+            NDWffTree line = this.WORKLIST.poll();
+            this.findSimplifications(line);
+            this.findBiconditionals(line);
+            this.findModusPonens(line);
+            this.findModusTollens(line);
+            this.findDisjunctiveSyllogisms(line);
+            this.findHypotheticalSyllogisms(line);
+            this.findContradictions(line);
+            this.appendConjunctions(line);
+            this.appendDisjunctions(line);
+            this.PROOF_INDEX.index(line);
+        }
+        return processed;
+    }
+
+    /**
+     * Adds a line that a rule derived in this context, unless there already is one
+     * with the same key.
+     *
+     * @param _wff     - wff of the line.
+     * @param _step    - rule that derived it.
+     * @param _parents - lines that it was derived from.
+     * @return a line of the wff, which is the line of the context with the wff's key,
+     * restated as the wff if needed.
+     */
+    NDWffTree derive(WffTree _wff, NDStep _step, NDWffTree... _parents) {
+        NDWffTree existing = this.PROOF_INDEX.get(_wff);
+        if (existing != null) {
+            return this.cite(existing, _wff);
+        }
+        NDWffTree line = new NDWffTree(_wff, _step, _parents);
+        line.setDepth(this.DEPTH);
+        this.add(line);
+        return line;
+    }
+
+    /**
+     * Adds a line unless one with the same key is already here, and puts it on the
+     * worklist. A proof search can derive many lines, so this is also where a
+     * cancelled search stops.
+     */
+    private void add(NDWffTree _line) {
+        AlgorithmProgress.current().checkCancelled();
+        if (this.PROOF_INDEX.add(_line)) {
+            this.WORKLIST.add(_line);
+        }
+    }
+
+    /**
+     * Adds a premise.
+     *
+     * @param _wff - wff of the premise.
+     */
+    void addPremise(WffTree _wff) {
+        this.add(new NDWffTree(_wff, NDStep.P));
+    }
+
+    /**
+     * @param _wff - wff to look for.
+     * @return a line of the wff, which is the line with the same key restated as the
+     * wff if needed, or null if there is none.
+     */
+    NDWffTree get(WffTree _wff) {
+        return this.cite(this.PROOF_INDEX.get(_wff), _wff);
+    }
+
+    /**
+     * Returns a line that a rule can cite as exactly the given wff. A line of the
+     * index may be written with the operands of &amp;, ∨, ↔ or = the other way
+     * around, and is then restated as the wff by a commutation step.
+     *
+     * @param _line - line with the same key as the wff; may be null.
+     * @param _wff  - wff that the rule needs.
+     * @return the line if it is written as the wff, its restatement if not, or null
+     * if it is null.
+     */
+    NDWffTree cite(NDWffTree _line, WffTree _wff) {
+        if (_line == null || _line.getWffTree().getStringRep().equals(_wff.getStringRep())) {
+            return _line;
+        }
+        NDWffTree restated = new NDWffTree(_wff, NDStep.COMM, _line);
+        restated.setDepth(this.DEPTH);
+        return restated;
+    }
+
+    /**
+     * @return a line with a contradiction, or null if none was derived.
+     */
+    NDWffTree getFalse() {
+        return this.PROOF_INDEX.get(NDContext.FALSE_KEY);
+    }
+
+    NDProofIndex getProofIndex() {
+        return this.PROOF_INDEX;
+    }
+
+    NDWffTree getAssumption() {
+        return this.ASSUMPTION;
+    }
+
+    NDContext getParent() {
+        return this.PARENT;
+    }
+
+    /**
+     * @param _context - another context.
+     * @return true if this is the context or a subproof nested in it.
+     */
+    boolean isWithin(NDContext _context) {
+        for (NDContext context = this; context != null; context = context.PARENT) {
+            if (context == _context) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param _goalKey - key of a goal.
+     * @return largest depth the goal failed with here, or -1 if it never failed.
+     */
+    int getFailedDepth(String _goalKey) {
+        return this.FAILED_GOALS.getOrDefault(_goalKey, -1);
+    }
+
+    void setFailedDepth(String _goalKey, int _depth) {
+        this.FAILED_GOALS.merge(_goalKey, _depth, Math::max);
+    }
+
+    /**
+     * @param _goalKey - key of a goal.
+     * @return false if the goal is already being proven here.
+     */
+    boolean openGoal(String _goalKey) {
+        return this.OPEN_GOALS.add(_goalKey);
+    }
+
+    void closeGoal(String _goalKey) {
+        this.OPEN_GOALS.remove(_goalKey);
+    }
+
+    /**
+     * Breaks a conjunction down into its conjuncts.
+     */
+    private void findSimplifications(NDWffTree _line) {
+        if (_line.getWffTree().isAnd()) {
+            this.derive(_line.getWffTree().getChild(0), NDStep.AND_E, _line);
+            this.derive(_line.getWffTree().getChild(1), NDStep.AND_E, _line);
+        }
+    }
+
+    /**
+     * Breaks a biconditional down into the implications both ways.
+     */
+    private void findBiconditionals(NDWffTree _line) {
+        WffTree wff = _line.getWffTree();
+        if (wff.isBicond()) {
+            for (int i = 0; i < 2; i++) {
+                ImpNode impNode = new ImpNode();
+                impNode.addChild(wff.getChild(i));
+                impNode.addChild(wff.getChild(1 - i));
+                this.derive(impNode, NDStep.BICOND_E, _line);
+            }
+        }
+    }
+
+    /**
+     * Applies modus ponens with the line as either the implication or its antecedent.
+     */
+    private void findModusPonens(NDWffTree _line) {
+        WffTree wff = _line.getWffTree();
+        if (wff.isImp()) {
+            NDWffTree antecedent = this.get(wff.getChild(0));
+            if (antecedent != null) {
+                this.derive(wff.getChild(1), NDStep.MP, _line, antecedent);
+            }
+        }
+        for (NDWffTree impNode : this.PROOF_INDEX.getImplicationsByAntecedent(NDProofIndex.getKey(wff))) {
+            this.derive(impNode.getWffTree().getChild(1), NDStep.MP, impNode, this.cite(_line, impNode.getWffTree().getChild(0)));
+        }
+    }
+
+    /**
+     * Applies modus tollens with the line as either the implication or the negation
+     * of its consequent.
+     */
+    private void findModusTollens(NDWffTree _line) {
+        WffTree wff = _line.getWffTree();
+        if (wff.isImp()) {
+            NDWffTree negConsequent = this.get(BaseTruthTreeGenerator.getFlippedNode(wff.getChild(1)));
+            if (negConsequent != null) {
+                this.derive(BaseTruthTreeGenerator.getFlippedNode(wff.getChild(0)), NDStep.MT, _line, negConsequent);
+            }
+        }
+        String flippedKey = NDProofIndex.getKey(BaseTruthTreeGenerator.getFlippedNode(wff));
+        for (NDWffTree impNode : this.PROOF_INDEX.getImplicationsByConsequent(flippedKey)) {
+            NDWffTree negConsequent = this.cite(_line, BaseTruthTreeGenerator.getFlippedNode(impNode.getWffTree().getChild(1)));
+            this.derive(BaseTruthTreeGenerator.getFlippedNode(impNode.getWffTree().getChild(0)), NDStep.MT, impNode, negConsequent);
+        }
+    }
+
+    /**
+     * Applies disjunctive syllogism with the line as either the disjunction or the
+     * negation of one of its disjuncts.
+     */
+    private void findDisjunctiveSyllogisms(NDWffTree _line) {
+        WffTree wff = _line.getWffTree();
+        if (wff.isOr()) {
+            for (int i = 0; i < 2; i++) {
+                NDWffTree negDisjunct = this.get(BaseTruthTreeGenerator.getFlippedNode(wff.getChild(i)));
+                if (negDisjunct != null) {
+                    this.derive(wff.getChild(1 - i), NDStep.DS, _line, negDisjunct);
+                }
+            }
+        }
+        String flippedKey = NDProofIndex.getKey(BaseTruthTreeGenerator.getFlippedNode(wff));
+        for (NDWffTree orNode : this.PROOF_INDEX.getDisjunctionsByDisjunct(flippedKey)) {
+            for (int i = 0; i < 2; i++) {
+                if (NDProofIndex.getKey(orNode.getWffTree().getChild(i)).equals(flippedKey)) {
+                    NDWffTree negDisjunct = this.cite(_line, BaseTruthTreeGenerator.getFlippedNode(orNode.getWffTree().getChild(i)));
+                    this.derive(orNode.getWffTree().getChild(1 - i), NDStep.DS, orNode, negDisjunct);
+                }
+            }
+        }
+    }
+
+    /**
+     * Chains an implication with those whose antecedent is its consequent, and with
+     * those whose consequent is its antecedent.
+     */
+    private void findHypotheticalSyllogisms(NDWffTree _line) {
+        WffTree wff = _line.getWffTree();
+        if (!wff.isImp()) {
+            return;
+        }
+        // X -> Y with Y -> Z.
+        for (NDWffTree other : this.PROOF_INDEX.getImplicationsByAntecedent(NDProofIndex.getKey(wff.getChild(1)))) {
+            this.addHypotheticalSyllogism(_line, other);
+        }
+        // Z -> X with X -> Y.
+        for (NDWffTree other : this.PROOF_INDEX.getImplicationsByConsequent(NDProofIndex.getKey(wff.getChild(0)))) {
+            this.addHypotheticalSyllogism(other, _line);
+        }
+    }
+
+    /**
+     * Adds X -> Z from X -> Y and Y -> Z. If the second is written with a different
+     * order of operands in Y, it is restated with the Y of the first.
+     */
+    private void addHypotheticalSyllogism(NDWffTree _first, NDWffTree _second) {
+        WffTree middle = _first.getWffTree().getChild(1);
+        NDWffTree second = _second;
+        if (!middle.getStringRep().equals(_second.getWffTree().getChild(0).getStringRep())) {
+            ImpNode restated = new ImpNode();
+            restated.addChild(middle);
+            restated.addChild(_second.getWffTree().getChild(1));
+            second = this.cite(_second, restated);
+        }
+        ImpNode impNode = new ImpNode();
+        impNode.addChild(_first.getWffTree().getChild(0));
+        impNode.addChild(_second.getWffTree().getChild(1));
+        this.derive(impNode, NDStep.HS, _first, second);
+    }
+
+    /**
+     * Derives a contradiction if the negation of the line is also a line.
+     */
+    private void findContradictions(NDWffTree _line) {
+        NDWffTree negation = this.get(BaseTruthTreeGenerator.getFlippedNode(_line.getWffTree()));
+        if (negation != null) {
+            this.derive(new FalseNode(), NDStep.FALSE_I, negation, _line);
+        }
+    }
+
+    /**
+     * Introduces the conjunctions of the argument that the line is a conjunct of,
+     * if the other conjunct is also a line.
+     */
+    private void appendConjunctions(NDWffTree _line) {
+        for (WffTree andNode : this.CONJUNCTIONS.getOrDefault(NDProofIndex.getKey(_line.getWffTree()), Collections.emptyList())) {
+            NDWffTree lhs = this.get(andNode.getChild(0));
+            NDWffTree rhs = this.get(andNode.getChild(1));
+            if (lhs != null && rhs != null) {
+                this.derive(andNode, NDStep.AND_I, lhs, rhs);
+            }
+        }
+    }
+
+    /**
+     * Introduces the disjunctions of the argument that the line is a disjunct of.
+     */
+    private void appendDisjunctions(NDWffTree _line) {
+        String key = NDProofIndex.getKey(_line.getWffTree());
+        for (WffTree orNode : this.DISJUNCTIONS.getOrDefault(key, Collections.emptyList())) {
+            WffTree disjunct = NDProofIndex.getKey(orNode.getChild(0)).equals(key) ? orNode.getChild(0) : orNode.getChild(1);
+            this.derive(orNode, NDStep.OR_I, this.cite(_line, disjunct));
+        }
+    }
+}
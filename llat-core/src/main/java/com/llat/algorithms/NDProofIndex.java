@@ -0,0 +1,154 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.models.NDWffTree;
+import com.llat.models.treenode.QuantifierNode;
+import com.llat.models.treenode.WffTree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lines of a natural deduction proof, indexed so that a rule only looks at the
+ * lines it can apply to. Every line is found by its key (see getKey(...)), and the
+ * lines that a rule takes as its major premise (implications and disjunctions) are
+ * also found by their parts, e.g., the implications with a given antecedent.
+ * <p>
+ * A line is only put into the part indexes once it has been processed (see
+ * index(...)), so each pair of lines is matched when the later of the two is
+ * processed, and not again after that.
+ */
+final class NDProofIndex {
+
+    /**
+     * Every line, in the order it was derived.
+     */
+    private final List<NDWffTree> lines = new ArrayList<>();
+
+    /**
+     * Every line, by its key.
+     */
+    private final Map<String, NDWffTree> byKey = new HashMap<>();
+
+    /**
+     * Processed implications, by the key of their antecedent.
+     */
+    private final Map<String, List<NDWffTree>> implicationsByAntecedent = new HashMap<>();
+
+    /**
+     * Processed implications, by the key of their consequent.
+     */
+    private final Map<String, List<NDWffTree>> implicationsByConsequent = new HashMap<>();
+
+    /**
+     * Processed disjunctions, by the key of each disjunct.
+     */
+    private final Map<String, List<NDWffTree>> disjunctionsByDisjunct = new HashMap<>();
+
+    /**
+     * Processed disjunctions.
+     */
+    private final List<NDWffTree> disjunctions = new ArrayList<>();
+
+    /**
+     * Returns a key for a wff that is the same for every wff that only differs from
+     * it in the order of the operands of a symmetric operator (&amp;, ∨, ↔, =), or
+     * in spacing. Two wffs with the same key are the same line of a proof.
+     *
+     * @param _wff - wff to get the key of.
+     * @return key of the wff.
+     */
+    static String getKey(WffTree _wff) {
+        if (_wff.isNegation()) {
+            return "~" + NDProofIndex.getKey(_wff.getChild(0));
+        } else if (_wff.isBinaryOp()) {
+            String lhs = NDProofIndex.getKey(_wff.getChild(0));
+            String rhs = NDProofIndex.getKey(_wff.getChild(1));
+            boolean symmetric = _wff.isAnd() || _wff.isOr() || _wff.isBicond() || _wff.isIdentity();
+            if (symmetric && lhs.compareTo(rhs) > 0) {
+                String swap = lhs;
+                lhs = rhs;
+                rhs = swap;
+            }
+            return "(" + lhs + " " + _wff.getNodeType() + " " + rhs + ")";
+        } else if (_wff.isQuantifier()) {
+            return "(" + _wff.getNodeType() + " " + ((QuantifierNode) _wff).getVariableSymbol() + ")" + NDProofIndex.getKey(_wff.getChild(0));
+        }
+        return _wff.getStringRep().replace(" ", "");
+    }
+
+    /**
+     * Adds a line unless there already is one with the same key.
+     *
+     * @param _line - line to add.
+     * @return true if it was added.
+     */
+    boolean add(NDWffTree _line) {
+        if (this.byKey.putIfAbsent(NDProofIndex.getKey(_line.getWffTree()), _line) != null) {
+            return false;
+        }
+        this.lines.add(_line);
+        return true;
+    }
+
+    /**
+     * Puts a processed line into the part indexes.
+     *
+     * @param _line - line that the rules have been applied to.
+     */
+    void index(NDWffTree _line) {
+        WffTree wff = _line.getWffTree();
+        if (wff.isImp()) {
+            NDProofIndex.put(this.implicationsByAntecedent, NDProofIndex.getKey(wff.getChild(0)), _line);
+            NDProofIndex.put(this.implicationsByConsequent, NDProofIndex.getKey(wff.getChild(1)), _line);
+        } else if (wff.isOr()) {
+            this.disjunctions.add(_line);
+            NDProofIndex.put(this.disjunctionsByDisjunct, NDProofIndex.getKey(wff.getChild(0)), _line);
+            NDProofIndex.put(this.disjunctionsByDisjunct, NDProofIndex.getKey(wff.getChild(1)), _line);
+        }
+    }
+
+    /**
+     * @param _wff - wff to look for.
+     * @return the line with the same key, or null if there is none.
+     */
+    NDWffTree get(WffTree _wff) {
+        return this.byKey.get(NDProofIndex.getKey(_wff));
+    }
+
+    /**
+     * @return the line with the given key, or null if there is none.
+     */
+    NDWffTree get(String _key) {
+        return this.byKey.get(_key);
+    }
+
+    List<NDWffTree> getImplicationsByAntecedent(String _key) {
+        return this.implicationsByAntecedent.getOrDefault(_key, Collections.emptyList());
+    }
+
+    List<NDWffTree> getImplicationsByConsequent(String _key) {
+        return this.implicationsByConsequent.getOrDefault(_key, Collections.emptyList());
+    }
+
+    List<NDWffTree> getDisjunctionsByDisjunct(String _key) {
+        return this.disjunctionsByDisjunct.getOrDefault(_key, Collections.emptyList());
+    }
+
+    List<NDWffTree> getDisjunctions() {
+        return this.disjunctions;
+    }
+
+    /**
+     * @return every line, in the order it was derived.
+     */
+    List<NDWffTree> getLines() {
+        return this.lines;
+    }
+
+    static <T> void put(Map<String, List<T>> _index, String _key, T _value) {
+        _index.computeIfAbsent(_key, (_k) -> new ArrayList<>()).add(_value);
+    }
+}
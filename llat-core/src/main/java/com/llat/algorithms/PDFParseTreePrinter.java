@@ -0,0 +1,25 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.pdf.PDFRenderer;
+import com.llat.models.treenode.WffTree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ *
+ */
+public class PDFParseTreePrinter extends PDFPrinter {
+
+    public PDFParseTreePrinter(WffTree _tree, String _outputFile) {
+        super(_tree, _outputFile);
+    }
+
+    /**
+     * Draws the parse tree into a PDF.
+     */
+    @Override
+    public void write(OutputStream _out) throws IOException {
+        PDFRenderer.renderParseTree(this.getWffTree(), _out);
+    }
+}
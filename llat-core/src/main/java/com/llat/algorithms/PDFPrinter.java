@@ -2,10 +2,13 @@ package com.llat.algorithms;
 
 import com.llat.models.treenode.WffTree;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
-public abstract class TexPrinter {
+public abstract class PDFPrinter {
 
     /**
      * Truth tree to print to the output file.
@@ -17,17 +20,7 @@ public abstract class TexPrinter {
      */
     private final String OUTPUT_FILE;
 
-    /**
-     * BufferedWriter object.
-     */
-    private BufferedWriter writer;
-
-    /**
-     * BufferedReader object to read the template in.
-     */
-    private BufferedReader reader;
-
-    public TexPrinter(WffTree _tree, String _outputFile) {
+    public PDFPrinter(WffTree _tree, String _outputFile) {
         this.WFF_TREE = _tree;
         this.OUTPUT_FILE = _outputFile;
     }
@@ -44,24 +37,23 @@ public abstract class TexPrinter {
 
     /**
      * Outputs the algorithm or whatever subclass extends this to the output file.
+     * The PDF is drawn locally (see PDFRenderer), so this needs no network connection.
      */
-    public abstract void outputToFile();
-
-    protected BufferedReader getBufferedReader() {
-        return this.reader;
-    }
-
-    protected void setBufferedReader(BufferedReader _reader) {
-        this.reader = _reader;
-    }
-
-    protected BufferedWriter getBufferedWriter() {
-        return this.writer;
+    public void outputToFile() {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Paths.get(this.OUTPUT_FILE)))) {
+            this.write(out);
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        }
     }
 
-    protected void setBufferedWriter(BufferedWriter _writer) {
-        this.writer = _writer;
-    }
+    /**
+     * Writes the PDF of the algorithm or whatever subclass extends this to a stream.
+     *
+     * @param _out - stream to write to; it is not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public abstract void write(OutputStream _out) throws IOException;
 
     protected String getOutputFile() {
         return this.OUTPUT_FILE;
@@ -70,4 +62,5 @@ public abstract class TexPrinter {
     protected WffTree getWffTree() {
         return this.WFF_TREE;
     }
+
 }
@@ -0,0 +1,31 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.pdf.PDFRenderer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ *
+ */
+public class PDFTruthTreePrinter extends PDFPrinter {
+
+    /**
+     * Truth tree to print.
+     */
+    private final TruthTree TRUTH_TREE;
+
+    public PDFTruthTreePrinter(TruthTree _tree, String _outputFile) {
+        super(_tree.getWff(), _outputFile);
+        this.TRUTH_TREE = _tree;
+    }
+
+    /**
+     * Draws the truth tree into a PDF.
+     */
+    @Override
+    public void write(OutputStream _out) throws IOException {
+        PDFRenderer.renderTruthTree(this.TRUTH_TREE, _out);
+    }
+}
@@ -0,0 +1,95 @@
+package com.llat.algorithms;
+
+import com.llat.models.treenode.WffTree;
+
+import java.io.*;
+
+/**
+ *
+ */
+public class TexParseTreePrinter extends TexPrinter {
+
+    /**
+     * Template location to read from.
+     */
+    private static final String TEX_TREE_TEMPLATE = "tex_parse_tree_template.tex";
+
+    public TexParseTreePrinter(WffTree _tree, String _outputFile) {
+        super(_tree, _outputFile);
+    }
+
+    /**
+     * Outputs the parse tree to a .tex file. The preamble information/template data is
+     * copied to the output file first, then we recursively traverse the TruthTree object
+     * calling the getTexLiteralCommand() methods on each node.
+     */
+    public void outputToFile() {
+        try {
+            this.setBufferedWriter(this.openOutputFile());
+
+            // First copy the template over.
+            this.getBufferedWriter().write(TexPrinter.getTemplate(TEX_TREE_TEMPLATE));
+
+            // Now print out the tree.
+            TexParseTreePrinter.writeTexParseTree(this.getWffTree(), this.getBufferedWriter());
+            this.getBufferedWriter().write("\n\\end{forest}\n\\end{document}\n");
+            this.getBufferedWriter().close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @param _wffTree - root of the wff.
+     * @return the parse tree of the wff, as the body of a forest environment.
+     */
+    public static String getTexParseTree(WffTree _wffTree) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            TexParseTreePrinter.writeTexParseTree(_wffTree, sb);
+        } catch (IOException ex) {
+            // A StringBuilder does not throw.
+            throw new UncheckedIOException(ex);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the parse tree of a wff node by node, as the body of a forest environment.
+     *
+     * @param _wffTree - root of the wff.
+     * @param _out     - where to write the tree, e.g. a buffered file writer.
+     * @throws IOException if _out cannot be written.
+     */
+    public static void writeTexParseTree(WffTree _wffTree, Appendable _out) throws IOException {
+        TexParseTreePrinter.writeTexParseTreeHelper(_wffTree.getChild(0), _out, 0);
+    }
+
+    /**
+     * @param _tree
+     * @param _out
+     * @param _indent
+     */
+    private static void writeTexParseTreeHelper(WffTree _tree, Appendable _out, int _indent) throws IOException {
+        TexParseTreePrinter.indent(_out, _indent);
+        _out.append("[");
+        _out.append(_tree.getTexParseCommand());
+        for (WffTree ch : _tree.getChildren()) {
+            // The parse tree prints predicates as how they are e.g. Pxyz instead of branching
+            // off three times for each variable/constant.
+            if (!_tree.isPredicate()) {
+                _out.append("\n");
+                TexParseTreePrinter.writeTexParseTreeHelper(ch, _out, _indent + 1);
+            }
+        }
+        _out.append("\n");
+        TexParseTreePrinter.indent(_out, _indent);
+        _out.append("]");
+    }
+
+    private static void indent(Appendable _out, int _indent) throws IOException {
+        for (int i = 0; i < _indent; i++) {
+            _out.append('\t');
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.llat.algorithms;
+
+import com.llat.models.treenode.WffTree;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public abstract class TexPrinter {
+
+    /**
+     * Contents of the templates that were read so far, by file name.
+     */
+    private static final Map<String, String> TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * Truth tree to print to the output file.
+     */
+    private final WffTree WFF_TREE;
+
+    /**
+     * Output file to print to.
+     */
+    private final String OUTPUT_FILE;
+
+    /**
+     * BufferedWriter object.
+     */
+    private BufferedWriter writer;
+
+    /**
+     * BufferedReader object to read the template in.
+     */
+    private BufferedReader reader;
+
+    public TexPrinter(WffTree _tree, String _outputFile) {
+        this.WFF_TREE = _tree;
+        this.OUTPUT_FILE = _outputFile;
+    }
+
+    /**
+     * Removes the math mode environment from a string in TeX.
+     *
+     * @param _s - String to embed in the math mode removal command.
+     * @return String inside of \mathrm{...}.
+     */
+    public static String removeMathMode(String _s) {
+        return "\\mathrm{" + _s + "}";
+    }
+
+    /**
+     * Opens one of the TeX templates bundled with the engine. They are read off of
+     * the classpath so that exporting works no matter which directory LLAT is run
+     * from.
+     *
+     * @param _template - file name of the template, e.g. tex_truth_table_template.tex.
+     * @return reader over the template.
+     * @throws IOException if the template is not on the classpath.
+     */
+    public static BufferedReader openTemplate(String _template) throws IOException {
+        InputStream in = TexPrinter.class.getResourceAsStream("/" + _template);
+        if (in == null) {
+            throw new FileNotFoundException("Could not find the TeX template " + _template + ".");
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the contents of one of the TeX templates bundled with the engine. Each
+     * template is only read once, so exporting many files does not read it again
+     * for every one of them.
+     *
+     * @param _template - file name of the template, e.g. tex_truth_table_template.tex.
+     * @return the template.
+     * @throws IOException if the template is not on the classpath.
+     */
+    public static String getTemplate(String _template) throws IOException {
+        String template = TexPrinter.TEMPLATES.get(_template);
+        if (template == null) {
+            StringBuilder sb = new StringBuilder();
+            try (BufferedReader reader = TexPrinter.openTemplate(_template)) {
+                char[] buffer = new char[4096];
+                for (int n = reader.read(buffer); n != -1; n = reader.read(buffer)) {
+                    sb.append(buffer, 0, n);
+                }
+            }
+            template = sb.toString();
+            TexPrinter.TEMPLATES.putIfAbsent(_template, template);
+        }
+        return template;
+    }
+
+    /**
+     * Opens the output file for writing, as UTF-8 through a buffer. The printers
+     * write their TeX into it piece by piece rather than building it up as one
+     * string, so the size of the output does not decide how much memory is used.
+     *
+     * @return writer over the output file, which replaces it.
+     * @throws IOException if the file cannot be opened.
+     */
+    protected BufferedWriter openOutputFile() throws IOException {
+        return Files.newBufferedWriter(Paths.get(this.OUTPUT_FILE), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Outputs the algorithm or whatever subclass extends this to the output file.
+     */
+    public abstract void outputToFile();
+
+    protected BufferedReader getBufferedReader() {
+        return this.reader;
+    }
+
+    protected void setBufferedReader(BufferedReader _reader) {
+        this.reader = _reader;
+    }
+
+    protected BufferedWriter getBufferedWriter() {
+        return this.writer;
+    }
+
+    protected void setBufferedWriter(BufferedWriter _writer) {
+        this.writer = _writer;
+    }
+
+    protected String getOutputFile() {
+        return this.OUTPUT_FILE;
+    }
+
+    protected WffTree getWffTree() {
+        return this.WFF_TREE;
+    }
+}
@@ -9,7 +9,7 @@ public class TexTruthTreePrinter extends TexPrinter {
     /**
      * Template location to read from.
      */
-    private static final String TEX_TREE_TEMPLATE = "src/main/resources/tex_truth_tree_template.tex";
+    private static final String TEX_TREE_TEMPLATE = "tex_truth_tree_template.tex";
 
     /**
      * Truth tree to print.
@@ -28,19 +28,13 @@ public class TexTruthTreePrinter extends TexPrinter {
      */
     public void outputToFile() {
         try {
-            this.setBufferedReader(new BufferedReader(new FileReader(TEX_TREE_TEMPLATE)));
-            this.setBufferedWriter(new BufferedWriter(new FileWriter(this.getOutputFile())));
+            this.setBufferedWriter(this.openOutputFile());
 
             // First copy the template over.
-            int ch = this.getBufferedReader().read();
-            while (ch != -1) {
-                this.getBufferedWriter().write(ch);
-                ch = this.getBufferedReader().read();
-            }
-            this.getBufferedReader().close();
+            this.getBufferedWriter().write(TexPrinter.getTemplate(TEX_TREE_TEMPLATE));
 
             // Now print out the tree.
-            this.getBufferedWriter().write(this.TRUTH_TREE.getTexTree());
+            this.TRUTH_TREE.writeTexTree(this.getBufferedWriter());
             this.getBufferedWriter().write("\n\\end{forest}\n\\end{document}\n");
             this.getBufferedWriter().close();
         } catch (IOException e) {
@@ -0,0 +1,329 @@
+package com.llat.algorithms.layout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lays out trees under one model and spacing, and remembers the layouts of the most
+ * recent trees so that drawing the same tree again (after a zoom, a change of theme,
+ * another algorithm highlighting its nodes, or an export) costs no layout at all.
+ * <p>
+ * Layouts are also incremental. Each subtree keeps its own shape: where its children
+ * go relative to its root, and its left and right outline on every level. When a tree
+ * is laid out again, a subtree whose nodes and children are the same objects as last
+ * time keeps its shape, and only the subtrees on the path from a change up to the root
+ * are fitted together again. Stepping through the construction of a truth tree, where
+ * each step adds a few nodes, therefore only measures and packs the new nodes and their
+ * ancestors, which are measured again too. A node whose box changes size without its
+ * children or its box size (see TreeLayoutModel.getBoxSize()) changing has to be passed
+ * to invalidate().
+ * <p>
+ * Children are packed left to right as close as their outlines allow, as in
+ * Reingold and Tilford's algorithm, and each parent is centered over its outermost
+ * children. Layouts of different trees run in parallel; layouts of the same tree
+ * take turns.
+ *
+ * @param <N> - type of the nodes of the tree, told apart by identity.
+ */
+public final class TreeLayoutCache<N> {
+
+    /**
+     *
+     */
+    private final TreeLayoutModel<N> model;
+
+    /**
+     * Vertical space between two levels of a tree.
+     */
+    private final double levelGap;
+
+    /**
+     * Smallest horizontal space between two nodes on the same level.
+     */
+    private final double nodeGap;
+
+    /**
+     * Laid out trees, by the identity of their root, least recently used first.
+     */
+    private final LinkedHashMap<RootKey, CachedTree<N>> entries;
+
+    public TreeLayoutCache(TreeLayoutModel<N> _model, double _levelGap, double _nodeGap, int _capacity) {
+        if (_capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + _capacity);
+        }
+        this.model = _model;
+        this.levelGap = _levelGap;
+        this.nodeGap = _nodeGap;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RootKey, CachedTree<N>> _eldest) {
+                return this.size() > _capacity;
+            }
+        };
+    }
+
+    /**
+     * Lays out the tree under the given root, reusing whatever is unchanged since it
+     * was last laid out.
+     *
+     * @param _root - root of the tree.
+     * @return the layout, which is the same object as last time if nothing changed.
+     */
+    public TreeLayoutResult<N> layout(N _root) {
+        CachedTree<N> entry;
+        synchronized (this.entries) {
+            entry = this.entries.computeIfAbsent(new RootKey(_root), (_key) -> new CachedTree<>());
+        }
+        synchronized (entry) {
+            IdentityHashMap<N, Subtree<N>> shapes = new IdentityHashMap<>(Math.max(16, entry.shapes.size() * 4 / 3));
+            Subtree<N> root = this.measure(_root, entry.shapes, shapes);
+            entry.shapes = shapes;
+            if (root != entry.root) {
+                entry.root = root;
+                entry.result = new TreeLayoutResult<>(root, this.levelGap);
+            }
+            return entry.result;
+        }
+    }
+
+    /**
+     * Marks a node's box as changed, so the next layout of any tree it is in measures
+     * it again and refits its ancestors.
+     *
+     * @param _node - node whose width or height changed.
+     */
+    public void invalidate(N _node) {
+        List<CachedTree<N>> entries;
+        synchronized (this.entries) {
+            entries = new ArrayList<>(this.entries.values());
+        }
+        for (CachedTree<N> entry : entries) {
+            synchronized (entry) {
+                Subtree<N> shape = entry.shapes.get(_node);
+                if (shape != null) {
+                    shape.stale = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Forgets every layout.
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * @return the number of trees whose layouts are remembered.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Finds the shape of a subtree, reusing the previous one if neither the node nor
+     * any of its descendants changed.
+     *
+     * @param _node      - root of the subtree.
+     * @param _previous  - shapes from the previous layout of the tree.
+     * @param _current   - shapes of this layout, which this adds to.
+     * @return the shape of the subtree.
+     */
+    private Subtree<N> measure(N _node, IdentityHashMap<N, Subtree<N>> _previous, IdentityHashMap<N, Subtree<N>> _current) {
+        List<N> children = this.model.getChildren(_node);
+        int boxSize = this.model.getBoxSize(_node);
+        Subtree<N> previous = _previous.get(_node);
+        boolean changed = previous == null || previous.stale || previous.boxSize != boxSize
+                || previous.children.length != children.size();
+        @SuppressWarnings("unchecked")
+        Subtree<N>[] shapes = new Subtree[children.size()];
+        Iterator<N> it = children.iterator();
+        for (int i = 0; i < shapes.length; i++) {
+            shapes[i] = this.measure(it.next(), _previous, _current);
+            changed = changed || shapes[i] != previous.children[i];
+        }
+
+        Subtree<N> shape = previous;
+        if (changed) {
+            // What the box shows may have changed with the subtree, so it is measured again.
+            shape = new Subtree<>(_node, shapes, boxSize, this.model.getWidth(_node), this.model.getHeight(_node));
+            this.fit(shape);
+        }
+        _current.put(_node, shape);
+        return shape;
+    }
+
+    /**
+     * Packs the children of a subtree, whose shapes are already known, and works out
+     * the subtree's own shape from theirs.
+     *
+     * @param _shape - subtree with its children and box set.
+     */
+    private void fit(Subtree<N> _shape) {
+        Subtree<N>[] children = _shape.children;
+        int levels = 1;
+        for (Subtree<N> child : children) {
+            levels = Math.max(levels, child.levelHeights.length + 1);
+            _shape.size += child.size;
+        }
+
+        // Move each child right until it clears the right outline of those before it.
+        double[] shifts = new double[children.length];
+        double[] rightOutline = new double[0];
+        for (int i = 0; i < children.length; i++) {
+            Subtree<N> child = children[i];
+            if (i > 0) {
+                double shift = Double.NEGATIVE_INFINITY;
+                for (int d = 0; d < Math.min(rightOutline.length, child.left.length); d++) {
+                    shift = Math.max(shift, rightOutline[d] - child.left[d] + this.nodeGap);
+                }
+                shifts[i] = shift;
+            }
+            if (child.right.length > rightOutline.length) {
+                rightOutline = Arrays.copyOf(rightOutline, child.right.length);
+            }
+            for (int d = 0; d < child.right.length; d++) {
+                rightOutline[d] = child.right[d] + shifts[i];
+            }
+        }
+
+        // Center the node over its outermost children.
+        double middle = children.length == 0 ? 0 : (shifts[0] + shifts[children.length - 1]) / 2;
+        _shape.offsets = new double[children.length];
+        _shape.left = new double[levels];
+        _shape.right = new double[levels];
+        _shape.levelHeights = new double[levels];
+        _shape.left[0] = -_shape.width / 2;
+        _shape.right[0] = _shape.width / 2;
+        _shape.levelHeights[0] = _shape.height;
+        for (int d = 1; d < levels; d++) {
+            _shape.left[d] = Double.POSITIVE_INFINITY;
+            _shape.right[d] = Double.NEGATIVE_INFINITY;
+        }
+        for (int i = 0; i < children.length; i++) {
+            Subtree<N> child = children[i];
+            _shape.offsets[i] = shifts[i] - middle;
+            for (int d = 0; d < child.left.length; d++) {
+                _shape.left[d + 1] = Math.min(_shape.left[d + 1], child.left[d] + _shape.offsets[i]);
+                _shape.right[d + 1] = Math.max(_shape.right[d + 1], child.right[d] + _shape.offsets[i]);
+                _shape.levelHeights[d + 1] = Math.max(_shape.levelHeights[d + 1], child.levelHeights[d]);
+            }
+        }
+    }
+
+    /**
+     * Shape of a subtree, relative to the center of its root. Once fitted, only its stale
+     * flag changes.
+     */
+    static final class Subtree<N> {
+
+        /**
+         *
+         */
+        final N node;
+
+        /**
+         *
+         */
+        final Subtree<N>[] children;
+
+        /**
+         * Size of the node's own box.
+         */
+        final double width, height;
+
+        /**
+         * Number of nodes of the tree that the node's box shows.
+         */
+        final int boxSize;
+
+        /**
+         * Number of nodes in the subtree.
+         */
+        int size = 1;
+
+        /**
+         * Center of each child relative to the center of the node.
+         */
+        double[] offsets;
+
+        /**
+         * Leftmost and rightmost edge on each level of the subtree, where 0 is the node's own.
+         */
+        double[] left, right;
+
+        /**
+         * Height of the tallest node on each level of the subtree.
+         */
+        double[] levelHeights;
+
+        /**
+         * Whether the node's box has to be measured again.
+         */
+        boolean stale;
+
+        Subtree(N _node, Subtree<N>[] _children, int _boxSize, double _width, double _height) {
+            this.node = _node;
+            this.children = _children;
+            this.boxSize = _boxSize;
+            this.width = _width;
+            this.height = _height;
+        }
+    }
+
+    /**
+     * Shapes of the subtrees of one tree, and its last layout.
+     */
+    private static final class CachedTree<N> {
+
+        /**
+         *
+         */
+        private IdentityHashMap<N, Subtree<N>> shapes = new IdentityHashMap<>();
+
+        /**
+         *
+         */
+        private Subtree<N> root;
+
+        /**
+         *
+         */
+        private TreeLayoutResult<N> result;
+    }
+
+    /**
+     * Compares roots by identity.
+     */
+    private static final class RootKey {
+
+        /**
+         *
+         */
+        private final Object root;
+
+        private RootKey(Object _root) {
+            this.root = _root;
+        }
+
+        @Override
+        public boolean equals(Object _obj) {
+            return _obj instanceof RootKey && ((RootKey) _obj).root == this.root;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.root);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.llat.algorithms.layout;
+
+import java.util.List;
+
+/**
+ * What a TreeLayoutCache needs to know about a tree: the children of each node and
+ * the size of its box. The same tree can be laid out under different models, e.g.,
+ * one measuring its text in pixels for the screen and one in points for a PDF.
+ *
+ * @param <N> - type of the nodes of the tree. Nodes are told apart by identity, not
+ *            equals(), so two equal subtrees at different places are laid out apart.
+ */
+public interface TreeLayoutModel<N> {
+
+    /**
+     * @param _node - node of the tree.
+     * @return its children, from left to right.
+     */
+    List<N> getChildren(N _node);
+
+    /**
+     * @param _node - node of the tree.
+     * @return width of the node's box.
+     */
+    double getWidth(N _node);
+
+    /**
+     * @param _node - node of the tree.
+     * @return height of the node's box.
+     */
+    double getHeight(N _node);
+
+    /**
+     * Number of nodes of the tree that the box of a node shows, for models whose boxes
+     * show more than the node itself, e.g., a stack of truth tree nodes drawn as one.
+     * A node whose count changed since the last layout is measured again.
+     *
+     * @param _node - node of the tree.
+     * @return how many nodes its box shows.
+     */
+    default int getBoxSize(N _node) {
+        return 1;
+    }
+}
@@ -0,0 +1,197 @@
+package com.llat.algorithms.layout;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Where every node of a tree goes. The tree's top-left corner is at (0, 0), each
+ * level of the tree is a row as tall as its tallest node, and nodes are centered
+ * vertically in their row and horizontally over their children.
+ * <p>
+ * Results are immutable, so one can be shared by whatever draws the tree, e.g., the
+ * view on screen and an export, on any thread.
+ *
+ * @param <N> - type of the nodes of the tree.
+ */
+public final class TreeLayoutResult<N> {
+
+    /**
+     *
+     */
+    private final N root;
+
+    /**
+     * Node and box of each node, by node identity.
+     */
+    private final IdentityHashMap<N, Placement<N>> placements;
+
+    /**
+     *
+     */
+    private final double treeWidth;
+
+    /**
+     *
+     */
+    private final double treeHeight;
+
+    /**
+     * Number of levels below the root.
+     */
+    private final int depth;
+
+    TreeLayoutResult(TreeLayoutCache.Subtree<N> _root, double _levelGap) {
+        this.root = _root.node;
+        this.placements = new IdentityHashMap<>(_root.size * 4 / 3 + 1);
+        this.depth = _root.levelHeights.length - 1;
+
+        // The top of each level.
+        double[] levelY = new double[_root.levelHeights.length];
+        for (int d = 1; d < levelY.length; d++) {
+            levelY[d] = levelY[d - 1] + _root.levelHeights[d - 1] + _levelGap;
+        }
+        double minX = 0, maxX = 0;
+        for (int d = 0; d < _root.left.length; d++) {
+            minX = Math.min(minX, _root.left[d]);
+            maxX = Math.max(maxX, _root.right[d]);
+        }
+        this.treeWidth = maxX - minX;
+        this.treeHeight = levelY[this.depth] + _root.levelHeights[this.depth];
+        this.place(_root, -minX, 0, levelY, _root.levelHeights);
+    }
+
+    /**
+     * @param _subtree      - subtree to place.
+     * @param _centerX      - center of the subtree's root.
+     * @param _depth        - level of the subtree's root.
+     * @param _levelY       - top of each level.
+     * @param _levelHeights - height of each level.
+     */
+    private void place(TreeLayoutCache.Subtree<N> _subtree, double _centerX, int _depth, double[] _levelY, double[] _levelHeights) {
+        double y = _levelY[_depth] + (_levelHeights[_depth] - _subtree.height) / 2;
+        this.placements.put(_subtree.node, new Placement<>(_subtree, _centerX - _subtree.width / 2, y, _depth));
+        for (int i = 0; i < _subtree.children.length; i++) {
+            this.place(_subtree.children[i], _centerX + _subtree.offsets[i], _depth + 1, _levelY, _levelHeights);
+        }
+    }
+
+    public N getRoot() {
+        return this.root;
+    }
+
+    /**
+     * @param _node - node of the tree.
+     * @return its children as they were laid out, from left to right.
+     */
+    public List<N> getChildren(N _node) {
+        TreeLayoutCache.Subtree<N>[] children = this.get(_node).subtree.children;
+        N[] nodes = TreeLayoutResult.newArray(children.length);
+        for (int i = 0; i < children.length; i++) {
+            nodes[i] = children[i].node;
+        }
+        return List.of(nodes);
+    }
+
+    /**
+     * @return every node of the tree.
+     */
+    public Set<N> getNodes() {
+        return Collections.unmodifiableSet(this.placements.keySet());
+    }
+
+    /**
+     * @return left of the node's box.
+     */
+    public double getX(N _node) {
+        return this.get(_node).x;
+    }
+
+    /**
+     * @return top of the node's box.
+     */
+    public double getY(N _node) {
+        return this.get(_node).y;
+    }
+
+    public double getWidth(N _node) {
+        return this.get(_node).subtree.width;
+    }
+
+    public double getHeight(N _node) {
+        return this.get(_node).subtree.height;
+    }
+
+    /**
+     * @return level of the node, where the root is 0.
+     */
+    public int getDepth(N _node) {
+        return this.get(_node).depth;
+    }
+
+    public boolean isLeaf(N _node) {
+        return this.get(_node).subtree.children.length == 0;
+    }
+
+    public double getTreeWidth() {
+        return this.treeWidth;
+    }
+
+    public double getTreeHeight() {
+        return this.treeHeight;
+    }
+
+    /**
+     * @return the number of levels below the root.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    private Placement<N> get(N _node) {
+        Placement<N> placement = this.placements.get(_node);
+        if (placement == null) {
+            throw new IllegalArgumentException("Node is not in this layout: " + _node);
+        }
+        return placement;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <N> N[] newArray(int _length) {
+        return (N[]) new Object[_length];
+    }
+
+    /**
+     * Box of a node.
+     */
+    private static final class Placement<N> {
+
+        /**
+         *
+         */
+        private final TreeLayoutCache.Subtree<N> subtree;
+
+        /**
+         *
+         */
+        private final double x;
+
+        /**
+         *
+         */
+        private final double y;
+
+        /**
+         *
+         */
+        private final int depth;
+
+        private Placement(TreeLayoutCache.Subtree<N> _subtree, double _x, double _y, int _depth) {
+            this.subtree = _subtree;
+            this.x = _x;
+            this.y = _y;
+            this.depth = _depth;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.llat.algorithms.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counters and histograms of what the algorithm engines spend their time on,
+ * shared by every thread. They are always on: each update is an add to a
+ * LongAdder, and the hot loops (e.g., the closure check) add once per call
+ * instead of once per step.
+ * <p>
+ * A snapshot can be taken as JSON with toJson(), or in the Prometheus text format
+ * with toPrometheus(). The counters are read one at a time, so a snapshot taken
+ * while algorithms run may be a few updates apart between two metrics.
+ */
+public final class AlgorithmMetrics {
+
+    /**
+     * Every metric, in the order they are exported. This comes first so the
+     * metrics below can register themselves.
+     */
+    private static final List<Metric> METRICS = new ArrayList<>();
+
+    /**
+     * One counter per truth tree rule, indexed by Rule.ordinal().
+     */
+    private static final Counter[] RULE_EXPANSIONS = new Counter[Rule.values().length];
+
+    static {
+        for (Rule rule : Rule.values()) {
+            RULE_EXPANSIONS[rule.ordinal()] = AlgorithmMetrics.register(new Counter("llat_truth_tree_rule_expansions_total",
+                    "rule", rule.toString(), "Nodes of truth trees expanded, by the rule applied."));
+        }
+    }
+
+    public static final Counter CLOSURE_CHECKS = AlgorithmMetrics.register(new Counter("llat_truth_tree_closure_checks_total",
+            null, null, "Comparisons of a leaf with an ancestor while looking for closed branches."));
+
+    public static final Counter BRANCHES_CLOSED = AlgorithmMetrics.register(new Counter("llat_truth_tree_branches_closed_total",
+            null, null, "Truth tree branches found to be closed."));
+
+    public static final Counter EXISTENTIAL_INSTANTIATIONS = AlgorithmMetrics.register(new Counter("llat_truth_tree_instantiations_total",
+            "quantifier", "existential", "Instances of quantified or identity wffs added to truth trees."));
+
+    public static final Counter UNIVERSAL_INSTANTIATIONS = AlgorithmMetrics.register(new Counter("llat_truth_tree_instantiations_total",
+            "quantifier", "universal", "Instances of quantified or identity wffs added to truth trees."));
+
+    public static final Counter IDENTITY_INSTANTIATIONS = AlgorithmMetrics.register(new Counter("llat_truth_tree_instantiations_total",
+            "quantifier", "identity", "Instances of quantified or identity wffs added to truth trees."));
+
+    public static final Histogram TRUTH_TREE_SECONDS = AlgorithmMetrics.register(new Histogram("llat_truth_tree_seconds",
+            "Time to generate a truth tree.", 1e-9, 10, 36));
+
+    public static final Histogram TRUTH_TREE_ITERATIONS = AlgorithmMetrics.register(new Histogram("llat_truth_tree_iterations",
+            "Iterations of the truth tree generator loop per tree.", 1, 0, 20));
+
+    public static final Counter TRUTH_TREE_TIMEOUTS = AlgorithmMetrics.register(new Counter("llat_timeouts_total",
+            "algorithm", "truth_tree", "Algorithms that gave up at their iteration limit."));
+
+    public static final Counter NATURAL_DEDUCTION_TIMEOUTS = AlgorithmMetrics.register(new Counter("llat_timeouts_total",
+            "algorithm", "natural_deduction", "Algorithms that gave up at their iteration limit."));
+
+    public static final Counter TRUTH_TREE_WINS = AlgorithmMetrics.register(new Counter("llat_portfolio_wins_total",
+            "strategy", "truth_tree", "Arguments decided by the portfolio, by the strategy that answered first."));
+
+    public static final Counter SATISFIABILITY_WINS = AlgorithmMetrics.register(new Counter("llat_portfolio_wins_total",
+            "strategy", "satisfiability", "Arguments decided by the portfolio, by the strategy that answered first."));
+
+    public static final Counter NATURAL_DEDUCTION_WINS = AlgorithmMetrics.register(new Counter("llat_portfolio_wins_total",
+            "strategy", "natural_deduction", "Arguments decided by the portfolio, by the strategy that answered first."));
+
+    public static final Counter PORTFOLIO_UNDECIDED = AlgorithmMetrics.register(new Counter("llat_portfolio_wins_total",
+            "strategy", "none", "Arguments decided by the portfolio, by the strategy that answered first."));
+
+    public static final Counter CANCELLATIONS = AlgorithmMetrics.register(new Counter("llat_cancellations_total",
+            null, null, "Algorithms stopped by their caller, e.g., for running past a time budget."));
+
+    public static final Counter TRUTH_TABLE_ROWS = AlgorithmMetrics.register(new Counter("llat_truth_table_rows_total",
+            null, null, "Rows of truth tables computed."));
+
+    public static final Histogram TRUTH_TABLE_SECONDS = AlgorithmMetrics.register(new Histogram("llat_truth_table_seconds",
+            "Time to compute a truth table.", 1e-9, 10, 36));
+
+    public static final Histogram PARSE_SECONDS = AlgorithmMetrics.register(new Histogram("llat_parse_seconds",
+            "Time to parse an input into syntax trees.", 1e-9, 10, 30));
+
+    public static final Counter PARSE_ERRORS = AlgorithmMetrics.register(new Counter("llat_parse_errors_total",
+            null, null, "Inputs that did not parse."));
+
+    private AlgorithmMetrics() {
+    }
+
+    private static <T extends Metric> T register(T _metric) {
+        METRICS.add(_metric);
+        return _metric;
+    }
+
+    /**
+     * Counts one node of a truth tree expanded with a rule.
+     *
+     * @param _rule - rule applied.
+     */
+    public static void countRule(Rule _rule) {
+        RULE_EXPANSIONS[_rule.ordinal()].increment();
+    }
+
+    /**
+     * @param _rule - truth tree rule.
+     * @return number of nodes expanded with the rule.
+     */
+    public static long getRuleCount(Rule _rule) {
+        return RULE_EXPANSIONS[_rule.ordinal()].get();
+    }
+
+    /**
+     * @return every metric, in the order they are exported.
+     */
+    public static List<Metric> getMetrics() {
+        return Collections.unmodifiableList(METRICS);
+    }
+
+    /**
+     * Sets every metric back to zero.
+     */
+    public static void reset() {
+        for (Metric metric : METRICS) {
+            metric.reset();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the metrics as a JSON object. Each metric is a key; a
+     * labelled metric is an object from label value to count, and a histogram is an
+     * object with its count, sum and cumulative buckets.
+     *
+     * @return JSON text.
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < METRICS.size(); i++) {
+            Metric metric = METRICS.get(i);
+            boolean first = i == 0 || !METRICS.get(i - 1).getName().equals(metric.getName());
+            boolean last = i == METRICS.size() - 1 || !METRICS.get(i + 1).getName().equals(metric.getName());
+            if (first) {
+                json.append(i == 0 ? "" : ",").append('"').append(metric.getName()).append("\":");
+                if (metric.getLabelValue() != null) {
+                    json.append('{');
+                }
+            } else {
+                json.append(',');
+            }
+            if (metric.getLabelValue() != null) {
+                json.append('"').append(metric.getLabelValue()).append("\":");
+            }
+            if (metric instanceof Counter) {
+                json.append(((Counter) metric).get());
+            } else if (metric instanceof Histogram) {
+                Histogram histogram = (Histogram) metric;
+                json.append("{\"count\":").append(histogram.getCount())
+                        .append(",\"sum\":").append(AlgorithmMetrics.format(histogram.getSum()))
+                        .append(",\"buckets\":{");
+                double[] bounds = histogram.getUpperBounds();
+                long[] counts = histogram.getCumulativeCounts();
+                for (int b = 0; b < bounds.length; b++) {
+                    json.append(b == 0 ? "" : ",").append('"').append(AlgorithmMetrics.format(bounds[b])).append("\":").append(counts[b]);
+                }
+                json.append("}}");
+            }
+            if (last && metric.getLabelValue() != null) {
+                json.append('}');
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Returns a snapshot of the metrics in the Prometheus text exposition format
+     * (version 0.0.4).
+     *
+     * @return exposition text, ending with a line break.
+     */
+    public static String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < METRICS.size(); i++) {
+            Metric metric = METRICS.get(i);
+            if (i == 0 || !METRICS.get(i - 1).getName().equals(metric.getName())) {
+                text.append("# HELP ").append(metric.getName()).append(' ').append(metric.getHelp()).append('\n');
+                text.append("# TYPE ").append(metric.getName()).append(' ')
+                        .append(metric instanceof Histogram ? "histogram" : "counter").append('\n');
+            }
+            if (metric instanceof Counter) {
+                text.append(metric.getName());
+                if (metric.getLabelValue() != null) {
+                    text.append('{').append(metric.getLabelName()).append("=\"").append(metric.getLabelValue()).append("\"}");
+                }
+                text.append(' ').append(((Counter) metric).get()).append('\n');
+            } else if (metric instanceof Histogram) {
+                Histogram histogram = (Histogram) metric;
+                double[] bounds = histogram.getUpperBounds();
+                long[] counts = histogram.getCumulativeCounts();
+                for (int b = 0; b < bounds.length; b++) {
+                    text.append(metric.getName()).append("_bucket{le=\"").append(AlgorithmMetrics.format(bounds[b]))
+                            .append("\"} ").append(counts[b]).append('\n');
+                }
+                text.append(metric.getName()).append("_bucket{le=\"+Inf\"} ").append(histogram.getCount()).append('\n');
+                text.append(metric.getName()).append("_sum ").append(AlgorithmMetrics.format(histogram.getSum())).append('\n');
+                text.append(metric.getName()).append("_count ").append(histogram.getCount()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return a number as both JSON and Prometheus read it, without a trailing ".0"
+     * on whole numbers.
+     */
+    private static String format(double _value) {
+        if (_value == Math.rint(_value) && Math.abs(_value) < 1e15) {
+            return Long.toString((long) _value);
+        }
+        return String.format(Locale.ROOT, "%.9g", _value).replaceFirst("\\.?0+(e|$)", "$1");
+    }
+
+    /**
+     * Rules that expand a node of a truth tree.
+     */
+    public enum Rule {
+        STACK_CONJUNCTION,
+        BRANCH_DISJUNCTION,
+        BRANCH_IMPLICATION,
+        STACK_NEGATED_IMPLICATION,
+        BRANCH_EXCLUSIVE_OR,
+        BRANCH_NEGATED_EXCLUSIVE_OR,
+        BRANCH_BICONDITIONAL,
+        BRANCH_NEGATED_BICONDITIONAL,
+        DISTRIBUTE_NEGATION,
+        DISTRIBUTE_NEGATED_QUANTIFIER,
+        EXISTENTIAL_DECOMPOSITION,
+        UNIVERSAL_DECOMPOSITION,
+        IDENTITY_DECOMPOSITION;
+
+        /**
+         * @return the label value of the rule, e.g., "stack_conjunction".
+         */
+        @Override
+        public String toString() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.llat.algorithms.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count that only goes up. Increments from many threads go to separate cells of
+ * a LongAdder, so counting in a hot loop costs about as much as an unshared add.
+ */
+public final class Counter extends Metric {
+
+    /**
+     *
+     */
+    private final LongAdder value = new LongAdder();
+
+    Counter(String _name, String _labelName, String _labelValue, String _help) {
+        super(_name, _labelName, _labelValue, _help);
+    }
+
+    public void increment() {
+        this.value.increment();
+    }
+
+    /**
+     * @param _amount - amount to add; must not be negative.
+     */
+    public void add(long _amount) {
+        this.value.add(_amount);
+    }
+
+    /**
+     * @return current count.
+     */
+    public long get() {
+        return this.value.sum();
+    }
+
+    @Override
+    void reset() {
+        this.value.reset();
+    }
+}
@@ -0,0 +1,134 @@
+package com.llat.algorithms.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values (e.g., durations in nanoseconds, or
+ * iterations of a generator). Each value is counted in the bucket of the power of
+ * two it rounds up to: bucket b holds the values above 2^(b-1) up to 2^b. Finding
+ * the bucket is one instruction and counting it is an add to a LongAdder, so
+ * this is cheap enough to record every call.
+ */
+public final class Histogram extends Metric {
+
+    /**
+     * Bucket 0 holds 0 and 1, and bucket 63 holds the values above 2^62.
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     *
+     */
+    private final LongAdder[] buckets;
+
+    /**
+     *
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     *
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Factor from the recorded values to the unit they are exported in, e.g. 1e-9
+     * for nanoseconds exported as seconds.
+     */
+    private final double scale;
+
+    /**
+     * Exported buckets go from 2^firstBucket to 2^lastBucket, so that every export
+     * has the same buckets. Values below go into the first one, and values above
+     * only into +Inf.
+     */
+    private final int firstBucket;
+
+    /**
+     *
+     */
+    private final int lastBucket;
+
+    Histogram(String _name, String _help, double _scale, int _firstBucket, int _lastBucket) {
+        super(_name, null, null, _help);
+        this.buckets = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+        this.scale = _scale;
+        this.firstBucket = _firstBucket;
+        this.lastBucket = _lastBucket;
+    }
+
+    /**
+     * @param _value - value to record; negative values count as 0.
+     */
+    public void record(long _value) {
+        long value = Math.max(0, _value);
+        this.buckets[value == 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value - 1)].increment();
+        this.count.increment();
+        this.sum.add(value);
+    }
+
+    /**
+     * Records the time since a start time, for histograms of nanoseconds.
+     *
+     * @param _startNanos - System.nanoTime() when the timed work started.
+     */
+    public void recordSince(long _startNanos) {
+        this.record(System.nanoTime() - _startNanos);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return sum of the recorded values, in the exported unit.
+     */
+    public double getSum() {
+        return this.sum.sum() * this.scale;
+    }
+
+    /**
+     * Returns the upper bounds of the exported buckets, in the exported unit, not
+     * counting +Inf.
+     *
+     * @return upper bounds, in increasing order.
+     */
+    public double[] getUpperBounds() {
+        double[] bounds = new double[this.lastBucket - this.firstBucket + 1];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = Math.scalb(1.0, this.firstBucket + i) * this.scale;
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns how many values are at most each upper bound of getUpperBounds(), the
+     * way Prometheus counts its buckets.
+     *
+     * @return cumulative counts, one per upper bound.
+     */
+    public long[] getCumulativeCounts() {
+        long[] counts = new long[this.lastBucket - this.firstBucket + 1];
+        long total = 0;
+        for (int b = 0; b < this.firstBucket; b++) {
+            total += this.buckets[b].sum();
+        }
+        for (int i = 0; i < counts.length; i++) {
+            total += this.buckets[this.firstBucket + i].sum();
+            counts[i] = total;
+        }
+        return counts;
+    }
+
+    @Override
+    void reset() {
+        for (LongAdder bucket : this.buckets) {
+            bucket.reset();
+        }
+        this.count.reset();
+        this.sum.reset();
+    }
+}
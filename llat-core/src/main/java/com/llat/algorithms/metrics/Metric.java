@@ -0,0 +1,58 @@
+package com.llat.algorithms.metrics;
+
+/**
+ * A named measurement of the algorithm engines, registered with AlgorithmMetrics.
+ * Metrics that share a name (e.g., one counter per truth tree rule) tell each
+ * other apart by their label.
+ */
+public abstract class Metric {
+
+    /**
+     * Name of the metric in the Prometheus naming convention, e.g.,
+     * "llat_parse_seconds".
+     */
+    private final String name;
+
+    /**
+     * Label name of this metric, or null if it has none.
+     */
+    private final String labelName;
+
+    /**
+     * Label value of this metric, or null if it has none.
+     */
+    private final String labelValue;
+
+    /**
+     * One line saying what is measured.
+     */
+    private final String help;
+
+    Metric(String _name, String _labelName, String _labelValue, String _help) {
+        this.name = _name;
+        this.labelName = _labelName;
+        this.labelValue = _labelValue;
+        this.help = _help;
+    }
+
+    /**
+     * Sets this metric back to zero.
+     */
+    abstract void reset();
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getLabelName() {
+        return this.labelName;
+    }
+
+    public String getLabelValue() {
+        return this.labelValue;
+    }
+
+    public String getHelp() {
+        return this.help;
+    }
+}
@@ -15,7 +15,15 @@ public enum NDStep {
     AND_I("&I", "Conjunction Introduction"),
     FALSE_I("⊥I", "Contradiction"),
     FALSE_E("⊥E", "Contradiction Elimination"),
-    OR_I("∨", "Disjunction Introduction");
+    OR_I("∨", "Disjunction Introduction"),
+    OR_E("∨E", "Disjunction Elimination"),
+    BICOND_I("↔I", "Biconditional Introduction"),
+    BICOND_E("↔E", "Biconditional Elimination"),
+    A("A", "Assumption"),
+    IMP_I("→I", "Conditional Proof"),
+    NEG_I("~I", "Negation Introduction"),
+    IP("IP", "Indirect Proof"),
+    COMM("Comm", "Commutation");
 
     /**
      *
@@ -30,6 +30,11 @@ public class NDWffTree {
      */
     private int flags;
 
+    /**
+     * Number of subproofs that the line is in; 0 for the lines of the proof itself.
+     */
+    private int depth;
+
     public NDWffTree(WffTree _wffTree, boolean _active, NDStep _derivationStep, NDWffTree... _derivedParents) {
         this.wffTree = _wffTree;
         this.derivationStep = _derivationStep;
@@ -89,14 +94,23 @@ public class NDWffTree {
         this.derivationStep = _derivationStep;
     }
 
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public void setDepth(int _depth) {
+        this.depth = _depth;
+    }
+
     @Override
     public String toString() {
-        if ((this.derivedParents == null || this.derivedParents.isEmpty())
-                && (this.derivationStep == NDStep.C|| this.derivationStep == NDStep.P)) {
-            return this.wffTree.getStringRep() + "\t\t" + this.derivationStep;
+        // Lines of a subproof are indented with a bar per level, as in a Fitch proof.
+        String indent = "|   ".repeat(this.depth);
+        if (this.derivedParents == null || this.derivedParents.isEmpty()) {
+            return indent + this.wffTree.getStringRep() + "\t\t" + this.derivationStep;
         } else {
             // It's a little ugly but it works.
-            StringBuilder sb = new StringBuilder(this.wffTree.getStringRep());
+            StringBuilder sb = new StringBuilder(indent).append(this.wffTree.getStringRep());
             sb.append("\t\tDerived from [");
             for (int i = 0; i < this.derivedParents.size() - 1; i++) {
                 sb.append(this.derivedParents.get(i).getWffTree().getStringRep());
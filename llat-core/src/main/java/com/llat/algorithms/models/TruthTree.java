@@ -1,13 +1,16 @@
 package com.llat.algorithms.models;
 
+import com.llat.algorithms.AlgorithmProgress;
 import com.llat.algorithms.BaseTruthTreeGenerator;
-import com.llat.input.events.SyntaxErrorEvent;
+import com.llat.algorithms.metrics.AlgorithmMetrics;
 import com.llat.models.treenode.ConstantNode;
 import com.llat.models.treenode.NodeFlag;
 import com.llat.models.treenode.WffTree;
-import com.llat.tools.EventBus;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Class for constructing a TruthTree.
@@ -73,6 +76,12 @@ public class TruthTree implements Comparable<TruthTree> {
      */
     private final int identifierNo;
 
+    /**
+     * Counter that numbers the nodes of the tree this node is in, shared by all
+     * of them.
+     */
+    private final AtomicInteger IDENTITY_COUNT;
+
     /**
      * Order of precedence for this node (as described above).
      */
@@ -99,13 +108,54 @@ public class TruthTree implements Comparable<TruthTree> {
      */
     private int universalCount;
 
+    /**
+     * Creates a node with the next identifier number of its parent's tree, or the
+     * root of a new tree if it has no parent.
+     *
+     * @param _node          - WffTree "value" of the node.
+     * @param _parent        - parent node, or null for the root.
+     * @param _derivedParent - node that derived this step, or null.
+     */
     public TruthTree(WffTree _node, TruthTree _parent, TruthTree _derivedParent) {
+        this(_node, _parent, _derivedParent, TruthTree.getIdentityCount(_parent));
+    }
+
+    /**
+     * Creates a node with the next identifier number of a counter, e.g. the root
+     * of a tree that a generator numbers.
+     *
+     * @param _node          - WffTree "value" of the node.
+     * @param _parent        - parent node, or null for the root.
+     * @param _derivedParent - node that derived this step, or null.
+     * @param _identityCount - counter of the tree, which the nodes below share.
+     */
+    public TruthTree(WffTree _node, TruthTree _parent, TruthTree _derivedParent, AtomicInteger _identityCount) {
+        this(_node, _parent, _derivedParent, _identityCount, _identityCount.incrementAndGet());
+    }
+
+    /**
+     * Creates a node with a given identifier number instead of the next one of the
+     * tree, e.g. when reading a tree back that was generated earlier.
+     *
+     * @param _node          - WffTree "value" of the node.
+     * @param _parent        - parent node, or null for the root.
+     * @param _derivedParent - node that derived this step, or null.
+     * @param _identifierNo  - identifier number of the node in the tree.
+     */
+    public TruthTree(WffTree _node, TruthTree _parent, TruthTree _derivedParent, int _identifierNo) {
+        this(_node, _parent, _derivedParent, TruthTree.getIdentityCount(_parent), _identifierNo);
+    }
+
+    private TruthTree(WffTree _node, TruthTree _parent, TruthTree _derivedParent, AtomicInteger _identityCount, int _identifierNo) {
         this.NODE = _node;
         this.PARENT = _parent;
         this.DERIVED_PARENT = _derivedParent;
         this.AVAILABLE_CONSTANTS = new HashSet<>();
         this.SUBSTITUTIONS = new HashMap<>();
-        this.identifierNo = ++BaseTruthTreeGenerator.identityCount;
+        this.identifierNo = _identifierNo;
+        // Nodes added later to a tree that was read back are numbered after it.
+        this.IDENTITY_COUNT = _identityCount;
+        this.IDENTITY_COUNT.accumulateAndGet(_identifierNo, Math::max);
 
         // Compute the union of the constants from the parent.
         if (_parent != null) {
@@ -140,10 +190,27 @@ public class TruthTree implements Comparable<TruthTree> {
      */
     public String getTexTree() {
         StringBuilder sb = new StringBuilder();
-        this.getTexTreeHelper(this, sb, 0);
+        try {
+            this.writeTexTree(sb);
+        } catch (IOException ex) {
+            // A StringBuilder does not throw.
+            throw new UncheckedIOException(ex);
+        }
         return sb.toString();
     }
 
+    /**
+     * Writes a LaTeX version of the truth tree node by node, so a large tree does
+     * not have to be built up as one string first; only the path down to the
+     * current node is kept.
+     *
+     * @param _out - where to write the tree, e.g. a buffered file writer.
+     * @throws IOException if _out cannot be written.
+     */
+    public void writeTexTree(Appendable _out) throws IOException {
+        this.writeTexTreeHelper(this, _out, 0);
+    }
+
     /**
      * Performs existential decomposition on this truth tree.
      * <p>
@@ -177,6 +244,7 @@ public class TruthTree implements Comparable<TruthTree> {
                 // Add to the tree and the queue.
                 if (!this.treeContains(leaf, _newRoot)) {
                     TruthTree truthTreeRoot = new TruthTree(_newRoot, leaf, _existentialTruthTree);
+                    AlgorithmMetrics.EXISTENTIAL_INSTANTIATIONS.increment();
                     leaf.addCenter(truthTreeRoot);
                     truthTreeRoot.AVAILABLE_CONSTANTS.add(constant);
                     _queue.add(leaf.getCenter());
@@ -208,6 +276,7 @@ public class TruthTree implements Comparable<TruthTree> {
                     if (!this.treeContains(l, _newRoot)) {
                         // Add to the tree and the queue.
                         TruthTree _newRootTT = new TruthTree(_newRoot, leaf, _universalTruthTree);
+                        AlgorithmMetrics.UNIVERSAL_INSTANTIATIONS.increment();
                         l.addCenter(_newRootTT);
                         _queue.add(_newRootTT);
 
@@ -263,6 +332,7 @@ public class TruthTree implements Comparable<TruthTree> {
                     // If the Wff is just x = x, then we don't need to add it since it's redundant and serves no purpose.
                     if (!this.treeContains(l, newLeaf) && !newLeaf.isPalindromeWff()) {
                         TruthTree _newRootTT = new TruthTree(newLeaf, l, _identityTruthTree);
+                        AlgorithmMetrics.IDENTITY_INSTANTIATIONS.increment();
 
                         // Compute the closed branches.
                         LinkedList<TruthTree> ttl = BaseTruthTreeGenerator.getLeaves(_newRootTT);
@@ -353,7 +423,11 @@ public class TruthTree implements Comparable<TruthTree> {
     }
 
     public void setClosed(boolean _closed) {
-        this.flags |= _closed ? NodeFlag.CLOSED : 0;
+        if (_closed) {
+            this.flags |= NodeFlag.CLOSED;
+        } else {
+            this.flags &= ~NodeFlag.CLOSED;
+        }
     }
 
     public TruthTree getParent() {
@@ -429,43 +503,57 @@ public class TruthTree implements Comparable<TruthTree> {
     }
 
     /**
-     * Searches through the tree in preorder to build a LaTeX version of it.
+     * Searches through the tree in preorder to write a LaTeX version of it.
      * We use the forest package with a premade template.
      *
      * @param _tree   - TruthTree object to start from.
-     * @param _sb     - StringBuilder to continuously concatenate to.
+     * @param _out    - Appendable to continuously write to.
      * @param _indent - level of indentation for the current brackets.
      */
-    private void getTexTreeHelper(TruthTree _tree, StringBuilder _sb, int _indent) {
+    private void writeTexTreeHelper(TruthTree _tree, Appendable _out, int _indent) throws IOException {
         if (_tree == null) {
             return;
         }
 
-        _sb.append("\t".repeat(_indent));
-        _sb.append("[");
-        _sb.append(_tree.getWff().getTexCommand());
+        TruthTree.indent(_out, _indent);
+        _out.append("[");
+        _out.append(_tree.getWff().getTexCommand());
 
         // If it's a rule we can apply infinitely many times, add the asterisk.
         if (_tree.getWff().isUniversal() || _tree.getWff().isIdentity()) {
-            _sb.append(", uni");
+            _out.append(", uni");
         }
 
         if (_tree.isLeafNode()) {
-            _sb.append(", " + (_tree.isClosed() ? "closed" : "open"));
+            _out.append(", ").append(_tree.isClosed() ? "closed" : "open");
         } else {
             // Left and rights will need to branch, whereas just a left is a stack.
-            _sb.append("\n");
+            _out.append("\n");
             if (_tree.getLeft() != null && _tree.getRight() != null) {
-                this.getTexTreeHelper(_tree.getLeft(), _sb, _indent + 1);
-                _sb.append("\n");
-                this.getTexTreeHelper(_tree.getRight(), _sb, _indent + 1);
+                this.writeTexTreeHelper(_tree.getLeft(), _out, _indent + 1);
+                _out.append("\n");
+                this.writeTexTreeHelper(_tree.getRight(), _out, _indent + 1);
             } else if (_tree.getLeft() != null) {
-                this.getTexTreeHelper(_tree.getLeft(), _sb, _indent + 1);
+                this.writeTexTreeHelper(_tree.getLeft(), _out, _indent + 1);
             }
         }
 
-        _sb.append("\n");
-        _sb.append("\t".repeat(_indent) + "]");
+        _out.append("\n");
+        TruthTree.indent(_out, _indent);
+        _out.append("]");
+    }
+
+    /**
+     * @return counter of the parent's tree, or a new one if there is no parent.
+     */
+    private static AtomicInteger getIdentityCount(TruthTree _parent) {
+        return _parent == null ? new AtomicInteger() : _parent.IDENTITY_COUNT;
+    }
+
+    private static void indent(Appendable _out, int _indent) throws IOException {
+        for (int i = 0; i < _indent; i++) {
+            _out.append('\t');
+        }
     }
 
     /**
@@ -479,7 +567,7 @@ public class TruthTree implements Comparable<TruthTree> {
     private void replaceSymbol(WffTree _newRoot, char _variableToReplace, char _constant) {
         if (this.universalCount >= THRESHOLD_LIMIT) {
             System.err.println("Error - universal constant has reached the upper limit of " + THRESHOLD_LIMIT + ".");
-            EventBus.throwEvent(new SyntaxErrorEvent("Error - universal constant has reached the upper limit of " + THRESHOLD_LIMIT + "."));
+            AlgorithmProgress.current().reportError("Error - universal constant has reached the upper limit of " + THRESHOLD_LIMIT + ".");
         }
 
         for (int i = 0; i < _newRoot.getChildrenSize(); i++) {
@@ -0,0 +1,256 @@
+package com.llat.algorithms.pdf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a PDF document to a stream as it is drawn, so a document of many pages
+ * (e.g., a long truth table) only ever holds one page in memory.
+ * <p>
+ * Each page is written out when it ends (see PDFPage.end()). The objects that
+ * every page refers to (the page tree and the fonts) have fixed object numbers,
+ * and are written by finish(), once the pages and the glyphs they use are known.
+ * The content streams are compressed with Flate.
+ * <p>
+ * Text uses two fonts: Helvetica, one of the standard fonts that every PDF reader
+ * has, for ASCII, and a SymbolFont for everything else, which is embedded with
+ * only the glyphs that the document uses.
+ * <p>
+ * Several pages can be drawn at once, on different threads; each is written out
+ * when it ends, so the pages are in the order they end. Any number of documents
+ * can be written at once.
+ */
+public final class PDFDocument {
+
+    private static final int CATALOG = 1;
+
+    static final int PAGES = 2;
+
+    static final int HELVETICA = 3;
+
+    static final int SYMBOLS = 4;
+
+    /**
+     *
+     */
+    private final OutputStream out;
+
+    /**
+     * Glyphs of the symbol font used so far.
+     */
+    private final SymbolFont symbolFont;
+
+    /**
+     * Byte offset of each object, by object number - 1; -1 until it is written.
+     */
+    private final List<Long> offsets;
+
+    /**
+     * Object numbers of the pages, in order.
+     */
+    private final List<Integer> pages;
+
+    /**
+     * Number of bytes written so far.
+     */
+    private long position;
+
+    /**
+     * Number of pages that began and did not end yet.
+     */
+    private int drawing;
+
+    private boolean finished;
+
+    /**
+     * Starts a document. The stream is not closed by finish().
+     *
+     * @param _out - stream to write the document to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public PDFDocument(OutputStream _out) throws IOException {
+        this.out = _out;
+        this.symbolFont = new SymbolFont();
+        this.offsets = new ArrayList<>();
+        this.pages = new ArrayList<>();
+        for (int i = 0; i < SYMBOLS; i++) {
+            this.offsets.add(-1L);
+        }
+        this.write("%PDF-1.4\n");
+        // Bytes above 127 tell file transfer tools that this is binary.
+        this.write(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+    }
+
+    /**
+     * Starts a new page. It is added to the document when it ends.
+     *
+     * @param _width  - width in points (1/72 inch).
+     * @param _height - height in points.
+     * @return the page to draw on.
+     * @throws IllegalStateException if the document is finished.
+     */
+    public synchronized PDFPage beginPage(double _width, double _height) {
+        if (this.finished) {
+            throw new IllegalStateException("Cannot begin a page of a finished document.");
+        }
+        this.drawing++;
+        return new PDFPage(this, _width, _height);
+    }
+
+    /**
+     * Writes out a finished page. Its content is compressed before taking the
+     * document's lock, so pages that end on different threads compress in parallel.
+     */
+    void endPage(PDFPage _page, String _content) throws IOException {
+        byte[] deflated = PDFDocument.deflate(_content.getBytes(StandardCharsets.ISO_8859_1));
+        synchronized (this) {
+            this.drawing--;
+            int content = this.beginObject(-1);
+            this.writeStream(deflated, true);
+            this.endObject();
+
+            int page = this.beginObject(-1);
+            this.write(String.format(Locale.ROOT, "<< /Type /Page /Parent %d 0 R /MediaBox [0 0 %s %s] /Contents %d 0 R >>\n",
+                    PAGES, PDFDocument.format(_page.getWidth()), PDFDocument.format(_page.getHeight()), content));
+            this.endObject();
+            this.pages.add(page);
+        }
+    }
+
+    /**
+     * Writes the fonts, the page tree and the cross-reference table. Nothing can be
+     * drawn afterwards.
+     *
+     * @throws IOException if the stream cannot be written.
+     * @throws IllegalStateException if a page was not ended.
+     */
+    public synchronized void finish() throws IOException {
+        if (this.drawing > 0) {
+            throw new IllegalStateException("End every page before finishing the document.");
+        }
+        if (this.finished) {
+            return;
+        }
+
+        // An empty document still needs a page to be valid.
+        if (this.pages.isEmpty()) {
+            this.beginPage(612, 792).end();
+        }
+        this.finished = true;
+
+        this.beginObject(HELVETICA);
+        this.write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\n");
+        this.endObject();
+
+        this.symbolFont.write(this);
+
+        this.beginObject(PAGES);
+        StringBuilder kids = new StringBuilder();
+        for (int page : this.pages) {
+            kids.append(page).append(" 0 R ");
+        }
+        this.write("<< /Type /Pages /Count " + this.pages.size() + " /Kids [" + kids
+                + "] /Resources << /Font << /F1 " + HELVETICA + " 0 R /F2 " + SYMBOLS + " 0 R >> >> >>\n");
+        this.endObject();
+
+        this.beginObject(CATALOG);
+        this.write("<< /Type /Catalog /Pages " + PAGES + " 0 R >>\n");
+        this.endObject();
+
+        long xref = this.position;
+        StringBuilder table = new StringBuilder("xref\n0 " + (this.offsets.size() + 1) + "\n0000000000 65535 f \n");
+        for (long offset : this.offsets) {
+            table.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        }
+        table.append("trailer\n<< /Size ").append(this.offsets.size() + 1).append(" /Root ").append(CATALOG)
+                .append(" 0 R >>\nstartxref\n").append(xref).append("\n%%EOF\n");
+        this.write(table.toString());
+        this.out.flush();
+    }
+
+    /**
+     * @return number of pages ended so far.
+     */
+    public synchronized int getPageCount() {
+        return this.pages.size();
+    }
+
+    SymbolFont getSymbolFont() {
+        return this.symbolFont;
+    }
+
+    /**
+     * Starts an object.
+     *
+     * @param _number - number of a reserved object, or -1 for the next free one.
+     * @return number of the object.
+     */
+    int beginObject(int _number) throws IOException {
+        if (_number < 0) {
+            this.offsets.add(-1L);
+            _number = this.offsets.size();
+        }
+        this.offsets.set(_number - 1, this.position);
+        this.write(_number + " 0 obj\n");
+        return _number;
+    }
+
+    void endObject() throws IOException {
+        this.write("endobj\n");
+    }
+
+    /**
+     * Writes a stream with its dictionary.
+     *
+     * @param _data     - data of the stream.
+     * @param _deflated - true if the data was compressed with deflate().
+     */
+    void writeStream(byte[] _data, boolean _deflated) throws IOException {
+        this.write("<< /Length " + _data.length + (_deflated ? " /Filter /FlateDecode" : "") + " >>\nstream\n");
+        this.write(_data);
+        this.write("\nendstream\n");
+    }
+
+    /**
+     * @return the data compressed with Flate.
+     */
+    static byte[] deflate(byte[] _data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(_data.length / 4 + 64);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(_data);
+        }
+        return compressed.toByteArray();
+    }
+
+    void write(String _text) throws IOException {
+        this.write(_text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void write(byte[] _bytes) throws IOException {
+        this.out.write(_bytes);
+        this.position += _bytes.length;
+    }
+
+    /**
+     * @return a number as PDF writes it, with at most two decimals.
+     */
+    static String format(double _number) {
+        String text = String.format(Locale.ROOT, "%.2f", _number);
+        // Trim trailing zeros, so that the content streams stay small.
+        int end = text.length();
+        while (text.charAt(end - 1) == '0') {
+            end--;
+        }
+        if (text.charAt(end - 1) == '.') {
+            end--;
+        }
+        text = text.substring(0, end);
+        return text.equals("-0") ? "0" : text;
+    }
+}
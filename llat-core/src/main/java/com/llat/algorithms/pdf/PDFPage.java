@@ -0,0 +1,187 @@
+package com.llat.algorithms.pdf;
+
+import java.io.IOException;
+
+/**
+ * Page of a PDFDocument. Coordinates are in points from the top-left corner,
+ * with y going down, as in the tree and table layouts; they are flipped into
+ * PDF's bottom-up space as the operators are written.
+ * <p>
+ * A page is drawn by one thread at a time, but different pages of a document can
+ * be drawn on different threads.
+ */
+public final class PDFPage {
+
+    /**
+     * Widths of the Helvetica glyphs from ' ' to '~', in thousandths of the font
+     * size. Helvetica is not embedded, so these come from its font metrics.
+     */
+    private static final int[] HELVETICA_WIDTHS = {
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584
+    };
+
+    /**
+     *
+     */
+    private final PDFDocument document;
+
+    private final double width;
+
+    private final double height;
+
+    /**
+     * Content stream of the page, i.e., its drawing operators.
+     */
+    private final StringBuilder content;
+
+    /**
+     * Factor that every coordinate and size is multiplied by.
+     */
+    private double scale;
+
+    private boolean ended;
+
+    PDFPage(PDFDocument _document, double _width, double _height) {
+        this.document = _document;
+        this.width = _width;
+        this.height = _height;
+        this.content = new StringBuilder();
+        this.scale = 1;
+    }
+
+    /**
+     * Draws text with its baseline at the given point.
+     *
+     * @param _x    - left of the text.
+     * @param _y    - baseline of the text.
+     * @param _size - font size, in points.
+     * @param _text - text to draw.
+     */
+    public void drawText(double _x, double _y, double _size, String _text) {
+        if (_text.isEmpty()) {
+            return;
+        }
+        this.content.append("BT ").append(this.x(_x)).append(' ').append(this.y(_y)).append(" Td ");
+        String size = PDFDocument.format(_size * this.scale);
+        int start = 0;
+        while (start < _text.length()) {
+            // Runs of ASCII are drawn with Helvetica, and everything else with the symbols.
+            boolean ascii = PDFPage.isHelvetica(_text.charAt(start));
+            int end = start + 1;
+            while (end < _text.length() && PDFPage.isHelvetica(_text.charAt(end)) == ascii) {
+                end++;
+            }
+            this.content.append(ascii ? "/F1 " : "/F2 ").append(size).append(" Tf ");
+            if (ascii) {
+                this.content.append('(');
+                for (int i = start; i < end; i++) {
+                    char ch = _text.charAt(i);
+                    if (ch == '(' || ch == ')' || ch == '\\') {
+                        this.content.append('\\');
+                    }
+                    this.content.append(ch);
+                }
+                this.content.append(')');
+            } else {
+                this.content.append('<');
+                for (int i = start; i < end; i++) {
+                    this.content.append(String.format("%02X", this.document.getSymbolFont().getCode(_text.charAt(i))));
+                }
+                this.content.append('>');
+            }
+            this.content.append(" Tj ");
+            start = end;
+        }
+        this.content.append("ET\n");
+    }
+
+    /**
+     * Draws text centered on the given point horizontally.
+     *
+     * @param _x    - center of the text.
+     * @param _y    - baseline of the text.
+     * @param _size - font size, in points.
+     * @param _text - text to draw.
+     */
+    public void drawCenteredText(double _x, double _y, double _size, String _text) {
+        this.drawText(_x - PDFPage.getTextWidth(_text, _size) / 2, _y, _size, _text);
+    }
+
+    /**
+     * Draws a straight line.
+     */
+    public void drawLine(double _x1, double _y1, double _x2, double _y2) {
+        this.content.append(this.x(_x1)).append(' ').append(this.y(_y1)).append(" m ")
+                .append(this.x(_x2)).append(' ').append(this.y(_y2)).append(" l S\n");
+    }
+
+    /**
+     * @param _lineWidth - width of the lines drawn from now on, in points.
+     */
+    public void setLineWidth(double _lineWidth) {
+        this.content.append(PDFDocument.format(_lineWidth * this.scale)).append(" w\n");
+    }
+
+    /**
+     * Scales everything drawn from now on, e.g., to fit a large tree on a page.
+     *
+     * @param _scale - factor to multiply coordinates and sizes by.
+     */
+    public void setScale(double _scale) {
+        this.scale = _scale;
+    }
+
+    /**
+     * Writes the page out to its document, after the pages that ended before it.
+     * Nothing can be drawn on it afterwards.
+     *
+     * @throws IOException if the document's stream cannot be written.
+     * @throws IllegalStateException if the page already ended.
+     */
+    public void end() throws IOException {
+        if (this.ended) {
+            throw new IllegalStateException("Page already ended.");
+        }
+        this.ended = true;
+        this.document.endPage(this, this.content.toString());
+    }
+
+    public double getWidth() {
+        return this.width;
+    }
+
+    public double getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @param _text - text to measure.
+     * @param _size - font size, in points.
+     * @return width of the text as drawText() draws it, in points (unscaled).
+     */
+    public static double getTextWidth(String _text, double _size) {
+        int width = 0;
+        for (int i = 0; i < _text.length(); i++) {
+            char ch = _text.charAt(i);
+            width += PDFPage.isHelvetica(ch) ? HELVETICA_WIDTHS[ch - ' '] : SymbolFont.getWidth(ch);
+        }
+        return width * _size / 1000;
+    }
+
+    private static boolean isHelvetica(char _ch) {
+        return _ch >= ' ' && _ch <= '~';
+    }
+
+    private String x(double _x) {
+        return PDFDocument.format(_x * this.scale);
+    }
+
+    private String y(double _y) {
+        return PDFDocument.format(this.height - _y * this.scale);
+    }
+}
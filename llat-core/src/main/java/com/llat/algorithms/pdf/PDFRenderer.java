@@ -0,0 +1,380 @@
+package com.llat.algorithms.pdf;
+
+import com.llat.algorithms.layout.TreeLayoutCache;
+import com.llat.algorithms.layout.TreeLayoutModel;
+import com.llat.algorithms.layout.TreeLayoutResult;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.models.treenode.WffTree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lays out truth trees, parse trees and truth tables, and draws them into a
+ * PDFDocument. This replaces compiling the TeX that TexPrinter writes, so
+ * exporting a PDF needs neither a TeX installation nor a network connection,
+ * and any number of exports can run at once.
+ * <p>
+ * Trees are drawn on one page, sized to fit them, with each node centered over
+ * its children, and their layouts are cached (see TreeLayoutCache). Tables are split over as many letter-sized pages as their rows
+ * need, with the header repeated on each.
+ * <p>
+ * The render methods write a whole PDF, while the draw methods add pages to a
+ * document the caller owns, e.g., to put many formulas in one PDF, and can be
+ * called on several threads at once.
+ */
+public final class PDFRenderer {
+
+    /**
+     * Largest width or height of a page that PDF readers have to support.
+     */
+    private static final double MAX_PAGE_SIZE = 14400;
+
+    private static final double LETTER_WIDTH = 612;
+
+    private static final double LETTER_HEIGHT = 792;
+
+    private static final double MARGIN = 36;
+
+    private static final double FONT_SIZE = 12;
+
+    /**
+     * Distance between the baselines of two levels of a tree.
+     */
+    private static final double TREE_ROW_HEIGHT = 36;
+
+    /**
+     * Smallest gap between two subtrees that are next to each other.
+     */
+    private static final double TREE_GAP = 18;
+
+    /**
+     * Distance between the baselines of two rows of a table.
+     */
+    private static final double TABLE_ROW_HEIGHT = 18;
+
+    /**
+     * Space on either side of the text in a column of a table.
+     */
+    private static final double TABLE_PADDING = 8;
+
+    /**
+     * Number of trees of each kind whose layouts are kept.
+     */
+    private static final int LAYOUT_CACHE_SIZE = 16;
+
+    private static final TreeModel<WffTree> PARSE_TREE_MODEL = new ParseTreeModel();
+
+    private static final TreeModel<TruthTree> TRUTH_TREE_MODEL = new TruthTreeModel();
+
+    /**
+     * Layouts of the trees drawn last, so that drawing one again, e.g., exporting the
+     * tree on screen twice, reuses its layout.
+     */
+    private static final TreeLayoutCache<WffTree> PARSE_TREE_LAYOUTS = new TreeLayoutCache<>(PARSE_TREE_MODEL,
+            TREE_ROW_HEIGHT - FONT_SIZE, TREE_GAP, LAYOUT_CACHE_SIZE);
+
+    private static final TreeLayoutCache<TruthTree> TRUTH_TREE_LAYOUTS = new TreeLayoutCache<>(TRUTH_TREE_MODEL,
+            TREE_ROW_HEIGHT - FONT_SIZE, TREE_GAP, LAYOUT_CACHE_SIZE);
+
+    private PDFRenderer() {
+    }
+
+    /**
+     * Draws the parse tree of a wff into a new PDF.
+     *
+     * @param _wffTree - root of the wff.
+     * @param _out     - stream to write the PDF to; it is not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public static void renderParseTree(WffTree _wffTree, OutputStream _out) throws IOException {
+        PDFDocument document = new PDFDocument(_out);
+        PDFRenderer.drawParseTree(document, _wffTree).end();
+        document.finish();
+    }
+
+    /**
+     * Draws a truth tree into a new PDF.
+     *
+     * @param _truthTree - root of the truth tree.
+     * @param _out       - stream to write the PDF to; it is not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public static void renderTruthTree(TruthTree _truthTree, OutputStream _out) throws IOException {
+        PDFDocument document = new PDFDocument(_out);
+        PDFRenderer.drawTruthTree(document, _truthTree).end();
+        document.finish();
+    }
+
+    /**
+     * Draws a truth table into a new PDF. Each page is written out as soon as it is
+     * drawn, so only one page of a long table is in memory at a time.
+     *
+     * @param _columns - wffs to draw a column for, from left to right.
+     * @param _out     - stream to write the PDF to; it is not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public static void renderTruthTable(Collection<WffTree> _columns, OutputStream _out) throws IOException {
+        PDFDocument document = new PDFDocument(_out);
+        Table table = new Table(_columns);
+        for (int page = 0; page < table.getPageCount(); page++) {
+            table.drawPage(document, page).end();
+        }
+        document.finish();
+    }
+
+    /**
+     * Draws the parse tree of a wff on a new page. Predicates are drawn whole, e.g.,
+     * Pxy, rather than with a child for each of their terms.
+     *
+     * @param _document - document to add the page to.
+     * @param _wffTree  - root of the wff.
+     * @return the page, which the caller ends.
+     */
+    public static PDFPage drawParseTree(PDFDocument _document, WffTree _wffTree) {
+        return PDFRenderer.drawTree(_document, PARSE_TREE_MODEL, PARSE_TREE_LAYOUTS.layout(_wffTree.getChild(0)));
+    }
+
+    /**
+     * Draws a truth tree on a new page. Branches are joined to their parent by a
+     * line, and the wffs that were stacked on a branch are drawn below one another.
+     * Closed branches end with a cross and open ones with "open", and wffs that can
+     * be decomposed again (universals and identities) are marked with an asterisk.
+     *
+     * @param _document  - document to add the page to.
+     * @param _truthTree - root of the truth tree.
+     * @return the page, which the caller ends.
+     */
+    public static PDFPage drawTruthTree(PDFDocument _document, TruthTree _truthTree) {
+        return PDFRenderer.drawTree(_document, TRUTH_TREE_MODEL, TRUTH_TREE_LAYOUTS.layout(_truthTree));
+    }
+
+    /**
+     * Draws a truth table with a column for each of the given wffs, which must
+     * already have their truth values (see TruthTableGenerator). The rows are split
+     * over as many pages as they need, with the header repeated on each.
+     *
+     * @param _document - document to add the pages to.
+     * @param _columns  - wffs to draw a column for, from left to right.
+     * @return the pages, in order, which the caller ends.
+     */
+    public static List<PDFPage> drawTruthTable(PDFDocument _document, Collection<WffTree> _columns) {
+        Table table = new Table(_columns);
+        List<PDFPage> pages = new ArrayList<>();
+        for (int page = 0; page < table.getPageCount(); page++) {
+            pages.add(table.drawPage(_document, page));
+        }
+        return pages;
+    }
+
+    private static <N> PDFPage drawTree(PDFDocument _document, TreeModel<N> _model, TreeLayoutResult<N> _layout) {
+        // Leave room for the status under the deepest leaves.
+        double treeHeight = (_layout.getDepth() + 1) * TREE_ROW_HEIGHT + FONT_SIZE;
+        double width = _layout.getTreeWidth() + 2 * MARGIN;
+        double height = treeHeight + 2 * MARGIN;
+        double scale = Math.min(1, Math.min(MAX_PAGE_SIZE / width, MAX_PAGE_SIZE / height));
+
+        PDFPage page = _document.beginPage(Math.max(width * scale, 72), Math.max(height * scale, 72));
+        page.setScale(scale);
+        page.setLineWidth(0.5);
+        PDFRenderer.draw(page, _model, _layout, _layout.getRoot());
+        return page;
+    }
+
+    private static <N> void draw(PDFPage _page, TreeModel<N> _model, TreeLayoutResult<N> _layout, N _node) {
+        double x = MARGIN + _layout.getX(_node) + _layout.getWidth(_node) / 2;
+        double baseline = MARGIN + _layout.getY(_node) + FONT_SIZE;
+        String label = _model.getLabel(_node);
+        double labelWidth = PDFPage.getTextWidth(label, FONT_SIZE);
+        _page.drawText(x - labelWidth / 2, baseline, FONT_SIZE, label);
+        _page.drawText(x + labelWidth / 2 + 2, baseline, FONT_SIZE, _model.getMark(_node));
+        if (_model.getStatus(_node) != null) {
+            _page.drawCenteredText(x, baseline + TREE_ROW_HEIGHT * 0.75, FONT_SIZE, _model.getStatus(_node));
+        }
+        for (N child : _layout.getChildren(_node)) {
+            if (_model.hasEdges(_node)) {
+                double childX = MARGIN + _layout.getX(child) + _layout.getWidth(child) / 2;
+                _page.drawLine(x, baseline + 4, childX, baseline + TREE_ROW_HEIGHT - FONT_SIZE - 2);
+            }
+            PDFRenderer.draw(_page, _model, _layout, child);
+        }
+    }
+
+    /**
+     * How the nodes of a tree are drawn: each is a line of text, with a mark to its
+     * right and, under a leaf, its status.
+     */
+    private abstract static class TreeModel<N> implements TreeLayoutModel<N> {
+
+        abstract String getLabel(N _node);
+
+        /**
+         * @return whether the node is joined to its children by lines.
+         */
+        abstract boolean hasEdges(N _node);
+
+        /**
+         * @return text drawn to the right of the label.
+         */
+        String getMark(N _node) {
+            return "";
+        }
+
+        /**
+         * @return text drawn below a leaf, or null.
+         */
+        String getStatus(N _node) {
+            return null;
+        }
+
+        @Override
+        public double getWidth(N _node) {
+            return PDFPage.getTextWidth(this.getLabel(_node), FONT_SIZE) + 2 * PDFPage.getTextWidth(this.getMark(_node), FONT_SIZE);
+        }
+
+        @Override
+        public double getHeight(N _node) {
+            return FONT_SIZE;
+        }
+    }
+
+    /**
+     * Parse trees, where predicates are leaves that show their terms.
+     */
+    private static final class ParseTreeModel extends TreeModel<WffTree> {
+
+        @Override
+        public List<WffTree> getChildren(WffTree _node) {
+            return _node.isPredicate() ? List.of() : _node.getChildren();
+        }
+
+        @Override
+        String getLabel(WffTree _node) {
+            return _node.isPredicate() ? _node.getStringRep() : _node.getSymbol();
+        }
+
+        @Override
+        boolean hasEdges(WffTree _node) {
+            return true;
+        }
+    }
+
+    /**
+     * Truth trees, where a node with one child is stacked above it without a line.
+     */
+    private static final class TruthTreeModel extends TreeModel<TruthTree> {
+
+        @Override
+        public List<TruthTree> getChildren(TruthTree _node) {
+            if (_node.getLeft() == null) {
+                return List.of();
+            }
+            return _node.getRight() == null ? List.of(_node.getLeft()) : List.of(_node.getLeft(), _node.getRight());
+        }
+
+        @Override
+        String getLabel(TruthTree _node) {
+            return _node.getWff().getStringRep();
+        }
+
+        @Override
+        boolean hasEdges(TruthTree _node) {
+            return _node.getRight() != null;
+        }
+
+        @Override
+        String getMark(TruthTree _node) {
+            return _node.getWff().isUniversal() || _node.getWff().isIdentity() ? "*" : "";
+        }
+
+        @Override
+        String getStatus(TruthTree _node) {
+            if (!_node.isLeafNode()) {
+                return null;
+            }
+            return _node.isClosed() ? "×" : "open";
+        }
+    }
+
+    /**
+     * Layout of a truth table: the width of its columns, and which rows go on
+     * which page.
+     */
+    private static final class Table {
+
+        private final List<WffTree> columns;
+
+        private final List<String> headers;
+
+        private final double[] widths;
+
+        private final double tableWidth;
+
+        private final int rows;
+
+        private final double pageWidth;
+
+        /**
+         * Factor that a table too wide for the largest page is shrunk by.
+         */
+        private final double scale;
+
+        private final int rowsPerPage;
+
+        Table(Collection<WffTree> _columns) {
+            this.columns = new ArrayList<>(_columns);
+            this.headers = new ArrayList<>();
+            this.widths = new double[this.columns.size()];
+            double tableWidth = 0;
+            for (int i = 0; i < this.columns.size(); i++) {
+                this.headers.add(this.columns.get(i).getStringRep());
+                this.widths[i] = Math.max(PDFPage.getTextWidth(this.headers.get(i), FONT_SIZE), PDFPage.getTextWidth("F", FONT_SIZE))
+                        + 2 * TABLE_PADDING;
+                tableWidth += this.widths[i];
+            }
+            this.tableWidth = tableWidth;
+            this.rows = this.columns.isEmpty() ? 0 : this.columns.get(0).getTruthValues().size();
+            this.pageWidth = Math.min(Math.max(LETTER_WIDTH, tableWidth + 2 * MARGIN), MAX_PAGE_SIZE);
+            this.scale = Math.min(1, (this.pageWidth - 2 * MARGIN) / Math.max(tableWidth, 1));
+            this.rowsPerPage = (int) ((LETTER_HEIGHT - 2 * MARGIN) / (TABLE_ROW_HEIGHT * this.scale)) - 1;
+        }
+
+        /**
+         * @return number of pages the table needs; an empty table still has its header.
+         */
+        int getPageCount() {
+            return Math.max(1, (this.rows + this.rowsPerPage - 1) / this.rowsPerPage);
+        }
+
+        PDFPage drawPage(PDFDocument _document, int _page) {
+            int first = _page * this.rowsPerPage;
+            int last = Math.min(this.rows, first + this.rowsPerPage);
+            PDFPage page = _document.beginPage(this.pageWidth, LETTER_HEIGHT);
+            page.setScale(this.scale);
+            page.setLineWidth(0.5);
+            double left = MARGIN / this.scale;
+            double top = MARGIN / this.scale;
+            double bottom = top + (last - first + 1) * TABLE_ROW_HEIGHT;
+
+            double x = left;
+            for (int i = 0; i < this.columns.size(); i++) {
+                page.drawCenteredText(x + this.widths[i] / 2, top + FONT_SIZE, FONT_SIZE, this.headers.get(i));
+                for (int row = first; row < last; row++) {
+                    boolean value = this.columns.get(i).getTruthValues().get(row);
+                    page.drawCenteredText(x + this.widths[i] / 2, top + (row - first + 1) * TABLE_ROW_HEIGHT + FONT_SIZE,
+                            FONT_SIZE, value ? "T" : "F");
+                }
+                x += this.widths[i];
+                if (i < this.columns.size() - 1) {
+                    page.drawLine(x, top, x, bottom);
+                }
+            }
+            // The rule under the header.
+            page.drawLine(left, top + TABLE_ROW_HEIGHT - 2, left + this.tableWidth, top + TABLE_ROW_HEIGHT - 2);
+            return page;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.llat.algorithms.pdf;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type 3 font with the logic symbols that Helvetica does not have (→, ∀, ⊥, ...).
+ * Each glyph is a few strokes drawn in a 1000 unit square, so the font needs no
+ * font file, and is the same on every machine.
+ * <p>
+ * Characters get a one-byte code the first time they are drawn, and only the
+ * glyphs that were drawn are written into the document, i.e., every document
+ * embeds a subset of the font. Characters without a glyph of their own are drawn
+ * as a box. The pages of a document can be drawn on several threads, so codes
+ * are handed out under the font's lock.
+ */
+final class SymbolFont {
+
+    /**
+     * Stroke width of the glyphs, in glyph units.
+     */
+    private static final int STROKE = 60;
+
+    /**
+     * Glyph of a character that has none of its own.
+     */
+    private static final Glyph MISSING = new Glyph(600, "80 0 m 520 0 l 520 700 l 80 700 l h");
+
+    private static final Map<Character, Glyph> GLYPHS = new HashMap<>();
+
+    static {
+        GLYPHS.put('→', new Glyph(1000, "80 250 m 900 250 l 700 400 m 900 250 l 700 100 l"));
+        GLYPHS.put('↔', new Glyph(1000, "80 250 m 920 250 l 280 400 m 80 250 l 280 100 l 720 400 m 920 250 l 720 100 l"));
+        GLYPHS.put('⇒', new Glyph(1000, "80 350 m 820 350 l 80 150 m 820 150 l 650 480 m 900 250 l 650 20 l"));
+        GLYPHS.put('⇔', new Glyph(1000, "180 350 m 820 350 l 180 150 m 820 150 l 350 480 m 100 250 l 350 20 l 650 480 m 900 250 l 650 20 l"));
+        GLYPHS.put('∨', new Glyph(667, "100 600 m 333 50 l 567 600 l"));
+        GLYPHS.put('∧', new Glyph(667, "100 50 m 333 600 l 567 50 l"));
+        GLYPHS.put('¬', new Glyph(667, "100 350 m 567 350 l 567 150 l"));
+        GLYPHS.put('∀', new Glyph(667, "80 700 m 333 0 l 587 700 l 207 350 m 460 350 l"));
+        GLYPHS.put('∃', new Glyph(600, "100 700 m 500 700 l 500 0 l 100 0 l 150 350 m 500 350 l"));
+        GLYPHS.put('⊥', new Glyph(667, "333 650 m 333 0 l 80 0 m 587 0 l"));
+        GLYPHS.put('⊤', new Glyph(667, "80 650 m 587 650 l 333 650 m 333 0 l"));
+        GLYPHS.put('⊕', new Glyph(667, SymbolFont.circle(333, 300, 250) + " 83 300 m 583 300 l 333 50 m 333 550 l"));
+        GLYPHS.put('≡', new Glyph(667, "80 150 m 587 150 l 80 300 m 587 300 l 80 450 m 587 450 l"));
+        GLYPHS.put('≠', new Glyph(667, "80 200 m 587 200 l 80 400 m 587 400 l 200 50 m 467 550 l"));
+        GLYPHS.put('×', new Glyph(600, "100 100 m 500 500 l 100 500 m 500 100 l"));
+        GLYPHS.put('○', new Glyph(667, SymbolFont.circle(333, 300, 250)));
+        GLYPHS.put('✓', new Glyph(667, "80 300 m 250 80 l 600 650 l"));
+        // The other ways of writing the operators that the grammar accepts.
+        GLYPHS.put('\u00b7', new Glyph(333, SymbolFont.circle(167, 300, 30)));
+        GLYPHS.put('⊃', new Glyph(667, "100 550 m 350 550 l 500 550 567 425 567 300 c 567 175 500 50 350 50 c 100 50 l"));
+        GLYPHS.put('\u223c', new Glyph(667, "80 280 m 180 380 250 380 333 300 c 417 220 487 220 587 320 c"));
+        GLYPHS.put('\uff5e', new Glyph(1000, "150 280 m 300 400 400 400 500 300 c 600 200 700 200 850 320 c"));
+        GLYPHS.put('\u02dc', new Glyph(333, "50 580 m 100 640 140 640 167 610 c 193 580 233 580 283 640 c"));
+        GLYPHS.put('⊻', new Glyph(667, "100 600 m 333 150 l 567 600 l 100 50 m 567 50 l"));
+        GLYPHS.put('≢', new Glyph(667, "80 150 m 587 150 l 80 300 m 587 300 l 80 450 m 587 450 l 200 0 m 467 600 l"));
+        GLYPHS.put('\u2a52', new Glyph(667, "100 550 m 333 50 l 567 550 l " + SymbolFont.circle(333, 680, 30)));
+        GLYPHS.put('↮', new Glyph(1000, "80 250 m 920 250 l 280 400 m 80 250 l 280 100 l 720 400 m 920 250 l 720 100 l 420 50 m 580 450 l"));
+    }
+
+    /**
+     * Characters drawn so far, in the order of their codes (the first is code 1).
+     */
+    private final List<Character> used = new ArrayList<>();
+
+    /**
+     * Code of each character drawn so far.
+     */
+    private final Map<Character, Integer> codes = new HashMap<>();
+
+    /**
+     * @param _ch - a character.
+     * @return width of its glyph, in glyph units (thousandths of the font size).
+     */
+    static int getWidth(char _ch) {
+        return GLYPHS.getOrDefault(_ch, MISSING).width;
+    }
+
+    /**
+     * Returns the code that a character is drawn with, and adds its glyph to the
+     * subset the first time.
+     *
+     * @param _ch - character to draw.
+     * @return its one-byte code.
+     */
+    synchronized int getCode(char _ch) {
+        Integer code = this.codes.get(_ch);
+        if (code == null) {
+            // After 255 characters, the rest are drawn as the box of the 255th.
+            code = Math.min(this.used.size() + 1, 255);
+            if (this.used.size() < 255) {
+                this.used.add(GLYPHS.containsKey(_ch) ? _ch : '�');
+            }
+            this.codes.put(_ch, code);
+        }
+        return code;
+    }
+
+    /**
+     * Writes the font, and a glyph procedure for each character drawn.
+     */
+    synchronized void write(PDFDocument _document) throws IOException {
+        if (this.used.isEmpty()) {
+            // Pages refer to the font even if none of them used it.
+            this.used.add('�');
+        }
+
+        int[] procedures = new int[this.used.size()];
+        for (int i = 0; i < this.used.size(); i++) {
+            Glyph glyph = GLYPHS.getOrDefault(this.used.get(i), MISSING);
+            String procedure = glyph.width + " 0 0 -100 " + glyph.width + " 800 d1 " + STROKE + " w 1 J 1 j " + glyph.path + " S";
+            procedures[i] = _document.beginObject(-1);
+            _document.writeStream(procedure.getBytes(StandardCharsets.ISO_8859_1), false);
+            _document.endObject();
+        }
+
+        StringBuilder differences = new StringBuilder("1");
+        StringBuilder charProcs = new StringBuilder();
+        StringBuilder widths = new StringBuilder();
+        for (int i = 0; i < this.used.size(); i++) {
+            differences.append(" /g").append(i + 1);
+            charProcs.append("/g").append(i + 1).append(' ').append(procedures[i]).append(" 0 R ");
+            widths.append(GLYPHS.getOrDefault(this.used.get(i), MISSING).width).append(' ');
+        }
+        _document.beginObject(PDFDocument.SYMBOLS);
+        _document.write("<< /Type /Font /Subtype /Type3 /FontBBox [0 -100 1000 800] /FontMatrix [0.001 0 0 0.001 0 0]"
+                + " /CharProcs << " + charProcs + ">> /Encoding << /Type /Encoding /Differences [" + differences + "] >>"
+                + " /FirstChar 1 /LastChar " + this.used.size() + " /Widths [" + widths + "] /Resources << >> >>\n");
+        _document.endObject();
+    }
+
+    /**
+     * @return path of a circle, as four Bézier curves.
+     */
+    private static String circle(int _x, int _y, int _r) {
+        int k = (int) Math.round(_r * 0.5523);
+        return (_x + _r) + " " + _y + " m "
+                + (_x + _r) + " " + (_y + k) + " " + (_x + k) + " " + (_y + _r) + " " + _x + " " + (_y + _r) + " c "
+                + (_x - k) + " " + (_y + _r) + " " + (_x - _r) + " " + (_y + k) + " " + (_x - _r) + " " + _y + " c "
+                + (_x - _r) + " " + (_y - k) + " " + (_x - k) + " " + (_y - _r) + " " + _x + " " + (_y - _r) + " c "
+                + (_x + k) + " " + (_y - _r) + " " + (_x + _r) + " " + (_y - k) + " " + (_x + _r) + " " + _y + " c h";
+    }
+
+    /**
+     * Width and strokes of a glyph.
+     */
+    private static final class Glyph {
+
+        private final int width;
+
+        private final String path;
+
+        Glyph(int _width, String _path) {
+            this.width = _width;
+            this.path = _path;
+        }
+    }
+}
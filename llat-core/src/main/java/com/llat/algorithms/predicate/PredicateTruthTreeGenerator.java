@@ -1,13 +1,14 @@
 package com.llat.algorithms.predicate;
 
+import com.llat.algorithms.AlgorithmProgress;
 import com.llat.algorithms.BaseTruthTreeGenerator;
+import com.llat.algorithms.metrics.AlgorithmMetrics;
 import com.llat.algorithms.models.TruthTree;
-import com.llat.input.events.SyntaxErrorEvent;
+import com.llat.algorithms.trace.TruthTreeTrace;
 import com.llat.models.treenode.ExistentialQuantifierNode;
 import com.llat.models.treenode.IdentityNode;
 import com.llat.models.treenode.UniversalQuantifierNode;
 import com.llat.models.treenode.WffTree;
-import com.llat.tools.EventBus;
 
 import java.util.LinkedList;
 import java.util.PriorityQueue;
@@ -37,54 +38,74 @@ public final class PredicateTruthTreeGenerator extends BaseTruthTreeGenerator {
         // Add the root to these structures and compute all constants in the root.
         leaves.add(_node);
         queue.add(_node);
+        TruthTreeTrace trace = AlgorithmProgress.current().getTrace();
+        this.takeRule();
+        if (trace != null) {
+            trace.start(_node);
+        }
         this.getAllConstants(leaves);
 
         // Poll the heap and build the tree.
         while (!queue.isEmpty()) {
             if (++iterations >= BaseTruthTreeGenerator.TIMEOUT) {
                 System.err.println("Timeout error: cannot compute a tree this complex.");
-                EventBus.throwEvent(new SyntaxErrorEvent("Timeout error: cannot compute a truth tree this complex."));
+                AlgorithmProgress.current().reportError("Timeout error: cannot compute a truth tree this complex.");
+                AlgorithmMetrics.TRUTH_TREE_TIMEOUTS.increment();
+                AlgorithmMetrics.TRUTH_TREE_ITERATIONS.record(iterations);
+                if (trace != null) {
+                    trace.timeout(_node, iterations, queue.size());
+                }
                 return;
             }
+            BaseTruthTreeGenerator.reportProgress(_node, iterations);
 
+            long start = trace != null ? System.nanoTime() : 0;
             TruthTree tree = queue.poll();
             WffTree curr = tree.getWff();
             leaves = BaseTruthTreeGenerator.getLeaves(tree);
             BaseTruthTreeGenerator.computeClosedBranches(leaves);
 
-            // If the tree is closed then we don't need to continue...
-            if (tree.isClosed()) {
-                continue;
-            } else if (curr.isNegation() && curr.getChild(0).isBicond()) {
-                // We handle biconditional negations differently since they're harder.
-                this.branchNegationBiconditional(tree, leaves, queue);
-            } else if (curr.isNegation() && curr.getChild(0).isImp()) {
-                // We handle a negated implication differently.
-                this.stackNegationImplication(tree, leaves, queue);
-            } else if (curr.isNegExclusiveOr()) {
-                this.branchNegationExclusiveOr(tree, leaves, queue);
-            } else if (curr.isNegation() && !curr.getChild(0).isPredicate() && !curr.getChild(0).isQuantifier() && !curr.getChild(0).isIdentity()) {
-                // If the node is not a simple negation (~A) AND it's not a quantifier, negate it.
-                this.distributeNegation(tree, leaves, queue);
-            } else if (curr.isNegation() && tree.getWff().getChild(0).isQuantifier()) {
-                // If the node is not a simple negation (~A), negate it.
-                this.distributeNegationQuantifier(tree, leaves, queue);
-            } else if (curr.isExistential()) {
-                this.existentialDecomposition(tree, leaves, queue);
-            } else if (curr.isUniversal()) {
-                this.universalDecomposition(tree, leaves, queue);
-            } else if (curr.isIdentity()) {
-                this.identityDecomposition(tree, leaves, queue);
-            } else if (curr.isAnd()) {
-                this.stackConjunction(tree, leaves, queue);
-            } else if (curr.isOr()) {
-                this.branchDisjunction(tree, leaves, queue);
-            } else if (curr.isImp()) {
-                this.branchImplication(tree, leaves, queue);
-            } else if (curr.isBicond()) {
-                this.branchBiconditional(tree, leaves, queue);
+            // If the tree is closed then we don't need to continue, though the trace
+            // still records it as closed.
+            if (!tree.isClosed()) {
+                if (curr.isNegation() && curr.getChild(0).isBicond()) {
+                    // We handle biconditional negations differently since they're harder.
+                    this.branchNegationBiconditional(tree, leaves, queue);
+                } else if (curr.isNegation() && curr.getChild(0).isImp()) {
+                    // We handle a negated implication differently.
+                    this.stackNegationImplication(tree, leaves, queue);
+                } else if (curr.isNegExclusiveOr()) {
+                    this.branchNegationExclusiveOr(tree, leaves, queue);
+                } else if (curr.isNegation() && !curr.getChild(0).isPredicate() && !curr.getChild(0).isQuantifier() && !curr.getChild(0).isIdentity()) {
+                    // If the node is not a simple negation (~A) AND it's not a quantifier, negate it.
+                    this.distributeNegation(tree, leaves, queue);
+                } else if (curr.isNegation() && tree.getWff().getChild(0).isQuantifier()) {
+                    // If the node is not a simple negation (~A), negate it.
+                    this.distributeNegationQuantifier(tree, leaves, queue);
+                } else if (curr.isExistential()) {
+                    this.existentialDecomposition(tree, leaves, queue);
+                } else if (curr.isUniversal()) {
+                    this.universalDecomposition(tree, leaves, queue);
+                } else if (curr.isIdentity()) {
+                    this.identityDecomposition(tree, leaves, queue);
+                } else if (curr.isAnd()) {
+                    this.stackConjunction(tree, leaves, queue);
+                } else if (curr.isOr()) {
+                    this.branchDisjunction(tree, leaves, queue);
+                } else if (curr.isImp()) {
+                    this.branchImplication(tree, leaves, queue);
+                } else if (curr.isBicond()) {
+                    this.branchBiconditional(tree, leaves, queue);
+                }
+            }
+
+            AlgorithmMetrics.Rule rule = this.takeRule();
+            this.logStep(tree, rule, leaves);
+            if (trace != null) {
+                trace.record(tree, rule, iterations, start, leaves.size(), queue.size());
             }
         }
+        AlgorithmMetrics.TRUTH_TREE_ITERATIONS.record(iterations);
     }
 
     /**
@@ -98,6 +119,7 @@ public final class PredicateTruthTreeGenerator extends BaseTruthTreeGenerator {
      * @param _queue                - priority queue of nodes left to process.
      */
     private void existentialDecomposition(TruthTree _existentialTruthTree, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.EXISTENTIAL_DECOMPOSITION);
         if (!(_existentialTruthTree.getWff() instanceof ExistentialQuantifierNode)) {
             throw new IllegalArgumentException("Error: existential quantifier node expects existential node but got " + _existentialTruthTree.getClass());
         }
@@ -125,6 +147,7 @@ public final class PredicateTruthTreeGenerator extends BaseTruthTreeGenerator {
      * @param _queue              - priority queue of nodes left to process.
      */
     private void universalDecomposition(TruthTree _universalTruthTree, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.UNIVERSAL_DECOMPOSITION);
         if (!(_universalTruthTree.getWff() instanceof UniversalQuantifierNode)) {
             throw new IllegalArgumentException("Error: universal quantifier node expects universal node but got " + _universalTruthTree.getClass());
         }
@@ -151,6 +174,7 @@ public final class PredicateTruthTreeGenerator extends BaseTruthTreeGenerator {
      * @param _queue             - priority queue of truth tree nodes left to check.
      */
     private void identityDecomposition(TruthTree _identityTruthTree, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.IDENTITY_DECOMPOSITION);
         if (!(_identityTruthTree.getWff() instanceof IdentityNode)) {
             throw new IllegalArgumentException("Error: identity truth tree node expects identity node but got " + _identityTruthTree.getWff().getClass());
         }
@@ -177,6 +201,7 @@ public final class PredicateTruthTreeGenerator extends BaseTruthTreeGenerator {
      *                 is added to this priority queue.
      */
     private void distributeNegationQuantifier(TruthTree _negRoot, LinkedList<TruthTree> _leaves, PriorityQueue<TruthTree> _queue) {
+        this.countRule(AlgorithmMetrics.Rule.DISTRIBUTE_NEGATED_QUANTIFIER);
         WffTree negatedQuantifier = getFlippedNode(_negRoot.getWff().getChild(0));
         for (TruthTree tt : _leaves) {
             if (!tt.isClosed()) {
@@ -1,10 +1,9 @@
 package com.llat.algorithms.predicate;
 
-import com.llat.tools.LLATUtils;
-
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  *
@@ -191,10 +190,10 @@ public class RandomPredicateFormulaGenerator {
         StringBuilder predicate = new StringBuilder();
 
         if ((Math.random() < usedPredicateProbability && !this.predicatesNotUsed.isEmpty()) || this.predicatesUsed.isEmpty()) {
-            p = this.predicatesNotUsed.remove(LLATUtils.randomInt(this.predicatesNotUsed.size() - 1));
+            p = this.predicatesNotUsed.remove(ThreadLocalRandom.current().nextInt(this.predicatesNotUsed.size()));
             this.predicatesUsed.add(p);
         } else {
-            p = this.predicatesUsed.get(LLATUtils.randomInt(this.predicatesUsed.size() - 1));
+            p = this.predicatesUsed.get(ThreadLocalRandom.current().nextInt(this.predicatesUsed.size()));
         }
 
         Integer mapArity = this.predicateArityMap.get(p);
@@ -223,10 +222,10 @@ public class RandomPredicateFormulaGenerator {
         double usedVariableProbability = 0.5;
 
         if ((Math.random() < usedVariableProbability && !this.variablesNotUsed.isEmpty()) || this.variablesUsed.isEmpty()) {
-            v = this.variablesNotUsed.remove(LLATUtils.randomInt(this.variablesNotUsed.size() - 1));
+            v = this.variablesNotUsed.remove(ThreadLocalRandom.current().nextInt(this.variablesNotUsed.size()));
             this.variablesUsed.add(v);
         } else {
-            v = this.variablesUsed.get(LLATUtils.randomInt(this.variablesUsed.size() - 1));
+            v = this.variablesUsed.get(ThreadLocalRandom.current().nextInt(this.variablesUsed.size()));
         }
 
         return v;
@@ -240,10 +239,10 @@ public class RandomPredicateFormulaGenerator {
         double usedConstantProbability = 0.5;
 
         if ((Math.random() < usedConstantProbability && !this.constantsNotUsed.isEmpty()) || this.constantsUsed.isEmpty()) {
-            c = this.constantsNotUsed.remove(LLATUtils.randomInt(this.constantsNotUsed.size() - 1));
+            c = this.constantsNotUsed.remove(ThreadLocalRandom.current().nextInt(this.constantsNotUsed.size()));
             this.constantsUsed.add(c);
         } else {
-            c = this.constantsUsed.get(LLATUtils.randomInt(this.constantsUsed.size() - 1));
+            c = this.constantsUsed.get(ThreadLocalRandom.current().nextInt(this.constantsUsed.size()));
         }
 
         return c;
@@ -253,6 +252,6 @@ public class RandomPredicateFormulaGenerator {
      * @return
      */
     private String getRandomBinaryOp() {
-        return this.binaryOperators.get(LLATUtils.randomInt(this.binaryOperators.size() - 1));
+        return this.binaryOperators.get(ThreadLocalRandom.current().nextInt(this.binaryOperators.size()));
     }
 }
@@ -0,0 +1,78 @@
+package com.llat.algorithms.propositional;
+
+import com.llat.algorithms.PDFPrinter;
+import com.llat.algorithms.pdf.PDFRenderer;
+import com.llat.models.treenode.WffTree;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashSet;
+
+public final class PDFTruthTablePrinter extends PDFPrinter {
+
+    /**
+     * Nodes of the truth table in post-order, once it was created.
+     */
+    private LinkedHashSet<WffTree> truthTable;
+
+    public PDFTruthTablePrinter(WffTree _tree, String _outputFile) {
+        this(_tree, _outputFile, false);
+    }
+
+    /**
+     * @param _tree          - tree to print the truth table of.
+     * @param _outputFile    - file to print it to.
+     * @param _hasTruthTable - true if the tree already holds its truth table, e.g. one
+     *                       from the cache; it is then only read, never changed.
+     */
+    public PDFTruthTablePrinter(WffTree _tree, String _outputFile, boolean _hasTruthTable) {
+        super(_tree, _outputFile);
+        if (_hasTruthTable) {
+            this.truthTable = TruthTableGenerator.postorder(_tree);
+        }
+    }
+
+    /**
+     * Outputs the truth table for a propositional logic formula to a pdf.
+     * We first create a TruthTableGenerator algorithm, then draw a column for
+     * each of its [nodes]. These are inserted in post-order, so atomic/
+     * non-complex sentences are inserted first. The ordering isn't guaranteed to
+     * put the plain atoms first, but that's a feature for another time.
+     */
+    @Override
+    public void outputToFile() {
+        // First make sure that we actually can generate this tree, before creating the file.
+        if (this.getTruthTable() != null) {
+            super.outputToFile();
+        }
+    }
+
+    /**
+     * Draws the truth table into a PDF; true is written as T and false as F.
+     *
+     * @throws IOException if the stream cannot be written, or the truth table is too large.
+     */
+    @Override
+    public void write(OutputStream _out) throws IOException {
+        LinkedHashSet<WffTree> truthTable = this.getTruthTable();
+        if (truthTable == null) {
+            throw new IOException("Could not create truth table.");
+        }
+        PDFRenderer.renderTruthTable(truthTable, _out);
+    }
+
+    /**
+     * @return nodes of the truth table of the wff in post-order, or null if it has too many atoms.
+     */
+    private LinkedHashSet<WffTree> getTruthTable() {
+        if (this.truthTable == null) {
+            TruthTableGenerator ttg = new TruthTableGenerator(this.getWffTree());
+            if (!ttg.getTruthTable()) {
+                System.err.println("Could not create truth table.");
+                return null;
+            }
+            this.truthTable = ttg.postorder();
+        }
+        return this.truthTable;
+    }
+}
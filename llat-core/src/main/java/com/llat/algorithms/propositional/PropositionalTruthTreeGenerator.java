@@ -0,0 +1,100 @@
+package com.llat.algorithms.propositional;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.BaseTruthTreeGenerator;
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.trace.TruthTreeTrace;
+import com.llat.models.treenode.WffTree;
+
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+
+/**
+ * TODO Document
+ */
+public final class PropositionalTruthTreeGenerator extends BaseTruthTreeGenerator {
+
+    public PropositionalTruthTreeGenerator(WffTree _tree) {
+        super(_tree);
+    }
+
+    /**
+     * Builds the propositional truth tree. A truth tree is characterized by
+     * branches and stacks. More information is presented in the documentation.
+     *
+     * @param _node - TruthTree root.
+     */
+    @Override
+    public void buildTreeHelper(TruthTree _node) {
+        int iterations = 0;
+
+        // Initialize the min-heap and linkedlist of leaves.
+        PriorityQueue<TruthTree> queue = new PriorityQueue<>();
+        LinkedList<TruthTree> leaves = new LinkedList<>();
+
+        // Add the root to these structures and compute all constants in the root.
+        leaves.add(_node);
+        queue.add(_node);
+        TruthTreeTrace trace = AlgorithmProgress.current().getTrace();
+        this.takeRule();
+        if (trace != null) {
+            trace.start(_node);
+        }
+
+        // Poll the heap and build the tree.
+        while (!queue.isEmpty()) {
+            if (++iterations >= BaseTruthTreeGenerator.TIMEOUT) {
+                System.err.println("Timeout error: cannot compute a tree this complex.");
+                AlgorithmProgress.current().reportError("Timeout error: cannot compute a truth tree this complex.");
+                AlgorithmMetrics.TRUTH_TREE_TIMEOUTS.increment();
+                AlgorithmMetrics.TRUTH_TREE_ITERATIONS.record(iterations);
+                if (trace != null) {
+                    trace.timeout(_node, iterations, queue.size());
+                }
+                return;
+            }
+            BaseTruthTreeGenerator.reportProgress(_node, iterations);
+
+            long start = trace != null ? System.nanoTime() : 0;
+            TruthTree tree = queue.poll();
+            WffTree curr = tree.getWff();
+            leaves = BaseTruthTreeGenerator.getLeaves(tree);
+            BaseTruthTreeGenerator.computeClosedBranches(leaves);
+
+            // If the tree is closed then we don't need to continue, though the trace
+            // still records it as closed.
+            if (!tree.isClosed()) {
+                if (curr.isNegation() && curr.getChild(0).isBicond()) {
+                    // We handle biconditional negations differently since they're harder.
+                    this.branchNegationBiconditional(tree, leaves, queue);
+                } else if (curr.isNegation() && curr.getChild(0).isImp()) {
+                    // We handle a negated implication differently.
+                    this.stackNegationImplication(tree, leaves, queue);
+                } else if (curr.isNegExclusiveOr()) {
+                    this.branchNegationExclusiveOr(tree, leaves, queue);
+                } else if (curr.isNegation() && !curr.getChild(0).isAtom()) {
+                    // If the node is not a simple negation (~A), negate it.
+                    this.distributeNegation(tree, leaves, queue);
+                } else if (curr.isAnd()) {
+                    this.stackConjunction(tree, leaves, queue);
+                } else if (curr.isOr()) {
+                    this.branchDisjunction(tree, leaves, queue);
+                } else if (curr.isImp()) {
+                    this.branchImplication(tree, leaves, queue);
+                } else if (curr.isBicond()) {
+                    this.branchBiconditional(tree, leaves, queue);
+                } else if (curr.isExclusiveOr()) {
+                    this.branchExclusiveOr(tree, leaves, queue);
+                }
+            }
+
+            AlgorithmMetrics.Rule rule = this.takeRule();
+            this.logStep(tree, rule, leaves);
+            if (trace != null) {
+                trace.record(tree, rule, iterations, start, leaves.size(), queue.size());
+            }
+        }
+        AlgorithmMetrics.TRUTH_TREE_ITERATIONS.record(iterations);
+    }
+}
@@ -0,0 +1,159 @@
+package com.llat.algorithms.propositional;
+
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.models.treenode.AtomNode;
+import com.llat.models.treenode.FalseNode;
+import com.llat.models.treenode.TruthNode;
+import com.llat.models.treenode.WffTree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides whether a propositional wff is satisfiable by searching for a model:
+ * atoms are given truth values one at a time, and after each one the wff is
+ * evaluated with the atoms that have no value yet as unknown. A partial
+ * assignment that already makes the wff false is abandoned without trying the
+ * atoms after it, and one that already makes it true is a model.
+ * <p>
+ * Unlike the truth table, this does not need a row for every assignment, and
+ * does not store truth values in the wff, so it can handle more atoms than
+ * TruthTableGenerator (it is still exponential in the worst case).
+ */
+public final class SatisfiabilitySolver {
+
+    /**
+     *
+     */
+    private final WffTree wffTree;
+
+    /**
+     * Atoms of the wff, in the order they are assigned.
+     */
+    private final List<String> atoms;
+
+    /**
+     * Truth value of each atom assigned so far.
+     */
+    private final Map<String, Boolean> assignment;
+
+    /**
+     * @param _wffTree - propositional wff (or its root).
+     * @throws IllegalArgumentException if the wff is not propositional.
+     */
+    public SatisfiabilitySolver(WffTree _wffTree) {
+        if (_wffTree.isPredicateWff()) {
+            throw new IllegalArgumentException("Cannot decide the satisfiability of a predicate wff.");
+        }
+        this.wffTree = _wffTree;
+        this.assignment = new HashMap<>();
+        Set<String> atoms = new LinkedHashSet<>();
+        this.findAtoms(_wffTree, atoms);
+        this.atoms = new ArrayList<>(atoms);
+    }
+
+    /**
+     * @return true if some assignment of truth values to the atoms makes the wff true.
+     */
+    public boolean isSatisfiable() {
+        this.assignment.clear();
+        return this.search(0);
+    }
+
+    /**
+     * @return truth values of the atoms that make the wff true, after isSatisfiable()
+     * returned true; atoms missing from it can have either value.
+     */
+    public Map<String, Boolean> getModel() {
+        return new LinkedHashMap<>(this.assignment);
+    }
+
+    /**
+     * Assigns the atoms from the given one on, trying true before false.
+     *
+     * @param _atom - index of the next atom to assign.
+     * @return true if a model was found; the assignment is then left in place.
+     */
+    private boolean search(int _atom) {
+        AlgorithmProgress.current().step();
+        Boolean value = this.evaluate(this.wffTree);
+        if (value != null) {
+            return value;
+        }
+
+        String atom = this.atoms.get(_atom);
+        for (boolean truthValue : new boolean[]{true, false}) {
+            this.assignment.put(atom, truthValue);
+            if (this.search(_atom + 1)) {
+                return true;
+            }
+        }
+        this.assignment.remove(atom);
+        return false;
+    }
+
+    /**
+     * Evaluates a wff under the current assignment in three-valued logic: a
+     * connective is true or false if its operands that are known already make it
+     * so, and unknown otherwise.
+     *
+     * @param _wff - wff to evaluate.
+     * @return truth value of the wff, or null if it is unknown.
+     */
+    private Boolean evaluate(WffTree _wff) {
+        if (_wff.isRoot()) {
+            return this.evaluate(_wff.getChild(0));
+        } else if (_wff.isAtom()) {
+            return this.assignment.get(((AtomNode) _wff).getSymbol());
+        } else if (_wff instanceof TruthNode) {
+            return true;
+        } else if (_wff instanceof FalseNode) {
+            return false;
+        } else if (_wff.isNegation()) {
+            Boolean value = this.evaluate(_wff.getChild(0));
+            return value == null ? null : !value;
+        }
+
+        Boolean lhs = this.evaluate(_wff.getChild(0));
+        if (_wff.isAnd() && Boolean.FALSE.equals(lhs) || _wff.isOr() && Boolean.TRUE.equals(lhs)) {
+            return lhs;
+        } else if (_wff.isImp() && Boolean.FALSE.equals(lhs)) {
+            return true;
+        }
+        Boolean rhs = this.evaluate(_wff.getChild(1));
+        if (_wff.isAnd()) {
+            return Boolean.FALSE.equals(rhs) ? Boolean.FALSE : lhs == null || rhs == null ? null : true;
+        } else if (_wff.isOr()) {
+            return Boolean.TRUE.equals(rhs) ? Boolean.TRUE : lhs == null || rhs == null ? null : false;
+        } else if (_wff.isImp()) {
+            return Boolean.TRUE.equals(rhs) ? Boolean.TRUE : lhs == null || rhs == null ? null : false;
+        } else if (lhs == null || rhs == null) {
+            return null;
+        } else if (_wff.isBicond()) {
+            return lhs.equals(rhs);
+        } else if (_wff.isExclusiveOr()) {
+            return !lhs.equals(rhs);
+        }
+        throw new IllegalArgumentException("Cannot evaluate " + _wff.getStringRep() + " in propositional logic.");
+    }
+
+    /**
+     * Collects the atoms of a wff in the order they first occur.
+     *
+     * @param _wff   - wff to search.
+     * @param _atoms - where to put the atoms.
+     */
+    private void findAtoms(WffTree _wff, Set<String> _atoms) {
+        if (_wff.isAtom()) {
+            _atoms.add(((AtomNode) _wff).getSymbol());
+        }
+        for (WffTree child : _wff.getChildren()) {
+            this.findAtoms(child, _atoms);
+        }
+    }
+}
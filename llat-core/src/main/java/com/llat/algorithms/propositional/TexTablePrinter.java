@@ -0,0 +1,147 @@
+package com.llat.algorithms.propositional;
+
+import com.llat.algorithms.TexPrinter;
+import com.llat.models.treenode.WffTree;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+public final class TexTablePrinter extends TexPrinter {
+
+    /**
+     * Template location to read from.
+     */
+    private static final String TEX_TABLE_TEMPLATE = "tex_truth_table_template.tex";
+
+    /**
+     * Whether the tree already holds its truth table, so it is not generated again.
+     */
+    private final boolean hasTruthTable;
+
+    public TexTablePrinter(WffTree _tree, String _outputFile) {
+        this(_tree, _outputFile, false);
+    }
+
+    /**
+     * @param _tree          - tree to print the truth table of.
+     * @param _outputFile    - file to print it to.
+     * @param _hasTruthTable - true if the tree already holds its truth table, e.g. one
+     *                       from the cache; it is then only read, never changed.
+     */
+    public TexTablePrinter(WffTree _tree, String _outputFile, boolean _hasTruthTable) {
+        super(_tree, _outputFile);
+        this.hasTruthTable = _hasTruthTable;
+    }
+
+    /**
+     * Outputs the truth table for a propositional logic formula in LaTeX to a file.
+     * We first create a TruthTableGenerator algorithm, then traverse its contents
+     * for the truth values. These [nodes] are inserted in post-order, so atomic/
+     * non-complex sentences are inserted first. The ordering isn't guaranteed to
+     * put the plain atoms first, but that's a feature for another time.
+     */
+    public void outputToFile() {
+        LinkedHashSet<WffTree> postOrderTraversal;
+        if (this.hasTruthTable) {
+            postOrderTraversal = TruthTableGenerator.postorder(this.getWffTree());
+        } else {
+            // First make sure that we actually can generate this tree.
+            TruthTableGenerator ttg = new TruthTableGenerator(this.getWffTree());
+            if (!ttg.getTruthTable()) {
+                System.err.println("Could not create truth table.");
+                return;
+            }
+            postOrderTraversal = ttg.postorder();
+        }
+
+        // Now, print it out in TeX.
+        try {
+            this.setBufferedWriter(this.openOutputFile());
+
+            // First copy the template over.
+            this.getBufferedWriter().write(TexPrinter.getTemplate(TEX_TABLE_TEMPLATE));
+            TexTablePrinter.writeTexTable(postOrderTraversal, this.getBufferedWriter());
+
+            // Output the closing latex commands.
+            this.getBufferedWriter().write("\n\\end{tabular}\n\n\\end{document}\n");
+            this.getBufferedWriter().close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Builds the truth table as a string; see writeTexTable().
+     *
+     * @param _set - set of WffTree nodes that are collected in postorder prior to
+     *             this method.
+     * @return String representation of the table, up to but not including \end{tabular}.
+     */
+    public static String getTexTable(Collection<WffTree> _set) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            TexTablePrinter.writeTexTable(_set, sb);
+        } catch (IOException ex) {
+            // A StringBuilder does not throw.
+            throw new UncheckedIOException(ex);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the truth table row by row. Writes the column sizes, headers, then
+     * the rows with the boolean values. We substitute true for T and false for F.
+     * <p>
+     * The truth values of each column are walked with an iterator, since they are
+     * linked lists, and looking each one up by its row would take quadratic time
+     * on a large table.
+     *
+     * @param _set - set of WffTree nodes that are collected in postorder prior to
+     *             this method.
+     * @param _out - where to write the table, up to but not including \end{tabular}.
+     * @throws IOException if _out cannot be written.
+     */
+    public static void writeTexTable(Collection<WffTree> _set, Appendable _out) throws IOException {
+        List<WffTree> list = new ArrayList<>(_set);
+        int rows = list.get(0).getTruthValues().size();
+
+        // Print the preamble stuff.
+        _out.append("\\begin{tabular}{");
+        for (int i = 0; i < list.size() - 1; i++) {
+            _out.append("c|");
+        }
+        _out.append("c}\n");
+
+        // First print the headers.
+        for (int i = 0; i < list.size() - 1; i++) {
+            _out.append("$").append(list.get(i).getTexCommand()).append("$");
+            _out.append(" & ");
+        }
+
+        // Output the hline separator.
+        _out.append("$").append(list.get(list.size() - 1).getTexCommand()).append("$");
+        _out.append("\\\\\n\\hline\n");
+
+        // Now print the truth values.
+        List<Iterator<Boolean>> columns = new ArrayList<>();
+        for (WffTree wffTree : list) {
+            columns.add(wffTree.getTruthValues().iterator());
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns.size() - 1; j++) {
+                _out.append(columns.get(j).next().toString());
+                _out.append(" & ");
+            }
+            // Output a new line on all rows except for the last.
+            _out.append(columns.get(columns.size() - 1).next().toString());
+            _out.append(" \\\\ ");
+            if (i != rows - 1) {
+                _out.append("\n");
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.llat.algorithms.propositional;
 
+import com.llat.algorithms.AlgorithmProgress;
+import com.llat.algorithms.metrics.AlgorithmMetrics;
 import com.llat.models.treenode.AtomNode;
 import com.llat.models.treenode.NegNode;
 import com.llat.models.treenode.WffTree;
@@ -148,7 +150,10 @@ public final class TruthTableGenerator {
 
         // If the tree already HAS truth values, then don't rebuild the tree.
         if (this.wffTree.getTruthValues().isEmpty()) {
+            long start = System.nanoTime();
             this.buildTable(this.wffTree);
+            AlgorithmMetrics.TRUTH_TABLE_ROWS.add(this.rows);
+            AlgorithmMetrics.TRUTH_TABLE_SECONDS.recordSince(start);
         }
 
         return true;
@@ -169,8 +174,19 @@ public final class TruthTableGenerator {
      * @return list of nodes in post-order.
      */
     public LinkedHashSet<WffTree> postorder() {
+        return TruthTableGenerator.postorder(this.wffTree);
+    }
+
+    /**
+     * Performs a post-order traversal of a WffTree whose truth table was already
+     * generated, e.g. one that was cached, without building it again.
+     *
+     * @param _wffTree - root of the WffTree holding the truth table.
+     * @return list of nodes in post-order.
+     */
+    public static LinkedHashSet<WffTree> postorder(WffTree _wffTree) {
         LinkedHashSet<WffTree> list = new LinkedHashSet<>();
-        this.postorderHelper(this.wffTree.getChild(0), list);
+        TruthTableGenerator.postorderHelper(_wffTree.getChild(0), list);
         return list;
     }
 
@@ -193,13 +209,13 @@ public final class TruthTableGenerator {
      * @param _tree          - tree to search.
      * @param _postorderList - list to continuously add to.
      */
-    private void postorderHelper(WffTree _tree, HashSet<WffTree> _postorderList) {
+    private static void postorderHelper(WffTree _tree, HashSet<WffTree> _postorderList) {
         if (_tree == null) {
             return;
         }
 
         for (int i = 0; i < _tree.getChildrenSize(); i++) {
-            this.postorderHelper(_tree.getChild(i), _postorderList);
+            TruthTableGenerator.postorderHelper(_tree.getChild(i), _postorderList);
         }
 
         _postorderList.add(_tree);
@@ -241,6 +257,8 @@ public final class TruthTableGenerator {
      * @param _tree - WffTree node.
      */
     private void processNode(WffTree _tree) {
+        // Each node fills in a whole column, so this is where a cancelled table stops.
+        AlgorithmProgress.current().step();
         if (_tree.isAtom()) {
             AtomNode atom = (AtomNode) _tree;
             if (!this.truthPattern.containsKey(atom.getSymbol())) {
@@ -0,0 +1,306 @@
+package com.llat.algorithms.trace;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the traces written by TruthTreeTrace, and prints them for a person to
+ * read. From the command line:
+ * <pre>
+ * TraceTool summary &lt;trace&gt; [--top=N]   time and count per rule, and the N nodes that took longest
+ * TraceTool replay &lt;trace&gt;              every event in the order the nodes were expanded
+ * </pre>
+ */
+public final class TraceTool {
+
+    private static final String USAGE = "Usage: TraceTool summary|replay <trace> [--top=N]";
+
+    /**
+     * Events of the trace, oldest first.
+     */
+    private final List<Event> events;
+
+    /**
+     * Wff of each node, by id.
+     */
+    private final Map<Integer, String> wffs;
+
+    /**
+     * Parent of each node, by id; 0 for a root.
+     */
+    private final Map<Integer, Integer> parents;
+
+    /**
+     *
+     */
+    private final long dropped;
+
+    private TraceTool(List<Event> _events, Map<Integer, String> _wffs, Map<Integer, Integer> _parents, long _dropped) {
+        this.events = _events;
+        this.wffs = _wffs;
+        this.parents = _parents;
+        this.dropped = _dropped;
+    }
+
+    public static void main(String[] _args) throws IOException {
+        if (_args.length < 2 || !(_args[0].equals("summary") || _args[0].equals("replay"))) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        int top = 10;
+        for (int i = 2; i < _args.length; i++) {
+            if (_args[i].startsWith("--top=")) {
+                top = Integer.parseInt(_args[i].substring("--top=".length()));
+            } else {
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+        }
+        TraceTool trace = TraceTool.read(Paths.get(_args[1]));
+        if (_args[0].equals("summary")) {
+            trace.summarize(System.out, top);
+        } else {
+            trace.replay(System.out);
+        }
+    }
+
+    /**
+     * Reads a trace.
+     *
+     * @param _in - stream to read; it is not closed.
+     * @return the trace.
+     * @throws IOException if the stream cannot be read or does not hold a trace.
+     */
+    public static TraceTool read(InputStream _in) throws IOException {
+        DataInputStream in = new DataInputStream(_in);
+        byte[] magic = new byte[TruthTreeTrace.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, TruthTreeTrace.MAGIC)) {
+            throw new IOException("Not a truth tree trace.");
+        }
+        long dropped = in.readLong();
+        Map<Integer, String> wffs = new HashMap<>();
+        Map<Integer, Integer> parents = new HashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            int id = in.readInt();
+            parents.put(id, in.readInt());
+            wffs.put(id, in.readUTF());
+        }
+        List<Event> events = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            long time = in.readLong();
+            int duration = in.readInt();
+            int iteration = in.readInt();
+            int node = in.readInt();
+            int branches = in.readInt();
+            int queue = in.readInt();
+            short kind = in.readShort();
+            in.readShort();
+            events.add(new Event(time, duration, iteration, node, branches, queue, kind));
+        }
+        return new TraceTool(Collections.unmodifiableList(events), wffs, parents, dropped);
+    }
+
+    /**
+     * @param _path - file written by TruthTreeTrace.write(...).
+     * @return the trace.
+     * @throws IOException if the file cannot be read or does not hold a trace.
+     */
+    public static TraceTool read(Path _path) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(_path))) {
+            return TraceTool.read(in);
+        }
+    }
+
+    /**
+     * @param _kind - kind of an event.
+     * @return name of the rule or of the negative kind, e.g., "branch_disjunction".
+     */
+    public static String getKindName(short _kind) {
+        switch (_kind) {
+            case TruthTreeTrace.CLOSED:
+                return "closed";
+            case TruthTreeTrace.LITERAL:
+                return "literal";
+            case TruthTreeTrace.START:
+                return "start";
+            case TruthTreeTrace.TIMEOUT:
+                return "timeout";
+            default:
+                return _kind >= 0 && _kind < AlgorithmMetrics.Rule.values().length
+                        ? AlgorithmMetrics.Rule.values()[_kind].toString() : "unknown(" + _kind + ")";
+        }
+    }
+
+    /**
+     * Prints how many events of each kind there were and how long they took, the
+     * largest queue and branch count, and the nodes whose expansions took longest.
+     *
+     * @param _out - where to print.
+     * @param _top - number of nodes to list.
+     */
+    public void summarize(PrintStream _out, int _top) {
+        Map<Short, long[]> kinds = new HashMap<>();
+        Map<Integer, long[]> nodes = new HashMap<>();
+        int trees = 0;
+        int timeouts = 0;
+        int maxQueue = 0;
+        int maxBranches = 0;
+        long total = 0;
+        for (Event event : this.events) {
+            if (event.getKind() == TruthTreeTrace.START) {
+                trees++;
+                continue;
+            } else if (event.getKind() == TruthTreeTrace.TIMEOUT) {
+                timeouts++;
+                continue;
+            }
+            long[] kind = kinds.computeIfAbsent(event.getKind(), (_k) -> new long[3]);
+            kind[0]++;
+            kind[1] += event.getDuration();
+            kind[2] += event.getBranches();
+            long[] node = nodes.computeIfAbsent(event.getNode(), (_n) -> new long[2]);
+            node[0]++;
+            node[1] += event.getDuration();
+            maxQueue = Math.max(maxQueue, event.getQueue());
+            maxBranches = Math.max(maxBranches, event.getBranches());
+            total += event.getDuration();
+        }
+
+        _out.printf(Locale.ROOT, "%d events (%d dropped), %d trees, %d timeouts, %.3f ms expanding%n",
+                this.events.size(), this.dropped, trees, timeouts, total / 1e6);
+        _out.printf(Locale.ROOT, "largest queue %d, most branches %d%n%n", maxQueue, maxBranches);
+        _out.printf(Locale.ROOT, "%-30s %10s %12s %10s %12s%n", "rule", "count", "total ms", "mean us", "branches");
+        List<Map.Entry<Short, long[]>> byTime = new ArrayList<>(kinds.entrySet());
+        byTime.sort(Comparator.comparingLong((Map.Entry<Short, long[]> _e) -> _e.getValue()[1]).reversed());
+        for (Map.Entry<Short, long[]> entry : byTime) {
+            long[] kind = entry.getValue();
+            _out.printf(Locale.ROOT, "%-30s %10d %12.3f %10.1f %12d%n", TraceTool.getKindName(entry.getKey()),
+                    kind[0], kind[1] / 1e6, kind[1] / 1e3 / kind[0], kind[2]);
+        }
+
+        _out.printf(Locale.ROOT, "%n%-8s %8s %12s  %s%n", "node", "count", "total ms", "wff");
+        List<Map.Entry<Integer, long[]>> hotspots = new ArrayList<>(nodes.entrySet());
+        hotspots.sort(Comparator.comparingLong((Map.Entry<Integer, long[]> _e) -> _e.getValue()[1]).reversed());
+        for (Map.Entry<Integer, long[]> entry : hotspots.subList(0, Math.min(_top, hotspots.size()))) {
+            _out.printf(Locale.ROOT, "%-8d %8d %12.3f  %s%n", entry.getKey(), entry.getValue()[0],
+                    entry.getValue()[1] / 1e6, this.getWff(entry.getKey()));
+        }
+    }
+
+    /**
+     * Prints every event in the order it was recorded, i.e., the order in which
+     * the generator expanded the nodes.
+     *
+     * @param _out - where to print.
+     */
+    public void replay(PrintStream _out) {
+        if (this.dropped > 0) {
+            _out.printf(Locale.ROOT, "... %d earlier events dropped%n", this.dropped);
+        }
+        for (Event event : this.events) {
+            _out.printf(Locale.ROOT, "%12.3f ms  #%-6d %-30s node %-6d (parent %-6d) branches %-5d queue %-6d %8.1f us  %s%n",
+                    event.getTime() / 1e6, event.getIteration(), TraceTool.getKindName(event.getKind()), event.getNode(),
+                    this.getParentId(event.getNode()), event.getBranches(), event.getQueue(), event.getDuration() / 1e3,
+                    this.getWff(event.getNode()));
+        }
+    }
+
+    public List<Event> getEvents() {
+        return this.events;
+    }
+
+    public long getDroppedCount() {
+        return this.dropped;
+    }
+
+    /**
+     * @param _node - id of a node.
+     * @return its wff, or null if no event of the trace is about it.
+     */
+    public String getWff(int _node) {
+        return this.wffs.get(_node);
+    }
+
+    /**
+     * @param _node - id of a node.
+     * @return id of its parent, or 0 if it is a root or unknown.
+     */
+    public int getParentId(int _node) {
+        return this.parents.getOrDefault(_node, 0);
+    }
+
+    /**
+     * One event of a trace, as described in TruthTreeTrace.
+     */
+    public static final class Event {
+
+        private final long time;
+
+        private final int duration;
+
+        private final int iteration;
+
+        private final int node;
+
+        private final int branches;
+
+        private final int queue;
+
+        private final short kind;
+
+        Event(long _time, int _duration, int _iteration, int _node, int _branches, int _queue, short _kind) {
+            this.time = _time;
+            this.duration = _duration;
+            this.iteration = _iteration;
+            this.node = _node;
+            this.branches = _branches;
+            this.queue = _queue;
+            this.kind = _kind;
+        }
+
+        public long getTime() {
+            return this.time;
+        }
+
+        public int getDuration() {
+            return this.duration;
+        }
+
+        public int getIteration() {
+            return this.iteration;
+        }
+
+        public int getNode() {
+            return this.node;
+        }
+
+        public int getBranches() {
+            return this.branches;
+        }
+
+        public int getQueue() {
+            return this.queue;
+        }
+
+        public short getKind() {
+            return this.kind;
+        }
+    }
+}
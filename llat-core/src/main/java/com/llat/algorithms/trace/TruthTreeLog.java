@@ -0,0 +1,264 @@
+package com.llat.algorithms.trace;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.models.TruthTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Log of how a truth tree generator built a tree, for stepping through the
+ * construction afterwards with a TruthTreeReplay. A log is turned on by giving it
+ * to the generator (see BaseTruthTreeGenerator.setLog(...)) before getTruthTree()
+ * is called; without one, the generators only check for null.
+ * <p>
+ * The generator appends an operation for every change it makes to the tree: a
+ * node stacked under a leaf, a leaf branched in two, or a branch closed. The nodes
+ * added by each rule come after an operation naming the rule and the node it
+ * expanded, so the tree can be watched rule by rule. Nodes are numbered in the
+ * order they were added, the root being 0, and an operation is a single int (the
+ * node it applies to, and its kind in the low bits) and a byte for the rule, so a
+ * log only takes a few bytes per node.
+ * <p>
+ * The log is append-only. A log belongs to one run of one generator, and is not
+ * safe to share between threads.
+ */
+public final class TruthTreeLog {
+
+    /**
+     * A node was stacked under a leaf. The node is the target; the new node is the
+     * next one added.
+     */
+    public static final int NODE_ADDED = 0;
+
+    /**
+     * A leaf was branched. The leaf is the target; the new nodes are the next two
+     * added, left first.
+     */
+    public static final int BRANCH_CREATED = 1;
+
+    /**
+     * A leaf was found to close its branch. The leaf is the target.
+     */
+    public static final int BRANCH_CLOSED = 2;
+
+    /**
+     * A rule was applied to the target; the nodes it added follow.
+     */
+    public static final int RULE_APPLIED = 3;
+
+    private static final int KIND_BITS = 2;
+
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    /**
+     * Operations, as the target node shifted left by KIND_BITS, or'd with the kind.
+     */
+    private int[] operations;
+
+    /**
+     * Ordinal of the rule of each RULE_APPLIED operation, and -1 for the others.
+     */
+    private byte[] rules;
+
+    /**
+     *
+     */
+    private int size;
+
+    /**
+     * Nodes of the tree in the order they were added.
+     */
+    private final List<TruthTree> nodes;
+
+    /**
+     * Number of each node in the log.
+     */
+    private final Map<TruthTree, Integer> numbers;
+
+    /**
+     * Nodes whose branch has been logged as closed.
+     */
+    private final BitSet closed;
+
+    public TruthTreeLog() {
+        this.operations = new int[64];
+        this.rules = new byte[64];
+        this.nodes = new ArrayList<>();
+        this.numbers = new IdentityHashMap<>();
+        this.closed = new BitSet();
+    }
+
+    /**
+     * Records that a generator started building a tree.
+     *
+     * @param _root - root of the tree.
+     * @throws IllegalStateException if the log already has a tree.
+     */
+    public void start(TruthTree _root) {
+        if (!this.nodes.isEmpty()) {
+            throw new IllegalStateException("A truth tree log can only record one run of a generator.");
+        }
+        this.addNode(_root);
+    }
+
+    /**
+     * Records one iteration of a generator loop: the branches that were found to
+     * close, then the rule that was applied, then the nodes it added under each leaf.
+     *
+     * @param _node   - node polled from the queue.
+     * @param _rule   - rule that expanded it, or null if it was not expanded.
+     * @param _leaves - leaves below the node before it was expanded.
+     */
+    public void record(TruthTree _node, AlgorithmMetrics.Rule _rule, List<TruthTree> _leaves) {
+        for (TruthTree leaf : _leaves) {
+            int number = this.getNumber(leaf);
+            if (leaf.isClosed() && !this.closed.get(number)) {
+                this.closed.set(number);
+                this.add(TruthTreeLog.BRANCH_CLOSED, number, null);
+            }
+        }
+        if (_rule == null) {
+            return;
+        }
+        this.add(TruthTreeLog.RULE_APPLIED, this.getNumber(_node), _rule);
+        for (TruthTree leaf : _leaves) {
+            this.addChildren(leaf);
+        }
+    }
+
+    /**
+     * Logs the nodes below a node that was a leaf before the last rule, top down.
+     *
+     * @param _parent - node whose children are new.
+     */
+    private void addChildren(TruthTree _parent) {
+        if (_parent.getRight() != null) {
+            this.add(TruthTreeLog.BRANCH_CREATED, this.getNumber(_parent), null);
+            this.addNode(_parent.getLeft());
+            this.addNode(_parent.getRight());
+            this.addChildren(_parent.getLeft());
+            this.addChildren(_parent.getRight());
+        } else if (_parent.getLeft() != null) {
+            this.add(TruthTreeLog.NODE_ADDED, this.getNumber(_parent), null);
+            this.addNode(_parent.getLeft());
+            this.addChildren(_parent.getLeft());
+        }
+    }
+
+    private void addNode(TruthTree _node) {
+        this.numbers.put(_node, this.nodes.size());
+        this.nodes.add(_node);
+    }
+
+    private void add(int _kind, int _target, AlgorithmMetrics.Rule _rule) {
+        if (this.size == this.operations.length) {
+            this.operations = Arrays.copyOf(this.operations, this.size * 2);
+            this.rules = Arrays.copyOf(this.rules, this.size * 2);
+        }
+        this.operations[this.size] = _target << KIND_BITS | _kind;
+        this.rules[this.size] = _rule == null ? -1 : (byte) _rule.ordinal();
+        this.size++;
+    }
+
+    private int getNumber(TruthTree _node) {
+        Integer number = this.numbers.get(_node);
+        if (number == null) {
+            throw new IllegalArgumentException("Node " + _node + " is not in the truth tree log.");
+        }
+        return number;
+    }
+
+    /**
+     * @return number of operations recorded.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @param _operation - index of an operation.
+     * @return NODE_ADDED, BRANCH_CREATED, BRANCH_CLOSED or RULE_APPLIED.
+     */
+    public int getKind(int _operation) {
+        return this.get(_operation) & KIND_MASK;
+    }
+
+    /**
+     * @param _operation - index of an operation.
+     * @return number of the node that the operation applies to.
+     */
+    public int getTarget(int _operation) {
+        return this.get(_operation) >>> KIND_BITS;
+    }
+
+    /**
+     * @param _operation - index of an operation.
+     * @return rule applied by a RULE_APPLIED operation, or null for the other kinds.
+     */
+    public AlgorithmMetrics.Rule getRule(int _operation) {
+        this.get(_operation);
+        return this.rules[_operation] < 0 ? null : AlgorithmMetrics.Rule.values()[this.rules[_operation]];
+    }
+
+    /**
+     * @param _from - index of an operation.
+     * @return index of the first RULE_APPLIED operation at or after the given one,
+     * or size() if there are none.
+     */
+    public int nextRule(int _from) {
+        int i = Math.max(0, _from);
+        while (i < this.size && this.getKind(i) != TruthTreeLog.RULE_APPLIED) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @param _from - index of an operation.
+     * @return index of the last RULE_APPLIED operation at or before the given one,
+     * or 0 if there are none.
+     */
+    public int previousRule(int _from) {
+        int i = Math.min(_from, this.size - 1);
+        while (i > 0 && this.getKind(i) != TruthTreeLog.RULE_APPLIED) {
+            i--;
+        }
+        return Math.max(0, i);
+    }
+
+    /**
+     * @return number of nodes in the tree, including the root.
+     */
+    public int getNodeCount() {
+        return this.nodes.size();
+    }
+
+    /**
+     * @param _number - number of a node.
+     * @return the node of the generated tree.
+     */
+    public TruthTree getNode(int _number) {
+        return this.nodes.get(_number);
+    }
+
+    /**
+     * @param _node - node of the generated tree.
+     * @return number of the node, or -1 if it is not in the log.
+     */
+    public int indexOf(TruthTree _node) {
+        Integer number = this.numbers.get(_node);
+        return number == null ? -1 : number;
+    }
+
+    private int get(int _operation) {
+        if (_operation < 0 || _operation >= this.size) {
+            throw new IndexOutOfBoundsException("Operation " + _operation + " is not in a log of " + this.size + ".");
+        }
+        return this.operations[_operation];
+    }
+}
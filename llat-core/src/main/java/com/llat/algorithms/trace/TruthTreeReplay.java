@@ -0,0 +1,183 @@
+package com.llat.algorithms.trace;
+
+import com.llat.algorithms.models.TruthTree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays a TruthTreeLog back, rebuilding the truth tree as it was after any number
+ * of its operations. The replay has a tree of its own, which seek(...) moves
+ * forwards by applying operations and backwards by undoing them, so moving between
+ * two positions costs the number of operations between them and nothing is ever
+ * generated again. The nodes are made the first time they are reached and reused
+ * after that, so scrubbing back and forth does not allocate.
+ * <p>
+ * A replay changes its tree in place; anything that shows it has to be redrawn
+ * after each seek(...).
+ */
+public final class TruthTreeReplay {
+
+    /**
+     *
+     */
+    private final TruthTreeLog log;
+
+    /**
+     * Nodes of the replayed tree, by their number in the log.
+     */
+    private final List<TruthTree> nodes;
+
+    /**
+     * Number of operations applied.
+     */
+    private int position;
+
+    /**
+     * Number of nodes in the tree at the current position.
+     */
+    private int nodeCount;
+
+    /**
+     * @param _log - log of a generator that has started a tree.
+     */
+    public TruthTreeReplay(TruthTreeLog _log) {
+        if (_log.getNodeCount() == 0) {
+            throw new IllegalArgumentException("Cannot replay a truth tree log that has no tree.");
+        }
+        this.log = _log;
+        this.nodes = new ArrayList<>();
+        this.nodeCount = 1;
+        this.getNode(0);
+    }
+
+    /**
+     * Moves the tree to how it was after the given number of operations.
+     *
+     * @param _position - number of operations, from 0 (just the root) to the size of the log.
+     */
+    public void seek(int _position) {
+        if (_position < 0 || _position > this.log.size()) {
+            throw new IndexOutOfBoundsException("Position " + _position + " is not in a log of " + this.log.size() + ".");
+        }
+        while (this.position < _position) {
+            this.apply(this.position++);
+        }
+        while (this.position > _position) {
+            this.undo(--this.position);
+        }
+    }
+
+    /**
+     * Moves the tree to just before the next rule, i.e., applies the current rule
+     * and the closures found after it.
+     */
+    public void nextRule() {
+        this.seek(this.log.nextRule(this.position + 1));
+    }
+
+    /**
+     * Moves the tree to just before the current rule, undoing it.
+     */
+    public void previousRule() {
+        this.seek(this.log.previousRule(this.position - 1));
+    }
+
+    private void apply(int _operation) {
+        TruthTree target = this.getNode(this.log.getTarget(_operation));
+        switch (this.log.getKind(_operation)) {
+            case TruthTreeLog.NODE_ADDED:
+                target.addCenter(this.getNode(this.nodeCount++));
+                break;
+            case TruthTreeLog.BRANCH_CREATED:
+                target.addLeft(this.getNode(this.nodeCount++));
+                target.addRight(this.getNode(this.nodeCount++));
+                break;
+            case TruthTreeLog.BRANCH_CLOSED:
+                target.setClosed(true);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void undo(int _operation) {
+        TruthTree target = this.getNode(this.log.getTarget(_operation));
+        switch (this.log.getKind(_operation)) {
+            case TruthTreeLog.NODE_ADDED:
+                target.addLeft(null);
+                this.nodeCount--;
+                break;
+            case TruthTreeLog.BRANCH_CREATED:
+                target.addLeft(null);
+                target.addRight(null);
+                this.nodeCount -= 2;
+                break;
+            case TruthTreeLog.BRANCH_CLOSED:
+                target.setClosed(false);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns a node of the replayed tree, making it if it has not been reached yet.
+     * Nodes are reached in the order of their numbers, so its parent already exists.
+     *
+     * @param _number - number of the node in the log.
+     * @return node of the replayed tree.
+     */
+    private TruthTree getNode(int _number) {
+        if (_number < this.nodes.size()) {
+            return this.nodes.get(_number);
+        }
+        TruthTree original = this.log.getNode(_number);
+        TruthTree parent = this.copyOf(original.getParent());
+        TruthTree derivedParent = this.copyOf(original.getDerivedParent());
+        TruthTree node = new TruthTree(original.getWff(), parent, derivedParent);
+        this.nodes.add(node);
+        return node;
+    }
+
+    /**
+     * @return the node of the replayed tree for a node of the generated one, or null
+     * if it has none (e.g., an intermediate node a rule did not add to the tree).
+     */
+    private TruthTree copyOf(TruthTree _original) {
+        int number = _original == null ? -1 : this.log.indexOf(_original);
+        return number < 0 || number >= this.nodes.size() ? null : this.nodes.get(number);
+    }
+
+    /**
+     * @return root of the replayed tree.
+     */
+    public TruthTree getRoot() {
+        return this.nodes.get(0);
+    }
+
+    /**
+     * @return number of operations applied.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * @return number of operations in the log.
+     */
+    public int getLength() {
+        return this.log.size();
+    }
+
+    /**
+     * @return number of nodes in the tree at the current position.
+     */
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    public TruthTreeLog getLog() {
+        return this.log;
+    }
+}
@@ -0,0 +1,220 @@
+package com.llat.algorithms.trace;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.models.TruthTree;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Trace of the nodes that truth tree generators expand, for profiling inputs that
+ * are slow or time out. A trace is turned on by giving it to the AlgorithmProgress
+ * of the algorithm (see AlgorithmProgress.setTrace(...)); without one, the
+ * generators only check for null.
+ * <p>
+ * Every iteration of the generator loop is one fixed-size event: which node was
+ * polled, which rule expanded it, how many branches it was expanded on, how long
+ * that took and how many nodes were left in the queue. The events go into a ring
+ * buffer, so a trace has a fixed size however long the algorithm runs, and keeps
+ * the latest events, which are the ones that lead up to a timeout.
+ * <p>
+ * write(...) saves the trace in the binary format that TraceTool reads:
+ * <pre>
+ * "LLATTRC" 1                               magic and version (8 bytes)
+ * long dropped                              events overwritten in the ring
+ * int nodes, then per node:                 nodes of the events, by id
+ *     int id, int parentId, UTF wff
+ * int events, then per event (32 bytes):    oldest first
+ *     long time, int duration, int iteration, int node,
+ *     int branches, int queue, short kind, short 0
+ * </pre>
+ * Times are in nanoseconds since the trace was created. The kind of an event is
+ * the ordinal of an AlgorithmMetrics.Rule, or one of the negative kinds below.
+ * <p>
+ * A trace belongs to one algorithm, and is not safe to share between threads.
+ */
+public final class TruthTreeTrace {
+
+    /**
+     * The polled node was on a closed branch, so it was not expanded.
+     */
+    public static final short CLOSED = -1;
+
+    /**
+     * The polled node has no rule (e.g., an atom or a negated atom).
+     */
+    public static final short LITERAL = -2;
+
+    /**
+     * A generator started a new tree; the node is its root.
+     */
+    public static final short START = -3;
+
+    /**
+     * The generator gave up at its iteration limit.
+     */
+    public static final short TIMEOUT = -4;
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    static final byte[] MAGIC = {'L', 'L', 'A', 'T', 'T', 'R', 'C', 1};
+
+    static final int EVENT_BYTES = 32;
+
+    /**
+     * Events, EVENT_BYTES each, written round and round.
+     */
+    private final ByteBuffer events;
+
+    /**
+     * Node of each event in the ring, so their wffs can be written with the trace.
+     */
+    private final TruthTree[] nodes;
+
+    /**
+     *
+     */
+    private final int capacity;
+
+    /**
+     * System.nanoTime() when the trace was created.
+     */
+    private final long origin = System.nanoTime();
+
+    /**
+     * Number of events ever recorded.
+     */
+    private long recorded;
+
+    public TruthTreeTrace() {
+        this(TruthTreeTrace.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param _capacity - number of events kept; older events are overwritten.
+     */
+    public TruthTreeTrace(int _capacity) {
+        if (_capacity < 1) {
+            throw new IllegalArgumentException("Capacity of a trace must be positive.");
+        }
+        this.capacity = _capacity;
+        this.events = ByteBuffer.allocate(_capacity * EVENT_BYTES);
+        this.nodes = new TruthTree[_capacity];
+    }
+
+    /**
+     * Records that a generator started building a tree.
+     *
+     * @param _root - root of the tree.
+     */
+    public void start(TruthTree _root) {
+        this.add(_root, TruthTreeTrace.START, 0, System.nanoTime(), 0, 1, 1);
+    }
+
+    /**
+     * Records one iteration of a generator loop.
+     *
+     * @param _node       - node polled from the queue.
+     * @param _rule       - rule that expanded it, or null if it was not expanded.
+     * @param _iteration  - number of the iteration.
+     * @param _startNanos - System.nanoTime() when the node was polled.
+     * @param _branches   - number of leaves below the node, i.e., branches it was expanded on.
+     * @param _queue      - number of nodes left in the queue afterwards.
+     */
+    public void record(TruthTree _node, AlgorithmMetrics.Rule _rule, int _iteration, long _startNanos, int _branches, int _queue) {
+        short kind = _rule != null ? (short) _rule.ordinal() : _node.isClosed() ? TruthTreeTrace.CLOSED : TruthTreeTrace.LITERAL;
+        this.add(_node, kind, _iteration, _startNanos, System.nanoTime(), _branches, _queue);
+    }
+
+    /**
+     * Records that a generator gave up at its iteration limit.
+     *
+     * @param _root      - root of the tree.
+     * @param _iteration - number of iterations it got through.
+     * @param _queue     - number of nodes left in the queue.
+     */
+    public void timeout(TruthTree _root, int _iteration, int _queue) {
+        long now = System.nanoTime();
+        this.add(_root, TruthTreeTrace.TIMEOUT, _iteration, now, now, 0, _queue);
+    }
+
+    private void add(TruthTree _node, short _kind, int _iteration, long _startNanos, long _endNanos, int _branches, int _queue) {
+        int slot = (int) (this.recorded++ % this.capacity);
+        int position = slot * EVENT_BYTES;
+        this.events.putLong(position, _startNanos - this.origin);
+        this.events.putInt(position + 8, (int) Math.min(Integer.MAX_VALUE, _endNanos - _startNanos));
+        this.events.putInt(position + 12, _iteration);
+        this.events.putInt(position + 16, _node.getIdentityNumber());
+        this.events.putInt(position + 20, _branches);
+        this.events.putInt(position + 24, _queue);
+        this.events.putShort(position + 28, _kind);
+        this.events.putShort(position + 30, (short) 0);
+        this.nodes[slot] = _node;
+    }
+
+    /**
+     * @return number of events ever recorded, including those overwritten.
+     */
+    public long getRecordedCount() {
+        return this.recorded;
+    }
+
+    /**
+     * @return number of events that were overwritten by newer ones.
+     */
+    public long getDroppedCount() {
+        return Math.max(0, this.recorded - this.capacity);
+    }
+
+    /**
+     * Writes the trace in its binary format.
+     *
+     * @param _out - stream to write to; it is not closed.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void write(OutputStream _out) throws IOException {
+        int count = (int) Math.min(this.recorded, this.capacity);
+        int first = (int) ((this.recorded - count) % this.capacity);
+
+        // Nodes in the order of their first event.
+        Map<Integer, TruthTree> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            TruthTree node = this.nodes[(first + i) % this.capacity];
+            nodes.putIfAbsent(node.getIdentityNumber(), node);
+        }
+
+        DataOutputStream out = new DataOutputStream(_out);
+        out.write(MAGIC);
+        out.writeLong(this.getDroppedCount());
+        out.writeInt(nodes.size());
+        for (TruthTree node : nodes.values()) {
+            out.writeInt(node.getIdentityNumber());
+            out.writeInt(node.getParent() == null ? 0 : node.getParent().getIdentityNumber());
+            out.writeUTF(node.getWff().getStringRep());
+        }
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            out.write(this.events.array(), ((first + i) % this.capacity) * EVENT_BYTES, EVENT_BYTES);
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the trace to a file, replacing it if it exists.
+     *
+     * @param _path - file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path _path) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(_path))) {
+            this.write(out);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.llat.algorithms.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Families of propositional formulas that are known to be hard for truth trees
+ * and natural deduction, indexed by a size. There is nothing random about them:
+ * the same size always gives the same formula.
+ */
+public enum HardFormulaFamily {
+
+    /**
+     * Size n puts n + 1 pigeons in n holes: every pigeon is in some hole, and no
+     * two pigeons share a hole. This is unsatisfiable, but no short proof shows it.
+     * There is an atom for each pair of pigeon and hole, so n is at most 4.
+     */
+    PIGEONHOLE("pigeonhole", 1, 4) {
+        @Override
+        String genFormula(int _size) {
+            List<String> clauses = new ArrayList<>();
+            for (int pigeon = 0; pigeon <= _size; pigeon++) {
+                List<String> holes = new ArrayList<>();
+                for (int hole = 0; hole < _size; hole++) {
+                    holes.add(HardFormulaFamily.pigeonhole(pigeon, hole, _size));
+                }
+                clauses.add(HardFormulaFamily.join(holes, "∨"));
+            }
+            for (int hole = 0; hole < _size; hole++) {
+                for (int first = 0; first <= _size; first++) {
+                    for (int second = first + 1; second <= _size; second++) {
+                        clauses.add("~(" + HardFormulaFamily.pigeonhole(first, hole, _size) + "&"
+                                + HardFormulaFamily.pigeonhole(second, hole, _size) + ")");
+                    }
+                }
+            }
+            return HardFormulaFamily.join(clauses, "&");
+        }
+    },
+
+    /**
+     * Size n is the exclusive or of n atoms, which is true when an odd number of
+     * them are. Every truth tree for it has 2^(n-1) open branches.
+     */
+    PARITY("parity", 2, SeededFormulaGenerator.MAX_ATOMS) {
+        @Override
+        String genFormula(int _size) {
+            StringBuilder formula = new StringBuilder("A");
+            for (int i = 1; i < _size; i++) {
+                formula.insert(0, "(").append("⊕").append((char) ('A' + i)).append(")");
+            }
+            return formula.toString();
+        }
+    },
+
+    /**
+     * Size n nests biconditionals over the atoms A to the nth letter, each used
+     * twice, which is a tautology. Its negation closes every branch of the truth
+     * tree, but only after expanding exponentially many of them.
+     */
+    NESTED_BICONDITIONAL("biconditional", 1, SeededFormulaGenerator.MAX_ATOMS) {
+        @Override
+        String genFormula(int _size) {
+            List<String> atoms = new ArrayList<>();
+            for (int copy = 0; copy < 2; copy++) {
+                for (int i = 0; i < _size; i++) {
+                    atoms.add(String.valueOf((char) ('A' + i)));
+                }
+            }
+            return HardFormulaFamily.nest(atoms, 0, atoms.size());
+        }
+    };
+
+    /**
+     * String representation of this enum.
+     */
+    private final String name;
+
+    /**
+     *
+     */
+    private final int minSize;
+
+    /**
+     *
+     */
+    private final int maxSize;
+
+    HardFormulaFamily(String _name, int _minSize, int _maxSize) {
+        this.name = _name;
+        this.minSize = _minSize;
+        this.maxSize = _maxSize;
+    }
+
+    /**
+     * Looks up a family by its name, e.g., "parity".
+     *
+     * @param _name - name of the family.
+     * @return the family, or null if there is none by that name.
+     */
+    public static HardFormulaFamily fromName(String _name) {
+        for (HardFormulaFamily family : HardFormulaFamily.values()) {
+            if (family.name.equalsIgnoreCase(_name)) {
+                return family;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates the formula of the given size.
+     *
+     * @param _size - size, from getMinSize() to getMaxSize().
+     * @return the formula, without spaces.
+     */
+    public String generate(int _size) {
+        if (_size < this.minSize || _size > this.maxSize) {
+            throw new IllegalArgumentException("Size of " + this.name + " must be between " + this.minSize
+                    + " and " + this.maxSize + ".");
+        }
+        return this.genFormula(_size);
+    }
+
+    abstract String genFormula(int _size);
+
+    public int getMinSize() {
+        return this.minSize;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * @return the atom that says the pigeon is in the hole.
+     */
+    private static String pigeonhole(int _pigeon, int _hole, int _holes) {
+        return String.valueOf((char) ('A' + _pigeon * _holes + _hole));
+    }
+
+    /**
+     * Joins wffs with a binary operator, nesting to the right.
+     */
+    private static String join(List<String> _wffs, String _operator) {
+        StringBuilder formula = new StringBuilder(_wffs.get(_wffs.size() - 1));
+        for (int i = _wffs.size() - 2; i >= 0; i--) {
+            formula.insert(0, "(" + _wffs.get(i) + _operator).append(")");
+        }
+        return formula.toString();
+    }
+
+    /**
+     * Nests biconditionals over _atoms[_from.._to) as a balanced tree.
+     */
+    private static String nest(List<String> _atoms, int _from, int _to) {
+        if (_to - _from == 1) {
+            return _atoms.get(_from);
+        }
+        int middle = (_from + _to) / 2;
+        return "(" + HardFormulaFamily.nest(_atoms, _from, middle) + "↔" + HardFormulaFamily.nest(_atoms, middle, _to) + ")";
+    }
+}
@@ -0,0 +1,254 @@
+package com.llat.algorithms.workload;
+
+import com.llat.models.treenode.NodeType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates random formulas of an exact shape from a seed, so that a workload
+ * can be generated again and formulas can be made bigger one step at a time.
+ * Unlike the RandomPropositionalFormulaGenerator and RandomPredicateFormulaGenerator,
+ * which decide when to stop by chance, the caller picks:
+ * <ul>
+ *     <li>the number of distinct atoms (or predicates), each of which is used at least once;</li>
+ *     <li>the depth, which is the number of nested binary operators on the longest path
+ *     from the main operator to an atom (negations do not count);</li>
+ *     <li>the operator mix, as a weight for each binary operator and the probability
+ *     that any subformula is negated;</li>
+ *     <li>for predicate formulas, the number of nested quantifiers in front of the formula.</li>
+ * </ul>
+ * A formula of depth d has max(atoms, d + 1) atom occurrences, which is the fewest
+ * that can make up both.
+ */
+public final class SeededFormulaGenerator {
+
+    /**
+     * Atoms are single upper case letters, so there are only so many of them.
+     */
+    public static final int MAX_ATOMS = 26;
+
+    /**
+     * Variables are the letters u to z.
+     */
+    public static final int MAX_QUANTIFIERS = 6;
+
+    /**
+     * The depth is capped so that 2^depth fits in an int.
+     */
+    public static final int MAX_DEPTH = 30;
+
+    /**
+     *
+     */
+    private final Random random;
+
+    /**
+     * Weight of each binary operator (AND, OR, IMP, BICOND, XOR). An operator
+     * with no weight is never used.
+     */
+    private final EnumMap<NodeType, Integer> operatorWeights;
+
+    /**
+     * Sum of the operator weights.
+     */
+    private final int totalWeight;
+
+    /**
+     * Probability that an atom or subformula gets a negation in front of it.
+     */
+    private final double negationProbability;
+
+    /**
+     * Generator that uses the four operators of the random formula generators
+     * equally, and negates a quarter of the subformulas.
+     *
+     * @param _seed - seed of the random number generator.
+     */
+    public SeededFormulaGenerator(long _seed) {
+        this(_seed, SeededFormulaGenerator.getDefaultOperatorWeights(), 0.25);
+    }
+
+    /**
+     * @param _seed                - seed of the random number generator.
+     * @param _operatorWeights     - weight of each binary operator; see getDefaultOperatorWeights().
+     * @param _negationProbability - probability that an atom or subformula is negated.
+     */
+    public SeededFormulaGenerator(long _seed, Map<NodeType, Integer> _operatorWeights, double _negationProbability) {
+        if (_negationProbability < 0 || _negationProbability > 1) {
+            throw new IllegalArgumentException("Negation probability must be between 0 and 1, not " + _negationProbability + ".");
+        }
+        this.random = new Random(_seed);
+        this.operatorWeights = new EnumMap<>(NodeType.class);
+        int total = 0;
+        for (Map.Entry<NodeType, Integer> entry : _operatorWeights.entrySet()) {
+            if (SeededFormulaGenerator.getSymbol(entry.getKey()) == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException("Not a binary operator weight: " + entry.getKey() + "=" + entry.getValue() + ".");
+            }
+            if (entry.getValue() > 0) {
+                this.operatorWeights.put(entry.getKey(), entry.getValue());
+                total += entry.getValue();
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one binary operator needs a weight.");
+        }
+        this.totalWeight = total;
+        this.negationProbability = _negationProbability;
+    }
+
+    /**
+     * @return equal weights for AND, OR, IMP and BICOND, and none for XOR.
+     */
+    public static Map<NodeType, Integer> getDefaultOperatorWeights() {
+        EnumMap<NodeType, Integer> weights = new EnumMap<>(NodeType.class);
+        weights.put(NodeType.AND, 1);
+        weights.put(NodeType.OR, 1);
+        weights.put(NodeType.IMP, 1);
+        weights.put(NodeType.BICOND, 1);
+        return weights;
+    }
+
+    /**
+     * Generates a propositional formula.
+     *
+     * @param _atoms - number of distinct atoms, from 1 to MAX_ATOMS.
+     * @param _depth - depth of binary operators, at least log2(_atoms).
+     * @return the formula, without spaces.
+     */
+    public String genPropositionalFormula(int _atoms, int _depth) {
+        SeededFormulaGenerator.checkShape(_atoms, _depth);
+        List<String> leaves = new ArrayList<>();
+        for (char atom : this.pickLeaves(_atoms, _depth)) {
+            leaves.add(String.valueOf(atom));
+        }
+        StringBuilder formula = new StringBuilder();
+        this.genWff(formula, leaves, leaves.size(), _depth, true);
+        return formula.toString();
+    }
+
+    /**
+     * Generates a predicate formula. Every predicate takes one argument, which is
+     * one of the quantified variables, or a constant if there are no quantifiers.
+     *
+     * @param _predicates - number of distinct predicates, from 1 to MAX_ATOMS.
+     * @param _depth      - depth of binary operators, at least log2(_predicates).
+     * @param _quantifiers - number of nested quantifiers, from 0 to MAX_QUANTIFIERS.
+     * @return the formula, without spaces.
+     */
+    public String genPredicateFormula(int _predicates, int _depth, int _quantifiers) {
+        SeededFormulaGenerator.checkShape(_predicates, _depth);
+        if (_quantifiers < 0 || _quantifiers > MAX_QUANTIFIERS) {
+            throw new IllegalArgumentException("Number of quantifiers must be between 0 and " + MAX_QUANTIFIERS + ".");
+        }
+        StringBuilder formula = new StringBuilder();
+        for (int i = 0; i < _quantifiers; i++) {
+            formula.append(this.random.nextBoolean() ? "(∀" : "(∃").append((char) ('u' + i)).append(")");
+        }
+        List<String> leaves = new ArrayList<>();
+        for (char predicate : this.pickLeaves(_predicates, _depth)) {
+            char argument = _quantifiers == 0
+                    ? (char) ('a' + this.random.nextInt(20))
+                    : (char) ('u' + this.random.nextInt(_quantifiers));
+            leaves.add(predicate + String.valueOf(argument));
+        }
+        this.genWff(formula, leaves, leaves.size(), _depth, true);
+        return formula.toString();
+    }
+
+    /**
+     * Picks the atoms for each leaf of a formula: every one of the first _atoms
+     * letters once, and random ones of them for the rest, in random order.
+     */
+    private List<Character> pickLeaves(int _atoms, int _depth) {
+        List<Character> leaves = new ArrayList<>();
+        for (int i = 0; i < _atoms; i++) {
+            leaves.add((char) ('A' + i));
+        }
+        while (leaves.size() < Math.max(_atoms, _depth + 1)) {
+            leaves.add((char) ('A' + this.random.nextInt(_atoms)));
+        }
+        Collections.shuffle(leaves, this.random);
+        return leaves;
+    }
+
+    /**
+     * Generates a wff with _leaves leaves whose depth is exactly _depth (if _exact)
+     * or at most _depth. The leaves are taken off the end of _atoms.
+     */
+    private void genWff(StringBuilder _sb, List<String> _atoms, int _leaves, int _depth, boolean _exact) {
+        if (this.random.nextDouble() < this.negationProbability) {
+            _sb.append("~");
+        }
+        if (_depth == 0 || (_leaves == 1 && !_exact)) {
+            _sb.append(_atoms.remove(_atoms.size() - 1));
+            return;
+        }
+
+        // One side has the full depth (if it has to), and the other one gets whatever
+        // number of leaves is left over, as long as both sides can fit theirs.
+        int half = 1 << (_depth - 1);
+        int min = Math.max(_exact ? _depth : 1, _leaves - half);
+        int max = Math.min(half, _leaves - 1);
+        int leaves = min + this.random.nextInt(max - min + 1);
+        boolean left = this.random.nextBoolean();
+        _sb.append("(");
+        this.genWff(_sb, _atoms, left ? leaves : _leaves - leaves, _depth - 1, _exact && left);
+        _sb.append(SeededFormulaGenerator.getSymbol(this.pickOperator()));
+        this.genWff(_sb, _atoms, left ? _leaves - leaves : leaves, _depth - 1, _exact && !left);
+        _sb.append(")");
+    }
+
+    /**
+     * @return a binary operator, picked by weight.
+     */
+    private NodeType pickOperator() {
+        int pick = this.random.nextInt(this.totalWeight);
+        for (Map.Entry<NodeType, Integer> entry : this.operatorWeights.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return the symbol of a binary operator, or null if the type is not one.
+     */
+    static String getSymbol(NodeType _type) {
+        switch (_type) {
+            case AND:
+                return "&";
+            case OR:
+                return "∨";
+            case IMP:
+                return "→";
+            case BICOND:
+                return "↔";
+            case XOR:
+                return "⊕";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Checks that a formula with this many atoms and this depth exists.
+     */
+    private static void checkShape(int _atoms, int _depth) {
+        if (_atoms < 1 || _atoms > MAX_ATOMS) {
+            throw new IllegalArgumentException("Number of atoms must be between 1 and " + MAX_ATOMS + ".");
+        }
+        if (_depth < 0 || _depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 0 and " + MAX_DEPTH + ".");
+        }
+        if (_atoms > 1 << _depth) {
+            throw new IllegalArgumentException("A formula of depth " + _depth + " cannot have " + _atoms + " atoms.");
+        }
+    }
+}
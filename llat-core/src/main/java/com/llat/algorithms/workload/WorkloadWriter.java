@@ -0,0 +1,174 @@
+package com.llat.algorithms.workload;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a workload to disk as it is generated: one formula per line, without
+ * spaces, with comment lines (starting with //) that say how it was generated
+ * and which size the formulas below them have. This is the format that the
+ * batch runner reads, so a sweep can be solved as it is written.
+ * <p>
+ * The formulas of each size come from a generator seeded with the seed and the
+ * size, so a size can be generated again on its own, and adding sizes to a sweep
+ * does not change the formulas of the others.
+ */
+public final class WorkloadWriter implements Closeable {
+
+    /**
+     *
+     */
+    private static final String USAGE = "Usage: WorkloadWriter <output> --family=random|predicate|"
+            + "pigeonhole|parity|biconditional --sizes=FROM..TO|SIZE,... [--count=N] [--seed=N] [--depth=N] [--quantifiers=N]";
+
+    /**
+     *
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * Number of formulas written so far.
+     */
+    private int formulaCount;
+
+    public WorkloadWriter(Path _path) throws IOException {
+        this.writer = Files.newBufferedWriter(_path, StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] _args) throws IOException {
+        if (_args.length < 2) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        String family = null;
+        List<Integer> sizes = null;
+        int count = 1;
+        long seed = 0;
+        int depth = -1;
+        int quantifiers = 2;
+        try {
+            for (int i = 1; i < _args.length; i++) {
+                String arg = _args[i];
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("--family=")) {
+                    family = value;
+                } else if (arg.startsWith("--sizes=")) {
+                    sizes = WorkloadWriter.parseSizes(value);
+                } else if (arg.startsWith("--count=")) {
+                    count = Integer.parseInt(value);
+                } else if (arg.startsWith("--seed=")) {
+                    seed = Long.parseLong(value);
+                } else if (arg.startsWith("--depth=")) {
+                    depth = Integer.parseInt(value);
+                } else if (arg.startsWith("--quantifiers=")) {
+                    quantifiers = Integer.parseInt(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown option " + arg + ".");
+                }
+            }
+            if (family == null || sizes == null) {
+                throw new IllegalArgumentException("--family and --sizes are required.");
+            }
+            try (WorkloadWriter writer = new WorkloadWriter(Paths.get(_args[0]))) {
+                writer.writeComment("family=" + family + " sizes=" + sizes + " count=" + count + " seed=" + seed
+                        + (depth >= 0 ? " depth=" + depth : "") + (family.equals("predicate") ? " quantifiers=" + quantifiers : ""));
+                writer.writeSweep(family, sizes, count, seed, depth, quantifiers);
+                System.out.println("Wrote " + writer.getFormulaCount() + " formulas to " + _args[0] + ".");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Parses a list of sizes, e.g. "4..12" or "2,4,8".
+     *
+     * @param _sizes - the sizes.
+     * @return list of sizes in the order given.
+     */
+    public static List<Integer> parseSizes(String _sizes) {
+        List<Integer> sizes = new ArrayList<>();
+        for (String part : _sizes.split(",")) {
+            int range = part.indexOf("..");
+            if (range == -1) {
+                sizes.add(Integer.parseInt(part.trim()));
+            } else {
+                int to = Integer.parseInt(part.substring(range + 2).trim());
+                for (int size = Integer.parseInt(part.substring(0, range).trim()); size <= to; size++) {
+                    sizes.add(size);
+                }
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Writes _count formulas of each size. For "random" and "predicate" the size is
+     * the number of atoms (predicates); for the hard families it is the size of the
+     * family, which has one formula per size, so _count is ignored.
+     *
+     * @param _family      - "random", "predicate" or the name of a HardFormulaFamily.
+     * @param _sizes       - sizes to write, in order.
+     * @param _count       - number of random formulas of each size.
+     * @param _seed        - seed of the random formulas.
+     * @param _depth       - depth of the random formulas, or -1 for the least that fits the atoms, plus one.
+     * @param _quantifiers - number of nested quantifiers of predicate formulas.
+     */
+    public void writeSweep(String _family, List<Integer> _sizes, int _count, long _seed, int _depth,
+                           int _quantifiers) throws IOException {
+        HardFormulaFamily hardFamily = HardFormulaFamily.fromName(_family);
+        if (hardFamily == null && !_family.equals("random") && !_family.equals("predicate")) {
+            throw new IllegalArgumentException("Unknown family " + _family + ".");
+        }
+        for (int size : _sizes) {
+            this.writeComment("size=" + size);
+            if (hardFamily != null) {
+                this.writeFormula(hardFamily.generate(size));
+                continue;
+            }
+            int depth = _depth >= 0 ? _depth : 33 - Integer.numberOfLeadingZeros(size - 1);
+            SeededFormulaGenerator generator = new SeededFormulaGenerator(_seed * 31 + size);
+            for (int i = 0; i < _count; i++) {
+                this.writeFormula(_family.equals("random")
+                        ? generator.genPropositionalFormula(size, depth)
+                        : generator.genPredicateFormula(size, depth, _quantifiers));
+            }
+        }
+    }
+
+    /**
+     * @param _comment - text of the comment, on one line.
+     */
+    public void writeComment(String _comment) throws IOException {
+        this.writer.write("// ");
+        this.writer.write(_comment);
+        this.writer.newLine();
+    }
+
+    /**
+     * @param _formula - formula, on one line.
+     */
+    public void writeFormula(String _formula) throws IOException {
+        this.writer.write(_formula);
+        this.writer.newLine();
+        this.formulaCount++;
+    }
+
+    public int getFormulaCount() {
+        return this.formulaCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+}
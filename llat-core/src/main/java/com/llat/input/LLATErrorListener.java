@@ -22,24 +22,11 @@ import java.util.*;
 public class LLATErrorListener extends BaseErrorListener {
 
     /**
-     * Set of all compiler errors generated while parsing.
+     * Errors and warnings of the parse on each thread. Each thread keeps its own,
+     * so formulas can be parsed on many threads at once, as long as the errors of
+     * a parse are read on the thread that ran it.
      */
-    private static final Set<Message> errors = new HashSet<>();
-
-    /**
-     * Set of all warning errors generated while parsing.
-     */
-    private static final Set<Message> warnings = new HashSet<>();
-
-    /**
-     * Keeps track of whether we have encountered an error or not.
-     */
-    private static boolean gotError = false;
-
-    /**
-     * Keeps track of whether we have encountered a warning or not.
-     */
-    private static boolean gotWarning = false;
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
 
     public LLATErrorListener() {
         super();
@@ -54,8 +41,8 @@ public class LLATErrorListener extends BaseErrorListener {
      * @param errorMsg
      */
     public static void syntaxError(int lineNo, int colNo, String errorMsg) {
-        LLATErrorListener.gotError = true;
-        LLATErrorListener.errors.add(new Message(errorMsg, lineNo, colNo));
+        LLATErrorListener.STATE.get().gotError = true;
+        LLATErrorListener.STATE.get().errors.add(new Message(errorMsg, lineNo, colNo));
     }
 
     /**
@@ -66,7 +53,7 @@ public class LLATErrorListener extends BaseErrorListener {
      * @param errorMsg
      */
     public static void syntaxError(ParserRuleContext ctx, String errorMsg) {
-        LLATErrorListener.gotError = true;
+        LLATErrorListener.STATE.get().gotError = true;
         int lineNo = -1;
         int colNo = -1;
 
@@ -78,7 +65,7 @@ public class LLATErrorListener extends BaseErrorListener {
                     "Internal compiler error - ParserRuleContext cannot be null in ErrorListener.");
         }
 
-        LLATErrorListener.errors.add(new Message(errorMsg, lineNo, colNo));
+        LLATErrorListener.STATE.get().errors.add(new Message(errorMsg, lineNo, colNo));
     }
 
     /**
@@ -90,7 +77,7 @@ public class LLATErrorListener extends BaseErrorListener {
      * @return void.
      */
     public static void syntaxWarning(ParserRuleContext ctx, String warningMsg) {
-        LLATErrorListener.gotWarning = true;
+        LLATErrorListener.STATE.get().gotWarning = true;
         int lineNo = -1;
         int colNo = -1;
 
@@ -102,7 +89,7 @@ public class LLATErrorListener extends BaseErrorListener {
                     "Internal compiler error - ParserRuleContext cannot be null in ErrorListener.");
         }
 
-        LLATErrorListener.warnings.add(new Message(warningMsg, lineNo, colNo));
+        LLATErrorListener.STATE.get().warnings.add(new Message(warningMsg, lineNo, colNo));
     }
 
     /**
@@ -113,9 +100,9 @@ public class LLATErrorListener extends BaseErrorListener {
      * @return void.
      */
     public static void printErrors() {
-        List<Message> errorList = new ArrayList<Message>(LLATErrorListener.errors);
+        List<Message> errorList = new ArrayList<Message>(LLATErrorListener.STATE.get().errors);
         errorList.sort(Comparator.comparing(Message::getLineNo).thenComparing(Message::getColNo));
-        System.err.print("ERRORS(" + LLATErrorListener.errors.size() + "):\n");
+        System.err.print("ERRORS(" + LLATErrorListener.STATE.get().errors.size() + "):\n");
         for (Message error : errorList) {
             System.err.println(error);
         }
@@ -129,9 +116,9 @@ public class LLATErrorListener extends BaseErrorListener {
      * @return void.
      */
     public static void printWarnings() {
-        List<Message> warningList = new ArrayList<Message>(LLATErrorListener.warnings);
+        List<Message> warningList = new ArrayList<Message>(LLATErrorListener.STATE.get().warnings);
         warningList.sort(Comparator.comparing(Message::getLineNo).thenComparing(Message::getColNo));
-        System.out.print("WARNINGS(" + LLATErrorListener.warnings.size() + "):\n");
+        System.out.print("WARNINGS(" + LLATErrorListener.STATE.get().warnings.size() + "):\n");
         for (Message warning : warningList) {
             System.out.println(warning);
         }
@@ -143,7 +130,7 @@ public class LLATErrorListener extends BaseErrorListener {
      * @return true if an error was seen.
      */
     public static boolean sawError() {
-        return gotError;
+        return LLATErrorListener.STATE.get().gotError;
     }
 
     /**
@@ -152,7 +139,7 @@ public class LLATErrorListener extends BaseErrorListener {
      * @return true if a warning was seen.
      */
     public static boolean sawWarning() {
-        return gotWarning;
+        return LLATErrorListener.STATE.get().gotWarning;
     }
 
     /**
@@ -162,7 +149,7 @@ public class LLATErrorListener extends BaseErrorListener {
      * @return Iterator<Message> object.
      */
     public static Iterator<Message> getErrorIterator() {
-        return errors.iterator();
+        return LLATErrorListener.STATE.get().errors.iterator();
     }
 
     /**
@@ -172,19 +159,19 @@ public class LLATErrorListener extends BaseErrorListener {
      * @return Iterator<Message> object.
      */
     public static Iterator<Message> getWarningIterator() {
-        return warnings.iterator();
+        return LLATErrorListener.STATE.get().warnings.iterator();
     }
 
     /**
      * Since this is a static error listener, we need to reset the warnings and
-     * errors each time we use this in a unit testing environment or we'll have
-     * false positives.
+     * errors of the thread each time we use this in a unit testing environment or
+     * we'll have false positives.
      */
     public static void reset() {
-        LLATErrorListener.warnings.clear();
-        LLATErrorListener.errors.clear();
-        LLATErrorListener.gotError = false;
-        LLATErrorListener.gotWarning = false;
+        LLATErrorListener.STATE.get().warnings.clear();
+        LLATErrorListener.STATE.get().errors.clear();
+        LLATErrorListener.STATE.get().gotError = false;
+        LLATErrorListener.STATE.get().gotWarning = false;
     }
 
     /**
@@ -195,8 +182,34 @@ public class LLATErrorListener extends BaseErrorListener {
     @Override
     public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int col, String errorMsg,
                             RecognitionException e) {
-        gotError = true;
-        LLATErrorListener.errors.add(new Message(errorMsg, line, col));
+        LLATErrorListener.STATE.get().gotError = true;
+        LLATErrorListener.STATE.get().errors.add(new Message(errorMsg, line, col));
+    }
+
+    /**
+     * Errors and warnings seen by one thread.
+     */
+    private static final class State {
+
+        /**
+         * Set of all compiler errors generated while parsing.
+         */
+        private final Set<Message> errors = new HashSet<>();
+
+        /**
+         * Set of all warning errors generated while parsing.
+         */
+        private final Set<Message> warnings = new HashSet<>();
+
+        /**
+         * Keeps track of whether we have encountered an error or not.
+         */
+        private boolean gotError = false;
+
+        /**
+         * Keeps track of whether we have encountered a warning or not.
+         */
+        private boolean gotWarning = false;
     }
 
     /**
@@ -0,0 +1,368 @@
+package com.llat.input;
+
+import com.llat.models.treenode.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+/**
+ * Incremental front-end to the LLATParserAdapter. This keeps the text and the
+ * abstract syntax trees of the last successful parse, as well as an index of
+ * every parenthesised binary subformula in that text. When the input is edited,
+ * we find the smallest parenthesised subformula that encloses the edit, re-lex
+ * and re-parse ONLY that substring, and splice the new subtree into a copy of the
+ * old path from the root. Every other subtree is reused as-is.
+ * <p>
+ * If the edit is not enclosed by a binary subformula (e.g., it touches the main
+ * operator or a premise separator), or the substring does not parse by itself,
+ * we fall back to a full parse so the errors are reported with the right line
+ * and column numbers.
+ * <p>
+ * The trees that parse(...) returns are the ones kept here, and later parses share
+ * their unedited subtrees, so the caller must not change them. Whatever highlights
+ * or annotates a tree works on a copy of it (e.g., LogicSetup copies the formulas
+ * before an algorithm runs on them).
+ *
+ * @author Joshua Crotts
+ */
+public class LLATIncrementalParser {
+
+    /**
+     * Text of the last successful parse. This is null if the last parse failed.
+     */
+    private String text;
+
+    /**
+     * Abstract syntax trees returned by the last successful parse.
+     */
+    private LinkedList<WffTree> trees;
+
+    /**
+     * Parenthesised binary subformulas of the text, ordered by their opening parenthesis.
+     */
+    private ArrayList<Subformula> subformulas;
+
+    /**
+     * Whether the last call to parse(...) was served without a full parse.
+     */
+    private boolean lastParseIncremental;
+
+    public LLATIncrementalParser() {
+        this.subformulas = new ArrayList<>();
+    }
+
+    /**
+     * Creates a shallow copy of a WffTree node, meaning the node itself is new but its
+     * children are the same objects as the original's. The original is never modified,
+     * since an algorithm may be reading it on another thread.
+     *
+     * @param _node - WffTree node to copy.
+     * @return copy of the node sharing the children of the original.
+     */
+    private static WffTree shallowCopy(WffTree _node) {
+        WffTree copy;
+        switch (_node.getNodeType()) {
+            case ROOT:
+                copy = new WffTree();
+                break;
+            case NEG:
+                copy = new NegNode(_node.getSymbol());
+                break;
+            case AND:
+                copy = new AndNode(_node.getSymbol());
+                break;
+            case OR:
+                copy = new OrNode(_node.getSymbol());
+                break;
+            case IMP:
+                copy = new ImpNode(_node.getSymbol());
+                break;
+            case BICOND:
+                copy = new BicondNode(_node.getSymbol());
+                break;
+            case XOR:
+                copy = new ExclusiveOrNode(_node.getSymbol());
+                break;
+            case EXISTENTIAL:
+                copy = new ExistentialQuantifierNode(_node.getSymbol(), ((QuantifierNode) _node).getVariableSymbol());
+                break;
+            case UNIVERSAL:
+                copy = new UniversalQuantifierNode(_node.getSymbol(), ((QuantifierNode) _node).getVariableSymbol());
+                break;
+            default:
+                // Nothing else can be the ancestor of a subformula, but a deep copy is always correct.
+                return _node.copy();
+        }
+
+        copy.setFlags(_node.getFlags());
+        for (WffTree ch : _node.getChildren()) {
+            copy.addChild(ch);
+        }
+        return copy;
+    }
+
+    /**
+     * A parenthesised group is a quantifier and not a subformula if it is of the
+     * form (x), (∀x), or (∃x).
+     *
+     * @param _group - text between the parentheses.
+     * @return true if the group is a quantifier, false otherwise.
+     */
+    private static boolean isQuantifierGroup(String _group) {
+        String s = _group.replaceAll("[ \\r\\n\\t]", "");
+        if (s.length() == 2 && (s.charAt(0) == '∀' || s.charAt(0) == '∃')) {
+            s = s.substring(1);
+        }
+        return s.length() == 1 && s.charAt(0) >= 'u' && s.charAt(0) <= 'z';
+    }
+
+    /**
+     * Parses the input string, reusing the previous parse where possible.
+     *
+     * @param _wff - String of wff characters.
+     * @return LinkedList<WffTree> representing abstract syntax trees returned, or
+     * null if an error occurred.
+     */
+    public LinkedList<WffTree> parse(String _wff) {
+        this.lastParseIncremental = false;
+        if (this.text != null) {
+            if (this.text.equals(_wff)) {
+                LLATErrorListener.reset();
+                this.lastParseIncremental = true;
+                return this.trees;
+            }
+
+            LinkedList<WffTree> incrementalTrees = this.reparse(_wff);
+            if (incrementalTrees != null) {
+                this.lastParseIncremental = true;
+                this.update(_wff, incrementalTrees);
+                return incrementalTrees;
+            }
+        }
+
+        LinkedList<WffTree> fullTrees = LLATParserAdapter.getAbstractSyntaxTree(_wff, false);
+        this.update(_wff, fullTrees);
+        return fullTrees;
+    }
+
+    /**
+     * Forgets the last parse so the next call to parse(...) is a full parse.
+     */
+    public void reset() {
+        this.text = null;
+        this.trees = null;
+        this.subformulas.clear();
+    }
+
+    public boolean isLastParseIncremental() {
+        return this.lastParseIncremental;
+    }
+
+    /**
+     * Tries to re-parse only the smallest parenthesised subformula that encloses
+     * the difference between the old and new text.
+     *
+     * @param _wff - new input string.
+     * @return new list of WffTrees, or null if we need a full parse.
+     */
+    private LinkedList<WffTree> reparse(String _wff) {
+        // The lexer skips comments, which would break our paren matching.
+        if (_wff.contains("//")) {
+            return null;
+        }
+
+        // Compute the edited range as the text between the common prefix and suffix.
+        int oldLen = this.text.length();
+        int newLen = _wff.length();
+        int prefix = 0;
+        while (prefix < oldLen && prefix < newLen && this.text.charAt(prefix) == _wff.charAt(prefix)) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < oldLen - prefix && suffix < newLen - prefix
+                && this.text.charAt(oldLen - suffix - 1) == _wff.charAt(newLen - suffix - 1)) {
+            suffix++;
+        }
+
+        int editEnd = oldLen - suffix;
+        int delta = newLen - oldLen;
+
+        // The subformulas are sorted by their opening parenthesis, so the last one that
+        // encloses the edit is the smallest.
+        Subformula enclosing = null;
+        for (Subformula sf : this.subformulas) {
+            if (sf.start >= prefix) {
+                break;
+            }
+            if (sf.end >= editEnd) {
+                enclosing = sf;
+            }
+        }
+
+        if (enclosing == null) {
+            return null;
+        }
+
+        // Only this substring is lexed and parsed.
+        String substring = _wff.substring(enclosing.start, enclosing.end + delta + 1);
+        LinkedList<WffTree> parsed = LLATParserAdapter.getAbstractSyntaxTree(substring, false);
+        if (parsed == null || parsed.size() != 1 || LLATErrorListener.sawWarning()) {
+            return null;
+        }
+
+        // The new subformula must be a binary wff of the same kind (propositional/predicate).
+        WffTree oldRoot = this.trees.get(enclosing.treeIndex);
+        WffTree newSubtree = parsed.get(0).getChild(0);
+        if (newSubtree == null || !isParenthesisedBinaryNode(newSubtree)
+                || parsed.get(0).isPropositionalWff() != oldRoot.isPropositionalWff()
+                || parsed.get(0).isPredicateWff() != oldRoot.isPredicateWff()) {
+            return null;
+        }
+
+        // Copy the path from the root down to the parent of the old subformula.
+        WffTree newRoot = shallowCopy(oldRoot);
+        WffTree curr = newRoot;
+        int[] path = enclosing.path;
+        for (int i = 0; i < path.length - 1; i++) {
+            WffTree child = shallowCopy(curr.getChild(path[i]));
+            curr.setChild(path[i], child);
+            curr = child;
+        }
+        curr.setChild(path[path.length - 1], newSubtree);
+
+        LinkedList<WffTree> newTrees = new LinkedList<>(this.trees);
+        newTrees.set(enclosing.treeIndex, newRoot);
+        return newTrees;
+    }
+
+    /**
+     * Stores the result of a parse and rebuilds the subformula index. If the
+     * parse failed, or the index cannot be matched up with the trees, the cache
+     * is dropped.
+     *
+     * @param _wff   - input string.
+     * @param _trees - trees returned from parsing the input string.
+     */
+    private void update(String _wff, LinkedList<WffTree> _trees) {
+        this.reset();
+        if (_trees == null || _trees.isEmpty()) {
+            return;
+        }
+
+        // Find all parenthesised groups in the order that their open paren appears.
+        ArrayList<Subformula> groups = new ArrayList<>();
+        LinkedList<Subformula> open = new LinkedList<>();
+        for (int i = 0; i < _wff.length(); i++) {
+            char ch = _wff.charAt(i);
+            if (ch == '(') {
+                Subformula sf = new Subformula(i);
+                groups.add(sf);
+                open.push(sf);
+            } else if (ch == ')') {
+                if (open.isEmpty()) {
+                    return;
+                }
+                Subformula sf = open.pop();
+                sf.end = i;
+            }
+        }
+
+        if (!open.isEmpty()) {
+            return;
+        }
+
+        ArrayList<Subformula> binaryGroups = new ArrayList<>();
+        for (Subformula sf : groups) {
+            if (!isQuantifierGroup(_wff.substring(sf.start + 1, sf.end))) {
+                binaryGroups.add(sf);
+            }
+        }
+
+        // A pre-order traversal of the trees visits the binary nodes in the same
+        // order as their open parens appear in the text.
+        ArrayList<int[]> paths = new ArrayList<>();
+        ArrayList<Integer> treeIndices = new ArrayList<>();
+        for (int i = 0; i < _trees.size(); i++) {
+            this.collectBinaryNodes(_trees.get(i), new LinkedList<>(), i, paths, treeIndices);
+        }
+
+        if (paths.size() != binaryGroups.size()) {
+            return;
+        }
+
+        for (int i = 0; i < binaryGroups.size(); i++) {
+            binaryGroups.get(i).path = paths.get(i);
+            binaryGroups.get(i).treeIndex = treeIndices.get(i);
+        }
+
+        this.text = _wff;
+        this.trees = _trees;
+        this.subformulas = binaryGroups;
+    }
+
+    /**
+     * Recursively records the path (child indices from the root) to every
+     * parenthesised binary node in pre-order.
+     *
+     * @param _tree        - current WffTree node.
+     * @param _path        - child indices from the root to the current node.
+     * @param _treeIndex   - index of the root in the list of trees.
+     * @param _paths       - list of paths to add to.
+     * @param _treeIndices - list of tree indices to add to.
+     */
+    private void collectBinaryNodes(WffTree _tree, LinkedList<Integer> _path, int _treeIndex,
+                                    ArrayList<int[]> _paths, ArrayList<Integer> _treeIndices) {
+        if (isParenthesisedBinaryNode(_tree)) {
+            _paths.add(_path.stream().mapToInt(Integer::intValue).toArray());
+            _treeIndices.add(_treeIndex);
+        }
+
+        for (int i = 0; i < _tree.getChildrenSize(); i++) {
+            _path.addLast(i);
+            this.collectBinaryNodes(_tree.getChild(i), _path, _treeIndex, _paths, _treeIndices);
+            _path.removeLast();
+        }
+    }
+
+    /**
+     * Identities are binary operators as well, but they are not written with parentheses.
+     *
+     * @param _tree - WffTree node.
+     * @return true if the node is written as (A op B), false otherwise.
+     */
+    private static boolean isParenthesisedBinaryNode(WffTree _tree) {
+        return _tree.isBinaryOp() && !_tree.isIdentity();
+    }
+
+    /**
+     * Span of a parenthesised subformula in the input text, and where its
+     * node lives in the syntax trees.
+     */
+    private static class Subformula {
+
+        /**
+         * Index of the open paren.
+         */
+        private final int start;
+
+        /**
+         * Index of the matching close paren.
+         */
+        private int end;
+
+        /**
+         * Index of the tree that this subformula belongs to.
+         */
+        private int treeIndex;
+
+        /**
+         * Child indices from the root of the tree to the subformula node.
+         */
+        private int[] path;
+
+        private Subformula(int _start) {
+            this.start = _start;
+        }
+    }
+}
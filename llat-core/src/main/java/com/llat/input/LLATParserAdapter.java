@@ -2,6 +2,7 @@ package com.llat.input;
 
 import com.llat.LLATLexer;
 import com.llat.LLATParser;
+import com.llat.algorithms.metrics.AlgorithmMetrics;
 import com.llat.models.treenode.WffTree;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
@@ -23,14 +24,35 @@ public class LLATParserAdapter {
      * this list contains only one WffTree, then we can run most algorithms.
      */
     public static LinkedList<WffTree> getAbstractSyntaxTree(String _wff) {
+        return LLATParserAdapter.getAbstractSyntaxTree(_wff, true);
+    }
+
+    /**
+     * Builds the abstract syntax tree(s) from the user input string, optionally
+     * printing the errors and warnings to the console. The live input view parses
+     * on every keystroke, so it turns the printing off.
+     *
+     * @param _wff           - String of wff characters.
+     * @param _printMessages - true if the errors and warnings should be printed.
+     * @return LinkedList<WffTree> representing abstract syntax trees returned, or
+     * null if an error occurred.
+     */
+    public static LinkedList<WffTree> getAbstractSyntaxTree(String _wff, boolean _printMessages) {
+        long start = System.nanoTime();
         LLATErrorListener.reset();
         CharStream charStream = CharStreams.fromString(_wff);
         LLATParserListener parser = LLATParserAdapter.parseStream(charStream);
+        AlgorithmMetrics.PARSE_SECONDS.recordSince(start);
+        if (LLATErrorListener.sawError()) {
+            AlgorithmMetrics.PARSE_ERRORS.increment();
+        }
         // For now, the errors are just printed in the tester class - if
         // JUnit is integrated, these should be removed so they align with
         // the tests.
-        LLATErrorListener.printErrors();
-        LLATErrorListener.printWarnings();
+        if (_printMessages) {
+            LLATErrorListener.printErrors();
+            LLATErrorListener.printWarnings();
+        }
         return parser.getSyntaxTrees();
     }
 
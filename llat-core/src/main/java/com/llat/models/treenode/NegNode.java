@@ -21,17 +21,18 @@ public class NegNode extends WffTree {
      * Keeps track of the symbol currently used. Whatever symbol is last used
      * is stored in this variable. This makes sure that, if the notation from
      * the user is consistent, there are no incidents like "~ not A" to represent
-     * a double-negated atom.
+     * a double-negated atom. Each thread keeps its own, so a tree built on one
+     * thread does not take the notation of a formula parsed on another.
      */
-    private static String currentlyUsedSymbol;
+    private static final ThreadLocal<String> currentlyUsedSymbol = new ThreadLocal<>();
 
     public NegNode(String _symbol) {
         super(_symbol, NodeType.NEG);
-        currentlyUsedSymbol = _symbol;
+        currentlyUsedSymbol.set(_symbol);
     }
 
     public NegNode() {
-        this(currentlyUsedSymbol == null ? DEFAULT_SYMBOL : currentlyUsedSymbol);
+        this(currentlyUsedSymbol.get() == null ? DEFAULT_SYMBOL : currentlyUsedSymbol.get());
     }
 
     @Override
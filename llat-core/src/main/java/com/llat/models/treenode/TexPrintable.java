@@ -1,4 +1,4 @@
-package com.llat.tools;
+package com.llat.models.treenode;
 
 public interface TexPrintable {
 
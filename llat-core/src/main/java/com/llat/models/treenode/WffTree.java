@@ -1,6 +1,5 @@
 package com.llat.models.treenode;
 
-import com.llat.tools.TexPrintable;
 
 import java.util.LinkedList;
 
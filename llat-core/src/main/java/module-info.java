@@ -0,0 +1,17 @@
+module llat.core {
+    requires org.antlr.antlr4.runtime;
+
+    exports com.llat;
+    exports com.llat.algorithms;
+    exports com.llat.algorithms.layout;
+    exports com.llat.algorithms.metrics;
+    exports com.llat.algorithms.models;
+    exports com.llat.algorithms.pdf;
+    exports com.llat.algorithms.predicate;
+    exports com.llat.algorithms.propositional;
+    exports com.llat.algorithms.trace;
+    exports com.llat.algorithms.workload;
+    exports com.llat.input;
+    exports com.llat.input.tests;
+    exports com.llat.models.treenode;
+}
@@ -0,0 +1,91 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.metrics.Histogram;
+import com.llat.algorithms.predicate.PredicateTruthTreeGenerator;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.algorithms.propositional.TruthTableGenerator;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlgorithmMetricsUnitTester {
+
+    private static WffTree parse(String _formula) {
+        return LLATParserAdapter.getAbstractSyntaxTree(_formula, false).getFirst();
+    }
+
+    @Test
+    public void test001() {
+        // Values are counted in the bucket of the power of two they round up to.
+        Histogram histogram = AlgorithmMetrics.TRUTH_TREE_ITERATIONS;
+        long count = histogram.getCount();
+        long[] before = histogram.getCumulativeCounts();
+        histogram.record(0);
+        histogram.record(3);
+        histogram.record(4);
+        histogram.record(5);
+        long[] after = histogram.getCumulativeCounts();
+        assertEquals(count + 4, histogram.getCount());
+        assertArrayEquals(new double[]{1, 2, 4, 8}, Arrays.copyOf(histogram.getUpperBounds(), 4));
+        assertEquals(1, after[0] - before[0]);
+        assertEquals(1, after[1] - before[1]);
+        assertEquals(3, after[2] - before[2]);
+        assertEquals(4, after[3] - before[3]);
+    }
+
+    @Test
+    public void test002() {
+        // Truth trees count the rules they apply, the closure checks and the branches closed.
+        long conjunctions = AlgorithmMetrics.getRuleCount(AlgorithmMetrics.Rule.STACK_CONJUNCTION);
+        long disjunctions = AlgorithmMetrics.getRuleCount(AlgorithmMetrics.Rule.BRANCH_DISJUNCTION);
+        long checks = AlgorithmMetrics.CLOSURE_CHECKS.get();
+        long closed = AlgorithmMetrics.BRANCHES_CLOSED.get();
+        long trees = AlgorithmMetrics.TRUTH_TREE_SECONDS.getCount();
+        new PropositionalTruthTreeGenerator(AlgorithmMetricsUnitTester.parse("(((A ∨ B) & ~A) & ~B)")).getTruthTree();
+        assertTrue(AlgorithmMetrics.getRuleCount(AlgorithmMetrics.Rule.STACK_CONJUNCTION) > conjunctions);
+        assertTrue(AlgorithmMetrics.getRuleCount(AlgorithmMetrics.Rule.BRANCH_DISJUNCTION) > disjunctions);
+        assertTrue(AlgorithmMetrics.CLOSURE_CHECKS.get() > checks);
+        assertEquals(closed + 2, AlgorithmMetrics.BRANCHES_CLOSED.get());
+        assertEquals(trees + 1, AlgorithmMetrics.TRUTH_TREE_SECONDS.getCount());
+
+        long universals = AlgorithmMetrics.UNIVERSAL_INSTANTIATIONS.get();
+        new PredicateTruthTreeGenerator(AlgorithmMetricsUnitTester.parse("((∀x)Fx & Fa)")).getTruthTree();
+        assertTrue(AlgorithmMetrics.UNIVERSAL_INSTANTIATIONS.get() > universals);
+    }
+
+    @Test
+    public void test003() {
+        // Truth tables count their rows, and the parser counts its inputs and errors.
+        long rows = AlgorithmMetrics.TRUTH_TABLE_ROWS.get();
+        long parses = AlgorithmMetrics.PARSE_SECONDS.getCount();
+        long errors = AlgorithmMetrics.PARSE_ERRORS.get();
+        new TruthTableGenerator(AlgorithmMetricsUnitTester.parse("((A → B) ↔ C)")).getTruthTable();
+        assertEquals(rows + 8, AlgorithmMetrics.TRUTH_TABLE_ROWS.get());
+        LLATParserAdapter.getAbstractSyntaxTree("(A &", false);
+        assertEquals(parses + 2, AlgorithmMetrics.PARSE_SECONDS.getCount());
+        assertEquals(errors + 1, AlgorithmMetrics.PARSE_ERRORS.get());
+    }
+
+    @Test
+    public void test004() {
+        // Snapshots group the labelled metrics under one name.
+        AlgorithmMetrics.CANCELLATIONS.increment();
+        String json = AlgorithmMetrics.toJson();
+        assertTrue(json.startsWith("{\"llat_truth_tree_rule_expansions_total\":{\"stack_conjunction\":"), json);
+        assertTrue(json.contains("\"llat_timeouts_total\":{\"truth_tree\":"), json);
+        assertTrue(json.contains("\"llat_parse_seconds\":{\"count\":"), json);
+        assertFalse(json.contains("\"llat_cancellations_total\":0"), json);
+
+        String text = AlgorithmMetrics.toPrometheus();
+        assertEquals(1, text.split("# TYPE llat_truth_tree_instantiations_total counter\n", -1).length - 1, text);
+        assertTrue(text.contains("llat_truth_tree_instantiations_total{quantifier=\"identity\"} "), text);
+        assertTrue(text.contains("llat_truth_tree_iterations_bucket{le=\"1\"} "), text);
+        assertTrue(text.contains("llat_truth_tree_seconds_bucket{le=\"+Inf\"} "), text);
+        assertTrue(text.endsWith("\n"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.models.NDStep;
+import com.llat.algorithms.models.NDWffTree;
+import com.llat.input.LLATParserAdapter;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgumentNaturalDeductionValidatorUnitTester {
+
+    /**
+     * Finds a proof of an argument, and checks that every line is derived from
+     * lines above it that are not in a subproof closed before it.
+     *
+     * @return the proof, or null if none was found.
+     */
+    private static LinkedList<NDWffTree> prove(String _argument) {
+        LinkedList<NDWffTree> proof = new ArgumentNaturalDeductionValidator(LLATParserAdapter.getAbstractSyntaxTree(_argument, false))
+                .getNaturalDeductionProof();
+        if (proof != null) {
+            for (int i = 0; i < proof.size() - 1; i++) {
+                for (NDWffTree parent : proof.get(i).getDerivedParents()) {
+                    assertTrue(proof.subList(0, i).contains(parent), _argument + ": " + proof.get(i));
+                    assertTrue(parent.getDepth() <= proof.get(i).getDepth() + 1, _argument + ": " + proof.get(i));
+                }
+            }
+            assertEquals(NDStep.C, proof.getLast().getDerivationStep());
+        }
+        return proof;
+    }
+
+    private static NDStep getStep(LinkedList<NDWffTree> _proof) {
+        return _proof.get(_proof.size() - 2).getDerivationStep();
+    }
+
+    @Test
+    public void test001() {
+        // Each rule, as the last step of a proof.
+        assertEquals(NDStep.MP, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A → B), A ⊢ B")));
+        assertEquals(NDStep.MT, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A → B), ~B ⊢ ~A")));
+        assertEquals(NDStep.HS, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A → B), (B → C) ⊢ (A → C)")));
+        assertEquals(NDStep.DS, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A ∨ B), ~A ⊢ B")));
+        assertEquals(NDStep.AND_E, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A & B) ⊢ B")));
+        assertEquals(NDStep.AND_I, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("A, B ⊢ (B & A)")));
+        assertEquals(NDStep.OR_I, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("A ⊢ (B ∨ A)")));
+        assertEquals(NDStep.FALSE_E, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("A, ~A ⊢ B")));
+    }
+
+    @Test
+    public void test002() {
+        // Only the lines that lead to the conclusion are in the proof.
+        LinkedList<NDWffTree> proof = ArgumentNaturalDeductionValidatorUnitTester.prove("((H & T) & K), (H → P), (T → S), (K → Q) ⊢ (P & S)");
+        assertEquals(10, proof.size());
+        assertFalse(proof.stream().anyMatch((_line) -> _line.getWffTree().getStringRep().contains("Q")));
+
+        // An invalid argument has no proof.
+        assertNull(ArgumentNaturalDeductionValidatorUnitTester.prove("(A → B), B ⊢ A"));
+    }
+
+    @Test
+    public void test003() {
+        // A long chain of implications, shuffled, among many unrelated premises.
+        StringBuilder argument = new StringBuilder();
+        for (int i = 0; i < 24; i += 2) {
+            argument.append("(").append((char) ('A' + i)).append(" → ").append((char) ('A' + i + 1)).append("), ");
+        }
+        for (int i = 23; i >= 1; i -= 2) {
+            argument.append("(").append((char) ('A' + i)).append(" → ").append((char) ('A' + i + 1)).append("), ");
+        }
+        argument.append("A ⊢ Y");
+        LinkedList<NDWffTree> proof = ArgumentNaturalDeductionValidatorUnitTester.prove(argument.toString());
+        assertNotNull(proof);
+        assertTrue(proof.size() <= 26 + 24 + 1, proof.toString());
+    }
+
+    @Test
+    public void test004() {
+        // Rules that need a subproof, as the last step of a proof.
+        assertEquals(NDStep.IMP_I, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("B ⊢ (A → B)")));
+        assertEquals(NDStep.NEG_I, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A → B), (A → ~B) ⊢ ~A")));
+        assertEquals(NDStep.OR_E, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A ∨ B), (A → C), (B → C) ⊢ C")));
+        assertEquals(NDStep.BICOND_I, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("(A → B), (B → A) ⊢ (A ↔ B)")));
+        assertEquals(NDStep.IP, ArgumentNaturalDeductionValidatorUnitTester.getStep(ArgumentNaturalDeductionValidatorUnitTester.prove("~~A ⊢ A")));
+    }
+
+    @Test
+    public void test005() {
+        // Destructive dilemma: a subproof for each case, then ∨E.
+        LinkedList<NDWffTree> proof = ArgumentNaturalDeductionValidatorUnitTester.prove("(A → C), (B → D), (~C ∨ ~D) ⊢ (~A ∨ ~B)");
+        assertNotNull(proof);
+        assertEquals(NDStep.OR_E, ArgumentNaturalDeductionValidatorUnitTester.getStep(proof));
+        assertEquals(2, proof.stream().filter((_line) -> _line.getDerivationStep() == NDStep.A).count());
+        assertTrue(proof.stream().allMatch((_line) -> _line.getDepth() <= 1), proof.toString());
+
+        // Nested subproofs: the consequent is an implication itself.
+        proof = ArgumentNaturalDeductionValidatorUnitTester.prove("((A & B) → C) ⊢ (A → (B → C))");
+        assertNotNull(proof);
+        assertEquals(2, proof.stream().mapToInt(NDWffTree::getDepth).max().getAsInt(), proof.toString());
+
+        // Still nothing for an invalid argument, however deep the search goes.
+        assertNull(ArgumentNaturalDeductionValidatorUnitTester.prove("(A ∨ B), (A → C) ⊢ C"));
+    }
+
+    @Test
+    public void test006() {
+        // A premise written the other way around is restated before →E cites it.
+        LinkedList<NDWffTree> proof = ArgumentNaturalDeductionValidatorUnitTester.prove("(B & A), ((A & B) → C) ⊢ C");
+        assertNotNull(proof);
+        assertTrue(proof.stream().anyMatch((_line) -> _line.getDerivationStep() == NDStep.COMM), proof.toString());
+        for (NDWffTree line : proof) {
+            if (line.getDerivationStep() != NDStep.MP) {
+                continue;
+            }
+            NDWffTree implication = line.getDerivedParents().stream().filter((_parent) -> _parent.getWffTree().isImp()).findFirst().orElseThrow();
+            NDWffTree antecedent = line.getDerivedParents().stream().filter((_parent) -> _parent != implication).findFirst().orElseThrow();
+            assertEquals(implication.getWffTree().getChild(0).getStringRep(), antecedent.getWffTree().getStringRep(), proof.toString());
+            assertEquals(implication.getWffTree().getChild(1).getStringRep(), line.getWffTree().getStringRep(), proof.toString());
+        }
+    }
+
+    @Test
+    public void test007() {
+        // An invalid argument is decided before the search, so it does not run until its time is up.
+        long timeouts = AlgorithmMetrics.NATURAL_DEDUCTION_TIMEOUTS.get();
+        long start = System.nanoTime();
+        assertNull(ArgumentNaturalDeductionValidatorUnitTester.prove("(A ∨ B), (A → C), (B → D) ⊢ (C & D)"));
+        assertNull(ArgumentNaturalDeductionValidatorUnitTester.prove("(A ∨ B), (C ∨ D), (E ∨ F) ⊢ (A & (C & E))"));
+        assertNull(ArgumentNaturalDeductionValidatorUnitTester.prove("(∀x)(Fx → Gx), Ga ⊢ Fa"));
+        assertTrue(System.nanoTime() - start < 500_000_000L, (System.nanoTime() - start) / 1_000_000 + " ms");
+        assertEquals(timeouts, AlgorithmMetrics.NATURAL_DEDUCTION_TIMEOUTS.get());
+
+        // The valid ones are still proven, predicate ones included.
+        assertNotNull(ArgumentNaturalDeductionValidatorUnitTester.prove("(A ∨ B), (A → C), (B → C) ⊢ C"));
+        assertNotNull(ArgumentNaturalDeductionValidatorUnitTester.prove("(Fa → Ga), Fa ⊢ Ga"));
+    }
+}
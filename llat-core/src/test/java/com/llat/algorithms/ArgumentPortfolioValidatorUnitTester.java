@@ -0,0 +1,130 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.propositional.SatisfiabilitySolver;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.NegNode;
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgumentPortfolioValidatorUnitTester {
+
+    private static LinkedList<WffTree> parse(String _formula) {
+        return LLATParserAdapter.getAbstractSyntaxTree(_formula, false);
+    }
+
+    private static long getWins() {
+        return AlgorithmMetrics.TRUTH_TREE_WINS.get() + AlgorithmMetrics.SATISFIABILITY_WINS.get()
+                + AlgorithmMetrics.NATURAL_DEDUCTION_WINS.get();
+    }
+
+    @Test
+    public void test001() {
+        SatisfiabilitySolver solver = new SatisfiabilitySolver(ArgumentPortfolioValidatorUnitTester.parse("((A ∨ B) & ~A)").getFirst());
+        assertTrue(solver.isSatisfiable());
+        Map<String, Boolean> model = solver.getModel();
+        assertEquals(Boolean.FALSE, model.get("A"));
+        assertEquals(Boolean.TRUE, model.get("B"));
+        assertFalse(new SatisfiabilitySolver(ArgumentPortfolioValidatorUnitTester.parse("((A ∨ B) & (~A & ~B))").getFirst()).isSatisfiable());
+
+        // More atoms than a truth table takes, but the first atom already decides it.
+        StringBuilder formula = new StringBuilder("A");
+        for (int i = 1; i < 20; i++) {
+            formula.insert(0, "(").append(" & ").append((char) ('A' + i)).append(")");
+        }
+        formula.insert(0, "(~A & ").append(")");
+        assertFalse(new SatisfiabilitySolver(ArgumentPortfolioValidatorUnitTester.parse(formula.toString()).getFirst()).isSatisfiable());
+    }
+
+    @Test
+    public void test002() {
+        long wins = ArgumentPortfolioValidatorUnitTester.getWins();
+        ArgumentPortfolioValidator valid = new ArgumentPortfolioValidator(ArgumentPortfolioValidatorUnitTester.parse("(A → B), (B → C), A ⊢ C"), false);
+        assertTrue(valid.isValid());
+        assertNotNull(valid.getWinner());
+        assertEquals(3, valid.getStrategies().size());
+
+        ArgumentPortfolioValidator invalid = new ArgumentPortfolioValidator(ArgumentPortfolioValidatorUnitTester.parse("(A → B), B ⊢ A"), false);
+        assertFalse(invalid.isValid());
+        assertNotEquals(ArgumentPortfolioValidator.Strategy.NATURAL_DEDUCTION, invalid.getWinner());
+        assertEquals(wins + 2, ArgumentPortfolioValidatorUnitTester.getWins());
+
+        // Predicate arguments are not raced against the satisfiability solver.
+        ArgumentPortfolioValidator predicate = new ArgumentPortfolioValidator(ArgumentPortfolioValidatorUnitTester.parse("(∀x)(Fx → Gx), Fa ⊢ Ga"), false);
+        assertFalse(predicate.getStrategies().contains(ArgumentPortfolioValidator.Strategy.SATISFIABILITY));
+        assertTrue(predicate.isValid());
+    }
+
+    @Test
+    public void test003() {
+        // With a proof wanted, a valid argument waits for natural deduction.
+        ArgumentPortfolioValidator valid = new ArgumentPortfolioValidator(ArgumentPortfolioValidatorUnitTester.parse("(P → Q), (R → S), (P ∨ R) ⊢ (Q ∨ S)"), true);
+        assertTrue(valid.isValid());
+        assertNotNull(valid.getNaturalDeductionProof());
+
+        ArgumentPortfolioValidator invalid = new ArgumentPortfolioValidator(ArgumentPortfolioValidatorUnitTester.parse("(A → B), B ⊢ A"), true);
+        assertFalse(invalid.isValid());
+        assertNull(invalid.getNaturalDeductionProof());
+    }
+
+    @Test
+    public void test004() {
+        // A cancelled caller does not start the race.
+        AlgorithmProgress progress = new AlgorithmProgress();
+        progress.cancel();
+        AlgorithmProgress.install(progress);
+        try {
+            ArgumentPortfolioValidator validator = new ArgumentPortfolioValidator(ArgumentPortfolioValidatorUnitTester.parse("A ⊢ A"), false);
+            assertThrows(CancellationException.class, validator::isValid);
+        } finally {
+            AlgorithmProgress.clear();
+        }
+    }
+
+    @Test
+    public void test005() {
+        // Many portfolios at once share the same few threads, and all of them still answer.
+        List<CompletableFuture<Boolean>> answers = new ArrayList<>();
+        for (int i = 0; i < 8 * Runtime.getRuntime().availableProcessors(); i++) {
+            String argument = i % 2 == 0 ? "(A → B), (B → C), A ⊢ C" : "(A → B), B ⊢ A";
+            answers.add(CompletableFuture.supplyAsync(() ->
+                    new ArgumentPortfolioValidator(ArgumentPortfolioValidatorUnitTester.parse(argument), false).isValid()));
+        }
+        for (int i = 0; i < answers.size(); i++) {
+            assertEquals(i % 2 == 0, answers.get(i).join());
+        }
+        long threads = Thread.getAllStackTraces().keySet().stream().filter((_thread) -> _thread.getName().equals("llat-portfolio")).count();
+        assertTrue(threads <= Math.max(2, Runtime.getRuntime().availableProcessors()), threads + " threads");
+    }
+
+    @Test
+    public void test006() throws Exception {
+        // A conclusion too deep for the stack of the strategies: each of them fails, and the race still ends.
+        LinkedList<WffTree> argument = ArgumentPortfolioValidatorUnitTester.parse("A ⊢ A");
+        WffTree wff = argument.getLast().getChild(0);
+        for (int i = 0; i < 200_000; i++) {
+            NegNode negNode = new NegNode();
+            negNode.addChild(wff);
+            wff = negNode;
+        }
+        argument.getLast().setChild(0, wff);
+
+        // Only the caller gets a stack deep enough to copy the argument.
+        AtomicReference<Boolean> valid = new AtomicReference<>();
+        Thread caller = new Thread(null, () -> valid.set(new ArgumentPortfolioValidator(argument, false).isValid()), "deep", 1L << 30);
+        caller.start();
+        caller.join(60_000);
+        assertFalse(caller.isAlive());
+        assertEquals(Boolean.FALSE, valid.get());
+    }
+}
@@ -0,0 +1,145 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.pdf.PDFDocument;
+import com.llat.algorithms.pdf.PDFPage;
+import com.llat.algorithms.pdf.PDFRenderer;
+import com.llat.algorithms.predicate.PredicateTruthTreeGenerator;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.algorithms.propositional.TruthTableGenerator;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PDFRendererUnitTester {
+
+    private static WffTree parse(String _formula) {
+        return LLATParserAdapter.getAbstractSyntaxTree(_formula, false).getFirst();
+    }
+
+    /**
+     * Checks the structure of a PDF, i.e., that every object in the cross-reference
+     * table is where the table says it is.
+     *
+     * @return the PDF as text, one character per byte.
+     */
+    private static String checkStructure(ByteArrayOutputStream _out) {
+        String pdf = new String(_out.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+
+        Matcher startxref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(pdf);
+        assertTrue(startxref.find());
+        int xref = Integer.parseInt(startxref.group(1));
+        assertTrue(pdf.startsWith("xref\n0 ", xref));
+
+        Matcher entry = Pattern.compile("(\\d{10}) 00000 n \n").matcher(pdf);
+        int object = 1;
+        while (entry.find(xref) && entry.start() < pdf.indexOf("trailer", xref)) {
+            assertTrue(pdf.startsWith(object + " 0 obj\n", Integer.parseInt(entry.group(1))));
+            xref = entry.end();
+            object++;
+        }
+        assertTrue(pdf.contains("/Size " + object + " "));
+        return pdf;
+    }
+
+    @Test
+    public void test001() throws IOException {
+        // An empty document still has a page.
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFDocument document = new PDFDocument(out);
+        document.finish();
+        assertEquals(1, document.getPageCount());
+        assertTrue(PDFRendererUnitTester.checkStructure(out).contains("/Count 1 "));
+
+        // Pages can be drawn at once, and are written in the order they end; they
+        // all have to end before the document is finished.
+        ByteArrayOutputStream twoPages = new ByteArrayOutputStream();
+        PDFDocument unfinished = new PDFDocument(twoPages);
+        PDFPage first = unfinished.beginPage(100, 100);
+        PDFPage second = unfinished.beginPage(200, 200);
+        second.end();
+        assertThrows(IllegalStateException.class, second::end);
+        assertThrows(IllegalStateException.class, unfinished::finish);
+        first.end();
+        unfinished.finish();
+        String pdf = PDFRendererUnitTester.checkStructure(twoPages);
+        assertTrue(pdf.indexOf("/MediaBox [0 0 200 200]") < pdf.indexOf("/MediaBox [0 0 100 100]"));
+        assertThrows(IllegalStateException.class, () -> unfinished.beginPage(100, 100));
+    }
+
+    @Test
+    public void test002() throws IOException {
+        // Only ASCII, so the symbol font has just the box it needs to be valid.
+        ByteArrayOutputStream parseTree = new ByteArrayOutputStream();
+        PDFRenderer.renderParseTree(PDFRendererUnitTester.parse("((A & B) & ~C)"), parseTree);
+        String pdf = PDFRendererUnitTester.checkStructure(parseTree);
+        assertTrue(pdf.contains("/FirstChar 1 /LastChar 1 "));
+
+        // ∨ and the cross of the closed branch.
+        WffTree wffTree = PDFRendererUnitTester.parse("((A ∨ B) & ~A)");
+        ByteArrayOutputStream truthTree = new ByteArrayOutputStream();
+        PDFRenderer.renderTruthTree(new PropositionalTruthTreeGenerator(wffTree).getTruthTree(), truthTree);
+        pdf = PDFRendererUnitTester.checkStructure(truthTree);
+        assertTrue(pdf.contains("/FirstChar 1 /LastChar 2 "));
+        assertTrue(pdf.contains("/Count 1 "));
+    }
+
+    @Test
+    public void test003() throws IOException {
+        // 64 rows do not fit on one page, so the table continues on a second.
+        WffTree wffTree = PDFRendererUnitTester.parse("(((A → B) ∨ (C ↔ D)) & (E ∨ F))");
+        TruthTableGenerator ttg = new TruthTableGenerator(wffTree);
+        assertTrue(ttg.getTruthTable());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFRenderer.renderTruthTable(ttg.postorder(), out);
+        String pdf = PDFRendererUnitTester.checkStructure(out);
+        assertTrue(pdf.contains("/Count 2 "));
+        assertTrue(pdf.contains("/FirstChar 1 /LastChar 3 "));
+    }
+
+    @Test
+    public void test004() throws IOException {
+        // Every way of writing an operator that the grammar accepts has a glyph, in parse trees and truth trees.
+        Map<String, String> formulas = Map.of("AND", "(A %s B)", "OR", "(A %s B)", "IMP", "(A %s B)", "BICOND", "(A %s B)",
+                "XOR", "(A %s B)", "NEG", "(%s A & B)", "EXISTENTIAL", "(%sx)Px", "UNIVERSAL", "(%sx)Px");
+        Pattern rule = Pattern.compile("^([A-Z]+)\\s*:(.*);");
+        Pattern literal = Pattern.compile("'((?:\\\\u[0-9a-fA-F]{4})|[^']+)'");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PDFDocument document = new PDFDocument(out);
+        int tokens = 0;
+        for (String line : Files.readAllLines(Paths.get("src/main/antlr4/com/llat/LLAT.g4"), StandardCharsets.UTF_8)) {
+            Matcher matcher = rule.matcher(line);
+            if (!matcher.find() || !formulas.containsKey(matcher.group(1))) {
+                continue;
+            }
+            Matcher token = literal.matcher(matcher.group(2));
+            while (token.find()) {
+                String symbol = token.group(1).startsWith("\\u")
+                        ? String.valueOf((char) Integer.parseInt(token.group(1).substring(2), 16)) : token.group(1);
+                WffTree wffTree = PDFRendererUnitTester.parse(String.format(formulas.get(matcher.group(1)), symbol));
+                assertNotNull(wffTree, symbol);
+                PDFRenderer.drawParseTree(document, wffTree).end();
+                PDFRenderer.drawTruthTree(document, wffTree.isPropositionalWff()
+                        ? new PropositionalTruthTreeGenerator(wffTree).getTruthTree()
+                        : new PredicateTruthTreeGenerator(wffTree).getTruthTree()).end();
+                tokens++;
+            }
+        }
+        document.finish();
+        assertTrue(tokens > 30);
+        // The box that a character without a glyph is drawn as.
+        assertFalse(PDFRendererUnitTester.checkStructure(out).contains("80 0 m 520 0 l 520 700 l 80 700 l h"));
+    }
+}
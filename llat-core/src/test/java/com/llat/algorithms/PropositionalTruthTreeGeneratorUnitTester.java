@@ -2,6 +2,7 @@ package com.llat.algorithms;
 
 import com.llat.algorithms.models.TruthTree;
 import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.input.LLATParserAdapter;
 import com.llat.input.LLATParserListener;
 import com.llat.input.tests.ParserTest;
 import com.llat.models.treenode.WffTree;
@@ -14,10 +15,13 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.Scanner;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class PropositionalTruthTreeGeneratorUnitTester {
 
@@ -184,4 +188,51 @@ public class PropositionalTruthTreeGeneratorUnitTester {
     public void test010() {
         goodFileTest("test010");
     }
+
+    @Test
+    public void test011() throws Exception {
+        // Generators running on many threads at once build the same trees as one after another.
+        String formula = "((((A | B) & (C | D)) & ((E | F) & (G | H))) & ~((A & C) | (B & D)))";
+        String expected = PropositionalTruthTreeGeneratorUnitTester.describe(formula);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> trees = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                trees.add(pool.submit(() -> PropositionalTruthTreeGeneratorUnitTester.describe(formula)));
+            }
+            for (Future<String> tree : trees) {
+                assertEquals(expected, tree.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Parses and builds the truth tree of a formula, checking that no two of its
+     * nodes have the same identity number.
+     *
+     * @return every node of the tree with its identity number, depth first.
+     */
+    private static String describe(String _formula) {
+        WffTree wffTree = LLATParserAdapter.getAbstractSyntaxTree(_formula, false).getFirst();
+        TruthTree truthTree = new PropositionalTruthTreeGenerator(wffTree).getTruthTree();
+        StringBuilder sb = new StringBuilder();
+        Set<Integer> identityNumbers = new HashSet<>();
+        Deque<TruthTree> stack = new ArrayDeque<>();
+        stack.push(truthTree);
+        while (!stack.isEmpty()) {
+            TruthTree node = stack.pop();
+            assertTrue(identityNumbers.add(node.getIdentityNumber()), _formula);
+            sb.append(node.getIdentityNumber()).append(' ').append(node.getWff().getStringRep())
+                    .append(node.isClosed() ? " X" : "").append('\n');
+            // A stacked node's center is its left child.
+            for (TruthTree child : new TruthTree[]{node.getRight(), node.getLeft()}) {
+                if (child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+        return sb.toString();
+    }
 }
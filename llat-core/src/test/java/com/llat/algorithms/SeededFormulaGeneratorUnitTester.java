@@ -0,0 +1,149 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.propositional.TruthTableGenerator;
+import com.llat.algorithms.workload.HardFormulaFamily;
+import com.llat.algorithms.workload.SeededFormulaGenerator;
+import com.llat.algorithms.workload.WorkloadWriter;
+import com.llat.input.LLATErrorListener;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.NodeType;
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeededFormulaGeneratorUnitTester {
+
+    private static WffTree parse(String _formula) {
+        LinkedList<WffTree> trees = LLATParserAdapter.getAbstractSyntaxTree(_formula, false);
+        assertFalse(LLATErrorListener.sawError(), _formula);
+        assertEquals(1, trees.size(), _formula);
+        return trees.getFirst();
+    }
+
+    /**
+     * @return number of nested binary operators on the longest path to a leaf.
+     */
+    private static int depth(WffTree _tree) {
+        int depth = 0;
+        for (WffTree child : _tree.getChildren()) {
+            depth = Math.max(depth, SeededFormulaGeneratorUnitTester.depth(child));
+        }
+        return _tree.isBinaryOp() ? depth + 1 : depth;
+    }
+
+    private static void collect(WffTree _tree, NodeType _type, Set<String> _symbols) {
+        if (_tree.getNodeType() == _type) {
+            _symbols.add(_tree.getSymbol());
+        }
+        for (WffTree child : _tree.getChildren()) {
+            SeededFormulaGeneratorUnitTester.collect(child, _type, _symbols);
+        }
+    }
+
+    @Test
+    public void test001() {
+        // Every formula has the asked for atoms and depth, and a seed always gives the same formulas.
+        for (int atoms = 1; atoms <= 12; atoms++) {
+            for (int depth = 32 - Integer.numberOfLeadingZeros(atoms - 1); depth <= 12; depth += 3) {
+                String formula = new SeededFormulaGenerator(atoms * 100 + depth).genPropositionalFormula(atoms, depth);
+                assertEquals(formula, new SeededFormulaGenerator(atoms * 100 + depth).genPropositionalFormula(atoms, depth));
+                WffTree tree = SeededFormulaGeneratorUnitTester.parse(formula);
+                Set<String> symbols = new TreeSet<>();
+                SeededFormulaGeneratorUnitTester.collect(tree, NodeType.ATOM, symbols);
+                assertEquals(atoms, symbols.size(), formula);
+                assertEquals(depth, SeededFormulaGeneratorUnitTester.depth(tree), formula);
+            }
+        }
+        assertNotEquals(new SeededFormulaGenerator(1).genPropositionalFormula(8, 6),
+                new SeededFormulaGenerator(2).genPropositionalFormula(8, 6));
+    }
+
+    @Test
+    public void test002() {
+        // Only the operators with a weight are used.
+        EnumMap<NodeType, Integer> weights = new EnumMap<>(NodeType.class);
+        weights.put(NodeType.XOR, 1);
+        String formula = new SeededFormulaGenerator(7, weights, 0).genPropositionalFormula(10, 5);
+        assertTrue(formula.matches("[A-J()⊕]+"), formula);
+        assertThrows(IllegalArgumentException.class, () -> new SeededFormulaGenerator(7).genPropositionalFormula(9, 3));
+        assertThrows(IllegalArgumentException.class, () -> new SeededFormulaGenerator(7).genPropositionalFormula(27, 5));
+        weights.put(NodeType.NEG, 1);
+        assertThrows(IllegalArgumentException.class, () -> new SeededFormulaGenerator(7, weights, 0));
+    }
+
+    @Test
+    public void test003() {
+        // Predicate formulas start with the asked for number of quantifiers.
+        for (int quantifiers = 0; quantifiers <= 3; quantifiers++) {
+            String formula = new SeededFormulaGenerator(quantifiers).genPredicateFormula(5, 4, quantifiers);
+            WffTree tree = SeededFormulaGeneratorUnitTester.parse(formula).getChild(0);
+            for (int i = 0; i < quantifiers; i++) {
+                assertTrue(tree.isQuantifier(), formula);
+                tree = tree.getChild(0);
+            }
+            assertFalse(tree.isQuantifier(), formula);
+            assertEquals(4, SeededFormulaGeneratorUnitTester.depth(tree), formula);
+        }
+    }
+
+    /**
+     * @return number of rows of the truth table in which the formula is true.
+     */
+    private static long countTrue(String _formula) {
+        WffTree tree = SeededFormulaGeneratorUnitTester.parse(_formula);
+        assertTrue(new TruthTableGenerator(tree).getTruthTable());
+        return tree.getChild(0).getTruthValues().stream().filter((_value) -> _value).count();
+    }
+
+    @Test
+    public void test004() {
+        // The hard families are what they say they are.
+        for (int size = 1; size <= 3; size++) {
+            assertEquals(0, SeededFormulaGeneratorUnitTester.countTrue(HardFormulaFamily.PIGEONHOLE.generate(size)));
+            assertEquals(1L << size, SeededFormulaGeneratorUnitTester.countTrue(HardFormulaFamily.NESTED_BICONDITIONAL.generate(size)));
+            assertEquals(1L << size, SeededFormulaGeneratorUnitTester.countTrue(HardFormulaFamily.PARITY.generate(size + 1)));
+        }
+        WffTree biconditional = SeededFormulaGeneratorUnitTester.parse(HardFormulaFamily.NESTED_BICONDITIONAL.generate(2));
+        assertTrue(new LogicalTautologyDeterminer(biconditional).isTautology());
+        assertThrows(IllegalArgumentException.class, () -> HardFormulaFamily.PIGEONHOLE.generate(5));
+        assertEquals(HardFormulaFamily.PARITY, HardFormulaFamily.fromName("Parity"));
+    }
+
+    @Test
+    public void test005() throws IOException {
+        // A sweep is written as one formula per line under a comment with its size.
+        Path path = Files.createTempFile("workload", ".txt");
+        try {
+            try (WorkloadWriter writer = new WorkloadWriter(path)) {
+                writer.writeSweep("random", WorkloadWriter.parseSizes("3..4,6"), 2, 42, -1, 0);
+                assertEquals(6, writer.getFormulaCount());
+            }
+            List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            assertEquals(9, lines.size());
+            assertEquals("// size=3", lines.get(0));
+            assertEquals("// size=6", lines.get(6));
+            for (int i : new int[]{1, 2, 4, 5, 7, 8}) {
+                SeededFormulaGeneratorUnitTester.parse(lines.get(i));
+            }
+
+            // The formulas of a size do not depend on the other sizes in the sweep.
+            try (WorkloadWriter writer = new WorkloadWriter(path)) {
+                writer.writeSweep("random", List.of(6), 2, 42, -1, 0);
+            }
+            assertEquals(lines.subList(6, 9), Files.readAllLines(path, StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.algorithms.propositional.TexTablePrinter;
+import com.llat.algorithms.propositional.TruthTableGenerator;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TexPrinterUnitTester {
+
+    private static WffTree parse(String _formula) {
+        return LLATParserAdapter.getAbstractSyntaxTree(_formula, false).getFirst();
+    }
+
+    /**
+     * Counts what is written to it without keeping any of it.
+     */
+    private static final class CountingWriter extends Writer {
+
+        private long chars;
+
+        private long lines;
+
+        @Override
+        public void write(char[] _buffer, int _offset, int _length) {
+            this.chars += _length;
+            for (int i = _offset; i < _offset + _length; i++) {
+                if (_buffer[i] == '\n') {
+                    this.lines++;
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void test001() throws IOException {
+        // The streamed trees are the same as the strings.
+        WffTree wffTree = TexPrinterUnitTester.parse("(((A ∨ B) & ~A) & (C ↔ B))");
+        TruthTree truthTree = new PropositionalTruthTreeGenerator(wffTree).getTruthTree();
+        StringBuilder sb = new StringBuilder();
+        truthTree.writeTexTree(sb);
+        assertEquals(truthTree.getTexTree(), sb.toString());
+        assertTrue(sb.toString().startsWith("["));
+        assertTrue(sb.toString().contains("closed"));
+
+        sb.setLength(0);
+        TexParseTreePrinter.writeTexParseTree(wffTree, sb);
+        assertEquals(TexParseTreePrinter.getTexParseTree(wffTree), sb.toString());
+        assertEquals(sb.toString().chars().filter((_ch) -> _ch == '[').count(),
+                sb.toString().chars().filter((_ch) -> _ch == ']').count());
+    }
+
+    @Test
+    public void test002() throws IOException {
+        WffTree wffTree = TexPrinterUnitTester.parse("(A & B)");
+        TruthTableGenerator ttg = new TruthTableGenerator(wffTree);
+        assertTrue(ttg.getTruthTable());
+        String[] lines = TexTablePrinter.getTexTable(ttg.postorder()).split("\n");
+        // The tabular, the header, the rule, then a line for each row.
+        assertEquals(3 + 4, lines.length);
+        assertEquals("\\begin{tabular}{c|c|c}", lines[0]);
+        assertEquals("\\hline", lines[2]);
+        assertTrue(lines[3].endsWith(" \\\\ "));
+    }
+
+    @Test
+    public void test003() throws IOException {
+        // A large table, written without building it up as a string.
+        StringBuilder formula = new StringBuilder("A");
+        for (int i = 1; i < 12; i++) {
+            formula.insert(0, "(").append(" ∨ ").append((char) ('A' + i)).append(")");
+        }
+        TruthTableGenerator ttg = new TruthTableGenerator(TexPrinterUnitTester.parse(formula.toString()));
+        assertTrue(ttg.getTruthTable());
+        CountingWriter writer = new CountingWriter();
+        TexTablePrinter.writeTexTable(ttg.postorder(), writer);
+        // The tabular, the header and the rule end in line breaks, then every row but the last.
+        assertEquals(3 + (1 << 12) - 1, writer.lines);
+        assertTrue(writer.chars > (1 << 12) * 23 * 4);
+    }
+}
@@ -0,0 +1,166 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.layout.TreeLayoutCache;
+import com.llat.algorithms.layout.TreeLayoutModel;
+import com.llat.algorithms.layout.TreeLayoutResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreeLayoutCacheUnitTester {
+
+    /**
+     * Node of a tree whose children can be added to, like a truth tree being built.
+     */
+    private static final class TestNode {
+
+        private final List<TestNode> children = new ArrayList<>();
+
+        private double width;
+
+        /**
+         * Number of nodes the box shows, like a stack of truth tree nodes drawn as one.
+         */
+        private int lines = 1;
+
+        private TestNode(double _width, TestNode... _children) {
+            this.width = _width;
+            this.children.addAll(List.of(_children));
+        }
+    }
+
+    /**
+     * Counts how many nodes are measured.
+     */
+    private static final class TestModel implements TreeLayoutModel<TestNode> {
+
+        private int measured;
+
+        @Override
+        public List<TestNode> getChildren(TestNode _node) {
+            return _node.children;
+        }
+
+        @Override
+        public double getWidth(TestNode _node) {
+            this.measured++;
+            return _node.width;
+        }
+
+        @Override
+        public double getHeight(TestNode _node) {
+            return 10;
+        }
+
+        @Override
+        public int getBoxSize(TestNode _node) {
+            return _node.lines;
+        }
+    }
+
+    /**
+     * Checks that no two nodes on the same level overlap, and that each parent is
+     * centered over its outermost children.
+     */
+    private static void checkLayout(TreeLayoutResult<TestNode> _layout, double _nodeGap) {
+        List<TestNode> nodes = new ArrayList<>(_layout.getNodes());
+        for (TestNode a : nodes) {
+            for (TestNode b : nodes) {
+                if (a != b && _layout.getDepth(a) == _layout.getDepth(b) && _layout.getX(a) <= _layout.getX(b)) {
+                    assertTrue(_layout.getX(a) + _layout.getWidth(a) + _nodeGap <= _layout.getX(b) + 1e-9);
+                }
+            }
+            List<TestNode> children = _layout.getChildren(a);
+            if (!children.isEmpty()) {
+                TestNode first = children.get(0), last = children.get(children.size() - 1);
+                double middle = (_layout.getX(first) + _layout.getWidth(first) / 2 + _layout.getX(last) + _layout.getWidth(last) / 2) / 2;
+                assertEquals(middle, _layout.getX(a) + _layout.getWidth(a) / 2, 1e-9);
+                assertEquals(_layout.getY(a) + 10 + 5, _layout.getY(first), 1e-9);
+            }
+            assertTrue(_layout.getX(a) >= 0 && _layout.getX(a) + _layout.getWidth(a) <= _layout.getTreeWidth() + 1e-9);
+        }
+    }
+
+    @Test
+    public void test001() {
+        TestModel model = new TestModel();
+        TreeLayoutCache<TestNode> cache = new TreeLayoutCache<>(model, 5, 4, 2);
+        TestNode left = new TestNode(20, new TestNode(30), new TestNode(30));
+        TestNode right = new TestNode(20, new TestNode(10, new TestNode(50), new TestNode(50)));
+        TestNode root = new TestNode(100, left, right);
+        TreeLayoutResult<TestNode> layout = cache.layout(root);
+        TreeLayoutCacheUnitTester.checkLayout(layout, 4);
+        assertEquals(8, layout.getNodes().size());
+        assertEquals(3, layout.getDepth());
+        assertEquals(4 * 10 + 3 * 5, layout.getTreeHeight());
+        assertEquals(8, model.measured);
+
+        // Nothing changed, so nothing is measured and the layout is the same.
+        assertSame(layout, cache.layout(root));
+        assertEquals(8, model.measured);
+
+        // Too many trees: the least recently used is forgotten.
+        cache.layout(left);
+        cache.layout(right);
+        assertEquals(2, cache.size());
+        model.measured = 0;
+        assertNotSame(layout, cache.layout(root));
+        assertEquals(8, model.measured);
+        assertThrows(IllegalArgumentException.class, () -> new TreeLayoutCache<>(model, 5, 4, 0));
+    }
+
+    @Test
+    public void test002() {
+        TestModel model = new TestModel();
+        TreeLayoutCache<TestNode> cache = new TreeLayoutCache<>(model, 5, 4, 4);
+        TestNode leaf = new TestNode(30);
+        TestNode left = new TestNode(20, leaf, new TestNode(30));
+        TestNode right = new TestNode(20, new TestNode(40), new TestNode(40));
+        TestNode root = new TestNode(100, left, right);
+        TreeLayoutResult<TestNode> before = cache.layout(root);
+        double rightChildrenGap = before.getX(right.children.get(1)) - before.getX(right.children.get(0));
+
+        // A step adds two nodes under a leaf: only they and their ancestors are measured,
+        // and the rest of the tree keeps its shape.
+        model.measured = 0;
+        leaf.children.add(new TestNode(60));
+        leaf.children.add(new TestNode(60));
+        TreeLayoutResult<TestNode> after = cache.layout(root);
+        assertEquals(5, model.measured);
+        assertEquals(7, before.getNodes().size());
+        assertEquals(9, after.getNodes().size());
+        TreeLayoutCacheUnitTester.checkLayout(after, 4);
+        assertEquals(rightChildrenGap, after.getX(right.children.get(1)) - after.getX(right.children.get(0)), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> before.getX(leaf.children.get(0)));
+
+        // A node that grows has to be invalidated to be measured again.
+        right.width = 500;
+        assertSame(after, cache.layout(root));
+        cache.invalidate(right);
+        TreeLayoutResult<TestNode> grown = cache.layout(root);
+        assertEquals(2, model.measured - 5);
+        assertEquals(500, grown.getWidth(right));
+        TreeLayoutCacheUnitTester.checkLayout(grown, 4);
+    }
+
+    @Test
+    public void test003() {
+        // A stack that grows in place shows more in the same box, which is measured again.
+        TestModel model = new TestModel();
+        TreeLayoutCache<TestNode> cache = new TreeLayoutCache<>(model, 5, 4, 2);
+        TestNode stack = new TestNode(20);
+        TestNode root = new TestNode(40, stack, new TestNode(30));
+        TreeLayoutResult<TestNode> before = cache.layout(root);
+        assertEquals(20, before.getWidth(stack));
+
+        stack.lines = 2;
+        stack.width = 80;
+        TreeLayoutResult<TestNode> after = cache.layout(root);
+        assertNotSame(before, after);
+        assertEquals(80, after.getWidth(stack));
+        TreeLayoutCacheUnitTester.checkLayout(after, 4);
+    }
+}
@@ -0,0 +1,116 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.metrics.AlgorithmMetrics;
+import com.llat.algorithms.models.TruthTree;
+import com.llat.algorithms.predicate.PredicateTruthTreeGenerator;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.algorithms.trace.TruthTreeLog;
+import com.llat.algorithms.trace.TruthTreeReplay;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TruthTreeReplayUnitTester {
+
+    private static WffTree parse(String _formula) {
+        return LLATParserAdapter.getAbstractSyntaxTree(_formula, false).getFirst();
+    }
+
+    /**
+     * Checks that two truth trees have the same shape, wffs and closed branches.
+     */
+    private static void assertSameTree(TruthTree _expected, TruthTree _actual) {
+        if (_expected == null) {
+            assertNull(_actual);
+            return;
+        }
+        assertNotNull(_actual);
+        assertEquals(_expected.getWff().getStringRep(), _actual.getWff().getStringRep());
+        assertEquals(_expected.isClosed(), _actual.isClosed());
+        TruthTreeReplayUnitTester.assertSameTree(_expected.getLeft(), _actual.getLeft());
+        TruthTreeReplayUnitTester.assertSameTree(_expected.getRight(), _actual.getRight());
+    }
+
+    private static int countNodes(TruthTree _tree) {
+        return _tree == null ? 0 : 1 + TruthTreeReplayUnitTester.countNodes(_tree.getLeft())
+                + TruthTreeReplayUnitTester.countNodes(_tree.getRight());
+    }
+
+    @Test
+    public void test001() {
+        TruthTreeLog log = new TruthTreeLog();
+        BaseTruthTreeGenerator generator = new PropositionalTruthTreeGenerator(TruthTreeReplayUnitTester.parse("(((A ∨ B) & ~A) & ~B)"));
+        generator.setLog(log);
+        TruthTree truthTree = generator.getTruthTree();
+        assertEquals(TruthTreeReplayUnitTester.countNodes(truthTree), log.getNodeCount());
+        assertEquals(TruthTreeLog.RULE_APPLIED, log.getKind(0));
+        assertEquals(AlgorithmMetrics.Rule.STACK_CONJUNCTION, log.getRule(0));
+        assertEquals(0, log.getTarget(0));
+        assertNull(log.getRule(1));
+
+        // The replay starts at the root, and ends at the generated tree.
+        TruthTreeReplay replay = new TruthTreeReplay(log);
+        assertEquals(1, replay.getNodeCount());
+        assertTrue(replay.getRoot().isLeafNode());
+        replay.seek(replay.getLength());
+        TruthTreeReplayUnitTester.assertSameTree(truthTree, replay.getRoot());
+
+        // Every position has as many nodes going backwards as going forwards.
+        int[] nodeCounts = new int[log.size() + 1];
+        for (int i = 0; i <= log.size(); i++) {
+            replay.seek(i);
+            nodeCounts[i] = TruthTreeReplayUnitTester.countNodes(replay.getRoot());
+            assertEquals(nodeCounts[i], replay.getNodeCount());
+        }
+        for (int i = log.size(); i >= 0; i--) {
+            replay.seek(i);
+            assertEquals(nodeCounts[i], TruthTreeReplayUnitTester.countNodes(replay.getRoot()));
+        }
+        assertFalse(replay.getRoot().isClosed());
+
+        // Rule by rule: one step per rule applied, both ways.
+        int rules = 0;
+        for (int i = 0; i < log.size(); i++) {
+            rules += log.getKind(i) == TruthTreeLog.RULE_APPLIED ? 1 : 0;
+        }
+        int steps = 0;
+        while (replay.getPosition() < replay.getLength()) {
+            replay.nextRule();
+            steps++;
+        }
+        assertEquals(rules, steps);
+        TruthTreeReplayUnitTester.assertSameTree(truthTree, replay.getRoot());
+        while (replay.getPosition() > 0) {
+            replay.previousRule();
+            steps--;
+        }
+        assertEquals(0, steps);
+        assertEquals(1, replay.getNodeCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.seek(log.size() + 1));
+    }
+
+    @Test
+    public void test002() {
+        TruthTreeLog log = new TruthTreeLog();
+        BaseTruthTreeGenerator generator = new PredicateTruthTreeGenerator(TruthTreeReplayUnitTester.parse("(((∀x)(Fx → Gx) & (∃x)Fx) & ~(∃x)Gx)"));
+        generator.setLog(log);
+        TruthTree truthTree = generator.getTruthTree();
+        assertEquals(TruthTreeReplayUnitTester.countNodes(truthTree), log.getNodeCount());
+        assertTrue(BaseTruthTreeGenerator.getLeaves(truthTree).stream().allMatch(TruthTree::isClosed));
+
+        // Going back to the middle and forwards again gives the same tree.
+        TruthTreeReplay replay = new TruthTreeReplay(log);
+        replay.seek(log.size());
+        TruthTreeReplayUnitTester.assertSameTree(truthTree, replay.getRoot());
+        replay.seek(log.size() / 2);
+        assertTrue(replay.getNodeCount() < log.getNodeCount());
+        replay.seek(log.size());
+        TruthTreeReplayUnitTester.assertSameTree(truthTree, replay.getRoot());
+
+        // A log records a single run.
+        assertThrows(IllegalStateException.class, generator::getTruthTree);
+        assertThrows(IllegalArgumentException.class, () -> new TruthTreeReplay(new TruthTreeLog()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.llat.algorithms;
+
+import com.llat.algorithms.predicate.PredicateTruthTreeGenerator;
+import com.llat.algorithms.propositional.PropositionalTruthTreeGenerator;
+import com.llat.algorithms.trace.TraceTool;
+import com.llat.algorithms.trace.TruthTreeTrace;
+import com.llat.input.LLATParserAdapter;
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TruthTreeTraceUnitTester {
+
+    private static WffTree parse(String _formula) {
+        return LLATParserAdapter.getAbstractSyntaxTree(_formula, false).getFirst();
+    }
+
+    /**
+     * Writes a trace and reads it back.
+     */
+    private static TraceTool copy(TruthTreeTrace _trace) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        _trace.write(out);
+        return TraceTool.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @AfterEach
+    public void clear() {
+        AlgorithmProgress.clear();
+    }
+
+    @Test
+    public void test001() throws IOException {
+        // Every node polled by the generator is one event, in the order it was polled.
+        TruthTreeTrace trace = new TruthTreeTrace();
+        AlgorithmProgress.current().setTrace(trace);
+        new PropositionalTruthTreeGenerator(TruthTreeTraceUnitTester.parse("(((A ∨ B) & ~A) & ~B)")).getTruthTree();
+        TraceTool tool = TruthTreeTraceUnitTester.copy(trace);
+        List<TraceTool.Event> events = tool.getEvents();
+        assertEquals(trace.getRecordedCount(), events.size());
+        assertEquals(0, tool.getDroppedCount());
+        assertEquals(TruthTreeTrace.START, events.get(0).getKind());
+        assertEquals("stack_conjunction", TraceTool.getKindName(events.get(1).getKind()));
+        assertEquals("(((A∨B)&~A)&~B)", tool.getWff(events.get(1).getNode()).replace(" ", ""));
+        assertTrue(events.stream().anyMatch((_event) -> TraceTool.getKindName(_event.getKind()).equals("branch_disjunction")));
+        for (int i = 1; i < events.size(); i++) {
+            assertEquals(i, events.get(i).getIteration());
+            assertTrue(events.get(i).getTime() >= events.get(i - 1).getTime());
+        }
+        assertEquals(0, events.get(events.size() - 1).getQueue());
+
+        // The tool prints a line per event, and a line per kind in the summary.
+        ByteArrayOutputStream replay = new ByteArrayOutputStream();
+        tool.replay(new PrintStream(replay, true, StandardCharsets.UTF_8));
+        assertEquals(events.size(), replay.toString(StandardCharsets.UTF_8).split("\n").length);
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        tool.summarize(new PrintStream(summary, true, StandardCharsets.UTF_8), 3);
+        assertTrue(summary.toString(StandardCharsets.UTF_8).startsWith(events.size() + " events (0 dropped), 1 trees, 0 timeouts"));
+        assertTrue(summary.toString(StandardCharsets.UTF_8).contains("branch_disjunction"));
+    }
+
+    @Test
+    public void test002() throws IOException {
+        // The ring keeps the latest events.
+        TruthTreeTrace trace = new TruthTreeTrace(4);
+        AlgorithmProgress.current().setTrace(trace);
+        new PredicateTruthTreeGenerator(TruthTreeTraceUnitTester.parse("(((∀x)(Fx → Gx) & (∃x)Fx) & ~(∃x)Gx)")).getTruthTree();
+        TraceTool tool = TruthTreeTraceUnitTester.copy(trace);
+        assertTrue(trace.getRecordedCount() > 4);
+        assertEquals(trace.getRecordedCount() - 4, tool.getDroppedCount());
+        assertEquals(4, tool.getEvents().size());
+        int last = tool.getEvents().get(3).getIteration();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(last - 3 + i, tool.getEvents().get(i).getIteration());
+            assertNotNull(tool.getWff(tool.getEvents().get(i).getNode()));
+        }
+    }
+
+    @Test
+    public void test003() {
+        // Without a trace nothing is recorded, and anything else is not a trace.
+        assertNull(AlgorithmProgress.current().getTrace());
+        assertThrows(IOException.class, () -> TraceTool.read(new ByteArrayInputStream("not a trace".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,121 @@
+package com.llat.input;
+
+import com.llat.models.treenode.WffTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalParserUnitTester {
+
+    /**
+     * Parses the edits in order with one incremental parser and checks that every
+     * result matches a full parse of the same text.
+     *
+     * @param _edits - successive versions of the input text.
+     * @return the incremental parser, so the caller can check the last parse.
+     */
+    private static LLATIncrementalParser parseEdits(String... _edits) {
+        LLATIncrementalParser parser = new LLATIncrementalParser();
+        for (String edit : _edits) {
+            LinkedList<WffTree> incremental = parser.parse(edit);
+            LinkedList<WffTree> full = LLATParserAdapter.getAbstractSyntaxTree(edit, false);
+            if (full == null) {
+                assertNull(incremental, edit);
+                continue;
+            }
+
+            assertNotNull(incremental, edit);
+            assertEquals(full.size(), incremental.size(), edit);
+            for (int i = 0; i < full.size(); i++) {
+                IncrementalParserUnitTester.assertSameTree(full.get(i), incremental.get(i), edit);
+            }
+        }
+        return parser;
+    }
+
+    /**
+     * Checks that two trees have the same nodes, with the same flags, in the same
+     * places.
+     */
+    private static void assertSameTree(WffTree _expected, WffTree _actual, String _edit) {
+        String message = _edit + ": " + _expected.getStringRep();
+        assertEquals(_expected.getClass(), _actual.getClass(), message);
+        assertEquals(_expected.getNodeType(), _actual.getNodeType(), message);
+        assertEquals(_expected.getSymbol(), _actual.getSymbol(), message);
+        assertEquals(_expected.getStringRep(), _actual.getStringRep(), message);
+        assertEquals(_expected.getFlags(), _actual.getFlags(), message);
+        assertEquals(_expected.getTruthValues(), _actual.getTruthValues(), message);
+        assertEquals(_expected.getChildrenSize(), _actual.getChildrenSize(), message);
+        for (int i = 0; i < _expected.getChildrenSize(); i++) {
+            IncrementalParserUnitTester.assertSameTree(_expected.getChild(i), _actual.getChild(i), _edit);
+        }
+    }
+
+    @Test
+    public void test001() {
+        LLATIncrementalParser parser = parseEdits("((A & B) -> (C | D))", "((A & E) -> (C | D))");
+        assertTrue(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test002() {
+        LLATIncrementalParser parser = parseEdits("((A & B) -> (C | D))", "((A & (B | F)) -> (C | D))");
+        assertTrue(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test003() {
+        // Negating the whole wff is not enclosed by any subformula, so it needs a full parse.
+        LLATIncrementalParser parser = parseEdits("((A & B) -> (C | D))", "~((A & B) -> (C | D))");
+        assertFalse(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test004() {
+        LLATIncrementalParser parser = parseEdits("((A & B) -> (C | D))", "((A & ) -> (C | D))", "((A & G) -> (C | D))");
+        assertFalse(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test005() {
+        LLATIncrementalParser parser = parseEdits("(x)(Fx -> (Gx & Hx))", "(x)(Fx -> (Gx & Hy))");
+        assertTrue(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test006() {
+        LLATIncrementalParser parser = parseEdits("(A -> B), (B -> C) ∴ (A -> C)", "(A -> B), (B -> D) ∴ (A -> C)");
+        assertTrue(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test007() {
+        // A propositional subformula cannot be spliced into a predicate wff.
+        LLATIncrementalParser parser = parseEdits("(Fa & (Gb | Hc))", "(Fa & (G | H))");
+        assertFalse(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test008() {
+        LLATIncrementalParser parser = parseEdits("~((A & B) | ~(C -> D))", "~((A & B) | ~(C -> ~D))",
+                "~((A & B) | ~(C -> ~(D xor E)))");
+        assertTrue(parser.isLastParseIncremental());
+    }
+
+    @Test
+    public void test009() {
+        // The same text returns the same trees, and an edit shares the subtrees it did
+        // not touch without changing the trees returned before it.
+        LLATIncrementalParser parser = new LLATIncrementalParser();
+        LinkedList<WffTree> first = parser.parse("((A & B) -> (C | D))");
+        assertSame(first, parser.parse("((A & B) -> (C | D))"));
+
+        LinkedList<WffTree> edited = parser.parse("((A & B) -> (C | E))");
+        assertTrue(parser.isLastParseIncremental());
+        assertSame(first.get(0).getChild(0).getChild(0), edited.get(0).getChild(0).getChild(0));
+        IncrementalParserUnitTester.assertSameTree(LLATParserAdapter.getAbstractSyntaxTree("((A & B) -> (C | D))", false).get(0),
+                first.get(0), "((A & B) -> (C | D))");
+    }
+}
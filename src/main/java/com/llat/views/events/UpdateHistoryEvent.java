@@ -1,9 +0,0 @@
-package com.llat.views.events;
-
-import com.llat.tools.Event;
-
-public class UpdateHistoryEvent implements Event {
-    public UpdateHistoryEvent() {
-    }
-
-}